@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing UTF-8 encoded JSON with the character based {@link JSONParser} state machine against the byte
+ * based parser, and binding a JSON object to a record through the json against binding it directly. The documents
+ * are arrays of objects with the same fields, so run with {@code -prof gc} to see the allocation per parsed document.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JSONParserBenchmark {
+
+    private static final BPackage PKG = new BPackage("bench", "json", "1.0.0");
+    private static final int ANYDATA_FLAGS = TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE);
+
+    @Param({"10", "1000", "100000"})
+    public int items;
+
+    private byte[] document;
+    private byte[] orderDocument;
+    private BRecordType orderType;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(order(i));
+        }
+        document = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        orderDocument = order(items).getBytes(StandardCharsets.UTF_8);
+
+        // type Customer record {| string name; string email; |};
+        BRecordType customerType = new BRecordType("Customer", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        customerType.setFields(fields(field(BTypes.typeString, "name"), field(BTypes.typeString, "email")));
+        // type Order record {| int id; float total; boolean paid; Customer customer; string note; |};
+        orderType = new BRecordType("Order", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        orderType.setFields(fields(field(BTypes.typeInt, "id"), field(BTypes.typeFloat, "total"),
+                                   field(BTypes.typeBoolean, "paid"), field(customerType, "customer"),
+                                   field(BTypes.typeString, "note")));
+    }
+
+    @Benchmark
+    public Object parseChars() {
+        return JSONParser.parse(new String(document, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Object parseBytes() {
+        return JSONParser.parse(document);
+    }
+
+    @Benchmark
+    public Object bindRecordThroughJson() {
+        return JSONUtils.convertJSONToRecord(JSONParser.parse(new String(orderDocument, StandardCharsets.UTF_8)),
+                                             orderType);
+    }
+
+    @Benchmark
+    public Object bindRecordDirectly() {
+        return JSONParser.parseToRecord(orderDocument, orderType);
+    }
+
+    private static String order(int id) {
+        return "{\"id\": " + id + ", \"total\": " + (id * 1.25) + ", \"paid\": " + (id % 2 == 0) +
+                ", \"customer\": {\"name\": \"Customer " + id + "\", \"email\": \"customer" + id +
+                "@example.com\"}, \"note\": \"Deliver to the \\\"side\\\" door, ring twice\", \"tags\": [\"a\", \"b\"]}";
+    }
+
+    private static BField field(BType type, String name) {
+        return new BField(type, name, Flags.REQUIRED);
+    }
+
+    private static Map<String, BField> fields(BField... fields) {
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        for (BField field : fields) {
+            fieldMap.put(field.getFieldName(), field);
+        }
+        return fieldMap;
+    }
+}
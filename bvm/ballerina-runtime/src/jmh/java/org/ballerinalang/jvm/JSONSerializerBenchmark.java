@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serializing a parsed json document and an array of records with {@link JSONGenerator} against
+ * {@link JSONByteSerializer}. The output is discarded, so run with {@code -prof gc} to see the allocation per
+ * serialized document.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JSONSerializerBenchmark {
+
+    private static final BPackage PKG = new BPackage("bench", "json", "1.0.0");
+    private static final int ANYDATA_FLAGS = TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE);
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Param({"10", "1000"})
+    public int items;
+
+    private Object json;
+    private BArray records;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(order(i));
+        }
+        json = JSONParser.parse(sb.append(']').toString().getBytes(StandardCharsets.UTF_8));
+
+        // type Order record {| int id; float total; boolean paid; string note; |};
+        BRecordType orderType = new BRecordType("Order", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        orderType.setFields(fields(field(BTypes.typeInt, "id"), field(BTypes.typeFloat, "total"),
+                                   field(BTypes.typeBoolean, "paid"), field(BTypes.typeString, "note")));
+        records = BValueCreator.createArrayValue(new BArrayType(orderType));
+        for (int i = 0; i < items; i++) {
+            records.append(JSONParser.parseToRecord(order(i).getBytes(StandardCharsets.UTF_8), orderType));
+        }
+    }
+
+    @Benchmark
+    public void generateJson() throws IOException {
+        JSONGenerator gen = new JSONGenerator(DISCARD, StandardCharsets.UTF_8);
+        gen.serialize(json);
+        gen.flush();
+    }
+
+    @Benchmark
+    public void serializeJson() throws IOException {
+        JSONByteSerializer.serialize(json, DISCARD);
+    }
+
+    @Benchmark
+    public void serializeRecords() throws IOException {
+        JSONByteSerializer.serialize(records, DISCARD);
+    }
+
+    private static String order(int id) {
+        return "{\"id\": " + id + ", \"total\": " + (id * 1.25) + ", \"paid\": " + (id % 2 == 0) +
+                ", \"note\": \"Deliver to the \\\"side\\\" door, ring twice\"}";
+    }
+
+    private static BField field(BType type, String name) {
+        return new BField(type, name, Flags.REQUIRED);
+    }
+
+    private static Map<String, BField> fields(BField... fields) {
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        for (BField field : fields) {
+            fieldMap.put(field.getFieldName(), field);
+        }
+        return fieldMap;
+    }
+}
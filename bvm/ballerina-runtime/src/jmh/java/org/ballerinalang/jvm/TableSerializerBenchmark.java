@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTableType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.TableValueImpl;
+import org.ballerinalang.jvm.values.api.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serializing a table of records as JSON and XML with {@link TableSerializer}, sequentially and with the
+ * rows encoded in parallel. The output is discarded.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TableSerializerBenchmark {
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private TableValueImpl<Object, MapValueImpl<BString, Object>> table;
+
+    @Setup
+    public void setup() {
+        // type Order record {| int id; float total; string note; |};
+        BRecordType orderType = new BRecordType("Order", new BPackage("bench", "table", "1.0.0"), Flags.PUBLIC, true,
+                                                TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE));
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED));
+        fields.put("total", new BField(BTypes.typeFloat, "total", Flags.REQUIRED));
+        fields.put("note", new BField(BTypes.typeString, "note", Flags.REQUIRED));
+        orderType.setFields(fields);
+
+        table = new TableValueImpl<>(new BTableType(orderType, false));
+        for (int i = 0; i < rows; i++) {
+            String order = "{\"id\": " + i + ", \"total\": " + (i * 1.25) + ", \"note\": \"ring twice\"}";
+            table.add(JSONParser.parseToRecord(order.getBytes(StandardCharsets.UTF_8), orderType));
+        }
+    }
+
+    @Benchmark
+    public void serializeJSON() throws IOException {
+        TableSerializer.serializeJSON(table, DISCARD, parallel);
+    }
+
+    @Benchmark
+    public void serializeXML() throws IOException {
+        TableSerializer.serializeXML(table, DISCARD, parallel);
+    }
+}
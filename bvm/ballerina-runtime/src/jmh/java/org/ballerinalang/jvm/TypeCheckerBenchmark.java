@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.BUnionType;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the type relation checks of the {@link TypeChecker} for records against json, unions and recursive
+ * record types.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TypeCheckerBenchmark {
+
+    private static final BPackage PKG = new BPackage("bench", "types", "1.0.0");
+    private static final int ANYDATA_FLAGS = TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE);
+
+    private BRecordType orderType;
+    private BUnionType payloadType;
+    private BUnionType payloadTargetType;
+    private BRecordType listNodeType;
+    private BRecordType otherListNodeType;
+
+    @Setup
+    public void setup() {
+        // type Address record {| string street; string city; int zip; |};
+        BRecordType addressType = closedRecord("Address");
+        addressType.setFields(fields(field(BTypes.typeString, "street"), field(BTypes.typeString, "city"),
+                                     field(BTypes.typeInt, "zip")));
+
+        // type Customer record {| string name; Address address; Address? billingAddress; |};
+        BRecordType customerType = closedRecord("Customer");
+        customerType.setFields(fields(field(BTypes.typeString, "name"), field(addressType, "address"),
+                                      field(nilable(addressType), "billingAddress")));
+
+        // type Order record { int id; decimal total; Customer customer; string[] tags; json...; };
+        orderType = new BRecordType("Order", PKG, Flags.PUBLIC, false, ANYDATA_FLAGS);
+        orderType.setFields(fields(field(BTypes.typeInt, "id"), field(BTypes.typeDecimal, "total"),
+                                   field(customerType, "customer"),
+                                   field(new BArrayType(BTypes.typeString), "tags")));
+        orderType.restFieldType = BTypes.typeJSON;
+
+        payloadType = new BUnionType(Arrays.asList(addressType, customerType, BTypes.typeInt, BTypes.typeString));
+        payloadTargetType = new BUnionType(Arrays.asList(BTypes.typeString, BTypes.typeInt, orderType, addressType,
+                                                         customerType, BTypes.typeNull));
+
+        // type Node record {| int value; Node? next; |}; and a structurally identical type
+        listNodeType = listNode("Node");
+        otherListNodeType = listNode("OtherNode");
+    }
+
+    @Benchmark
+    public boolean recordToJson() {
+        return TypeChecker.checkIsType(orderType, BTypes.typeJSON);
+    }
+
+    @Benchmark
+    public boolean unionToUnion() {
+        return TypeChecker.checkIsType(payloadType, payloadTargetType);
+    }
+
+    @Benchmark
+    public boolean recursiveRecord() {
+        return TypeChecker.checkIsType(listNodeType, otherListNodeType);
+    }
+
+    private static BRecordType listNode(String name) {
+        BRecordType nodeType = closedRecord(name);
+        nodeType.setFields(fields(field(BTypes.typeInt, "value"), field(nilable(nodeType), "next")));
+        return nodeType;
+    }
+
+    private static BRecordType closedRecord(String name) {
+        return new BRecordType(name, PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+    }
+
+    private static BType nilable(BType type) {
+        return new BUnionType(Arrays.asList(type, BTypes.typeNull));
+    }
+
+    private static BField field(BType type, String name) {
+        return new BField(type, name, Flags.REQUIRED);
+    }
+
+    private static Map<String, BField> fields(BField... fields) {
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        for (BField field : fields) {
+            fieldMap.put(field.getFieldName(), field);
+        }
+        return fieldMap;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.values.XMLItem;
+import org.ballerinalang.jvm.values.XMLSequence;
+import org.ballerinalang.jvm.values.XMLValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing XML documents of 1MB to 100MB eagerly with {@link XMLFactory#parse(String)} and lazily with
+ * {@link XMLFactory#parseLazily(String)}, and navigating to the first record of a lazily parsed document. Run with
+ * {@code -prof gc} to compare the allocation per parsed document.
+ *
+ * @since 2.0.0
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class XMLParserBenchmark {
+
+    @Param({"1048576", "10485760", "104857600"})
+    public int documentSize;
+
+    private String document;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder(documentSize + 1024);
+        sb.append("<orders xmlns=\"http://example.com/orders\" xmlns:p=\"http://example.com/products\">");
+        for (int i = 0; sb.length() < documentSize; i++) {
+            sb.append("<order id=\"").append(i).append("\" status=\"shipped\">")
+                    .append("<customer><name>Customer ").append(i).append("</name>")
+                    .append("<email>customer").append(i).append("@example.com</email></customer>")
+                    .append("<items><p:item sku=\"SKU-").append(i % 100).append("\" quantity=\"2\">")
+                    .append("<p:price currency=\"USD\">19.99</p:price></p:item></items>")
+                    .append("<note><![CDATA[deliver <after> 5pm]]></note></order>");
+        }
+        sb.append("</orders>");
+        document = sb.toString();
+    }
+
+    @Benchmark
+    public XMLValue parse() {
+        return XMLFactory.parse(document);
+    }
+
+    @Benchmark
+    public XMLValue parseLazily() {
+        return XMLFactory.parseLazily(document);
+    }
+
+    @Benchmark
+    public XMLValue parseLazilyAndGetFirstOrder() {
+        XMLItem orders = (XMLItem) ((XMLSequence) XMLFactory.parseLazily(document)).getChildrenList().get(0);
+        return (XMLValue) orders.getChildrenSeq().getChildrenList().get(0);
+    }
+}
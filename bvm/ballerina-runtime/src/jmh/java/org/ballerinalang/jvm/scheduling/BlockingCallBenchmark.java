@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the throughput of strands that make blocking Java calls, such as JDBC queries, under the different
+ * scheduler modes. Each invocation runs {@link #CONCURRENT_CALLS} strands, each blocking its thread for
+ * {@code blockingMillis} to simulate the database round trip.
+ * <p>
+ * The virtual thread mode needs a JDK with virtual thread support, the scheduler falls back to the shared mode
+ * otherwise.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class BlockingCallBenchmark {
+
+    private static final int CONCURRENT_CALLS = 10_000;
+
+    @Param({"shared", "work-stealing", "virtual-thread"})
+    public String mode;
+
+    @Param({"5"})
+    public long blockingMillis;
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(CONCURRENT_CALLS)
+    public Scheduler blockingCalls() {
+        Scheduler scheduler = new Scheduler(Runtime.getRuntime().availableProcessors() * 2, false,
+                SchedulerMode.fromName(mode));
+        Function<Object[], Object> blockingCall = params -> {
+            try {
+                Thread.sleep(blockingMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        };
+        for (int i = 0; i < CONCURRENT_CALLS; i++) {
+            scheduler.schedule(new Object[1], blockingCall, null, null);
+        }
+        scheduler.start();
+        return scheduler;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the shared run queue of the {@link Scheduler} with the work stealing run queue.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SchedulerBenchmark {
+
+    private static final int NUM_WORKERS = 8;
+    private static final int STRANDS_PER_PARENT = 16;
+    private static final int PARENTS = 1024;
+
+    /**
+     * Run queue shared by all the benchmark threads, each thread acts as a scheduler worker.
+     */
+    @State(Scope.Benchmark)
+    public static class QueueState {
+
+        @Param({"shared", "work-stealing"})
+        public String mode;
+
+        RunQueue queue;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            queue = SchedulerMode.fromName(mode) == SchedulerMode.WORK_STEALING ?
+                    new WorkStealingRunQueue(NUM_WORKERS) : new SharedRunQueue();
+        }
+    }
+
+    /**
+     * Per worker state, attaches the benchmark thread to the run queue.
+     */
+    @State(Scope.Thread)
+    public static class WorkerState {
+
+        ItemGroup resumedGroup;
+
+        @Setup(Level.Trial)
+        public void setup(QueueState queueState) {
+            queueState.queue.attachWorker();
+            resumedGroup = new ItemGroup(null);
+        }
+    }
+
+    /**
+     * Models a worker spawning a new strand group and picking up the next runnable group.
+     */
+    @Benchmark
+    @Threads(NUM_WORKERS)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ItemGroup spawnAndTake(QueueState queueState, WorkerState workerState) throws InterruptedException {
+        queueState.queue.add(new ItemGroup(null));
+        return queueState.queue.take();
+    }
+
+    /**
+     * Models a strand being unblocked and resumed, the group goes back to the worker that ran it last.
+     */
+    @Benchmark
+    @Threads(NUM_WORKERS)
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ItemGroup unblockAndTake(QueueState queueState, WorkerState workerState) throws InterruptedException {
+        queueState.queue.add(workerState.resumedGroup);
+        return queueState.queue.take();
+    }
+
+    /**
+     * Runs a whole scheduler where each parent strand schedules a set of child strands.
+     */
+    @State(Scope.Thread)
+    public static class SchedulerState {
+
+        @Param({"shared", "work-stealing"})
+        public String mode;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Scheduler scheduleFanOut(SchedulerState state) {
+        Scheduler scheduler = new Scheduler(NUM_WORKERS, false, SchedulerMode.fromName(state.mode));
+        Function<Object[], Object> child = params -> null;
+        Function<Object[], Object> parent = params -> {
+            Strand strand = (Strand) params[0];
+            for (int i = 0; i < STRANDS_PER_PARENT; i++) {
+                scheduler.schedule(new Object[1], child, strand, null);
+            }
+            return null;
+        };
+        for (int i = 0; i < PARENTS; i++) {
+            scheduler.schedule(new Object[1], parent, null, null);
+        }
+        scheduler.start();
+        return scheduler;
+    }
+}
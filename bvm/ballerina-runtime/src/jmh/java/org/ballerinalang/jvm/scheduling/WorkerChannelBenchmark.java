@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures worker to worker message passing through {@link WorkerDataChannel}, driven by a real {@link Scheduler}.
+ * The worker functions below behave like the generated code: when a receive blocks they return, and they are
+ * called again with the same parameters once the strand is resumed.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class WorkerChannelBenchmark {
+
+    private static final int NUM_WORKERS = 4;
+    private static final int MESSAGES = 100_000;
+
+    @Param({"shared", "work-stealing"})
+    public String mode;
+
+    @Param({"8"})
+    public int senders;
+
+    /**
+     * Two workers sending a message back and forth, every receive finds the channel empty and blocks.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Scheduler pingPong() {
+        Scheduler scheduler = new Scheduler(NUM_WORKERS, false, SchedulerMode.fromName(mode));
+        WorkerDataChannel ping = new WorkerDataChannel("ping");
+        WorkerDataChannel pong = new WorkerDataChannel("pong");
+
+        int[] pingState = new int[2];
+        Function<Object[], Object> pinger = params -> {
+            Strand strand = (Strand) params[0];
+            while (pingState[0] < MESSAGES) {
+                if (pingState[1] == 0) {
+                    ping.sendData(pingState[0], strand);
+                    pingState[1] = 1;
+                }
+                if (receive(pong, strand) == null) {
+                    return null;
+                }
+                pingState[1] = 0;
+                pingState[0]++;
+            }
+            return null;
+        };
+        int[] pongState = new int[1];
+        Function<Object[], Object> ponger = params -> {
+            Strand strand = (Strand) params[0];
+            while (pongState[0] < MESSAGES) {
+                Object message = receive(ping, strand);
+                if (message == null) {
+                    return null;
+                }
+                pong.sendData(message, strand);
+                pongState[0]++;
+            }
+            return null;
+        };
+
+        scheduler.schedule(new Object[1], pinger, null, null);
+        scheduler.schedule(new Object[1], ponger, null, null);
+        scheduler.start();
+        return scheduler;
+    }
+
+    /**
+     * Many workers streaming messages to a single receiving worker, one channel per sender.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Scheduler fanIn() {
+        Scheduler scheduler = new Scheduler(NUM_WORKERS, false, SchedulerMode.fromName(mode));
+        int perSender = MESSAGES / senders;
+        WorkerDataChannel[] channels = new WorkerDataChannel[senders];
+        for (int i = 0; i < senders; i++) {
+            WorkerDataChannel channel = new WorkerDataChannel("fan-in-" + i);
+            channels[i] = channel;
+            Function<Object[], Object> sender = params -> {
+                Strand strand = (Strand) params[0];
+                for (int j = 0; j < perSender; j++) {
+                    channel.sendData(j, strand);
+                }
+                return null;
+            };
+            scheduler.schedule(new Object[1], sender, null, null);
+        }
+
+        int[] receiveState = new int[2];
+        Function<Object[], Object> receiver = params -> {
+            Strand strand = (Strand) params[0];
+            // drains the channels in order, like a sequence of receive actions
+            while (receiveState[0] < senders) {
+                while (receiveState[1] < perSender) {
+                    if (receive(channels[receiveState[0]], strand) == null) {
+                        return null;
+                    }
+                    receiveState[1]++;
+                }
+                receiveState[1] = 0;
+                receiveState[0]++;
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], receiver, null, null);
+        scheduler.start();
+        return scheduler;
+    }
+
+    private static Object receive(WorkerDataChannel channel, Strand strand) {
+        try {
+            return channel.tryTakeData(strand);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.JSONParser;
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.api.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks cloning json graphs of about 10KB, 1MB and 50MB of serialized size with {@link CloneUtils}, which
+ * shares the storage of the original until either side is updated. Run with {@code -prof gc} to see the allocation
+ * per clone.
+ *
+ * @since 2.0.0
+ */
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CloneBenchmark {
+
+    private static final BString NAME = StringUtils.fromString("name");
+
+    @Param({"10240", "1048576", "52428800"})
+    public int documentSize;
+
+    private MapValueImpl<BString, Object> json;
+    private Object readOnlyJson;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        StringBuilder sb = new StringBuilder("{\"name\": \"config\", \"items\": [");
+        for (int i = 0; sb.length() < documentSize; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\": ").append(i).append(", \"price\": ").append(i * 0.5)
+                    .append(", \"tags\": [\"a\", \"b\", \"c\"], \"owner\": {\"name\": \"owner").append(i)
+                    .append("\", \"active\": true}}");
+        }
+        json = (MapValueImpl<BString, Object>) JSONParser.parse(
+                sb.append("]}").toString().getBytes(StandardCharsets.UTF_8));
+        readOnlyJson = CloneUtils.cloneReadOnly(json);
+    }
+
+    @Benchmark
+    public Object cloneValue() {
+        return CloneUtils.cloneValue(json);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object cloneValueAndUpdate() {
+        MapValueImpl<BString, Object> clone = (MapValueImpl<BString, Object>) CloneUtils.cloneValue(json);
+        clone.put(NAME, NAME);
+        return clone;
+    }
+
+    @Benchmark
+    public Object cloneReadOnly() {
+        return CloneUtils.cloneReadOnly(json);
+    }
+
+    @Benchmark
+    public Object cloneReadOnlyOfReadOnly() {
+        return CloneUtils.cloneReadOnly(readOnlyJson);
+    }
+}
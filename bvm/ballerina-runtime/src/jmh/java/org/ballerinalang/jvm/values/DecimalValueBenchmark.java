@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.TypeChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks decimal arithmetic and comparison on small scale values. The {@code compact} representation is what
+ * decimal literals and arithmetic results use, {@code big-decimal} forces the previous {@link BigDecimal} backed
+ * representation for comparison.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class DecimalValueBenchmark {
+
+    @Param({"compact", "big-decimal"})
+    public String representation;
+
+    private DecimalValue price;
+    private DecimalValue tax;
+    private DecimalValue quantity;
+
+    @Setup
+    public void setup() {
+        price = create("1.50");
+        tax = create("2.25");
+        quantity = create("3");
+    }
+
+    private DecimalValue create(String value) {
+        if ("compact".equals(representation)) {
+            return new DecimalValue(value);
+        }
+        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128));
+    }
+
+    @Benchmark
+    public DecimalValue add() {
+        return price.add(tax);
+    }
+
+    @Benchmark
+    public DecimalValue subtract() {
+        return price.subtract(tax);
+    }
+
+    @Benchmark
+    public DecimalValue multiply() {
+        return price.multiply(quantity);
+    }
+
+    @Benchmark
+    public DecimalValue lineTotal() {
+        return price.multiply(quantity).add(tax);
+    }
+
+    @Benchmark
+    public boolean lessThan() {
+        return TypeChecker.checkDecimalLessThan(price, tax);
+    }
+
+    @Benchmark
+    public boolean equal() {
+        return TypeChecker.checkDecimalEqual(price, tax);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.XMLFactory;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks freezing values, i.e. the work behind {@code cloneReadOnly()} and readonly construction. Freezing an
+ * already immutable value, or a container whose members are all of inherently immutable types, should not walk
+ * the value.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FreezeBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private final BMapType stringMapType = new BMapType(BTypes.typeString);
+    private BString[] keys;
+    private XMLValue frozenXml;
+    private MapValueImpl<BString, Object> frozenMap;
+
+    @Setup
+    public void setup() {
+        keys = new BString[size];
+        StringBuilder xml = new StringBuilder("<root>");
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(new BMapType(BTypes.typeAnydata));
+        for (int i = 0; i < size; i++) {
+            keys[i] = StringUtils.fromString("key" + i);
+            xml.append("<item id=\"").append(i).append("\"><name>item").append(i).append("</name></item>");
+            map.put(keys[i], BValueCreator.createArrayValue(new long[]{i, i + 1}));
+        }
+        frozenXml = XMLFactory.parse(xml.append("</root>").toString());
+        frozenXml.freezeDirect();
+        map.freezeDirect();
+        frozenMap = map;
+    }
+
+    @Benchmark
+    public XMLValue refreezeXml() {
+        frozenXml.freezeDirect();
+        return frozenXml;
+    }
+
+    @Benchmark
+    public MapValueImpl<BString, Object> refreezeMap() {
+        frozenMap.freezeDirect();
+        return frozenMap;
+    }
+
+    @Benchmark
+    public MapValueImpl<BString, Object> freezeStringMap() {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(stringMapType);
+        for (BString key : keys) {
+            map.put(key, key);
+        }
+        map.freezeDirect();
+        return map;
+    }
+}
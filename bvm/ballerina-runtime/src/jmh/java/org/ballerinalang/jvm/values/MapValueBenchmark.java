@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.api.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the lookup, insertion and iteration of {@link MapValueImpl}, which is backed by
+ * {@link CompactLinkedMap}. Run with {@code -prof gc} to compare the allocation per created map.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MapValueBenchmark {
+
+    @Param({"4", "16", "256"})
+    public int size;
+
+    private final BMapType mapType = new BMapType(BTypes.typeAnydata);
+    private BString[] keys;
+    private BString missingKey;
+    private MapValueImpl<BString, Object> map;
+
+    @Setup
+    public void setup() {
+        keys = new BString[size];
+        map = new MapValueImpl<>(mapType);
+        for (int i = 0; i < size; i++) {
+            keys[i] = StringUtils.fromString("field" + i);
+            map.put(keys[i], (long) i);
+        }
+        missingKey = StringUtils.fromString("missing");
+    }
+
+    @Benchmark
+    public void getHit(Blackhole bh) {
+        for (BString key : keys) {
+            bh.consume(map.get(key));
+        }
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        return map.get(missingKey);
+    }
+
+    @Benchmark
+    public MapValueImpl<BString, Object> createAndFill() {
+        MapValueImpl<BString, Object> newMap = new MapValueImpl<>(mapType);
+        for (int i = 0; i < keys.length; i++) {
+            newMap.put(keys[i], (long) i);
+        }
+        return newMap;
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Map.Entry<BString, Object> entry : map.entrySet()) {
+            bh.consume(entry.getKey());
+            bh.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    public MapValueImpl<BString, Object> putRemoveChurn() {
+        for (int i = 0; i < keys.length; i++) {
+            map.remove(keys[i]);
+            map.put(keys[i], (long) i);
+        }
+        return map;
+    }
+}
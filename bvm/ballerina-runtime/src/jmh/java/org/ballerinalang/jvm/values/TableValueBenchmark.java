@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTableType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.api.BString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks insertion, key lookup and secondary index lookup of keyed {@link TableValueImpl}s. Run with
+ * {@code -prof gc} to compare the allocation per inserted row.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class TableValueBenchmark {
+
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BString GROUP = StringUtils.fromString("group");
+    private static final int GROUPS = 100;
+
+    @Param({"10000", "1000000"})
+    public int rows;
+
+    private final BRecordType rowType = createRowType();
+    private final BTableType tableType = new BTableType(rowType, new String[]{"id"}, false);
+    private MapValueImpl<BString, Object>[] data;
+    private TableValueImpl<Object, MapValueImpl<BString, Object>> table;
+
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setup() {
+        data = new MapValueImpl[rows];
+        for (int i = 0; i < rows; i++) {
+            data[i] = new MapValueImpl<>(rowType);
+            data[i].put(ID, (long) i);
+            data[i].put(GROUP, (long) (i % GROUPS));
+        }
+        table = fill();
+        table.addFieldIndex(GROUP);
+    }
+
+    @Benchmark
+    public TableValueImpl<Object, MapValueImpl<BString, Object>> insert() {
+        return fill();
+    }
+
+    @Benchmark
+    public void getByKey(Blackhole bh) {
+        for (long i = 0; i < rows; i++) {
+            bh.consume(table.get(i));
+        }
+    }
+
+    @Benchmark
+    public List<MapValueImpl<BString, Object>> getByIndexedField() {
+        return table.getRowsByField(GROUP, (long) (GROUPS / 2));
+    }
+
+    // record {| readonly int id; readonly int group; |}
+    private static BRecordType createRowType() {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED + Flags.READONLY));
+        fields.put("group", new BField(BTypes.typeInt, "group", Flags.REQUIRED + Flags.READONLY));
+        return new BRecordType("Row", new BPackage("bench", "table"), 0, fields, null, true,
+                               TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE));
+    }
+
+    private TableValueImpl<Object, MapValueImpl<BString, Object>> fill() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> newTable = new TableValueImpl<>(tableType);
+        for (MapValueImpl<BString, Object> row : data) {
+            newTable.add(row);
+        }
+        return newTable;
+    }
+}
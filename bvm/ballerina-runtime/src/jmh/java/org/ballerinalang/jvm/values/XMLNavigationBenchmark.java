@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.XMLFactory;
+import org.ballerinalang.jvm.values.api.BXML;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks repeated name filters and descendant steps on a document of 50k elements, as a mutable value, which
+ * is scanned on every step, and as a readonly value, which is looked up in the name indexes of {@link XMLSequence}.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class XMLNavigationBenchmark {
+
+    private static final int ORDERS = 5000;
+    private static final List<String> PRICE = Collections.singletonList("price");
+
+    @Param({"false", "true"})
+    public boolean readonly;
+
+    private XMLItem root;
+
+    @Setup
+    public void setup() {
+        // each order has 9 descendant elements, for 50k elements in total
+        StringBuilder sb = new StringBuilder("<orders>");
+        for (int i = 0; i < ORDERS; i++) {
+            sb.append("<order id=\"").append(i).append("\"><customer><name>c").append(i).append("</name>")
+                    .append("<email>c").append(i).append("@example.com</email></customer><items>")
+                    .append("<item><price>").append(i % 100).append("</price></item>")
+                    .append("<item><price>1</price></item></items><status>shipped</status></order>");
+        }
+        sb.append("</orders>");
+        XMLSequence document = (XMLSequence) XMLFactory.parse(sb.toString());
+        if (readonly) {
+            document.freezeDirect();
+        }
+        root = (XMLItem) document.getChildrenList().get(0);
+    }
+
+    @Benchmark
+    public Object childrenByName() {
+        // orders/<order>
+        return root.children("order");
+    }
+
+    @Benchmark
+    public Object descendantsByName() {
+        // orders/**/<price>
+        return root.descendants(PRICE);
+    }
+
+    @Benchmark
+    public void nestedSteps(Blackhole bh) {
+        // orders/<order>/<items>/<item> for a hundred orders
+        List<BXML> orders = root.getChildrenSeq().getChildrenList();
+        for (int i = 0; i < ORDERS; i += ORDERS / 100) {
+            XMLItem order = (XMLItem) orders.get(i);
+            XMLValue items = order.children("items");
+            bh.consume(items.children("item"));
+        }
+    }
+}
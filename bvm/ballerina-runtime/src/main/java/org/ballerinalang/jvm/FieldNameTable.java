@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Field names seen while parsing a JSON document. Objects in a document mostly repeat the same field names, and
+ * looking them up here gives every repetition the same {@link BString}, without creating a new string each time.
+ * <p>
+ * The table is meant to be used for a single document. It keeps at most {@link #MAX_ENTRIES} short names, and
+ * names beyond that are created as usual, so that documents with many distinct keys do not grow it.
+ *
+ * @since 2.0.0
+ */
+class FieldNameTable {
+
+    static final int MAX_ENTRIES = 256;
+    static final int MAX_NAME_LENGTH = 64;
+
+    private static final int CAPACITY = MAX_ENTRIES * 2;
+    private static final int MASK = CAPACITY - 1;
+
+    private final int[] hashes = new int[CAPACITY];
+    private final String[] names = new String[CAPACITY];
+    private final BString[] values = new BString[CAPACITY];
+    private int size;
+
+    /**
+     * Returns the field name with the given characters.
+     *
+     * @param chars  buffer holding the name
+     * @param length length of the name
+     * @return the field name
+     */
+    BString get(char[] chars, int length) {
+        if (length > MAX_NAME_LENGTH) {
+            return StringUtils.fromString(new String(chars, 0, length));
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int slot = mix(hash) & MASK;
+        for (String name; (name = names[slot]) != null; slot = (slot + 1) & MASK) {
+            if (hashes[slot] == hash && matches(name, chars, length)) {
+                return values[slot];
+            }
+        }
+        return add(slot, hash, new String(chars, 0, length));
+    }
+
+    /**
+     * Returns the field name with the given ASCII bytes. Names with other bytes are decoded as UTF-8 and not kept.
+     *
+     * @param bytes buffer holding the name
+     * @param start start of the name
+     * @param end   end of the name
+     * @return the field name
+     */
+    BString get(byte[] bytes, int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        int bits = 0;
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            hash = 31 * hash + b;
+            bits |= b;
+        }
+        if (bits < 0) {
+            return StringUtils.fromString(new String(bytes, start, length, StandardCharsets.UTF_8));
+        }
+        if (length > MAX_NAME_LENGTH) {
+            return StringUtils.fromString(new String(bytes, start, length, StandardCharsets.US_ASCII));
+        }
+        int slot = mix(hash) & MASK;
+        for (String name; (name = names[slot]) != null; slot = (slot + 1) & MASK) {
+            if (hashes[slot] == hash && matches(name, bytes, start, length)) {
+                return values[slot];
+            }
+        }
+        return add(slot, hash, new String(bytes, start, length, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Removes all the field names, so that the table can be used for the next document.
+     */
+    void clear() {
+        if (size > 0) {
+            Arrays.fill(names, null);
+            Arrays.fill(values, null);
+            size = 0;
+        }
+    }
+
+    private BString add(int slot, int hash, String name) {
+        BString value = StringUtils.fromString(name);
+        if (size < MAX_ENTRIES) {
+            hashes[slot] = hash;
+            names[slot] = name;
+            values[slot] = value;
+            size++;
+        }
+        return value;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean matches(String name, char[] chars, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(String name, byte[] bytes, int start, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != bytes[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,646 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BStructureType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ByteArrayStringValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * JSON parser that works directly on UTF-8 encoded bytes, used by {@link JSONParser} for byte input.
+ * <p>
+ * String contents are located eight bytes at a time by looking for the closing quote and escape characters in a
+ * whole word, and strings without escapes are kept as the original bytes. Objects can also be bound directly to a
+ * record type, without building the intermediate json map.
+ * <p>
+ * The parser follows the rules of the character based {@link JSONParser} state machine, including its numbers,
+ * single quoted strings and errors. An invalid document is reported with a {@link SyntaxException} with the same
+ * message and location as the state machine gives for it.
+ *
+ * @since 2.0.0
+ */
+@SuppressWarnings("unchecked")
+class JSONByteParser {
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long BACKSLASHES = ONES * '\\';
+    // stands in for the field name of values in arrays, as the stack of names cannot hold nulls
+    private static final BString ARRAY_ELEMENT = StringUtils.fromString("");
+
+    private final byte[] buff;
+    private final ByteBuffer words;
+    private final int offset;
+    private final int end;
+    private int pos;
+    // end of the last non-string value, which can be directly followed by a ']' that closes an object
+    private int tokenEnd = -1;
+    // set when a record field cannot be converted, reported once the whole document is known to be valid
+    private RuntimeException conversionError;
+    private final FieldNameTable fieldNames = new FieldNameTable();
+    private Map<BStructureType, RecordLayout> recordLayouts;
+
+    private JSONByteParser(byte[] buff, int offset, int length) {
+        this.buff = buff;
+        this.words = ByteBuffer.wrap(buff).order(ByteOrder.LITTLE_ENDIAN);
+        this.offset = offset;
+        this.pos = offset;
+        this.end = offset + length;
+    }
+
+    /**
+     * Parses the given UTF-8 encoded JSON document.
+     *
+     * @param buff   bytes of the document
+     * @param offset start of the document
+     * @param length length of the document
+     * @return JSON structure
+     * @throws SyntaxException if the document is invalid
+     */
+    static Object parse(byte[] buff, int offset, int length) throws SyntaxException {
+        JSONByteParser parser = new JSONByteParser(buff, offset, length);
+        parser.skipWhitespace();
+        if (parser.pos == parser.end) {
+            throw parser.error("empty JSON document", parser.end);
+        }
+        Object result = parser.readValue(true);
+        parser.expectEnd();
+        return result;
+    }
+
+    /**
+     * Parses the given UTF-8 encoded JSON object into a value of the given record type. The result is the same as
+     * {@link JSONUtils#convertJSONToRecord(Object, BStructureType)} of the parsed json.
+     *
+     * @param buff       bytes of the document
+     * @param offset     start of the document
+     * @param length     length of the document
+     * @param recordType type of the record to create
+     * @return the record value
+     * @throws SyntaxException if the document is invalid
+     */
+    static MapValueImpl<BString, Object> parseRecord(byte[] buff, int offset, int length,
+                                                     BStructureType recordType) throws SyntaxException {
+        JSONByteParser parser = new JSONByteParser(buff, offset, length);
+        parser.skipWhitespace();
+        if (parser.pos == parser.end) {
+            throw parser.error("empty JSON document", parser.end);
+        }
+        if (parser.buff[parser.pos] != '{') {
+            Object json = parser.readValue(true);
+            parser.expectEnd();
+            return JSONUtils.convertJSONToRecord(json, recordType);
+        }
+        MapValueImpl<BString, Object> result = parser.readRecord(recordType);
+        parser.expectEnd();
+        if (result == null) {
+            throw parser.conversionError;
+        }
+        return result;
+    }
+
+    private void expectEnd() throws SyntaxException {
+        skipWhitespace();
+        if (pos != end) {
+            throw error("JSON document has already ended", pos);
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(buff[pos])) {
+            pos++;
+        }
+    }
+
+    /**
+     * Returns the next byte, or the given error at the end of the input.
+     */
+    private byte next(String message) throws SyntaxException {
+        if (pos >= end) {
+            throw error(message, end);
+        }
+        return buff[pos++];
+    }
+
+    /**
+     * Returns the first byte of a value. The state machine reports a document that ends where a value is expected
+     * without a location.
+     */
+    private byte peekValue() throws SyntaxException {
+        if (pos >= end) {
+            throw new SyntaxException("invalid JSON document");
+        }
+        return buff[pos];
+    }
+
+    /**
+     * Reads a value of the document, or of an object field when it is not the top level value.
+     */
+    private Object readValue(boolean topLevel) throws SyntaxException {
+        byte b = peekValue();
+        if (b == '{' || b == '[') {
+            return readContainer();
+        } else if (b == '"' || b == '\'') {
+            pos++;
+            return readString(b);
+        }
+        return readToken(topLevel, true);
+    }
+
+    /**
+     * Reads a json object or array. Nested containers are handled with an explicit stack, so that deeply nested
+     * documents do not overflow the call stack.
+     */
+    private Object readContainer() throws SyntaxException {
+        ArrayDeque<Object> parents = new ArrayDeque<>();
+        ArrayDeque<BString> parentKeys = new ArrayDeque<>();
+        Object current = openContainer(buff[pos++]);
+        BString key = null;
+        boolean opened = true;
+        while (true) {
+            skipWhitespace();
+            Object value;
+            if (opened && pos < end && isClosing(current, buff[pos])) {
+                // empty container
+                pos++;
+                value = current;
+                if (parents.isEmpty()) {
+                    return value;
+                }
+                current = parents.pop();
+                key = parentKeys.pop();
+            } else {
+                boolean inObject = current instanceof MapValueImpl;
+                if (inObject) {
+                    key = readFieldName(opened);
+                }
+                byte b = peekValue();
+                if (b == '{' || b == '[') {
+                    pos++;
+                    parents.push(current);
+                    parentKeys.push(key == null ? ARRAY_ELEMENT : key);
+                    current = openContainer(b);
+                    key = null;
+                    opened = true;
+                    continue;
+                } else if (b == '"' || b == '\'') {
+                    pos++;
+                    value = readString(b);
+                } else {
+                    value = readToken(false, inObject);
+                }
+            }
+
+            // attach the completed value, and close all the containers that end right after it
+            while (true) {
+                if (current instanceof MapValueImpl) {
+                    ((MapValueImpl<BString, Object>) current).put(key, value);
+                } else {
+                    ((ArrayValue) current).append(value);
+                }
+                skipWhitespace();
+                boolean inObject = current instanceof MapValueImpl;
+                String expected = inObject ? "expected , or }" : "expected , or ]";
+                byte b = next(expected);
+                if (b == ',') {
+                    opened = false;
+                    break;
+                }
+                if (!isClosing(current, b) && !(inObject && b == ']' && pos - 1 == tokenEnd)) {
+                    throw error(expected, pos - 1);
+                }
+                if (parents.isEmpty()) {
+                    return current;
+                }
+                value = current;
+                current = parents.pop();
+                key = parentKeys.pop();
+            }
+        }
+    }
+
+    private static Object openContainer(byte b) {
+        if (b == '{') {
+            return new MapValueImpl<>(JSONParser.JSON_MAP_TYPE);
+        }
+        return JSONParser.JSON_ARRAY_TYPE.<ArrayValue>getEmptyValue();
+    }
+
+    /**
+     * Reads a field name and the following ':'. The first field of an object can also be the end of the object, so
+     * it is reported as expected along with the field name.
+     */
+    private BString readFieldName(boolean first) throws SyntaxException {
+        String expected = first ? "expected \" or }" : "expected \"";
+        byte quote = next(expected);
+        if (quote != '"' && quote != '\'') {
+            throw error(expected, pos - 1);
+        }
+        BString key = readKey(quote);
+        skipWhitespace();
+        if (next("expected :") != ':') {
+            throw error("expected :", pos - 1);
+        }
+        skipWhitespace();
+        return key;
+    }
+
+    private static boolean isClosing(Object container, byte b) {
+        return container instanceof MapValueImpl ? b == '}' : b == ']';
+    }
+
+    /**
+     * Returns the index of the first byte at or after {@code from} that is the given quote or a backslash, or the end
+     * of the input if there is none.
+     */
+    private int scanString(int from, byte quote) {
+        long quotes = ONES * (quote & 0xFF);
+        int i = from;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            long word = words.getLong(i);
+            long quoteBytes = word ^ quotes;
+            long backslashBytes = word ^ BACKSLASHES;
+            // the lowest set high bit marks the first zero byte, i.e. the first matching byte
+            long matches = ((quoteBytes - ONES) & ~quoteBytes & HIGH_BITS) |
+                    ((backslashBytes - ONES) & ~backslashBytes & HIGH_BITS);
+            if (matches != 0) {
+                return i + (Long.numberOfTrailingZeros(matches) >>> 3);
+            }
+        }
+        for (; i < end; i++) {
+            byte b = buff[i];
+            if (b == quote || b == '\\') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private BString readKey(byte quote) throws SyntaxException {
+        int start = pos;
+        int stop = scanString(start, quote);
+        if (stop < end && buff[stop] == quote) {
+            pos = stop + 1;
+            return fieldNames.get(buff, start, stop);
+        }
+        return StringUtils.fromString(readEscapedString(start, stop, quote));
+    }
+
+    private BString readString(byte quote) throws SyntaxException {
+        int start = pos;
+        int stop = scanString(start, quote);
+        if (stop < end && buff[stop] == quote) {
+            pos = stop + 1;
+            return ByteArrayStringValue.fromUtf8(Arrays.copyOfRange(buff, start, stop));
+        }
+        return StringUtils.fromString(readEscapedString(start, stop, quote));
+    }
+
+    private String decode(int start, int stop) {
+        for (int i = start; i < stop; i++) {
+            if (buff[i] < 0) {
+                return new String(buff, start, stop - start, StandardCharsets.UTF_8);
+            }
+        }
+        return new String(buff, start, stop - start, StandardCharsets.ISO_8859_1);
+    }
+
+    private String readEscapedString(int start, int stop, byte quote) throws SyntaxException {
+        StringBuilder sb = new StringBuilder(stop - start + 16);
+        while (true) {
+            if (stop >= end) {
+                throw error("unexpected end of JSON document", end);
+            }
+            sb.append(decode(start, stop));
+            if (buff[stop] == quote) {
+                pos = stop + 1;
+                return sb.toString();
+            }
+            // escape sequence
+            pos = stop + 1;
+            byte escaped = next("expected escaped characters");
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    sb.append((char) escaped);
+                    break;
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    sb.append(readUnicodeEscape());
+                    break;
+                default:
+                    throw error("expected escaped characters", pos - 1);
+            }
+            start = pos;
+            stop = scanString(start, quote);
+        }
+    }
+
+    private char readUnicodeEscape() throws SyntaxException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            String expected = "expected hexadecimal value of an unicode character";
+            int digit = Character.digit(next(expected), 16);
+            if (digit < 0) {
+                throw error(expected, pos - 1);
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    /**
+     * Reads a non-string scalar, i.e. a number, boolean or null, with the same rules as the state machine parser. As
+     * there, a value in an object ends at a '}' or a ']', and a value in an array ends only at a ']'.
+     */
+    private Object readToken(boolean topLevel, boolean inObject) throws SyntaxException {
+        int start = pos;
+        while (pos < end) {
+            byte b = buff[pos];
+            if (isWhitespace(b) || (!topLevel && (b == ',' || b == ']' || (inObject && b == '}')))) {
+                break;
+            }
+            pos++;
+        }
+        if (pos == end && !topLevel) {
+            throw error("unexpected end of JSON document", end);
+        }
+        tokenEnd = pos;
+        int length = pos - start;
+        if (length == 0) {
+            throw error("unrecognized token ''", pos);
+        }
+
+        // fast path for plain integers
+        int i = start;
+        boolean negative = buff[i] == '-';
+        if (negative) {
+            i++;
+        }
+        int digits = pos - i;
+        if (digits > 0 && digits <= 18) {
+            long value = 0;
+            for (; i < pos; i++) {
+                int digit = buff[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+            }
+            if (i == pos) {
+                return negative ? -value : value;
+            }
+        }
+
+        String token = new String(buff, start, length, StandardCharsets.UTF_8);
+        try {
+            if (token.indexOf('.') >= 0) {
+                return Double.parseDouble(token);
+            }
+            switch (token) {
+                case "true":
+                    return Boolean.TRUE;
+                case "false":
+                    return Boolean.FALSE;
+                case "null":
+                    return null;
+                default:
+                    return Long.parseLong(token);
+            }
+        } catch (NumberFormatException e) {
+            throw error("unrecognized token '" + token + "'", pos);
+        }
+    }
+
+    /**
+     * Reads an object into a record of the given type. A field that cannot be converted does not stop the parsing,
+     * as the state machine reports errors in the document before conversion errors. In that case null is returned,
+     * and the error is kept in {@link #conversionError}.
+     */
+    private MapValueImpl<BString, Object> readRecord(BStructureType recordType) throws SyntaxException {
+        pos++;
+        RecordLayout layout = getRecordLayout(recordType);
+        Object[] values = new Object[layout.types.length];
+        boolean[] present = new boolean[layout.types.length];
+        RuntimeException[] errors = null;
+
+        skipWhitespace();
+        if (pos < end && buff[pos] == '}') {
+            pos++;
+        } else {
+            boolean first = true;
+            while (true) {
+                BString key = readFieldName(first);
+                first = false;
+                Integer index = layout.indexes.get(key.getValue());
+                if (index == null) {
+                    // fields that are not in the record are not mapped
+                    readValue(false);
+                } else {
+                    BType fieldType = layout.types[index];
+                    Object value;
+                    RuntimeException error = null;
+                    if (fieldType.getTag() == TypeTags.RECORD_TYPE_TAG && peekValue() == '{') {
+                        value = readRecord((BStructureType) fieldType);
+                        if (value == null) {
+                            error = conversionError;
+                        }
+                    } else {
+                        value = readValue(false);
+                        try {
+                            value = JSONUtils.convertJSON(value, fieldType);
+                        } catch (RuntimeException e) {
+                            error = e;
+                        }
+                    }
+                    if (error != null || errors != null) {
+                        if (errors == null) {
+                            errors = new RuntimeException[layout.types.length];
+                        }
+                        // the last value of a repeated field is the one that is converted
+                        errors[index] = error;
+                    }
+                    values[index] = value;
+                    present[index] = true;
+                }
+                skipWhitespace();
+                byte b = next("expected , or }");
+                if (b == '}' || (b == ']' && pos - 1 == tokenEnd)) {
+                    break;
+                }
+                if (b != ',') {
+                    throw error("expected , or }", pos - 1);
+                }
+                skipWhitespace();
+            }
+        }
+
+        MapValueImpl<BString, Object> record = new MapValueImpl<>(recordType);
+        for (int i = 0; i < values.length; i++) {
+            RuntimeException e = errors == null ? null : errors[i];
+            if (e == null) {
+                try {
+                    record.put(layout.keys[i], present[i] ? values[i] : layout.types[i].getZeroValue());
+                    continue;
+                } catch (RuntimeException zeroValueError) {
+                    e = zeroValueError;
+                }
+            }
+            // same as the error of JSONUtils.convertJSONToRecord for the field
+            String errorMsg = e.getCause() == null ? "error while mapping '" + layout.keys[i].getValue() + "': " : "";
+            conversionError = new BallerinaException(errorMsg + e.getMessage(), e);
+            return null;
+        }
+        return record;
+    }
+
+    private RecordLayout getRecordLayout(BStructureType recordType) {
+        if (recordLayouts == null) {
+            recordLayouts = new IdentityHashMap<>();
+        }
+        RecordLayout layout = recordLayouts.get(recordType);
+        if (layout == null) {
+            layout = new RecordLayout(recordType);
+            recordLayouts.put(recordType, layout);
+        }
+        return layout;
+    }
+
+    /**
+     * Fields of a record type in declaration order, with an index by name.
+     */
+    private static class RecordLayout {
+
+        final BString[] keys;
+        final BType[] types;
+        final Map<String, Integer> indexes = new HashMap<>();
+
+        RecordLayout(BStructureType recordType) {
+            Map<String, BField> fields = recordType.getFields();
+            keys = new BString[fields.size()];
+            types = new BType[fields.size()];
+            int i = 0;
+            for (BField field : fields.values()) {
+                keys[i] = StringUtils.fromString(field.name);
+                types[i] = field.type;
+                indexes.put(field.name, i);
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Creates the error for the character at the given position, or for the end of the input, with the line and
+     * column the state machine parser reports for it. The location is found by going through the document up to the
+     * error, which is only done for invalid documents.
+     *
+     * @param message  error message
+     * @param position position of the character the error is reported for
+     * @return the error
+     */
+    private SyntaxException error(String message, int position) {
+        int line = 1;
+        int column = 0;
+        byte quote = 0;
+        boolean escaped = false;
+        boolean inToken = false;
+        for (int i = offset; i < position; i++) {
+            byte b = buff[i];
+            if (b == '\n') {
+                line++;
+                column = 0;
+            } else if ((b & 0xC0) != 0x80) {
+                // columns are counted in UTF-16 characters, and a four byte sequence is a surrogate pair
+                column += (b & 0xF8) == 0xF0 ? 2 : 1;
+            }
+            if (quote != 0) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == quote) {
+                    quote = 0;
+                }
+                continue;
+            }
+            boolean tokenByte = !isWhitespace(b) && b != '{' && b != '}' && b != '[' && b != ']' && b != ',' &&
+                    b != ':' && b != '"' && b != '\'';
+            if (tokenByte && !inToken) {
+                // the state machine reads the first character of a non-string value twice
+                column++;
+            } else if (b == '"' || b == '\'') {
+                quote = b;
+            }
+            inToken = tokenByte;
+        }
+        if (position < end && buff[position] == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return new SyntaxException(message + " at line: " + line + " column: " + column);
+    }
+
+    /**
+     * Thrown for invalid documents, with the same message as the state machine parser.
+     */
+    static class SyntaxException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        SyntaxException(String message) {
+            // reported by the caller as a BallerinaException, the stack trace is never needed
+            super(message, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ByteArrayStringValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.StreamingJsonValue;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Serializes JSON values, including records and maps of JSON compatible values, as UTF-8 bytes directly into a
+ * pooled byte buffer which is flushed to the given {@link OutputStream}. Unlike {@link JSONGenerator} there is no
+ * {@link java.io.Writer} in between, so the serialized document never exists as a {@link String} or a character
+ * array. Strings that were parsed from UTF-8 bytes are copied as is, and the escaped field names of a record type are
+ * encoded only once per {@link BRecordType}.
+ * <p>
+ * The output is the same as that of {@link JSONGenerator} with the UTF-8 charset.
+ *
+ * @since 2.0.0
+ */
+@SuppressWarnings("unchecked")
+public class JSONByteSerializer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+    // Record types are compared by name, so a type may find the field names of another type of the same name. The
+    // encoded form depends only on the field name, so such an entry is still right for the fields it has.
+    private static final Map<BRecordType, Map<String, byte[]>> FIELD_NAMES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final byte[] SEPARATOR = {',', ' '};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9'};
+    // '/' and '\f' are escaped only when the string has one of these, the same as in JSONGenerator
+    private static final boolean[] ESC_CHARS = new boolean[93];
+
+    static {
+        ESC_CHARS['"'] = true;
+        ESC_CHARS['\\'] = true;
+        ESC_CHARS['\b'] = true;
+        ESC_CHARS['\n'] = true;
+        ESC_CHARS['\r'] = true;
+        ESC_CHARS['\t'] = true;
+    }
+
+    private final OutputStream out;
+    private byte[] buffer;
+    private int pos;
+
+    private JSONByteSerializer(OutputStream out, byte[] buffer) {
+        this.out = out;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Serializes the given JSON value to the given output stream, as UTF-8 bytes. The stream is written to, but not
+     * flushed or closed.
+     *
+     * @param json JSON value to serialize
+     * @param out  output stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    public static void serialize(Object json, OutputStream out) throws IOException {
+        byte[] buffer = BUFFERS.get();
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+        } else {
+            // a nested call on this thread, if any, uses a buffer of its own
+            BUFFERS.set(null);
+        }
+        JSONByteSerializer serializer = new JSONByteSerializer(out, buffer);
+        try {
+            serializer.writeValue(json);
+            serializer.flushBuffer();
+        } finally {
+            BUFFERS.set(buffer);
+        }
+    }
+
+    private void writeValue(Object json) throws IOException {
+        if (json == null) {
+            writeBytes(NULL);
+            return;
+        }
+
+        switch (TypeChecker.getType(json).getTag()) {
+            case TypeTags.ARRAY_TAG:
+                if (json instanceof StreamingJsonValue) {
+                    flushBuffer();
+                    ((StreamingJsonValue) json).serialize(out);
+                    break;
+                }
+                writeByte('[');
+                ArrayValue jsonArray = (ArrayValue) json;
+                for (int i = 0; i < jsonArray.size(); i++) {
+                    if (i > 0) {
+                        writeBytes(SEPARATOR);
+                    }
+                    writeValue(jsonArray.get(i));
+                }
+                writeByte(']');
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                writeBytes((Boolean) json ? TRUE : FALSE);
+                break;
+            case TypeTags.FLOAT_TAG:
+                writeAscii(Double.toString(((Number) json).doubleValue()));
+                break;
+            case TypeTags.DECIMAL_TAG:
+                writeAscii(((DecimalValue) json).value().toString());
+                break;
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+                writeLong(((Number) json).longValue());
+                break;
+            case TypeTags.MAP_TAG:
+            case TypeTags.JSON_TAG:
+                writeObject((MapValueImpl<BString, Object>) json, null);
+                break;
+            case TypeTags.RECORD_TYPE_TAG:
+                MapValueImpl<BString, Object> record = (MapValueImpl<BString, Object>) json;
+                writeObject(record, getFieldNames((BRecordType) record.getType()));
+                break;
+            case TypeTags.STRING_TAG:
+                writeByte('"');
+                if (json instanceof BString) {
+                    writeStringContent((BString) json);
+                } else {
+                    writeStringContent(json.toString());
+                }
+                writeByte('"');
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeObject(MapValueImpl<BString, Object> map, Map<String, byte[]> fieldNames) throws IOException {
+        writeByte('{');
+        boolean first = true;
+        for (Map.Entry<BString, Object> entry : map.entrySet()) {
+            if (!first) {
+                writeBytes(SEPARATOR);
+            }
+            first = false;
+            String key = entry.getKey().getValue();
+            byte[] fieldName = fieldNames == null ? null : fieldNames.get(key);
+            if (fieldName != null) {
+                writeBytes(fieldName);
+            } else {
+                writeFieldName(entry.getKey());
+            }
+            writeValue(entry.getValue());
+        }
+        writeByte('}');
+    }
+
+    private void writeFieldName(BString key) throws IOException {
+        writeByte('"');
+        writeStringContent(key);
+        writeByte('"');
+        writeByte(':');
+    }
+
+    /**
+     * Returns the encoded {@code "name":} form of the fields of the given record type, computing it on first use.
+     * Rest fields are not known up front and are encoded as they are written.
+     */
+    private static Map<String, byte[]> getFieldNames(BRecordType recordType) throws IOException {
+        Map<String, byte[]> fieldNames = FIELD_NAMES.get(recordType);
+        if (fieldNames != null) {
+            return fieldNames;
+        }
+        fieldNames = new HashMap<>();
+        for (String name : recordType.getFields().keySet()) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream(name.length() + 3);
+            JSONByteSerializer serializer = new JSONByteSerializer(encoded, new byte[name.length() * 6 + 3]);
+            serializer.writeFieldName(StringUtils.fromString(name));
+            serializer.flushBuffer();
+            fieldNames.put(name, encoded.toByteArray());
+        }
+        FIELD_NAMES.put(recordType, fieldNames);
+        return fieldNames;
+    }
+
+    private void writeStringContent(BString value) throws IOException {
+        if (value instanceof ByteArrayStringValue) {
+            ByteBuffer utf8 = ((ByteArrayStringValue) value).utf8View();
+            if (utf8 != null) {
+                writeUtf8(utf8);
+                return;
+            }
+        }
+        writeStringContent(value.getValue());
+    }
+
+    private void writeUtf8(ByteBuffer utf8) throws IOException {
+        int length = utf8.remaining();
+        boolean escape = false;
+        for (int i = 0; i < length; i++) {
+            byte b = utf8.get(i);
+            if (b >= 0 && b < ESC_CHARS.length && ESC_CHARS[b]) {
+                escape = true;
+                break;
+            }
+        }
+        if (!escape) {
+            while (utf8.hasRemaining()) {
+                if (pos == buffer.length) {
+                    flushBuffer();
+                }
+                int count = Math.min(utf8.remaining(), buffer.length - pos);
+                utf8.get(buffer, pos, count);
+                pos += count;
+            }
+            return;
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = utf8.get(i);
+            if (!writeEscaped(b)) {
+                writeByte(b);
+            }
+        }
+    }
+
+    private void writeStringContent(String value) throws IOException {
+        int length = value.length();
+        boolean escape = false;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < ESC_CHARS.length && ESC_CHARS[ch]) {
+                escape = true;
+                break;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                if (!escape || !writeEscaped(ch)) {
+                    writeByte(ch);
+                }
+                continue;
+            }
+            ensureCapacity(4);
+            if (ch < 0x800) {
+                buffer[pos++] = (byte) (0xC0 | (ch >> 6));
+                buffer[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (!Character.isSurrogate(ch)) {
+                buffer[pos++] = (byte) (0xE0 | (ch >> 12));
+                buffer[pos++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | (ch & 0x3F));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length &&
+                    Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                buffer[pos++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[pos++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else {
+                // unpaired surrogates are replaced the same way the UTF-8 charset encoder does
+                buffer[pos++] = '?';
+            }
+        }
+    }
+
+    private boolean writeEscaped(int ch) throws IOException {
+        char escaped;
+        switch (ch) {
+            case '"':
+                escaped = '"';
+                break;
+            case '\\':
+                escaped = '\\';
+                break;
+            case '/':
+                escaped = '/';
+                break;
+            case '\b':
+                escaped = 'b';
+                break;
+            case '\n':
+                escaped = 'n';
+                break;
+            case '\r':
+                escaped = 'r';
+                break;
+            case '\f':
+                escaped = 'f';
+                break;
+            case '\t':
+                escaped = 't';
+                break;
+            default:
+                return false;
+        }
+        ensureCapacity(2);
+        buffer[pos++] = '\\';
+        buffer[pos++] = (byte) escaped;
+        return true;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buffer[pos++] = '-';
+            value = -value;
+        }
+        int end = pos + digitCount(value);
+        int index = end;
+        do {
+            buffer[--index] = DIGITS[(int) (value % 10)];
+            value /= 10;
+        } while (value != 0);
+        pos = end;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private void writeAscii(String value) throws IOException {
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[pos++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (pos == buffer.length) {
+            flushBuffer();
+        }
+        buffer[pos++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - pos) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (length > buffer.length - pos) {
+            flushBuffer();
+            if (length > buffer.length) {
+                buffer = new byte[length];
+            }
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buffer, 0, pos);
+            pos = 0;
+        }
+    }
+}
@@ -20,7 +20,7 @@ package org.ballerinalang.jvm;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.ballerinalang.jvm.types.BArrayType;
 import org.ballerinalang.jvm.types.BMapType;
-import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BStructureType;
 import org.ballerinalang.jvm.types.BTypes;
 import org.ballerinalang.jvm.types.TypeTags;
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
@@ -30,12 +30,15 @@ import org.ballerinalang.jvm.values.MapValueImpl;
 import org.ballerinalang.jvm.values.api.BString;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
@@ -47,6 +50,10 @@ import java.util.Deque;
 @SuppressWarnings("unchecked")
 public class JSONParser {
 
+    // json values are created with these types, as they are not changed once created
+    static final BMapType JSON_MAP_TYPE = new BMapType(BTypes.typeJSON);
+    static final BArrayType JSON_ARRAY_TYPE = new BArrayType(BTypes.typeJSON);
+
     private static ThreadLocal<StateMachine> tlStateMachine = new ThreadLocal<StateMachine>() {
         @Override
         public StateMachine initialValue() {
@@ -62,8 +69,7 @@ public class JSONParser {
      * @throws BallerinaException for any parsing error
      */
     public static Object parse(InputStream in) throws BallerinaException {
-        Object jsonObj = parse(in, Charset.defaultCharset().name());
-        return changeForBString(jsonObj);
+        return parse(in, Charset.defaultCharset().name());
     }
 
     /**
@@ -76,8 +82,10 @@ public class JSONParser {
      */
     public static Object parse(InputStream in, String charsetName) throws BallerinaException {
         try {
-            Object jsonObj = parse(new InputStreamReader(new BufferedInputStream(in), charsetName));
-            return changeForBString(jsonObj);
+            if (isUTF8(charsetName)) {
+                return parse(readAllBytes(in));
+            }
+            return parse(new InputStreamReader(new BufferedInputStream(in), charsetName));
         } catch (IOException e) {
             throw BallerinaErrors.createError("Error in parsing JSON data: " + e.getMessage());
         }
@@ -91,32 +99,80 @@ public class JSONParser {
      * @throws BallerinaException for any parsing error
      */
     public static Object parse(String jsonStr) throws BallerinaException {
-        Object jsonObj = parse(new StringReader(jsonStr));
-        return changeForBString(jsonObj);
+        return parse(new StringReader(jsonStr));
     }
 
-    private static Object changeForBString(Object jsonObj) {
-        BType type = TypeChecker.getType(jsonObj);
-        switch (type.getTag()) {
-            case TypeTags.STRING_TAG:
-                if (jsonObj instanceof String) {
-                    return StringUtils.fromString((String) jsonObj);
-                }
-                break;
-            case TypeTags.MAP_TAG:
-                MapValueImpl<BString, Object> map = (MapValueImpl<BString, Object>) jsonObj;
-                MapValueImpl<BString, Object> resultMap = new MapValueImpl<>(type);
-                map.forEach((key, value) -> resultMap.put(key, changeForBString(value)));
-                return resultMap;
-            case TypeTags.ARRAY_TAG:
-                ArrayValue arrayValue = (ArrayValue) jsonObj;
-                ArrayValue resultArrayValue = new ArrayValueImpl((BArrayType) type);
-                for (int i = 0; i < arrayValue.size(); i++) {
-                    resultArrayValue.add(i, changeForBString(arrayValue.get(i)));
-                }
-                return resultArrayValue;
+    /**
+     * Parses the given UTF-8 encoded bytes and returns a json.
+     *
+     * @param bytes UTF-8 encoded JSON content
+     * @return JSON structure
+     * @throws BallerinaException for any parsing error
+     */
+    public static Object parse(byte[] bytes) throws BallerinaException {
+        return parse(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Parses the remaining UTF-8 encoded bytes of the given buffer and returns a json. The position of the buffer is
+     * not changed.
+     *
+     * @param buffer buffer which contains the UTF-8 encoded JSON content
+     * @return JSON structure
+     * @throws BallerinaException for any parsing error
+     */
+    public static Object parse(ByteBuffer buffer) throws BallerinaException {
+        if (buffer.hasArray()) {
+            return parse(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return parse(bytes);
+    }
+
+    private static Object parse(byte[] bytes, int offset, int length) throws BallerinaException {
+        try {
+            return JSONByteParser.parse(bytes, offset, length);
+        } catch (JSONByteParser.SyntaxException e) {
+            throw new BallerinaException(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses the given UTF-8 encoded JSON object directly into a value of the given record type. This gives the
+     * same result as converting the parsed json with
+     * {@link JSONUtils#convertJSONToRecord(Object, BStructureType)}, without creating the intermediate json.
+     *
+     * @param bytes      UTF-8 encoded JSON content
+     * @param recordType type of the record to create
+     * @return the record value
+     * @throws BallerinaException for any parsing or conversion error
+     */
+    public static MapValueImpl<BString, Object> parseToRecord(byte[] bytes, BStructureType recordType)
+            throws BallerinaException {
+        try {
+            return JSONByteParser.parseRecord(bytes, 0, bytes.length, recordType);
+        } catch (JSONByteParser.SyntaxException e) {
+            throw new BallerinaException(e.getMessage());
         }
-    return jsonObj;
+    }
+
+    private static boolean isUTF8(String charsetName) {
+        try {
+            return Charset.isSupported(charsetName) && StandardCharsets.UTF_8.equals(Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static byte[] readAllBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buff = new byte[8192];
+        int count;
+        while ((count = in.read(buff)) > 0) {
+            out.write(buff, 0, count);
+        }
+        return out.toByteArray();
     }
 
     /**
@@ -202,8 +258,9 @@ public class JSONParser {
                 new StringValueUnicodeHexProcessingState();
 
         private Object currentJsonNode;
-        private Deque<Object> nodesStack;
-        private Deque<String> fieldNames;
+        private Deque<Object> nodesStack = new ArrayDeque<>();
+        private Deque<BString> fieldNames = new ArrayDeque<>();
+        private final FieldNameTable fieldNameTable = new FieldNameTable();
 
         private StringBuilder hexBuilder = new StringBuilder(4);
         private char[] charBuff = new char[1024];
@@ -223,8 +280,10 @@ public class JSONParser {
             this.currentJsonNode = null;
             this.line = 1;
             this.column = 0;
-            this.nodesStack = new ArrayDeque<>();
-            this.fieldNames = new ArrayDeque<>();
+            this.charBuffIndex = 0;
+            this.nodesStack.clear();
+            this.fieldNames.clear();
+            this.fieldNameTable.clear();
         }
 
         private static boolean isWhitespace(char ch) {
@@ -291,7 +350,7 @@ public class JSONParser {
 
             Object parentNode = this.nodesStack.pop();
             if (TypeChecker.getType(parentNode).getTag() == TypeTags.MAP_TAG) {
-                ((MapValueImpl<BString, Object>) parentNode).put(StringUtils.fromString(fieldNames.pop()),
+                ((MapValueImpl<BString, Object>) parentNode).put(fieldNames.pop(),
                                                                  currentJsonNode);
                 currentJsonNode = parentNode;
                 return FIELD_END_STATE;
@@ -305,7 +364,7 @@ public class JSONParser {
             if (currentJsonNode != null) {
                 this.nodesStack.push(currentJsonNode);
             }
-            currentJsonNode = new MapValueImpl<>(new BMapType(BTypes.typeJSON));
+            currentJsonNode = new MapValueImpl<>(JSON_MAP_TYPE);
             return FIRST_FIELD_READY_STATE;
         }
 
@@ -313,7 +372,7 @@ public class JSONParser {
             if (currentJsonNode != null) {
                 this.nodesStack.push(currentJsonNode);
             }
-            currentJsonNode = new ArrayValueImpl(new BArrayType(BTypes.typeJSON));
+            currentJsonNode = new ArrayValueImpl(JSON_ARRAY_TYPE);
             return FIRST_ARRAY_ELEMENT_READY_STATE;
         }
 
@@ -541,7 +600,8 @@ public class JSONParser {
         }
 
         private void processFieldName() {
-            this.fieldNames.push(this.value());
+            this.fieldNames.push(this.fieldNameTable.get(this.charBuff, this.charBuffIndex));
+            this.charBuffIndex = 0;
         }
 
         /**
@@ -655,7 +715,7 @@ public class JSONParser {
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
                         ((MapValueImpl<BString, Object>) sm.currentJsonNode).put(
-                                StringUtils.fromString(sm.fieldNames.pop()), StringUtils.fromString(sm.value()));
+                                sm.fieldNames.pop(), StringUtils.fromString(sm.value()));
                         state = FIELD_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_FIELD_ESC_CHAR_PROCESSING_STATE;
@@ -687,7 +747,7 @@ public class JSONParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        ((ArrayValue) sm.currentJsonNode).append(sm.value());
+                        ((ArrayValue) sm.currentJsonNode).append(StringUtils.fromString(sm.value()));
                         state = ARRAY_ELEMENT_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_AE_ESC_CHAR_PROCESSING_STATE;
@@ -799,7 +859,7 @@ public class JSONParser {
                     ch = buff[i];
                     sm.processLocation(ch);
                     if (ch == sm.currentQuoteChar) {
-                        sm.currentJsonNode = sm.value();
+                        sm.currentJsonNode = StringUtils.fromString(sm.value());
                         state = DOC_END_STATE;
                     } else if (ch == REV_SOL) {
                         state = STRING_VAL_ESC_CHAR_PROCESSING_STATE;
@@ -833,7 +893,7 @@ public class JSONParser {
                             break;
                         case FIELD:
                             ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                    StringUtils.fromString(this.fieldNames.pop()), doubleValue);
+                                    this.fieldNames.pop(), doubleValue);
                             break;
                         case VALUE:
                             currentJsonNode = doubleValue;
@@ -853,7 +913,7 @@ public class JSONParser {
                             break;
                         case FIELD:
                             ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                    StringUtils.fromString(this.fieldNames.pop()), Boolean.TRUE);
+                                    this.fieldNames.pop(), Boolean.TRUE);
                             break;
                         case VALUE:
                             currentJsonNode = Boolean.TRUE;
@@ -868,7 +928,7 @@ public class JSONParser {
                             break;
                         case FIELD:
                             ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                    StringUtils.fromString(this.fieldNames.pop()), Boolean.FALSE);
+                                    this.fieldNames.pop(), Boolean.FALSE);
                             break;
                         case VALUE:
                             currentJsonNode = Boolean.FALSE;
@@ -883,7 +943,7 @@ public class JSONParser {
                             break;
                         case FIELD:
                             ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                    StringUtils.fromString(this.fieldNames.pop()), null);
+                                    this.fieldNames.pop(), null);
                             break;
                         case VALUE:
                             currentJsonNode = null;
@@ -900,7 +960,7 @@ public class JSONParser {
                                 break;
                             case FIELD:
                                 ((MapValueImpl<BString, Object>) this.currentJsonNode).put(
-                                        StringUtils.fromString(this.fieldNames.pop()), longValue);
+                                        this.fieldNames.pop(), longValue);
                                 break;
                             case VALUE:
                                 currentJsonNode = longValue;
@@ -0,0 +1,411 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.io.CharArrayReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull parser that reads a large JSON input one value at a time, instead of creating the whole document at once.
+ * <p>
+ * The values returned are the elements of the array selected by a JSON pointer (RFC 6901), or the selected value
+ * itself if it is not an array. With the empty pointer the elements of a top level array are returned, and any
+ * other input is read as a sequence of whitespace separated documents, such as newline delimited JSON. Only the
+ * value being returned is kept in memory, the parts of the input before and around it are skipped over.
+ * <p>
+ * Each value is parsed with {@link JSONParser}, so the values are the same as parsing them on their own.
+ *
+ * @since 2.0.0
+ */
+public class JSONPullParser implements Closeable {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final String pointer;
+    private final List<String> pointerTokens;
+    private final char[] buff = new char[8192];
+    private int pos;
+    private int limit;
+    private char[] value = new char[1024];
+    private int valueLength;
+
+    private Mode mode;
+    private boolean hasValue;
+
+    /**
+     * Creates a parser that reads the values selected by the given JSON pointer.
+     *
+     * @param reader  the JSON input
+     * @param pointer JSON pointer of the array, whose elements are read
+     * @throws BallerinaException if the pointer is not valid
+     */
+    public JSONPullParser(Reader reader, String pointer) throws BallerinaException {
+        this.reader = reader;
+        this.pointer = pointer;
+        this.pointerTokens = parsePointer(pointer);
+    }
+
+    /**
+     * Creates a parser that reads the values selected by the given JSON pointer from UTF-8 encoded input.
+     *
+     * @param in      the UTF-8 encoded JSON input
+     * @param pointer JSON pointer of the array, whose elements are read
+     * @throws BallerinaException if the pointer is not valid
+     */
+    public JSONPullParser(InputStream in, String pointer) throws BallerinaException {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8), pointer);
+    }
+
+    /**
+     * Checks whether there is another value to read, reading the input up to the start of it.
+     *
+     * @return true if {@link #next()} returns another value
+     * @throws BallerinaException for any parsing error
+     */
+    public boolean hasNext() throws BallerinaException {
+        if (hasValue) {
+            return true;
+        }
+        try {
+            if (mode == null) {
+                selectTarget();
+            }
+            switch (mode) {
+                case ARRAY:
+                    skipWhitespace();
+                    int ch = read();
+                    if (ch == ']') {
+                        mode = Mode.DONE;
+                    } else if (ch == ',') {
+                        hasValue = true;
+                    } else {
+                        throw syntaxError("expected , or ]");
+                    }
+                    break;
+                case FIRST_ARRAY_ELEMENT:
+                    skipWhitespace();
+                    if (peek() == ']') {
+                        read();
+                        mode = Mode.DONE;
+                    } else {
+                        mode = Mode.ARRAY;
+                        hasValue = true;
+                    }
+                    break;
+                case SEQUENCE:
+                    skipWhitespace();
+                    hasValue = peek() != EOF;
+                    break;
+                case SINGLE:
+                    mode = Mode.DONE;
+                    hasValue = true;
+                    break;
+                default:
+                    break;
+            }
+            return hasValue;
+        } catch (IOException e) {
+            throw new BallerinaException("Error reading JSON: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the next value.
+     *
+     * @return the next JSON value
+     * @throws BallerinaException for any parsing error, or if there are no more values
+     */
+    public Object next() throws BallerinaException {
+        if (!hasNext()) {
+            throw new BallerinaException("no more JSON values");
+        }
+        hasValue = false;
+        try {
+            valueLength = 0;
+            readValue(true, mode == Mode.SEQUENCE);
+        } catch (IOException e) {
+            throw new BallerinaException("Error reading JSON: " + e.getMessage());
+        }
+        Object result = JSONParser.parse(new CharArrayReader(value, 0, valueLength));
+        if (value.length > buff.length * 8) {
+            // do not hold on to the space needed for an unusually large value
+            value = new char[buff.length];
+        }
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mode = Mode.DONE;
+        hasValue = false;
+        reader.close();
+    }
+
+    private static List<String> parsePointer(String pointer) throws BallerinaException {
+        List<String> tokens = new ArrayList<>();
+        if (pointer.isEmpty()) {
+            return tokens;
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new BallerinaException("invalid JSON pointer '" + pointer + "': expected '/' at the start");
+        }
+        int start = 1;
+        while (true) {
+            int end = pointer.indexOf('/', start);
+            String token = pointer.substring(start, end < 0 ? pointer.length() : end);
+            tokens.add(token.replace("~1", "/").replace("~0", "~"));
+            if (end < 0) {
+                return tokens;
+            }
+            start = end + 1;
+        }
+    }
+
+    /**
+     * Moves to the value selected by the pointer, skipping the values before it.
+     */
+    private void selectTarget() throws IOException, BallerinaException {
+        for (String token : pointerTokens) {
+            skipWhitespace();
+            int ch = read();
+            if (ch == '{') {
+                selectField(token);
+            } else if (ch == '[') {
+                selectElement(token);
+            } else {
+                throw pointerNotFound();
+            }
+        }
+        skipWhitespace();
+        if (peek() == '[') {
+            read();
+            mode = Mode.FIRST_ARRAY_ELEMENT;
+        } else if (pointerTokens.isEmpty()) {
+            mode = Mode.SEQUENCE;
+        } else {
+            mode = Mode.SINGLE;
+        }
+    }
+
+    private void selectField(String name) throws IOException, BallerinaException {
+        skipWhitespace();
+        if (peek() == '}') {
+            throw pointerNotFound();
+        }
+        while (true) {
+            skipWhitespace();
+            int quote = read();
+            if (quote != '"' && quote != '\'') {
+                throw syntaxError("expected \"");
+            }
+            valueLength = 0;
+            readString(quote, true);
+            String fieldName = ((BString) JSONParser.parse(new CharArrayReader(value, 0, valueLength))).getValue();
+            skipWhitespace();
+            if (read() != ':') {
+                throw syntaxError("expected :");
+            }
+            if (fieldName.equals(name)) {
+                return;
+            }
+            readValue(false, false);
+            skipWhitespace();
+            int ch = read();
+            if (ch == '}') {
+                throw pointerNotFound();
+            } else if (ch != ',') {
+                throw syntaxError("expected , or }");
+            }
+        }
+    }
+
+    private void selectElement(String index) throws IOException, BallerinaException {
+        int target;
+        try {
+            target = Integer.parseInt(index);
+        } catch (NumberFormatException e) {
+            throw pointerNotFound();
+        }
+        skipWhitespace();
+        if (peek() == ']' || target < 0) {
+            throw pointerNotFound();
+        }
+        for (int i = 0; i < target; i++) {
+            readValue(false, false);
+            skipWhitespace();
+            int ch = read();
+            if (ch == ']') {
+                throw pointerNotFound();
+            } else if (ch != ',') {
+                throw syntaxError("expected , or ]");
+            }
+        }
+    }
+
+    /**
+     * Reads a complete value, keeping its characters in the value buffer if required.
+     *
+     * @param keep     whether to keep the characters of the value
+     * @param topLevel whether the value is a whitespace separated document, rather than a value in a container
+     */
+    private void readValue(boolean keep, boolean topLevel) throws IOException, BallerinaException {
+        skipWhitespace();
+        int ch = peek();
+        if (ch == '{' || ch == '[') {
+            readContainer(keep);
+        } else if (ch == '"' || ch == '\'') {
+            read();
+            readString(ch, keep);
+        } else {
+            readScalar(keep, topLevel);
+        }
+    }
+
+    private void readContainer(boolean keep) throws IOException, BallerinaException {
+        int depth = 0;
+        do {
+            int ch = read();
+            switch (ch) {
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    depth--;
+                    break;
+                case '"':
+                case '\'':
+                    readString(ch, keep);
+                    continue;
+                case EOF:
+                    throw syntaxError("unexpected end of JSON document");
+                default:
+                    break;
+            }
+            if (keep) {
+                append((char) ch);
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Reads a string after its opening quote, up to and including the closing quote.
+     */
+    private void readString(int quote, boolean keep) throws IOException, BallerinaException {
+        if (keep) {
+            append((char) quote);
+        }
+        boolean escaped = false;
+        while (true) {
+            int ch = read();
+            if (ch == EOF) {
+                throw syntaxError("unexpected end of JSON document");
+            }
+            if (keep) {
+                append((char) ch);
+            }
+            if (escaped) {
+                escaped = false;
+            } else if (ch == '\\') {
+                escaped = true;
+            } else if (ch == quote) {
+                return;
+            }
+        }
+    }
+
+    private void readScalar(boolean keep, boolean topLevel) throws IOException, BallerinaException {
+        while (true) {
+            int ch = peek();
+            if (ch == EOF || isWhitespace(ch) || (!topLevel && (ch == ',' || ch == ']' || ch == '}'))) {
+                return;
+            }
+            read();
+            if (keep) {
+                append((char) ch);
+            }
+        }
+    }
+
+    private void append(char ch) {
+        if (valueLength == value.length) {
+            char[] newValue = new char[value.length * 2];
+            System.arraycopy(value, 0, newValue, 0, valueLength);
+            value = newValue;
+        }
+        value[valueLength++] = ch;
+    }
+
+    private static boolean isWhitespace(int ch) {
+        return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (isWhitespace(peek())) {
+            pos++;
+        }
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buff[pos];
+    }
+
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return EOF;
+        }
+        return buff[pos++];
+    }
+
+    private boolean fill() throws IOException {
+        int count = reader.read(buff, 0, buff.length);
+        if (count <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = count;
+        return true;
+    }
+
+    private BallerinaException pointerNotFound() {
+        return new BallerinaException("JSON pointer '" + pointer + "' does not match the input");
+    }
+
+    private static BallerinaException syntaxError(String message) {
+        return new BallerinaException(message);
+    }
+
+    private enum Mode {
+        FIRST_ARRAY_ELEMENT, ARRAY, SEQUENCE, SINGLE, DONE
+    }
+}
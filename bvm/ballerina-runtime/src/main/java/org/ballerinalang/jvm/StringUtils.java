@@ -18,6 +18,7 @@ package org.ballerinalang.jvm;
 
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.values.BmpStringValue;
+import org.ballerinalang.jvm.values.ByteArrayStringValue;
 import org.ballerinalang.jvm.values.NonBmpStringValue;
 import org.ballerinalang.jvm.values.api.BString;
 
@@ -28,6 +29,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -88,6 +90,13 @@ public class StringUtils {
     }
 
     public static BString getStringFromInputStream(InputStream inputStream, String charset) {
+        Charset encoding = Charset.forName(charset);
+        if (StandardCharsets.UTF_8.equals(encoding) || StandardCharsets.ISO_8859_1.equals(encoding)) {
+            // keep the bytes as they are, they are only decoded if the string value is needed
+            byte[] bytes = readAllBytes(inputStream, charset);
+            return StandardCharsets.UTF_8.equals(encoding) ? ByteArrayStringValue.fromUtf8(bytes) :
+                    ByteArrayStringValue.fromLatin1(bytes);
+        }
         StringBuilder textBuilder = new StringBuilder();
         try (Reader reader = new InputStreamReader(inputStream, Charset.forName(charset))) {
             int character;
@@ -100,6 +109,20 @@ public class StringUtils {
         return StringUtils.fromString(textBuilder.toString());
     }
 
+    private static byte[] readAllBytes(InputStream inputStream, String charset) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = inputStream) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                bos.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new BallerinaException("Error occurred when reading input stream with the charset" + charset, e);
+        }
+        return bos.toByteArray();
+    }
+
     public static String getStringAt(String s, long index) {
         if (index < 0 || index >= s.length()) {
             throw BallerinaErrors.createError(getModulePrefixedReason(STRING_LANG_LIB,
@@ -28,11 +28,9 @@ import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.values.ArrayValue;
 import org.ballerinalang.jvm.values.ArrayValueImpl;
 import org.ballerinalang.jvm.values.DecimalValue;
-import org.ballerinalang.jvm.values.IteratorValue;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.MapValueImpl;
 import org.ballerinalang.jvm.values.TableValueImpl;
-import org.ballerinalang.jvm.values.TupleValueImpl;
 import org.ballerinalang.jvm.values.api.BString;
 
 import java.io.IOException;
@@ -47,11 +45,14 @@ import java.util.Map;
  */
 public class TableJSONDataSource implements JSONDataSource {
 
+    private static final DefaultJSONObjectGenerator DEFAULT_OBJECT_GENERATOR = new DefaultJSONObjectGenerator();
+
     private TableValueImpl tableValue;
     private JSONObjectGenerator objGen;
+    private Iterator<?> rows;
 
     TableJSONDataSource(TableValueImpl tableValue) {
-        this(tableValue, new DefaultJSONObjectGenerator());
+        this(tableValue, DEFAULT_OBJECT_GENERATOR);
     }
 
     private TableJSONDataSource(TableValueImpl tableValue, JSONObjectGenerator objGen) {
@@ -70,30 +71,44 @@ public class TableJSONDataSource implements JSONDataSource {
 
     @Override
     public boolean hasNext() {
-        return this.tableValue.getIterator().hasNext();
+        return getRows().hasNext();
     }
 
     @Override
     public Object next() {
-        return this.tableValue.getIterator().next();
+        try {
+            return this.objGen.transform((MapValueImpl) getRows().next());
+        } catch (IOException e) {
+            throw new BallerinaException(e);
+        }
     }
 
     @Override
     public Object build() {
         ArrayValue values = new ArrayValueImpl(new BArrayType(BTypes.typeJSON));
-        IteratorValue itr = this.tableValue.getIterator();
-        while (itr.hasNext()) {
-            TupleValueImpl tupleValue = (TupleValueImpl) itr.next();
-            MapValueImpl record = ((MapValueImpl) tupleValue.get(0));
-            try {
-                values.append(this.objGen.transform(record));
-            } catch (IOException e) {
-                throw new BallerinaException(e);
-            }
+        while (this.hasNext()) {
+            values.append(this.next());
         }
         return values;
     }
 
+    private Iterator<?> getRows() {
+        if (this.rows == null) {
+            this.rows = this.tableValue.values().iterator();
+        }
+        return this.rows;
+    }
+
+    /**
+     * Converts a row of a table to JSON, the same as the rows of the JSON built by this data source.
+     *
+     * @param row row of a table
+     * @return JSON object of the row
+     */
+    static Object toJSON(MapValueImpl<?, ?> row) {
+        return DEFAULT_OBJECT_GENERATOR.transform(row);
+    }
+
     /**
      * Default {@link TableJSONDataSource.JSONObjectGenerator} implementation based
      * on the table's in-built column definition.
@@ -25,10 +25,8 @@ import org.ballerinalang.jvm.types.TypeTags;
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.values.ArrayValue;
 import org.ballerinalang.jvm.values.DecimalValue;
-import org.ballerinalang.jvm.values.IteratorValue;
 import org.ballerinalang.jvm.values.MapValueImpl;
 import org.ballerinalang.jvm.values.TableValueImpl;
-import org.ballerinalang.jvm.values.TupleValueImpl;
 import org.ballerinalang.jvm.values.api.BString;
 
 import javax.xml.stream.XMLStreamException;
@@ -61,33 +59,40 @@ public class TableOMDataSource extends AbstractPushOMDataSource {
     @Override
     public void serialize(XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
         xmlStreamWriter.writeStartElement("", this.rootWrapper, "");
-        IteratorValue itr = this.table.getIterator();
-
-        while (itr.hasNext()) {
-            table.getIterator().next();
-            xmlStreamWriter.writeStartElement("", this.rowWrapper, "");
-            TupleValueImpl tupleValue = (TupleValueImpl) itr.next();
-            MapValueImpl record = ((MapValueImpl) tupleValue.get(0));
+        for (Object row : this.table.values()) {
+            writeRow(xmlStreamWriter, this.rowWrapper, (MapValueImpl) row);
+        }
+        xmlStreamWriter.writeEndElement();
+        xmlStreamWriter.flush();
+    }
 
-            BStructureType structType = (BStructureType) record.getType();
-            BField[] structFields = null;
-            if (structType != null) {
-                structFields = structType.getFields().values().toArray(new BField[0]);
-            }
-            for (int i = 0; i < structFields.length; i++) {
-                BField internalStructField = structFields[i];
-                int type = internalStructField.getFieldType().getTag();
-                String fieldName = internalStructField.getFieldName();
+    /**
+     * Writes a row of a table as an element with the given name, the same as the rows written by this data source.
+     *
+     * @param xmlStreamWriter writer to write the row to
+     * @param rowWrapper      name of the row element
+     * @param record          row of a table
+     * @throws XMLStreamException if writing fails
+     */
+    static void writeRow(XMLStreamWriter xmlStreamWriter, String rowWrapper, MapValueImpl record)
+            throws XMLStreamException {
+        xmlStreamWriter.writeStartElement("", rowWrapper, "");
+        BStructureType structType = (BStructureType) record.getType();
+        BField[] structFields = null;
+        if (structType != null) {
+            structFields = structType.getFields().values().toArray(new BField[0]);
+        }
+        for (int i = 0; i < structFields.length; i++) {
+            BField internalStructField = structFields[i];
+            int type = internalStructField.getFieldType().getTag();
+            String fieldName = internalStructField.getFieldName();
 
-                writeElement(record, xmlStreamWriter, fieldName, type, i, structFields);
-            }
-            xmlStreamWriter.writeEndElement();
+            writeElement(record, xmlStreamWriter, fieldName, type, i, structFields);
         }
         xmlStreamWriter.writeEndElement();
-        xmlStreamWriter.flush();
     }
 
-    private void writeElement(MapValueImpl record, XMLStreamWriter xmlStreamWriter, String name, int type, int index,
+    private static void writeElement(MapValueImpl record, XMLStreamWriter xmlStreamWriter, String name, int type, int index,
                               BField[] structFields) throws XMLStreamException {
         boolean isArray = false;
         xmlStreamWriter.writeStartElement("", name, "");
@@ -141,7 +146,7 @@ public class TableOMDataSource extends AbstractPushOMDataSource {
         xmlStreamWriter.writeEndElement();
     }
 
-    private void processArray(XMLStreamWriter xmlStreamWriter, ArrayValue array) throws XMLStreamException {
+    private static void processArray(XMLStreamWriter xmlStreamWriter, ArrayValue array) throws XMLStreamException {
         if (array != null) {
             for (int i = 0; i < array.size(); i++) {
                 xmlStreamWriter.writeStartElement("", ARRAY_ELEMENT_NAME, "");
@@ -151,7 +156,7 @@ public class TableOMDataSource extends AbstractPushOMDataSource {
         }
     }
 
-    private void processStruct(XMLStreamWriter xmlStreamWriter, MapValueImpl structData,
+    private static void processStruct(XMLStreamWriter xmlStreamWriter, MapValueImpl structData,
                                BField[] structFields, int index) throws XMLStreamException {
         boolean structError = true;
         BType internalType = structFields[index].getFieldType();
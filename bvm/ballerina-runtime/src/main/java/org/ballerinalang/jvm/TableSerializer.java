@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import com.ctc.wstx.api.WstxOutputProperties;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.TableValueImpl;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * Serializes the rows of a table as JSON or XML to an output stream, without building the JSON or XML value of the
+ * whole table. The output is the same as that of {@link TableJSONDataSource} and {@link TableOMDataSource}.
+ * <p>
+ * The rows are written through a buffer of a bounded size, so the memory used does not grow with the table. For
+ * tables of at least {@link #PARALLEL_THRESHOLD} rows, the rows can be encoded in parallel instead: they are split
+ * into chunks, which are encoded by a small pool of daemon threads, and written out in order. Only a bounded number
+ * of chunks is held at a time. The calling thread encodes the next chunk to be written itself if no encoder thread
+ * has started on it, so it only waits for chunks which are being encoded, and never for queued work. The table must
+ * not be changed while it is serialized.
+ *
+ * @since 2.0.0
+ */
+public class TableSerializer {
+
+    /**
+     * Minimum number of rows of a table for the rows to be encoded in parallel.
+     */
+    public static final int PARALLEL_THRESHOLD = 10000;
+
+    static final int ROWS_PER_CHUNK = 1024;
+    static final String XML_ROOT_WRAPPER = "results";
+
+    private static final int BUFFER_SIZE = 65536;
+    private static final int ENCODER_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final int MAX_PENDING_CHUNKS = ENCODER_THREADS * 2;
+    private static final byte[] JSON_SEPARATOR = {',', ' '};
+    private static final byte[] XML_ROOT_START = ("<" + XML_ROOT_WRAPPER + ">").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] XML_ROOT_END = ("</" + XML_ROOT_WRAPPER + ">").getBytes(StandardCharsets.UTF_8);
+    private static final String XML_ROW_WRAPPER = "result";
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    static {
+        // the rows are written without the root element, which is written around them
+        if (XML_OUTPUT_FACTORY.getClass().getName().equals("com.ctc.wstx.stax.WstxOutputFactory")) {
+            XML_OUTPUT_FACTORY.setProperty(WstxOutputProperties.P_OUTPUT_VALIDATE_STRUCTURE, false);
+        }
+    }
+
+    private TableSerializer() {
+    }
+
+    /**
+     * Serializes the rows of the given table as a JSON array of objects, as UTF-8 bytes.
+     *
+     * @param table    table to serialize
+     * @param out      output stream to write to, which is flushed but not closed
+     * @param parallel whether to encode the rows in parallel, if the table has enough rows
+     * @throws IOException if writing to the stream fails
+     */
+    public static void serializeJSON(TableValueImpl<?, ?> table, OutputStream out, boolean parallel)
+            throws IOException {
+        BufferedOutputStream bufferedOut = new BufferedOutputStream(out, BUFFER_SIZE);
+        bufferedOut.write('[');
+        serializeRows(table, bufferedOut, parallel, TableSerializer::writeJSONRows);
+        bufferedOut.write(']');
+        bufferedOut.flush();
+    }
+
+    /**
+     * Serializes the rows of the given table as an XML element, with a child element for each row, as UTF-8 bytes.
+     *
+     * @param table    table to serialize
+     * @param out      output stream to write to, which is flushed but not closed
+     * @param parallel whether to encode the rows in parallel, if the table has enough rows
+     * @throws IOException if writing to the stream fails
+     */
+    public static void serializeXML(TableValueImpl<?, ?> table, OutputStream out, boolean parallel)
+            throws IOException {
+        BufferedOutputStream bufferedOut = new BufferedOutputStream(out, BUFFER_SIZE);
+        bufferedOut.write(XML_ROOT_START);
+        serializeRows(table, bufferedOut, parallel, TableSerializer::writeXMLRows);
+        bufferedOut.write(XML_ROOT_END);
+        bufferedOut.flush();
+    }
+
+    /**
+     * Encodes the rows of the given table as XML a chunk of {@link #ROWS_PER_CHUNK} rows at a time, on the calling
+     * thread. Each chunk is a complete XML element, in the format of {@link #serializeXML}, which holds the rows of
+     * the chunk. An empty table gives a single empty element.
+     *
+     * @param table    table to serialize
+     * @param consumer consumer of the chunks, in the order of the rows
+     * @throws IOException if the consumer fails
+     */
+    static void encodeXMLChunks(TableValueImpl<?, ?> table, ChunkConsumer consumer) throws IOException {
+        Iterator<?> rows = table.values().iterator();
+        do {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream(BUFFER_SIZE);
+            chunk.write(XML_ROOT_START);
+            writeXMLRows(nextChunk(rows).iterator(), true, chunk);
+            chunk.write(XML_ROOT_END);
+            consumer.accept(chunk.toByteArray());
+        } while (rows.hasNext());
+    }
+
+    private static void serializeRows(TableValueImpl<?, ?> table, OutputStream out, boolean parallel,
+                                      RowWriter writer) throws IOException {
+        Iterator<?> rows = table.values().iterator();
+        if (!parallel || table.size() < PARALLEL_THRESHOLD) {
+            writer.write(rows, true, out);
+            return;
+        }
+
+        // chunks are encoded ahead of the one being written, up to a fixed number of them
+        Deque<FutureTask<byte[]>> pending = new ArrayDeque<>(MAX_PENDING_CHUNKS);
+        boolean first = true;
+        while (rows.hasNext()) {
+            if (pending.size() == MAX_PENDING_CHUNKS) {
+                writeChunk(pending.poll(), out);
+            }
+            List<Object> chunk = nextChunk(rows);
+            boolean firstChunk = first;
+            FutureTask<byte[]> task = new FutureTask<>(() -> encodeChunk(writer, chunk, firstChunk));
+            pending.add(task);
+            EncoderPool.INSTANCE.execute(task);
+            first = false;
+        }
+        while (!pending.isEmpty()) {
+            writeChunk(pending.poll(), out);
+        }
+    }
+
+    private static List<Object> nextChunk(Iterator<?> rows) {
+        List<Object> chunk = new ArrayList<>(ROWS_PER_CHUNK);
+        while (chunk.size() < ROWS_PER_CHUNK && rows.hasNext()) {
+            chunk.add(rows.next());
+        }
+        return chunk;
+    }
+
+    private static byte[] encodeChunk(RowWriter writer, List<Object> rows, boolean first) {
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(BUFFER_SIZE);
+        try {
+            writer.write(rows.iterator(), first, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return chunk.toByteArray();
+    }
+
+    private static void writeChunk(FutureTask<byte[]> chunk, OutputStream out) throws IOException {
+        // Encodes the chunk on this thread if no encoder thread has started on it, otherwise this is a no-op
+        chunk.run();
+        try {
+            out.write(chunk.get());
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new BallerinaException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BallerinaException("interrupted while serializing the table", e);
+        }
+    }
+
+    private static void writeJSONRows(Iterator<?> rows, boolean first, OutputStream out) throws IOException {
+        boolean separate = !first;
+        while (rows.hasNext()) {
+            if (separate) {
+                out.write(JSON_SEPARATOR);
+            }
+            JSONByteSerializer.serialize(TableJSONDataSource.toJSON((MapValueImpl<?, ?>) rows.next()), out);
+            separate = true;
+        }
+    }
+
+    private static void writeXMLRows(Iterator<?> rows, boolean first, OutputStream out) throws IOException {
+        try {
+            XMLStreamWriter xmlStreamWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(out,
+                                                                                       StandardCharsets.UTF_8.name());
+            while (rows.hasNext()) {
+                TableOMDataSource.writeRow(xmlStreamWriter, XML_ROW_WRAPPER, (MapValueImpl<?, ?>) rows.next());
+            }
+            xmlStreamWriter.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes rows of a table, which are the first rows of the table if {@code first} is set.
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(Iterator<?> rows, boolean first, OutputStream out) throws IOException;
+    }
+
+    /**
+     * Consumer of the encoded chunks of a table.
+     */
+    @FunctionalInterface
+    interface ChunkConsumer {
+
+        void accept(byte[] chunk) throws IOException;
+    }
+
+    /**
+     * Daemon threads which encode chunks of rows in parallel, created on the first parallel serialization. They are
+     * kept apart from the scheduler threads and the common fork-join pool, and stop when they are idle.
+     */
+    private static final class EncoderPool {
+
+        private static final Executor INSTANCE = createPool();
+
+        private static Executor createPool() {
+            AtomicInteger threadNumber = new AtomicInteger(1);
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(ENCODER_THREADS, ENCODER_THREADS, 60, TimeUnit.SECONDS,
+                                                             new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "ballerina-table-encoder-" + threadNumber.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
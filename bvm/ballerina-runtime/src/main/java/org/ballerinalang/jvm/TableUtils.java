@@ -47,6 +47,20 @@ public class TableUtils {
      * @return The hash value
      */
     public static Long hash(Object obj, Node parent) {
+        return computeHash(obj, parent);
+    }
+
+    /**
+     * Generates a hash value which is same for the same shape, without boxing the result.
+     *
+     * @param obj Ballerina value which the hash is generated from
+     * @return The hash value
+     */
+    public static long computeHash(Object obj) {
+        return computeHash(obj, null);
+    }
+
+    private static long computeHash(Object obj, Node parent) {
         long result = 0;
 
         if (obj == null) {
@@ -67,29 +81,31 @@ public class TableUtils {
             BType refType = refValue.getType();
             if (refType.getTag() == TypeTags.MAP_TAG || refType.getTag() == TypeTags.RECORD_TYPE_TAG) {
                 MapValue mapValue = (MapValue) refValue;
+                // Mappings with the same members are equal regardless of the order of the members, so the hash
+                // of the members is combined in an order independent manner.
                 for (Object entry : mapValue.entrySet()) {
-                    result = 31 * result + hash(((Map.Entry) entry).getKey(), node) +
-                            (((Map.Entry) entry).getValue() == null ? 0 : hash(((Map.Entry) entry).getValue(),
-                                    node));
+                    Object value = ((Map.Entry) entry).getValue();
+                    result += computeHash(((Map.Entry) entry).getKey(), node) ^
+                            (value == null ? 0 : computeHash(value, node));
                 }
                 return result;
             } else if (refType.getTag() == TypeTags.ARRAY_TAG || refType.getTag() == TypeTags.TUPLE_TAG) {
                 ArrayValue arrayValue = (ArrayValue) refValue;
                 IteratorValue arrayIterator = arrayValue.getIterator();
                 while (arrayIterator.hasNext()) {
-                    result = 31 * result + hash(arrayIterator.next(), node);
+                    result = 31 * result + computeHash(arrayIterator.next(), node);
                 }
                 return result;
             } else if (refType.getTag() == TypeTags.XML_TAG || refType.getTag() == TypeTags.XML_ELEMENT_TAG ||
                     refType.getTag() == TypeTags.XML_TEXT_TAG || refType.getTag() == TypeTags.XML_ATTRIBUTES_TAG ||
                     refType.getTag() == TypeTags.XML_COMMENT_TAG || refType.getTag() == TypeTags.XML_PI_TAG ||
                     refType.getTag() == TypeTags.XMLNS_TAG) {
-                return (long) refValue.toString().hashCode();
+                return refValue.toString().hashCode();
             } else {
-                return (long) obj.hashCode();
+                return obj.hashCode();
             }
         } else {
-            return (long) obj.hashCode();
+            return obj.hashCode();
         }
     }
 
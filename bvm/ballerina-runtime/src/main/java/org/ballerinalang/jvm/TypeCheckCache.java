@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BType;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, thread safe cache of the results of type relation checks done by the {@link TypeChecker}.
+ * <p>
+ * Results are grouped by the identity of the source type, and then by the identity of the target type. Types defined
+ * in the program are created once, hence repeated checks against them hit the cache, while the types created on the
+ * fly (eg: for json values) only occupy entries until they are evicted. Eviction is bounded in two ways, so that
+ * short-lived types do not wipe out the results of the stable ones.
+ * <ul>
+ * <li>Each source type holds a limited number of target types. Once that is reached, only the results of that source
+ * type are cleared.</li>
+ * <li>Once the number of source types reaches its limit, the source types that have not been looked up since the
+ * previous sweep are evicted. The rest get a second chance, and are evicted by a later sweep unless they are looked
+ * up again.</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+class TypeCheckCache {
+
+    private static final int DEFAULT_MAX_SOURCE_TYPES = 1024;
+    private static final int DEFAULT_MAX_TARGET_TYPES = 64;
+
+    private final int maxSourceTypes;
+    private final int maxTargetTypes;
+    private final Map<TypeKey, SourceTypeResults> results;
+
+    TypeCheckCache() {
+        this(DEFAULT_MAX_SOURCE_TYPES, DEFAULT_MAX_TARGET_TYPES);
+    }
+
+    TypeCheckCache(int maxSourceTypes, int maxTargetTypes) {
+        this.maxSourceTypes = maxSourceTypes;
+        this.maxTargetTypes = maxTargetTypes;
+        this.results = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the cached result for the given pair of types.
+     *
+     * @param sourceType source type
+     * @param targetType target type
+     * @return cached result, or null if the pair has not been checked yet
+     */
+    Boolean get(BType sourceType, BType targetType) {
+        SourceTypeResults sourceResults = results.get(new TypeKey(sourceType));
+        if (sourceResults == null) {
+            return null;
+        }
+        Boolean result = sourceResults.targets.get(new TypeKey(targetType));
+        if (result != null && !sourceResults.referenced) {
+            sourceResults.referenced = true;
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result of checking whether the source type is a subtype of the target type.
+     *
+     * @param sourceType source type
+     * @param targetType target type
+     * @param result result of the check
+     */
+    void put(BType sourceType, BType targetType, boolean result) {
+        TypeKey sourceKey = new TypeKey(sourceType);
+        SourceTypeResults sourceResults = results.get(sourceKey);
+        if (sourceResults == null) {
+            if (results.size() >= maxSourceTypes) {
+                evictSourceTypes();
+            }
+            sourceResults = results.computeIfAbsent(sourceKey, key -> new SourceTypeResults());
+        }
+
+        Map<TypeKey, Boolean> targets = sourceResults.targets;
+        if (targets.size() >= maxTargetTypes) {
+            targets.clear();
+        }
+        targets.put(new TypeKey(targetType), result);
+    }
+
+    /**
+     * Returns the number of cached results.
+     *
+     * @return number of cached results
+     */
+    int size() {
+        int size = 0;
+        for (SourceTypeResults sourceResults : results.values()) {
+            size += sourceResults.targets.size();
+        }
+        return size;
+    }
+
+    private void evictSourceTypes() {
+        Iterator<SourceTypeResults> iterator = results.values().iterator();
+        boolean evicted = false;
+        while (iterator.hasNext()) {
+            SourceTypeResults sourceResults = iterator.next();
+            if (sourceResults.referenced) {
+                sourceResults.referenced = false;
+            } else {
+                iterator.remove();
+                evicted = true;
+            }
+        }
+
+        // Every source type was looked up since the previous sweep, hence make room by evicting any one of them
+        if (!evicted) {
+            iterator = results.values().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Cached results of a single source type.
+     */
+    private static class SourceTypeResults {
+
+        private final Map<TypeKey, Boolean> targets = new ConcurrentHashMap<>();
+        // Whether a result was looked up since the previous eviction sweep. Races only affect which type gets evicted.
+        private volatile boolean referenced;
+    }
+
+    /**
+     * Identity based key of a type.
+     */
+    private static class TypeKey {
+
+        private final BType type;
+
+        TypeKey(BType type) {
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof TypeKey && this.type == ((TypeKey) obj).type;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(type);
+        }
+    }
+}
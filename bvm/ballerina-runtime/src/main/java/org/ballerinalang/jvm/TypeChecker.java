@@ -96,6 +96,8 @@ import static org.ballerinalang.jvm.util.BLangConstants.UNSIGNED8_MAX_VALUE;
 @SuppressWarnings({"rawtypes"})
 public class TypeChecker {
 
+    private static final TypeCheckCache TYPE_CHECK_CACHE = new TypeCheckCache();
+
     public static Object checkCast(Object sourceVal, BType targetType) {
 
         if (checkIsType(sourceVal, targetType)) {
@@ -382,7 +384,7 @@ public class TypeChecker {
      */
     public static boolean checkDecimalEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-               lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0;
+               lhsValue.compareTo(rhsValue) == 0;
     }
 
     /**
@@ -421,7 +423,7 @@ public class TypeChecker {
             case ZERO:
             case OTHER:
                 return rhsValue.valueKind == DecimalValueKind.NEGATIVE_INFINITY || (isDecimalRealNumber(rhsValue) &&
-                        lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) > 0);
+                        lhsValue.compareTo(rhsValue) > 0);
             default:
                 return false;
         }
@@ -437,7 +439,7 @@ public class TypeChecker {
     public static boolean checkDecimalGreaterThanOrEqual(DecimalValue lhsValue, DecimalValue rhsValue) {
         return checkDecimalGreaterThan(lhsValue, rhsValue) ||
                (isDecimalRealNumber(lhsValue) && isDecimalRealNumber(rhsValue) &&
-                lhsValue.decimalValue().compareTo(rhsValue.decimalValue()) == 0);
+                lhsValue.compareTo(rhsValue) == 0);
     }
 
     /**
@@ -569,11 +571,16 @@ public class TypeChecker {
      * @return flag indicating the the equivalence of the two types
      */
     public static boolean checkIsType(BType sourceType, BType targetType) {
-        return checkIsType(sourceType, targetType, (List<TypePair>) null);
+        return checkIsType(sourceType, targetType, (Set<TypePair>) null);
     }
 
     @Deprecated
     public static boolean checkIsType(BType sourceType, BType targetType, List<TypePair> unresolvedTypes) {
+        return checkIsType(sourceType, targetType,
+                           unresolvedTypes == null || unresolvedTypes.isEmpty() ? null : new HashSet<>(unresolvedTypes));
+    }
+
+    private static boolean checkIsType(BType sourceType, BType targetType, Set<TypePair> unresolvedTypes) {
         // First check whether both types are the same.
         if (sourceType == targetType || sourceType.equals(targetType)) {
             return true;
@@ -635,15 +642,17 @@ public class TypeChecker {
             case TypeTags.XML_PI_TAG:
                 return targetTypeTag == sourceTypeTag;
             default:
-                return checkIsRecursiveType(sourceType, targetType,
-                        unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                if (unresolvedTypes == null) {
+                    return checkIsRecursiveTypeCached(sourceType, targetType);
+                }
+                return checkIsRecursiveType(sourceType, targetType, unresolvedTypes);
         }
     }
 
     // Private methods
 
     private static boolean checkTypeDescType(BType sourceType, BTypedescType targetType,
-            List<TypePair> unresolvedTypes) {
+            Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.TYPEDESC_TAG) {
             return false;
         }
@@ -652,7 +661,22 @@ public class TypeChecker {
         return checkIsType(sourceTypedesc.getConstraint(), targetType.getConstraint(), unresolvedTypes);
     }
 
-    private static boolean checkIsRecursiveType(BType sourceType, BType targetType, List<TypePair> unresolvedTypes) {
+    /**
+     * Checks a top level relation between two structured types. Only the results of top level checks are cached, as
+     * the result of a nested check may depend on the assumptions made for the pairs that are still being resolved.
+     */
+    private static boolean checkIsRecursiveTypeCached(BType sourceType, BType targetType) {
+        Boolean cachedResult = TYPE_CHECK_CACHE.get(sourceType, targetType);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+
+        boolean result = checkIsRecursiveType(sourceType, targetType, new HashSet<>());
+        TYPE_CHECK_CACHE.put(sourceType, targetType, result);
+        return result;
+    }
+
+    private static boolean checkIsRecursiveType(BType sourceType, BType targetType, Set<TypePair> unresolvedTypes) {
         switch (targetType.getTag()) {
             case TypeTags.MAP_TAG:
                 return checkIsMapType(sourceType, (BMapType) targetType, unresolvedTypes);
@@ -699,7 +723,7 @@ public class TypeChecker {
         return true;
     }
 
-    private static boolean isUnionTypeMatch(BUnionType sourceType, BType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean isUnionTypeMatch(BUnionType sourceType, BType targetType, Set<TypePair> unresolvedTypes) {
         for (BType type : sourceType.getMemberTypes()) {
             if (!checkIsType(type, targetType, unresolvedTypes)) {
                 return false;
@@ -708,7 +732,7 @@ public class TypeChecker {
         return true;
     }
 
-    private static boolean checkIsUnionType(BType sourceType, BUnionType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsUnionType(BType sourceType, BUnionType targetType, Set<TypePair> unresolvedTypes) {
         switch (sourceType.getTag()) {
             case TypeTags.UNION_TAG:
                 return isUnionTypeMatch((BUnionType) sourceType, targetType, unresolvedTypes);
@@ -725,7 +749,7 @@ public class TypeChecker {
         }
     }
 
-    private static boolean checkIsMapType(BType sourceType, BMapType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsMapType(BType sourceType, BMapType targetType, Set<TypePair> unresolvedTypes) {
         BType targetConstrainedType = targetType.getConstrainedType();
         switch (sourceType.getTag()) {
             case TypeTags.MAP_TAG:
@@ -740,7 +764,7 @@ public class TypeChecker {
         }
     }
 
-    private static boolean checkIsXMLType(BType sourceType, BType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsXMLType(BType sourceType, BType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() == TypeTags.FINITE_TYPE_TAG) {
             return isFiniteTypeMatch((BFiniteType) sourceType, targetType);
         }
@@ -771,7 +795,7 @@ public class TypeChecker {
         return types;
     }
 
-    private static boolean checkIsStreamType(BType sourceType, BStreamType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsStreamType(BType sourceType, BStreamType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.STREAM_TAG) {
             return false;
         }
@@ -779,7 +803,7 @@ public class TypeChecker {
                                unresolvedTypes);
     }
 
-    private static boolean checkIsTableType(BType sourceType, BTableType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsTableType(BType sourceType, BTableType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.TABLE_TAG) {
             return false;
         }
@@ -846,16 +870,15 @@ public class TypeChecker {
         return null;
     }
 
-    private static boolean checkIsJSONType(BType sourceType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsJSONType(BType sourceType, Set<TypePair> unresolvedTypes) {
         BJSONType jsonType = (BJSONType) BTypes.typeJSON;
 
         // If we encounter two types that we are still resolving, then skip it.
         // This is done to avoid recursive checking of the same type.
         TypePair pair = new TypePair(sourceType, jsonType);
-        if (unresolvedTypes.contains(pair)) {
+        if (!unresolvedTypes.add(pair)) {
             return true;
         }
-        unresolvedTypes.add(pair);
 
         switch (sourceType.getTag()) {
             case TypeTags.STRING_TAG:
@@ -905,7 +928,7 @@ public class TypeChecker {
         }
     }
 
-    private static boolean checkIsRecordType(BType sourceType, BRecordType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsRecordType(BType sourceType, BRecordType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.RECORD_TYPE_TAG) {
             return false;
         }
@@ -913,10 +936,9 @@ public class TypeChecker {
         // If we encounter two types that we are still resolving, then skip it.
         // This is done to avoid recursive checking of the same type.
         TypePair pair = new TypePair(sourceType, targetType);
-        if (unresolvedTypes.contains(pair)) {
+        if (!unresolvedTypes.add(pair)) {
             return true;
         }
-        unresolvedTypes.add(pair);
 
         // Unsealed records are not equivalent to sealed records. But vice-versa is allowed.
         BRecordType sourceRecordType = (BRecordType) sourceType;
@@ -978,7 +1000,7 @@ public class TypeChecker {
         return Flags.isFlagOn(targetField.flags, Flags.READONLY) && !Flags.isFlagOn(sourceField.flags, Flags.READONLY);
     }
 
-    private static boolean checkIsArrayType(BType sourceType, BArrayType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsArrayType(BType sourceType, BArrayType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() == TypeTags.UNION_TAG) {
             for (BType memberType : ((BUnionType) sourceType).getMemberTypes()) {
                 if (!checkIsArrayType(memberType, targetType, unresolvedTypes)) {
@@ -1038,7 +1060,7 @@ public class TypeChecker {
         return checkIsType(sourceElementType, targetElementType, unresolvedTypes);
     }
 
-    private static boolean checkIsTupleType(BType sourceType, BTupleType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsTupleType(BType sourceType, BTupleType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.TUPLE_TAG) {
             return false;
         }
@@ -1082,7 +1104,7 @@ public class TypeChecker {
         return true;
     }
 
-    private static boolean checkIsFiniteType(BType sourceType, BFiniteType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsFiniteType(BType sourceType, BFiniteType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.FINITE_TYPE_TAG) {
             return false;
         }
@@ -1095,7 +1117,7 @@ public class TypeChecker {
         return targetType.valueSpace.containsAll(sourceFiniteType.valueSpace);
     }
 
-    private static boolean checkIsFutureType(BType sourceType, BFutureType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsFutureType(BType sourceType, BFutureType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.FUTURE_TAG) {
             return false;
         }
@@ -1104,17 +1126,16 @@ public class TypeChecker {
     }
 
     private static boolean checkObjectEquivalency(BType sourceType, BObjectType targetType,
-                                                  List<TypePair> unresolvedTypes) {
+                                                  Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.OBJECT_TYPE_TAG) {
             return false;
         }
         // If we encounter two types that we are still resolving, then skip it.
         // This is done to avoid recursive checking of the same type.
         TypePair pair = new TypePair(sourceType, targetType);
-        if (unresolvedTypes.contains(pair)) {
+        if (!unresolvedTypes.add(pair)) {
             return true;
         }
-        unresolvedTypes.add(pair);
 
         BObjectType sourceObjectType = (BObjectType) sourceType;
         Map<String, BField> targetFields = targetType.getFields();
@@ -1138,7 +1159,7 @@ public class TypeChecker {
                         .orElse(""), Optional.ofNullable(rhsField.type.getPackage()).map(BPackage::getName)
                         .orElse(""), lhsField.flags, rhsField.flags) ||
                     hasIncompatibleReadOnlyFlags(lhsField, rhsField) ||
-                    !checkIsType(rhsField.type, lhsField.type, new ArrayList<>())) {
+                    !checkIsType(rhsField.type, lhsField.type)) {
                 return false;
             }
         }
@@ -1172,7 +1193,7 @@ public class TypeChecker {
     }
 
     private static AttachedFunction getMatchingInvokableType(AttachedFunction[] rhsFuncs, AttachedFunction lhsFunc,
-                                                             List<TypePair> unresolvedTypes) {
+                                                             Set<TypePair> unresolvedTypes) {
         return Arrays.stream(rhsFuncs)
                 .filter(rhsFunc -> lhsFunc.funcName.equals(rhsFunc.funcName))
                 .filter(rhsFunc -> checkFunctionTypeEqualityForObjectType(rhsFunc.type, lhsFunc.type, unresolvedTypes))
@@ -1181,7 +1202,7 @@ public class TypeChecker {
     }
 
     private static boolean checkFunctionTypeEqualityForObjectType(BFunctionType source, BFunctionType target,
-                                                                  List<TypePair> unresolvedTypes) {
+                                                                  Set<TypePair> unresolvedTypes) {
         if (source.paramTypes.length != target.paramTypes.length) {
             return false;
         }
@@ -1212,12 +1233,12 @@ public class TypeChecker {
         }
 
         for (int i = 0; i < source.paramTypes.length; i++) {
-            if (!checkIsType(targetType.paramTypes[i], source.paramTypes[i], new ArrayList<>())) {
+            if (!checkIsType(targetType.paramTypes[i], source.paramTypes[i])) {
                 return false;
             }
         }
 
-        return checkIsType(source.retType, targetType.retType, new ArrayList<>());
+        return checkIsType(source.retType, targetType.retType);
     }
 
     private static boolean checkIsServiceType(BType sourceType) {
@@ -1342,7 +1363,7 @@ public class TypeChecker {
     }
 
     private static boolean checkConstraints(BType sourceConstraint, BType targetConstraint,
-                                            List<TypePair> unresolvedTypes) {
+                                            Set<TypePair> unresolvedTypes) {
         if (sourceConstraint == null) {
             sourceConstraint = BTypes.typeAny;
         }
@@ -1369,7 +1390,7 @@ public class TypeChecker {
             // Both types are array types
             BArrayType lhrArrayType = (BArrayType) expType;
             BArrayType rhsArrayType = (BArrayType) actualType;
-            return checkIsArrayType(rhsArrayType, lhrArrayType, new ArrayList<>());
+            return checkIsArrayType(rhsArrayType, lhrArrayType, new HashSet<>());
         }
         // Now one or both types are not array types and they have to be equal
         return expType == actualType;
@@ -1389,7 +1410,7 @@ public class TypeChecker {
     private static boolean checkIsLikeType(Object sourceValue, BType targetType, List<TypeValuePair> unresolvedValues,
                                            boolean allowNumericConversion) {
         BType sourceType = getType(sourceValue);
-        if (checkIsType(sourceType, targetType, new ArrayList<>())) {
+        if (checkIsType(sourceType, targetType)) {
             return true;
         }
 
@@ -1667,7 +1688,7 @@ public class TypeChecker {
         for (int i = 0; i < bound; i++) {
             BType elementType = getArrayElementType(source, i);
             if (BTypes.isValueType(elementType)) {
-                if (!checkIsType(elementType, targetType.getTupleTypes().get(i), new ArrayList<>())) {
+                if (!checkIsType(elementType, targetType.getTupleTypes().get(i))) {
                     return false;
                 }
             } else {
@@ -1753,7 +1774,7 @@ public class TypeChecker {
         if (source.getType().getTag() == TypeTags.ARRAY_TAG) {
             BType sourceElementType = ((BArrayType) source.getType()).getElementType();
             if (BTypes.isValueType(sourceElementType)) {
-                boolean isType = checkIsType(sourceElementType, targetTypeElementType, new ArrayList<>());
+                boolean isType = checkIsType(sourceElementType, targetTypeElementType);
 
                 if (isType || !allowNumericConversion || !isNumericType(sourceElementType)) {
                     return isType;
@@ -1816,7 +1837,7 @@ public class TypeChecker {
             ArrayValue source = (ArrayValue) sourceValue;
             BType elementType = ((BArrayType) source.getType()).getElementType();
             if (BTypes.isValueType(elementType)) {
-                return checkIsType(elementType, targetType, new ArrayList<>());
+                return checkIsType(elementType, targetType);
             }
 
             Object[] arrayValues = source.getValues();
@@ -1939,16 +1960,15 @@ public class TypeChecker {
         }
     }
 
-    private static boolean checkIsErrorType(BType sourceType, BErrorType targetType, List<TypePair> unresolvedTypes) {
+    private static boolean checkIsErrorType(BType sourceType, BErrorType targetType, Set<TypePair> unresolvedTypes) {
         if (sourceType.getTag() != TypeTags.ERROR_TAG) {
             return false;
         }
         // Handle recursive error types.
         TypePair pair = new TypePair(sourceType, targetType);
-        if (unresolvedTypes.contains(pair)) {
+        if (!unresolvedTypes.add(pair)) {
             return true;
         }
-        unresolvedTypes.add(pair);
         BErrorType bErrorType = (BErrorType) sourceType;
 
         if (targetType.typeIdSet == null) {
@@ -2189,6 +2209,10 @@ public class TypeChecker {
             this.targetType = targetType;
         }
 
+        /**
+         * Pairs are compared by the identity of the types. A recursive type refers back to the same type instances,
+         * hence this is enough to detect the cycles, and avoids the cost of structural type equality.
+         */
         @Override
         public boolean equals(Object obj) {
             if (!(obj instanceof TypePair)) {
@@ -2196,7 +2220,12 @@ public class TypeChecker {
             }
 
             TypePair other = (TypePair) obj;
-            return this.sourceType.equals(other.sourceType) && this.targetType.equals(other.targetType);
+            return this.sourceType == other.sourceType && this.targetType == other.targetType;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
         }
     }
 
@@ -29,6 +29,7 @@ import org.ballerinalang.jvm.types.BPackage;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.BTypes;
 import org.ballerinalang.jvm.types.TypeConstants;
+import org.ballerinalang.jvm.util.BLangConstants;
 import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.values.ArrayValue;
 import org.ballerinalang.jvm.values.ArrayValueImpl;
@@ -46,7 +47,6 @@ import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.jvm.values.api.BXML;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -62,9 +62,7 @@ import java.util.Map;
 
 import javax.xml.XMLConstants;
 import javax.xml.namespace.QName;
-import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
 
 import static org.ballerinalang.jvm.values.XMLItem.createXMLItemWithDefaultNSAttribute;
 
@@ -78,18 +76,25 @@ public class XMLFactory {
     private static final String XML_NAMESPACE_PREFIX = "xmlns:";
     private static final BString XML_VALUE_TAG = StringUtils.fromString("#text");
     private static final String XML_DCLR_START = "<?xml";
+    private static final String LAZY_PARSING_MODE = "lazy";
 
     private static final BType jsonMapType =
             new BMapType(TypeConstants.MAP_TNAME, BTypes.typeJSON, new BPackage(null, null, null));
     public static final StAXParserConfiguration STAX_PARSER_CONFIGURATION = StAXParserConfiguration.STANDALONE;
+    private static final boolean LAZY_PARSING =
+            LAZY_PARSING_MODE.equalsIgnoreCase(System.getenv(BLangConstants.BALLERINA_XML_PARSING_ENV_VAR));
 
     /**
-     * Create a XML item from string literal.
+     * Create a XML item from string literal. If the BALLERINA_XML_PARSING system variable is set to {@code lazy}, the
+     * XML is parsed with {@link #parseLazily(String)}.
      *
      * @param xmlStr String representation of the XML
      * @return XML sequence
      */
     public static XMLValue parse(String xmlStr) {
+        if (LAZY_PARSING) {
+            return parseLazily(xmlStr);
+        }
         try {
             if (xmlStr.isEmpty()) {
                 return new XMLSequence();
@@ -104,6 +109,31 @@ public class XMLFactory {
         }
     }
 
+    /**
+     * Create a XML item from string literal, building the children of each element only when it is first navigated.
+     * Errors in the content of an element which is not yet navigated are reported when it is navigated.
+     * <p>
+     * This saves building the parts of large documents which are never read. Since it changes when errors are
+     * reported, {@link #parse(String)} uses it only when the BALLERINA_XML_PARSING system variable is set to
+     * {@code lazy}, e.g. for the payloads of a service which reads a few elements of large messages.
+     *
+     * @param xmlStr String representation of the XML
+     * @return XML sequence
+     */
+    public static XMLValue parseLazily(String xmlStr) {
+        try {
+            if (xmlStr.isEmpty()) {
+                return new XMLSequence();
+            }
+
+            return XMLLazyContent.parse(xmlStr);
+        } catch (ErrorValue e) {
+            throw e;
+        } catch (Throwable e) {
+            throw BallerinaErrors.createError("failed to parse xml: " + e.getMessage());
+        }
+    }
+
     /**
      * Create a XML sequence from string inputstream.
      *
@@ -112,7 +142,7 @@ public class XMLFactory {
      */
     public static XMLValue parse(InputStream xmlStream) {
         try {
-            XMLTreeBuilder treeBuilder = new XMLTreeBuilder(new InputStreamReader(xmlStream));
+            XMLTreeBuilder treeBuilder = new XMLTreeBuilder(xmlStream);
             return treeBuilder.parse();
         } catch (DeferredParsingException e) {
             throw BallerinaErrors.createError(e.getCause().getMessage());
@@ -217,19 +247,20 @@ public class XMLFactory {
      * @param table {@link org.ballerinalang.jvm.values.TableValue} to convert
      * @return converted {@link XMLValue}
      */
-    public static XMLValue tableToXML(TableValueImpl table) {
+    public static XMLValue tableToXML(TableValueImpl<?, ?> table) {
+        // The rows are encoded and parsed a chunk at a time, so the encoded form of the whole table is never held
+        List<BXML> rows = new ArrayList<>(table.size());
         try {
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            XMLStreamWriter streamWriter = XMLOutputFactory.newInstance().createXMLStreamWriter(outputStream);
-            TableOMDataSource tableOMDataSource = new TableOMDataSource(table, null, null);
-            tableOMDataSource.serialize(streamWriter);
-            streamWriter.flush();
-            outputStream.flush();
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
-            return parse(inputStream);
-        } catch (IOException | XMLStreamException e) {
+            TableSerializer.encodeXMLChunks(table, chunk -> {
+                XMLSequence document = (XMLSequence) parse(new ByteArrayInputStream(chunk));
+                XMLItem chunkRoot = (XMLItem) document.getChildrenList().get(0);
+                rows.addAll(chunkRoot.getChildrenSeq().getChildrenList());
+            });
+        } catch (IOException e) {
             throw new BallerinaException(e);
         }
+        XMLItem root = new XMLItem(new QName(TableSerializer.XML_ROOT_WRAPPER), new XMLSequence(rows));
+        return new XMLSequence(root);
     }
 
     /**
@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.values.ErrorValue;
+import org.ballerinalang.jvm.values.XMLItem;
+import org.ballerinalang.jvm.values.XMLSequence;
+import org.ballerinalang.jvm.values.XMLValue;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.jvm.values.api.BXML;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+
+/**
+ * Source of the children of a lazily parsed XML element. The children are kept as a range of the document text, and
+ * are built only when the element is first navigated.
+ * <p>
+ * The document text is scanned once to find the boundaries of elements, without building anything. Building the
+ * children of an element parses only its own level with {@link XMLTreeBuilder}: each child element is reduced to an
+ * empty element with the same start tag, so it gets its name and attributes, and its own children are deferred in
+ * turn. The namespaces in scope are declared on a wrapper element, so that names resolve the same as in the whole
+ * document. Until an element is navigated, only its range of the document is kept in memory.
+ * <p>
+ * Since the content of an element is fully parsed only when it is built, errors inside it other than unmatched
+ * tags are reported on navigation instead of when parsing. Documents with a DTD are always parsed eagerly, since the
+ * entities declared in it would not be visible to the parts of the document.
+ *
+ * @since 2.0.0
+ */
+public final class XMLLazyContent {
+
+    private static final String WRAPPER = "ballerina-lazy-content";
+    private static final int START = 0;
+    private static final int START_TAG_END = 1;
+    private static final int END_TAG_START = 2;
+    private static final int END = 3;
+
+    private final String source;
+    private final int start;
+    private final int end;
+    private final Map<String, String> namespaces;
+
+    private XMLLazyContent(String source, int start, int end, Map<String, String> namespaces) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.namespaces = namespaces;
+    }
+
+    /**
+     * Parses the given XML document, building only the top level items. The children of each element are built
+     * when they are first navigated.
+     *
+     * @param source XML document
+     * @return XML sequence of the top level items
+     */
+    static XMLValue parse(String source) {
+        List<int[]> elements = source.contains("<!DOCTYPE") ? null : scan(source, 0, source.length());
+        if (elements == null) {
+            // leave it to the eager parser, which reports the errors of malformed documents
+            return new XMLTreeBuilder(source).parse();
+        }
+        StringBuilder level = new StringBuilder();
+        appendLevel(level, source, 0, source.length(), elements);
+        XMLSequence items = (XMLSequence) new XMLTreeBuilder(level.toString()).parse();
+        deferChildren(items.getChildrenList(), source, elements, Collections.emptyMap());
+        return items;
+    }
+
+    /**
+     * Builds the children of the element this content belongs to.
+     *
+     * @return children of the element
+     */
+    public List<BXML> build() {
+        try {
+            // the whole document was scanned when parsing, so the content is known to be balanced
+            List<int[]> elements = scan(source, start, end);
+            StringBuilder level = new StringBuilder(end - start + 64);
+            level.append('<').append(WRAPPER);
+            for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+                level.append(' ').append(XMLConstants.XMLNS_ATTRIBUTE);
+                if (!namespace.getKey().isEmpty()) {
+                    level.append(':').append(namespace.getKey());
+                }
+                level.append("=\"");
+                appendAttributeValue(level, namespace.getValue());
+                level.append('"');
+            }
+            level.append('>');
+            appendLevel(level, source, start, end, elements);
+            level.append("</").append(WRAPPER).append('>');
+
+            XMLSequence items = (XMLSequence) new XMLTreeBuilder(level.toString()).parse();
+            List<BXML> children = ((XMLItem) items.getChildrenList().get(0)).getChildrenSeq().getChildrenList();
+            deferChildren(children, source, elements, namespaces);
+            return children;
+        } catch (ErrorValue e) {
+            throw e;
+        } catch (Throwable e) {
+            throw BallerinaErrors.createError(StringUtils.fromString("failed to parse xml: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Appends the given range of the document, with each of the given elements reduced to an empty element.
+     */
+    private static void appendLevel(StringBuilder level, String source, int start, int end, List<int[]> elements) {
+        int pos = start;
+        for (int[] element : elements) {
+            if (element[END_TAG_START] < 0) {
+                continue;
+            }
+            level.append(source, pos, element[START_TAG_END] - 1).append("/>");
+            pos = element[END];
+        }
+        level.append(source, pos, end);
+    }
+
+    private static void deferChildren(List<BXML> items, String source, List<int[]> elements,
+                                      Map<String, String> namespaces) {
+        int index = 0;
+        for (BXML item : items) {
+            if (item.getNodeType() != XMLNodeType.ELEMENT) {
+                continue;
+            }
+            int[] element = elements.get(index++);
+            if (element[END_TAG_START] <= element[START_TAG_END]) {
+                continue;
+            }
+            XMLItem xmlItem = (XMLItem) item;
+            xmlItem.setLazyChildren(new XMLLazyContent(source, element[START_TAG_END], element[END_TAG_START],
+                                                       getNamespaces(xmlItem, namespaces)));
+        }
+    }
+
+    /**
+     * Returns the namespaces in scope in the content of the given element. The element has an xmlns attribute for
+     * each namespace it declares or uses, so the map of the parent is shared unless one of them is new.
+     */
+    private static Map<String, String> getNamespaces(XMLItem item, Map<String, String> parentNamespaces) {
+        Map<String, String> namespaces = parentNamespaces;
+        for (Map.Entry<BString, BString> attribute : item.getAttributesMap().entrySet()) {
+            String key = attribute.getKey().getValue();
+            if (!key.startsWith(XMLItem.XMLNS_URL_PREFIX)) {
+                continue;
+            }
+            String prefix = key.substring(XMLItem.XMLNS_URL_PREFIX.length());
+            if (XMLItem.XMLNS.equals(prefix)) {
+                prefix = XMLConstants.DEFAULT_NS_PREFIX;
+            } else if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+                continue;
+            }
+            String uri = attribute.getValue().getValue();
+            if (uri.equals(namespaces.get(prefix)) || (prefix.isEmpty() && uri.isEmpty() && !namespaces.containsKey(
+                    prefix))) {
+                continue;
+            }
+            if (namespaces == parentNamespaces) {
+                namespaces = new HashMap<>(parentNamespaces);
+            }
+            namespaces.put(prefix, uri);
+        }
+        return namespaces;
+    }
+
+    private static void appendAttributeValue(StringBuilder sb, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '"':
+                    sb.append("&quot;");
+                    break;
+                default:
+                    sb.append(ch);
+            }
+        }
+    }
+
+    /**
+     * Finds the elements at the top level of the given range of the document. Each element is given as the positions
+     * of its start, the end of its start tag, the start of its end tag and its end. The end tag positions are -1 for
+     * elements without content, written as empty elements.
+     *
+     * @return the elements, or {@code null} if the tags are not balanced or do not match
+     */
+    private static List<int[]> scan(String source, int start, int end) {
+        List<int[]> elements = new ArrayList<>();
+        int[] current = null;
+        // start positions of the open elements, to match each end tag with its start tag
+        int[] open = new int[16];
+        int depth = 0;
+        int pos = start;
+        while (true) {
+            pos = source.indexOf('<', pos);
+            if (pos < 0 || pos >= end) {
+                break;
+            }
+            if (source.startsWith("<!--", pos)) {
+                pos = skipPast(source, "-->", pos + 4, end);
+            } else if (source.startsWith("<![CDATA[", pos)) {
+                pos = skipPast(source, "]]>", pos + 9, end);
+            } else if (source.startsWith("<?", pos)) {
+                pos = skipPast(source, "?>", pos + 2, end);
+            } else if (source.startsWith("</", pos)) {
+                int tagEnd = skipPast(source, ">", pos + 2, end);
+                if (tagEnd < 0 || --depth < 0 || !sameName(source, open[depth] + 1, pos + 2)) {
+                    return null;
+                }
+                if (depth == 0) {
+                    current[END_TAG_START] = pos;
+                    current[END] = tagEnd;
+                }
+                pos = tagEnd;
+            } else if (pos + 1 < end && source.charAt(pos + 1) != '!') {
+                int tagEnd = skipStartTag(source, pos + 1, end);
+                if (tagEnd < 0) {
+                    return null;
+                }
+                boolean empty = source.charAt(tagEnd - 2) == '/';
+                if (depth == 0) {
+                    current = new int[]{pos, tagEnd, -1, -1};
+                    elements.add(current);
+                }
+                if (!empty) {
+                    if (depth == open.length) {
+                        open = Arrays.copyOf(open, depth * 2);
+                    }
+                    open[depth++] = pos;
+                }
+                pos = tagEnd;
+            } else {
+                return null;
+            }
+            if (pos < 0) {
+                return null;
+            }
+        }
+        return depth == 0 ? elements : null;
+    }
+
+    private static int skipPast(String source, String terminator, int from, int end) {
+        int pos = source.indexOf(terminator, from);
+        if (pos < 0 || pos + terminator.length() > end) {
+            return -1;
+        }
+        return pos + terminator.length();
+    }
+
+    /**
+     * Returns the position after the start tag beginning at the given position, skipping over quoted attribute values
+     * which may contain a '>'.
+     */
+    private static int skipStartTag(String source, int from, int end) {
+        for (int pos = from; pos < end; pos++) {
+            char ch = source.charAt(pos);
+            if (ch == '>') {
+                return pos + 1;
+            }
+            if (ch == '"' || ch == '\'') {
+                pos = source.indexOf(ch, pos + 1);
+                if (pos < 0 || pos >= end) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static boolean sameName(String source, int startName, int endName) {
+        while (true) {
+            char startCh = source.charAt(startName++);
+            char endCh = source.charAt(endName++);
+            boolean startEnded = isNameEnd(startCh);
+            boolean endEnded = isNameEnd(endCh);
+            if (startEnded || endEnded) {
+                return startEnded && endEnded;
+            }
+            if (startCh != endCh) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean isNameEnd(char ch) {
+        return ch == '>' || ch == '/' || Character.isWhitespace(ch);
+    }
+}
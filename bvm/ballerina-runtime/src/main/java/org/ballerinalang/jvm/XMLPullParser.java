@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.XMLItem;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Pull parser that reads the elements of a large XML document one at a time, instead of creating the whole document
+ * at once.
+ * <p>
+ * The elements returned are selected by a qualified name, such as {@code entry} or
+ * {@code {http://www.w3.org/2005/Atom}entry}, which matches the elements with that name at any depth. A path of
+ * names starting with a {@code /}, such as {@code /feed/entry}, matches only the elements at that path from the
+ * root. A {@code *} matches any name. The elements inside a returned element are part of it, and are not returned
+ * again even if they match.
+ * <p>
+ * Each element is built with {@link XMLTreeBuilder} as a standalone element, which declares the namespaces it uses.
+ * Only the element being returned is kept in memory, the parts of the document around it are skipped over.
+ *
+ * @since 2.0.0
+ */
+public class XMLPullParser implements Closeable {
+
+    private static final String ANY_NAME = "*";
+
+    private final InputStream in;
+    private final XMLStreamReader xmlStreamReader;
+    private final XMLTreeBuilder treeBuilder;
+    private final boolean fromRoot;
+    private final QName[] steps;
+    // names of the open elements, which are matched with the path
+    private final List<QName> openElements = new ArrayList<>();
+    private int depth;
+    private boolean hasElement;
+
+    /**
+     * Creates a parser that reads the elements selected by the given name or path.
+     *
+     * @param in   the XML input, in the encoding given by its XML declaration or byte order mark and UTF-8 otherwise
+     * @param path qualified name of the elements to read, or their path from the root
+     * @throws BallerinaException if the path is not valid or the input cannot be read
+     */
+    public XMLPullParser(InputStream in, String path) throws BallerinaException {
+        this.fromRoot = path.startsWith("/");
+        this.steps = parsePath(fromRoot ? path.substring(1) : path);
+        this.in = in;
+        try {
+            this.xmlStreamReader = XMLTreeBuilder.createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            throw new BallerinaException("Error reading XML: " + e.getMessage(), e);
+        }
+        this.treeBuilder = new XMLTreeBuilder(xmlStreamReader);
+    }
+
+    /**
+     * Checks whether there is another element to read, reading the input up to the start of it.
+     *
+     * @return true if {@link #next()} returns another element
+     * @throws BallerinaException for any parsing error
+     */
+    public boolean hasNext() throws BallerinaException {
+        if (hasElement) {
+            return true;
+        }
+        try {
+            while (xmlStreamReader.hasNext()) {
+                int next = xmlStreamReader.next();
+                if (next == START_ELEMENT) {
+                    QName name = xmlStreamReader.getName();
+                    if (matches(name)) {
+                        hasElement = true;
+                        return true;
+                    }
+                    openElements.add(name);
+                    depth++;
+                } else if (next == END_ELEMENT) {
+                    openElements.remove(--depth);
+                } else if (next == END_DOCUMENT) {
+                    break;
+                }
+            }
+            return false;
+        } catch (XMLStreamException e) {
+            throw new BallerinaException("Error reading XML: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next element.
+     *
+     * @return the element
+     * @throws BallerinaException for any parsing error, or if there are no more elements
+     */
+    public XMLItem next() throws BallerinaException {
+        if (!hasNext()) {
+            throw new BallerinaException("no more XML elements to read");
+        }
+        hasElement = false;
+        String defaultNamespace = xmlStreamReader.getNamespaceContext().getNamespaceURI("");
+        XMLItem element = treeBuilder.parseElement();
+        declareDefaultNamespace(element, defaultNamespace);
+        return element;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            xmlStreamReader.close();
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            in.close();
+        }
+    }
+
+    private boolean matches(QName name) {
+        if (!fromRoot) {
+            return matches(steps[steps.length - 1], name) && endsWithPath();
+        }
+        return depth == steps.length - 1 && matches(steps[depth], name) && endsWithPath();
+    }
+
+    /**
+     * Checks whether the open elements match the steps before the last one, aligned at the end of the path.
+     */
+    private boolean endsWithPath() {
+        int parentSteps = steps.length - 1;
+        if (depth < parentSteps) {
+            return false;
+        }
+        for (int i = 0; i < parentSteps; i++) {
+            if (!matches(steps[i], openElements.get(depth - parentSteps + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(QName step, QName name) {
+        if (ANY_NAME.equals(step.getLocalPart())) {
+            return true;
+        }
+        return step.getLocalPart().equals(name.getLocalPart()) && step.getNamespaceURI().equals(
+                name.getNamespaceURI());
+    }
+
+    /**
+     * Declares the default namespace of the element, if it is inherited from a parent element which is not read.
+     */
+    private static void declareDefaultNamespace(XMLItem element, String defaultNamespace) {
+        if (defaultNamespace == null || defaultNamespace.isEmpty()) {
+            return;
+        }
+        BString key = StringUtils.fromString(XMLItem.XMLNS_URL_PREFIX + XMLItem.XMLNS);
+        if (!element.getAttributesMap().containsKey(key)) {
+            element.getAttributesMap().put(key, StringUtils.fromString(defaultNamespace));
+        }
+    }
+
+    private static QName[] parsePath(String path) throws BallerinaException {
+        List<QName> steps = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            // a namespace URI may contain '/', so the step ends at the first '/' after it
+            int nameStart = start;
+            if (path.startsWith("{", start)) {
+                nameStart = path.indexOf('}', start);
+                if (nameStart < 0) {
+                    throw new BallerinaException("Invalid XML element path: '" + path + "'");
+                }
+            }
+            int end = path.indexOf('/', nameStart);
+            if (end < 0) {
+                end = path.length();
+            }
+            if (end == nameStart || path.charAt(end - 1) == '}') {
+                throw new BallerinaException("Invalid XML element path: empty name in '" + path + "'");
+            }
+            steps.add(QName.valueOf(path.substring(start, end)));
+            if (end == path.length()) {
+                return steps.toArray(new QName[0]);
+            }
+            start = end + 1;
+        }
+    }
+}
@@ -28,10 +28,12 @@ import org.ballerinalang.jvm.values.XMLValue;
 import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.jvm.values.api.BXML;
 
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -78,6 +80,51 @@ public class XMLTreeBuilder {
     }
 
     public XMLTreeBuilder(Reader stringReader) {
+        init();
+        try {
+            xmlStreamReader = xmlInputFactory.createXMLStreamReader(stringReader);
+        } catch (XMLStreamException e) {
+            handleXMLStreamException(e);
+        }
+    }
+
+    /**
+     * Creates a tree builder that reads the given stream, in the encoding given by the XML declaration or byte order
+     * mark of the document, and UTF-8 otherwise.
+     *
+     * @param inputStream XML input stream
+     */
+    public XMLTreeBuilder(InputStream inputStream) {
+        init();
+        try {
+            xmlStreamReader = xmlInputFactory.createXMLStreamReader(inputStream);
+        } catch (XMLStreamException e) {
+            handleXMLStreamException(e);
+        }
+    }
+
+    /**
+     * Creates a tree builder that reads single elements from the given reader, with {@link #parseElement()}.
+     *
+     * @param xmlStreamReader XML stream reader
+     */
+    XMLTreeBuilder(XMLStreamReader xmlStreamReader) {
+        init();
+        this.xmlStreamReader = xmlStreamReader;
+    }
+
+    /**
+     * Creates a stream reader with the same configuration as the readers of the tree builders.
+     *
+     * @param inputStream XML input stream
+     * @return XML stream reader
+     * @throws XMLStreamException if the reader cannot be created
+     */
+    static XMLStreamReader createXMLStreamReader(InputStream inputStream) throws XMLStreamException {
+        return xmlInputFactory.createXMLStreamReader(inputStream);
+    }
+
+    private void init() {
         namespaces = new HashMap<>();
         seqDeque = new ArrayDeque<>();
         siblingDeque = new ArrayDeque<>();
@@ -85,12 +132,6 @@ public class XMLTreeBuilder {
         ArrayList<BXML> siblings = new ArrayList<>();
         siblingDeque.push(siblings);
         seqDeque.push(new XMLSequence(siblings));
-
-        try {
-            xmlStreamReader = xmlInputFactory.createXMLStreamReader(stringReader);
-        } catch (XMLStreamException e) {
-            handleXMLStreamException(e);
-        }
     }
 
     private void handleXMLStreamException(Exception e) {
@@ -102,31 +143,10 @@ public class XMLTreeBuilder {
         try {
             while (xmlStreamReader.hasNext()) {
                 int next = xmlStreamReader.next();
-                switch (next) {
-                    case START_ELEMENT:
-                        readElement(xmlStreamReader);
-                        break;
-                    case END_ELEMENT:
-                        endElement();
-                        break;
-                    case PROCESSING_INSTRUCTION:
-                        readPI(xmlStreamReader);
-                        break;
-                    case COMMENT:
-                        readComment(xmlStreamReader);
-                        break;
-                    case CDATA:
-                    case CHARACTERS:
-                        readText(xmlStreamReader);
-                        break;
-                    case END_DOCUMENT:
-                        return buildDocument();
-                    case DTD:
-                        handleDTD(xmlStreamReader);
-                        break;
-                    default:
-                        assert false;
+                if (next == END_DOCUMENT) {
+                    return buildDocument();
                 }
+                readEvent(next);
             }
         } catch (Exception e) {
             handleXMLStreamException(e);
@@ -135,6 +155,59 @@ public class XMLTreeBuilder {
         return null;
     }
 
+    /**
+     * Builds the element at the current position of the reader, which must be at the start of an element. The reader
+     * is left at the end of the element, so that the rest of the document can be read separately.
+     *
+     * @return the element
+     */
+    XMLItem parseElement() {
+        try {
+            readElement(xmlStreamReader);
+            int depth = 1;
+            while (depth > 0) {
+                int next = xmlStreamReader.next();
+                if (next == START_ELEMENT) {
+                    depth++;
+                } else if (next == END_ELEMENT) {
+                    depth--;
+                }
+                readEvent(next);
+            }
+        } catch (Exception e) {
+            handleXMLStreamException(e);
+        }
+
+        List<BXML> elements = siblingDeque.peek();
+        return (XMLItem) elements.remove(elements.size() - 1);
+    }
+
+    private void readEvent(int next) {
+        switch (next) {
+            case START_ELEMENT:
+                readElement(xmlStreamReader);
+                break;
+            case END_ELEMENT:
+                endElement();
+                break;
+            case PROCESSING_INSTRUCTION:
+                readPI(xmlStreamReader);
+                break;
+            case COMMENT:
+                readComment(xmlStreamReader);
+                break;
+            case CDATA:
+            case CHARACTERS:
+                readText(xmlStreamReader);
+                break;
+            case DTD:
+                handleDTD(xmlStreamReader);
+                break;
+            default:
+                assert false;
+        }
+    }
+
     private void handleDTD(XMLStreamReader xmlStreamReader) {
         // ignore
     }
@@ -160,7 +233,11 @@ public class XMLTreeBuilder {
     }
 
     private void endElement() {
-        this.siblingDeque.pop();
+        List<BXML> children = this.siblingDeque.pop();
+        if (children instanceof ArrayList) {
+            // most elements have a single text child, so do not keep the spare capacity of the list around
+            ((ArrayList<BXML>) children).trimToSize();
+        }
         this.seqDeque.pop();
     }
 
@@ -181,7 +258,7 @@ public class XMLTreeBuilder {
     // todo: need to write a comment explaining each step
     private void populateAttributeMap(XMLStreamReader xmlStreamReader, XMLItem xmlItem, QName elemName) {
         MapValue<BString, BString> attributesMap = xmlItem.getAttributesMap();
-        Set<QName> usedNS = new HashSet<>(); // Track namespace prefixes found in this element.
+        Set<QName> usedNS = null; // Track namespace prefixes found in this element.
 
         int count = xmlStreamReader.getAttributeCount();
         for (int i = 0; i < count; i++) {
@@ -189,12 +266,15 @@ public class XMLTreeBuilder {
             attributesMap.put(StringUtils.fromString(attributeName.toString()),
                               StringUtils.fromString(xmlStreamReader.getAttributeValue(i)));
             if (!attributeName.getPrefix().isEmpty()) {
-                usedNS.add(attributeName);
+                usedNS = addUsedNamespace(usedNS, attributeName);
             }
         }
 
         if (!elemName.getPrefix().isEmpty()) {
-            usedNS.add(elemName);
+            usedNS = addUsedNamespace(usedNS, elemName);
+        }
+        if (usedNS == null) {
+            usedNS = Collections.emptySet();
         }
         for (QName qName : usedNS) {
             String prefix = qName.getPrefix();
@@ -220,4 +300,12 @@ public class XMLTreeBuilder {
             }
         }
     }
+
+    private static Set<QName> addUsedNamespace(Set<QName> usedNS, QName name) {
+        if (usedNS == null) {
+            usedNS = new HashSet<>();
+        }
+        usedNS.add(name);
+        return usedNS;
+    }
 }
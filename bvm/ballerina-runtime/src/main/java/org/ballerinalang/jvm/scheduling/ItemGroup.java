@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.Stack;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Represents a group of {@link SchedulerItem} that should run on same thread.
+ */
+class ItemGroup {
+
+    /**
+     * Keep the list of items that should run on same thread.
+     * Using a stack to get advantage of the locality.
+     */
+    Stack<SchedulerItem> items = new Stack<>();
+
+    /**
+     * Indicates this item is already in runnable list/executing or not.
+     */
+    AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    /**
+     * Id of the scheduler thread that executed this group last, used by the work stealing run queue to resume the
+     * group on the same thread. -1 if the group has not been executed yet.
+     */
+    volatile int lastWorkerId = -1;
+
+    public static final ItemGroup POISON_PILL = new ItemGroup();
+
+    public ItemGroup(SchedulerItem item) {
+        items.push(item);
+    }
+
+    private ItemGroup() {
+        items = null;
+    }
+
+    public void add(SchedulerItem item) {
+        items.push(item);
+    }
+
+    public SchedulerItem get() {
+        return items.pop();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+/**
+ * Holds the {@link ItemGroup}s that are ready to be executed by the {@link Scheduler} threads.
+ *
+ * @since 2.0.0
+ */
+interface RunQueue {
+
+    /**
+     * Attaches the calling thread to this queue as a strand worker. Must be called once by each scheduler thread
+     * before it starts taking groups.
+     */
+    void attachWorker();
+
+    /**
+     * Makes the given group available for execution. Can be called from any thread.
+     *
+     * @param group group that is ready to run
+     */
+    void add(ItemGroup group);
+
+    /**
+     * Retrieves the next group to be executed by the calling worker, waiting if none is available.
+     *
+     * @return next runnable group
+     * @throws InterruptedException if interrupted while waiting
+     */
+    ItemGroup take() throws InterruptedException;
+
+    /**
+     * Returns the number of groups waiting to be executed. The result is only an estimate while workers are active.
+     *
+     * @return number of queued groups
+     */
+    int size();
+}
@@ -31,11 +31,7 @@ import org.ballerinalang.jvm.values.connector.CallableUnitCallback;
 import java.io.PrintStream;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -58,7 +54,7 @@ public class Scheduler {
     /**
      * Strands that are ready for execution.
      */
-    private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
+    private final RunQueue runnableList;
 
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
@@ -74,6 +70,10 @@ public class Scheduler {
 
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
+    private static String schedulerModeConf = System.getenv(BLangConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR);
+
+    private final SchedulerMode mode;
+
     private Semaphore mainBlockSem;
 
     public Scheduler(boolean immortal) {
@@ -88,11 +88,53 @@ public class Scheduler {
         }
         this.numThreads = poolSize;
         this.immortal = immortal;
+        this.mode = resolveMode(getConfiguredMode());
+        this.runnableList = createRunQueue(mode, numThreads);
     }
 
     public Scheduler(int numThreads, boolean immortal) {
+        this(numThreads, immortal, getConfiguredMode());
+    }
+
+    public Scheduler(int numThreads, boolean immortal, SchedulerMode mode) {
         this.numThreads = numThreads;
         this.immortal = immortal;
+        this.mode = resolveMode(mode);
+        this.runnableList = createRunQueue(this.mode, numThreads);
+    }
+
+    private static SchedulerMode getConfiguredMode() {
+        if (schedulerModeConf == null) {
+            return SchedulerMode.SHARED;
+        }
+        try {
+            return SchedulerMode.fromName(schedulerModeConf);
+        } catch (Throwable t) {
+            // Log and continue with default
+            System.err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                    BLangConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR + ", " + t.getMessage());
+            return SchedulerMode.SHARED;
+        }
+    }
+
+    private SchedulerMode resolveMode(SchedulerMode mode) {
+        if (mode == SchedulerMode.VIRTUAL_THREAD && !VirtualThreads.isSupported()) {
+            err.println("ballerina: virtual threads are not supported by the running JDK, using scheduler mode '" +
+                    SchedulerMode.SHARED + "'");
+            return SchedulerMode.SHARED;
+        }
+        return mode;
+    }
+
+    private static RunQueue createRunQueue(SchedulerMode mode, int numThreads) {
+        if (mode == SchedulerMode.WORK_STEALING) {
+            return new WorkStealingRunQueue(numThreads);
+        }
+        return new SharedRunQueue();
+    }
+
+    public SchedulerMode getMode() {
+        return mode;
     }
 
     public static Strand getStrand() {
@@ -232,6 +274,7 @@ public class Scheduler {
      */
     private void runSafely() {
         try {
+            runnableList.attachWorker();
             run();
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
@@ -243,7 +286,6 @@ public class Scheduler {
      */
     private void run() {
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
                 group = runnableList.take();
@@ -256,34 +298,65 @@ public class Scheduler {
                 break;
             }
 
-            while (!group.items.empty()) {
-                Object result = null;
-                Throwable panic = null;
+            if (mode == SchedulerMode.VIRTUAL_THREAD) {
+                // Scheduler threads only dispatch, a strand blocked in a Java call then only holds its own
+                // virtual thread instead of one of the scheduler threads.
+                VirtualThreads.start(() -> runGroupSafely(group));
+                continue;
+            }
 
-                item = group.get();
+            runGroup(group);
+        }
+    }
 
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+    private void runGroupSafely(ItemGroup group) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+    }
 
-                    if (!(panic instanceof ErrorValue)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = null;
-                }
+    /**
+     * Executes the items of the given group until it has no runnable items left.
+     */
+    private void runGroup(ItemGroup group) {
+        do {
+            runItems(group);
+            group.scheduled.set(false);
+            // an item may have been added after the last empty check, but before the group was marked as not
+            // scheduled, in which case nobody else will put the group back in the runnable list
+        } while (!group.items.empty() && group.scheduled.compareAndSet(false, true));
+    }
+
+    private void runItems(ItemGroup group) {
+        SchedulerItem item;
+        while (!group.items.empty()) {
+            Object result = null;
+            Throwable panic = null;
 
-                postProcess(item, result, panic);
+            item = group.get();
+
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof ErrorValue)) {
+                    RuntimeUtils.printCrashLog(panic);
+                }
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
+                }
+            } finally {
+                strandHolder.get().strand = null;
             }
-            group.scheduled.set(false);
+
+            postProcess(item, result, panic);
         }
     }
 
@@ -454,87 +527,3 @@ public class Scheduler {
         }
     }
 }
-
-/**
- * Represent an executable item in Scheduler.
- *
- * @since 0.995.0
- */
-class SchedulerItem {
-    private Function function;
-    private Object[] params;
-    final FutureValue future;
-    boolean parked;
-
-    public SchedulerItem(Function function, Object[] params, FutureValue future) {
-        this.future = future;
-        this.function = function;
-        this.params = params;
-    }
-
-    @Deprecated
-    public SchedulerItem(Consumer consumer, Object[] params, FutureValue future) {
-        this.future = future;
-        this.function = val -> {
-            consumer.accept(val);
-            return null;
-        };
-        this.params = params;
-    }
-
-    public Object execute() {
-        return this.function.apply(this.params);
-    }
-
-    public boolean isYielded() {
-        return this.future.strand.isYielded();
-    }
-
-    public State getState() {
-        return this.future.strand.getState();
-    }
-
-    public void setState(State state) {
-        this.future.strand.setState(state);
-    }
-
-    @Override
-    public String toString() {
-        return future == null ? "POISON_PILL" : String.valueOf(future.strand.hashCode());
-    }
-}
-
-/**
- * Represents a group of {@link SchedulerItem} that should run on same thread.
- */
-class ItemGroup {
-
-    /**
-     * Keep the list of items that should run on same thread.
-     * Using a stack to get advantage of the locality.
-     */
-    Stack<SchedulerItem> items = new Stack();
-
-    /**
-     * Indicates this item is already in runnable list/executing or not.
-     */
-    AtomicBoolean scheduled = new AtomicBoolean(false);
-
-    public static final ItemGroup POISON_PILL = new ItemGroup();
-
-    public ItemGroup(SchedulerItem item) {
-        items.push(item);
-    }
-
-    private ItemGroup() {
-        items = null;
-    }
-
-    public void add(SchedulerItem item) {
-        items.push(item);
-    }
-
-    public SchedulerItem get() {
-        return items.pop();
-    }
-}
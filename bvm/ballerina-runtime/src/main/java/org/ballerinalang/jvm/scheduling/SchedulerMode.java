@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+/**
+ * Execution modes supported by the {@link Scheduler}. The mode can be selected at launch by setting the
+ * BALLERINA_SCHEDULER_MODE system variable.
+ *
+ * @since 2.0.0
+ */
+public enum SchedulerMode {
+
+    /**
+     * All the scheduler threads take runnable strands from a single shared queue.
+     */
+    SHARED("shared"),
+
+    /**
+     * Each scheduler thread has its own run queue and steals from the others when it runs out of work. Unblocked
+     * strands are resumed on the thread that ran them last.
+     */
+    WORK_STEALING("work-stealing"),
+
+    /**
+     * Each runnable strand group is executed on its own JDK virtual thread, the scheduler threads only dispatch.
+     * A strand blocked inside a Java interop call (eg: JDBC, file I/O) then does not hold one of the
+     * BALLERINA_MAX_POOL_SIZE scheduler threads. Requires a JDK with virtual thread support, the scheduler falls back
+     * to {@link #SHARED} otherwise.
+     */
+    VIRTUAL_THREAD("virtual-thread");
+
+    private final String name;
+
+    SchedulerMode(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Returns the mode for the given name.
+     *
+     * @param name name of the mode, as given in BALLERINA_SCHEDULER_MODE
+     * @return matching mode
+     * @throws IllegalArgumentException if there is no mode with the given name
+     */
+    public static SchedulerMode fromName(String name) {
+        for (SchedulerMode mode : values()) {
+            if (mode.name.equalsIgnoreCase(name.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("unknown scheduler mode '" + name + "'");
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Unbounded single-producer, single-consumer queue used by {@link WorkerDataChannel}.
+ * <p>
+ * Elements are kept in fixed size array segments that are linked together when the producer runs past the end of
+ * the current one. Offering and polling never take a lock; the producer only writes to the tail segment and the
+ * consumer only reads from the head segment, so each index has a single writer. Null elements are not allowed,
+ * since a null slot is how the consumer sees that the queue is empty.
+ *
+ * @param <E> type of the queued elements
+ * @since 2.0.0
+ */
+class SpscLinkedArrayQueue<E> {
+
+    private static final int SEGMENT_SIZE = 32;
+
+    // producer side
+    private Segment<E> tail;
+    private int tailIndex;
+
+    // consumer side
+    private Segment<E> head;
+    private int headIndex;
+
+    SpscLinkedArrayQueue() {
+        Segment<E> segment = new Segment<>();
+        this.head = segment;
+        this.tail = segment;
+    }
+
+    /**
+     * Adds an element to the queue. Must only be called from the producer side.
+     *
+     * @param element element to add, not null
+     */
+    void offer(E element) {
+        if (tailIndex == SEGMENT_SIZE) {
+            Segment<E> next = new Segment<>();
+            tail.next = next;
+            tail = next;
+            tailIndex = 0;
+        }
+        // volatile store, so that a consumer which registers itself after this point is guaranteed to see the element
+        tail.elements.set(tailIndex++, element);
+    }
+
+    /**
+     * Returns the next element without removing it, or null if the queue is empty. Must only be called from the
+     * consumer side.
+     *
+     * @return the next element or null
+     */
+    E peek() {
+        Segment<E> segment = head;
+        int index = headIndex;
+        if (index == SEGMENT_SIZE) {
+            segment = segment.next;
+            if (segment == null) {
+                return null;
+            }
+            index = 0;
+        }
+        return segment.elements.get(index);
+    }
+
+    /**
+     * Removes and returns the next element, or null if the queue is empty. Must only be called from the consumer
+     * side.
+     *
+     * @return the next element or null
+     */
+    E poll() {
+        if (headIndex == SEGMENT_SIZE) {
+            Segment<E> next = head.next;
+            if (next == null) {
+                return null;
+            }
+            head = next;
+            headIndex = 0;
+        }
+        E element = head.elements.get(headIndex);
+        if (element == null) {
+            return null;
+        }
+        // the slot is never written again by the producer, clear it only to let the element be collected
+        head.elements.lazySet(headIndex++, null);
+        return element;
+    }
+
+    private static class Segment<E> {
+
+        final AtomicReferenceArray<E> elements = new AtomicReferenceArray<>(SEGMENT_SIZE);
+        volatile Segment<E> next;
+    }
+}
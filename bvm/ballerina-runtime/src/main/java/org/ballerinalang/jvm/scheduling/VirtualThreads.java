@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to JDK virtual threads. The runtime is compiled for Java 8, hence the virtual thread API is looked up
+ * reflectively and is only available when running on a JDK that supports it (21+).
+ *
+ * @since 2.0.0
+ */
+class VirtualThreads {
+
+    private static final String THREAD_NAME_PREFIX = "jbal-strand-vthread-";
+
+    private static final ThreadFactory FACTORY = createFactory();
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks whether the running JDK supports virtual threads.
+     *
+     * @return true if virtual threads can be created
+     */
+    static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    /**
+     * Starts the given task on a new virtual thread.
+     *
+     * @param task task to be executed
+     * @throws UnsupportedOperationException if the running JDK does not support virtual threads
+     */
+    static void start(Runnable task) {
+        if (FACTORY == null) {
+            throw new UnsupportedOperationException("virtual threads are not supported by the running JDK");
+        }
+        FACTORY.newThread(task).start();
+    }
+
+    private static ThreadFactory createFactory() {
+        try {
+            // Thread.ofVirtual().name(prefix, 0).factory()
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual",
+                    MethodType.methodType(virtualBuilderClass));
+            MethodHandle name = lookup.findVirtual(virtualBuilderClass, "name",
+                    MethodType.methodType(virtualBuilderClass, String.class, long.class));
+            MethodHandle factory = lookup.findVirtual(builderClass, "factory",
+                    MethodType.methodType(ThreadFactory.class));
+            Object builder = ofVirtual.invoke();
+            builder = name.invoke(builder, THREAD_NAME_PREFIX, 0L);
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Throwable t) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.ballerinalang.jvm.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * {@link RunQueue} with a deque per scheduler thread and work stealing.
+ * <p>
+ * A group that becomes runnable again is handed back to the worker that ran it last, through that worker's LIFO
+ * slot, so that it continues on the same thread. New groups created on a worker are pushed to its own deque, and
+ * groups created outside the scheduler threads go to a shared injection queue. An idle worker steals from the tail
+ * of the other workers' deques before it parks.
+ * <p>
+ * A worker parks without a timeout, so a signal must never be lost. Producers add their group before they signal,
+ * and a worker registers as idle before its last scan, so a parked worker is always signalled for work added after
+ * that scan. A signal may still reach a worker which then takes a different group than the one it was sent for, as
+ * when the worker finds other work first. Such a worker passes the signal on to another idle worker if there is
+ * work left, so that every group added while a worker is idle wakes a worker that sees it.
+ *
+ * @since 2.0.0
+ */
+class WorkStealingRunQueue implements RunQueue {
+
+    private final Worker[] workers;
+    private final AtomicInteger attachedWorkers = new AtomicInteger();
+    private final ThreadLocal<Worker> currentWorker = new ThreadLocal<>();
+    private final Queue<ItemGroup> injectionQueue = new ConcurrentLinkedQueue<>();
+    private final Queue<Worker> idleWorkers = new ConcurrentLinkedQueue<>();
+
+    WorkStealingRunQueue(int numWorkers) {
+        this.workers = new Worker[numWorkers];
+        for (int i = 0; i < numWorkers; i++) {
+            workers[i] = new Worker(i);
+        }
+    }
+
+    @Override
+    public void attachWorker() {
+        int id = attachedWorkers.getAndIncrement();
+        if (id >= workers.length) {
+            throw new IllegalStateException("number of strand workers exceeds the configured pool size: " +
+                    workers.length);
+        }
+        Worker worker = workers[id];
+        worker.thread = Thread.currentThread();
+        currentWorker.set(worker);
+    }
+
+    @Override
+    public void add(ItemGroup group) {
+        if (group == POISON_PILL) {
+            injectionQueue.add(group);
+            signalIdleWorker();
+            return;
+        }
+
+        int lastWorkerId = group.lastWorkerId;
+        if (lastWorkerId >= 0) {
+            // Hand the group back to the thread that ran it last. A group already sitting in the slot is moved to
+            // the front of the owner's deque, so it is still the next one to run after this.
+            Worker owner = workers[lastWorkerId];
+            ItemGroup displaced = owner.lifoSlot.getAndSet(group);
+            if (displaced != null) {
+                owner.deque.addFirst(displaced);
+            }
+            if (idleWorkers.remove(owner)) {
+                LockSupport.unpark(owner.thread);
+            } else {
+                signalIdleWorker();
+            }
+            return;
+        }
+
+        Worker current = currentWorker.get();
+        if (current != null) {
+            current.deque.addFirst(group);
+        } else {
+            injectionQueue.add(group);
+        }
+        signalIdleWorker();
+    }
+
+    @Override
+    public ItemGroup take() {
+        Worker worker = currentWorker.get();
+        if (worker == null) {
+            throw new IllegalStateException("strand worker is not attached to the run queue");
+        }
+
+        boolean signalled = false;
+        while (true) {
+            ItemGroup group = poll(worker);
+            if (group != null) {
+                return claim(worker, group, signalled);
+            }
+
+            // Advertise that we are idle and look once more before parking. Producers add their group before
+            // checking for idle workers, hence either they see us here or we see their group in the rescan.
+            idleWorkers.add(worker);
+            group = poll(worker);
+            if (group != null) {
+                // A producer which took us off the idle list has signalled us, possibly for another group
+                return claim(worker, group, !idleWorkers.remove(worker));
+            }
+
+            LockSupport.park(this);
+            // Woken by a signal if a producer took us off the idle list, otherwise the wake up is spurious
+            signalled = !idleWorkers.remove(worker);
+            // Interrupts are ignored as in the shared queue, clear the flag so that the next park blocks.
+            Thread.interrupted();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = injectionQueue.size();
+        for (Worker worker : workers) {
+            size += worker.deque.size();
+            if (worker.lifoSlot.get() != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private ItemGroup claim(Worker worker, ItemGroup group, boolean signalled) {
+        if (group != POISON_PILL) {
+            group.lastWorkerId = worker.id;
+        }
+        if (signalled && hasWork()) {
+            // The signal may have been meant for a group which is still queued, pass it on
+            signalIdleWorker();
+        }
+        return group;
+    }
+
+    private boolean hasWork() {
+        if (!injectionQueue.isEmpty()) {
+            return true;
+        }
+        for (Worker worker : workers) {
+            if (!worker.deque.isEmpty() || worker.lifoSlot.get() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ItemGroup poll(Worker worker) {
+        ItemGroup group = worker.lifoSlot.getAndSet(null);
+        if (group != null) {
+            return group;
+        }
+
+        group = worker.deque.pollFirst();
+        if (group != null) {
+            return group;
+        }
+
+        group = injectionQueue.poll();
+        if (group != null) {
+            return group;
+        }
+
+        return steal(worker);
+    }
+
+    private ItemGroup steal(Worker thief) {
+        int numWorkers = workers.length;
+        for (int i = 1; i < numWorkers; i++) {
+            Worker victim = workers[(thief.id + i) % numWorkers];
+            ItemGroup group = victim.deque.pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+
+        // Only take groups from the LIFO slots when there is nothing else left, the owner may be blocked in a
+        // long running item and would otherwise delay them.
+        for (int i = 1; i < numWorkers; i++) {
+            Worker victim = workers[(thief.id + i) % numWorkers];
+            ItemGroup group = victim.lifoSlot.getAndSet(null);
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private void signalIdleWorker() {
+        Worker idle = idleWorkers.poll();
+        if (idle != null) {
+            LockSupport.unpark(idle.thread);
+        }
+    }
+
+    /**
+     * Per thread state of the work stealing queue.
+     */
+    private static class Worker {
+
+        final int id;
+        final Deque<ItemGroup> deque = new ConcurrentLinkedDeque<>();
+        final AtomicReference<ItemGroup> lifoSlot = new AtomicReference<>();
+        volatile Thread thread;
+
+        Worker(int id) {
+            this.id = id;
+        }
+    }
+}
@@ -19,46 +19,51 @@ package org.ballerinalang.jvm.scheduling;
 
 import org.ballerinalang.jvm.values.ErrorValue;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static org.ballerinalang.jvm.scheduling.State.BLOCK_AND_YIELD;
+import static org.ballerinalang.jvm.scheduling.State.RUNNABLE;
 
 /**
  * This represents a worker data channel that is created for each worker to
  * worker interaction for each function call.
+ * <p>
+ * A channel always has a single sending worker and a single receiving worker, so async sends and receives go
+ * through a lock-free single-producer, single-consumer queue. The receiver registers itself only when it finds the
+ * channel empty, which means a sender wakes it up at most once per empty to non-empty transition, no matter how
+ * many messages are sent in between. The channel lock is only taken on the rarer paths: sync sends, flushes,
+ * errors and panics, and the receiver going to sleep.
  *
  * @since 0.995.0
  */
 public class WorkerDataChannel {
 
-    private Strand receiver;
-    private WaitingSender waitingSender;
-    private WaitingSender flushSender;
+    private final AtomicReference<Strand> receiver = new AtomicReference<>();
+    private volatile WaitingSender waitingSender;
+    private volatile WaitingSender flushSender;
     private ErrorValue error;
     private Throwable panic;
-    private int senderCounter;
-    private int receiverCounter;
+    private final AtomicInteger senderCounter = new AtomicInteger();
+    private final AtomicInteger receiverCounter = new AtomicInteger();
     private boolean reschedule;
+    @SuppressWarnings("rawtypes")
+    private WorkerResult syncResult;
 
     private Lock channelLock;
 
     public String chnlName;
 
     @SuppressWarnings("rawtypes")
-    private Queue<WorkerResult> channel = new LinkedList<>();
+    private final SpscLinkedArrayQueue<WorkerResult> channel = new SpscLinkedArrayQueue<>();
 
     public WorkerDataChannel() {
         this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
-        this.receiverCounter = 0;
     }
     public WorkerDataChannel(String channelName) {
         this.channelLock = new ReentrantLock();
-        this.senderCounter = 0;
-        this.receiverCounter = 0;
         this.chnlName = channelName;
     }
 
@@ -72,17 +77,9 @@ public class WorkerDataChannel {
 
     @SuppressWarnings("rawtypes")
     public void sendData(Object data, Strand sender) {
-        try {
-            acquireChannelLock();
-            this.channel.add(new WorkerResult(data));
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
-        } finally {
-            releaseChannelLock();
-        }
+        this.channel.offer(new WorkerResult(data));
+        this.senderCounter.incrementAndGet();
+        wakeUpReceiver();
     }
 
     /**
@@ -96,22 +93,23 @@ public class WorkerDataChannel {
         try {
             acquireChannelLock();
             if (!reschedule) {
-                // this is a new message, not a reschedule
-                this.channel.add(new WorkerResult(data, true));
-                this.senderCounter++;
+                // this is a new message, not a reschedule. The waiting sender is published before the message,
+                // and the receiver takes the channel lock before resuming it, so the sender is always blocked first
                 this.waitingSender = new WaitingSender(strand, -1);
-
-                if (this.receiver != null) {
-                    // multiple checks are added to make sure this is
-                    this.receiver.scheduler.unblockStrand(this.receiver);
-                    this.receiver = null;
-                } else if (this.panic != null) {
-                    Throwable panic = this.panic;
-                    this.panic = null;
-                    throw panic;
-                } else if (this.error != null) {
-                    ErrorValue ret = this.error;
-                    return ret;
+                this.syncResult = new WorkerResult(data, true);
+                this.channel.offer(this.syncResult);
+                this.senderCounter.incrementAndGet();
+
+                if (!wakeUpReceiver()) {
+                    // no receiver waiting, it may have already failed
+                    if (this.panic != null) {
+                        Throwable panic = this.panic;
+                        this.panic = null;
+                        throw panic;
+                    } else if (this.error != null) {
+                        ErrorValue ret = this.error;
+                        return ret;
+                    }
                 }
 
                 reschedule = true;
@@ -120,10 +118,12 @@ public class WorkerDataChannel {
             }
 
             reschedule = false;
-            if (this.panic != null && this.channel.peek() != null) {
+            boolean taken = this.syncResult == null;
+            this.syncResult = null;
+            if (this.panic != null && !taken) {
                 Throwable e = this.panic;
                 throw e;
-            } else if (this.error != null && this.channel.peek() != null) {
+            } else if (this.error != null && !taken) {
                 ErrorValue ret = this.error;
                 return ret;
             }
@@ -134,49 +134,91 @@ public class WorkerDataChannel {
             releaseChannelLock();
         }
     }
-    
+
     @SuppressWarnings("rawtypes")
     public Object tryTakeData(Strand strand) throws Throwable {
+        WorkerResult result = this.channel.poll();
+        if (result != null) {
+            return takeResult(result);
+        }
+
         try {
             acquireChannelLock();
-            WorkerResult result = this.channel.peek();
-            if (result != null) {
-                this.receiverCounter++;
-                this.channel.remove();
-
-                if (result.isSync) {
-                    // sync sender will pick the this.error as result, which is null
-                    Strand waiting  = this.waitingSender.waitingStrand;
-                    waiting.scheduler.unblockStrand(waiting);
-                    this.waitingSender = null;
-                } else if (this.flushSender != null && this.flushSender.flushCount == this.receiverCounter) {
-                    this.flushSender.waitingStrand.flushDetail.flushLock.lock();
-                    this.flushSender.waitingStrand.flushDetail.flushedCount++;
-                    if (this.flushSender.waitingStrand.flushDetail.flushedCount
-                            == this.flushSender.waitingStrand.flushDetail.flushChannels.length &&
-                            this.flushSender.waitingStrand.isBlocked()) {
-                            //will continue if this is a sync wait, will try to flush again if blocked on flush
-                            this.flushSender.waitingStrand.scheduler.unblockStrand(this.flushSender.waitingStrand);
-
-                    }
-                    this.flushSender.waitingStrand.flushDetail.flushLock.unlock();
-                    this.flushSender = null;
-                }
-                return result.value;
-            } else if (this.panic != null && this.senderCounter == this.receiverCounter + 1) {
-                this.receiverCounter++;
+            if (this.panic != null && this.senderCounter.get() == this.receiverCounter.get() + 1) {
+                this.receiverCounter.incrementAndGet();
                 throw this.panic;
-            } else if (this.error != null && this.senderCounter == this.receiverCounter + 1) {
-                this.receiverCounter++;
+            } else if (this.error != null && this.senderCounter.get() == this.receiverCounter.get() + 1) {
+                this.receiverCounter.incrementAndGet();
                 return error;
-            } else {
-                this.receiver = strand;
-                strand.setState(BLOCK_AND_YIELD);
+            }
+
+            // block first and then register, a sender that sees the registration can then safely resume the strand
+            strand.setState(BLOCK_AND_YIELD);
+            this.receiver.set(strand);
+            if (this.channel.peek() == null || !this.receiver.compareAndSet(strand, null)) {
+                // either still empty, or a sender already claimed the wake up
                 return null;
             }
+            strand.setState(RUNNABLE);
         } finally {
             releaseChannelLock();
         }
+        return takeResult(this.channel.poll());
+    }
+
+    @SuppressWarnings("rawtypes")
+    private Object takeResult(WorkerResult result) {
+        int received = this.receiverCounter.incrementAndGet();
+        if (result.isSync) {
+            try {
+                acquireChannelLock();
+                // sync sender will pick the this.error as result, which is null
+                this.syncResult = null;
+                Strand waiting = this.waitingSender.waitingStrand;
+                waiting.scheduler.unblockStrand(waiting);
+                this.waitingSender = null;
+            } finally {
+                releaseChannelLock();
+            }
+        } else if (this.flushSender != null) {
+            try {
+                acquireChannelLock();
+                WaitingSender flushSender = this.flushSender;
+                if (flushSender != null && flushSender.flushCount <= received) {
+                    notifyFlushed(flushSender.waitingStrand);
+                    this.flushSender = null;
+                }
+            } finally {
+                releaseChannelLock();
+            }
+        }
+        return result.value;
+    }
+
+    private void notifyFlushed(Strand flushStrand) {
+        flushStrand.flushDetail.flushLock.lock();
+        flushStrand.flushDetail.flushedCount++;
+        if (flushStrand.flushDetail.flushedCount == flushStrand.flushDetail.flushChannels.length &&
+                flushStrand.isBlocked()) {
+            //will continue if this is a sync wait, will try to flush again if blocked on flush
+            flushStrand.scheduler.unblockStrand(flushStrand);
+        }
+        flushStrand.flushDetail.flushLock.unlock();
+    }
+
+    /**
+     * Resumes the receiver if it is waiting on this channel. Only the caller that clears the registration resumes
+     * it, so a receiver is woken up once even when many messages arrive while it is asleep.
+     *
+     * @return true if a waiting receiver was resumed
+     */
+    private boolean wakeUpReceiver() {
+        Strand waiting = this.receiver.get();
+        if (waiting != null && this.receiver.compareAndSet(waiting, null)) {
+            waiting.scheduler.unblockStrand(waiting);
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -186,11 +228,8 @@ public class WorkerDataChannel {
     public void setSendError(ErrorValue error) {
         acquireChannelLock();
         this.error = error;
-        this.senderCounter++;
-        if (this.receiver != null) {
-            this.receiver.scheduler.unblockStrand(this.receiver);
-            this.receiver = null;
-        }
+        this.senderCounter.incrementAndGet();
+        wakeUpReceiver();
         releaseChannelLock();
     }
 
@@ -202,7 +241,7 @@ public class WorkerDataChannel {
     public void setReceiveError(ErrorValue error) {
         acquireChannelLock();
         this.error = error;
-        this.receiverCounter++;
+        this.receiverCounter.incrementAndGet();
         if (this.flushSender != null) {
             this.flushSender.waitingStrand.flushDetail.flushLock.lock();
             Strand flushStrand = this.flushSender.waitingStrand;
@@ -234,13 +273,20 @@ public class WorkerDataChannel {
                 throw this.panic;
             } else if (this.error != null) {
                 return this.error;
-            } else if (this.receiverCounter == this.senderCounter) {
-                strand.flushDetail.flushLock.lock();
-                strand.flushDetail.flushedCount++;
-                strand.flushDetail.flushLock.unlock();
-                return null;
             }
-            this.flushSender = new WaitingSender(strand, this.senderCounter);
+            int sent = this.senderCounter.get();
+            if (this.receiverCounter.get() < sent) {
+                // register before checking again, a receiver that takes the last message after this point will see
+                // the flush sender and notify it
+                this.flushSender = new WaitingSender(strand, sent);
+                if (this.receiverCounter.get() < sent) {
+                    return null;
+                }
+                this.flushSender = null;
+            }
+            strand.flushDetail.flushLock.lock();
+            strand.flushDetail.flushedCount++;
+            strand.flushDetail.flushLock.unlock();
             return null;
         } finally {
             releaseChannelLock();
@@ -262,11 +308,8 @@ public class WorkerDataChannel {
         try {
             acquireChannelLock();
             this.panic  = panic;
-            this.senderCounter++;
-            if (this.receiver != null) {
-                this.receiver.scheduler.unblockStrand(this.receiver);
-                this.receiver = null;
-            }
+            this.senderCounter.incrementAndGet();
+            wakeUpReceiver();
         } finally {
             releaseChannelLock();
         }
@@ -280,7 +323,7 @@ public class WorkerDataChannel {
     public void setReceiverPanic(Throwable panic) {
         acquireChannelLock();
         this.panic  = panic;
-        this.receiverCounter++;
+        this.receiverCounter.incrementAndGet();
         if (this.flushSender != null) {
             this.flushSender.waitingStrand.flushDetail.flushLock.lock();
             Strand flushStrand = this.flushSender.waitingStrand;
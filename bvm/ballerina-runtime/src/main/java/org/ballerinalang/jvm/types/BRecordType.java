@@ -19,6 +19,7 @@ package org.ballerinalang.jvm.types;
 
 import org.ballerinalang.jvm.BallerinaValues;
 import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.TypeChecker;
 import org.ballerinalang.jvm.util.Flags;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.MapValueImpl;
@@ -38,6 +39,8 @@ public class BRecordType extends BStructureType {
     public int typeFlags;
     private final boolean readonly;
     private BIntersectionType immutableType;
+    // computed when a value of this type is first frozen
+    volatile Boolean inherentlyImmutableMembers;
 
     /**
      * Create a {@code BRecordType} which represents the user defined record type.
@@ -127,4 +130,29 @@ public class BRecordType extends BStructureType {
     public void setImmutableType(BIntersectionType immutableType) {
         this.immutableType = immutableType;
     }
+
+    /**
+     * Returns whether every field and the rest field of this record are of inherently immutable types, so that
+     * freezing a value of this type does not need to visit its fields. This is computed on the first call, once the
+     * fields of the type are set.
+     *
+     * @return true if the fields of a value of this type never need to be frozen
+     */
+    public boolean hasInherentlyImmutableMembers() {
+        Boolean immutableMembers = this.inherentlyImmutableMembers;
+        if (immutableMembers == null) {
+            immutableMembers = hasInherentlyImmutableFields();
+            this.inherentlyImmutableMembers = immutableMembers;
+        }
+        return immutableMembers;
+    }
+
+    private boolean hasInherentlyImmutableFields() {
+        for (BField field : getFields().values()) {
+            if (!TypeChecker.isInherentlyImmutableType(field.type)) {
+                return false;
+            }
+        }
+        return this.restFieldType == null ? this.sealed : TypeChecker.isInherentlyImmutableType(this.restFieldType);
+    }
 }
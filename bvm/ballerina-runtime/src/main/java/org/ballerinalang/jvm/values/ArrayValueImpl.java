@@ -68,6 +68,8 @@ public class ArrayValueImpl extends AbstractArrayValue {
     private byte[] byteValues;
     private double[] floatValues;
     private BString[] bStringValues;
+    // set while the element array is shared with a copy of this array, it is copied before the first update
+    private volatile boolean shared;
     // ------------------------ Constructors -------------------------------------------------------------------
 
     @Deprecated
@@ -249,6 +251,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
             // Need do a filling-read if index >= size
             if (index >= this.size) {
                 handleImmutableArrayValue();
+                unshare();
                 fillRead(index, refValues.length);
             }
             return refValues[(int) index];
@@ -524,6 +527,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
     public Object shift(long index) {
         handleImmutableArrayValue();
         Object val = get(index);
+        unshare();
         shiftArray((int) index, getArrayFromType(this.elementType.getTag()));
         return val;
     }
@@ -613,6 +617,61 @@ public class ArrayValueImpl extends AbstractArrayValue {
             return refs.get(this);
         }
 
+        if (getClass() != ArrayValueImpl.class) {
+            return copyElements(refs);
+        }
+
+        // share the element array until either array is updated, only the mutable members need copies of their own
+        ArrayValueImpl valueArray;
+        switch (this.elementType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.SIGNED32_INT_TAG:
+            case TypeTags.SIGNED16_INT_TAG:
+            case TypeTags.SIGNED8_INT_TAG:
+            case TypeTags.UNSIGNED32_INT_TAG:
+            case TypeTags.UNSIGNED16_INT_TAG:
+            case TypeTags.UNSIGNED8_INT_TAG:
+                valueArray = new ArrayValueImpl(intValues);
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                valueArray = new ArrayValueImpl(booleanValues);
+                break;
+            case TypeTags.BYTE_TAG:
+                valueArray = new ArrayValueImpl(byteValues);
+                break;
+            case TypeTags.FLOAT_TAG:
+                valueArray = new ArrayValueImpl(floatValues);
+                break;
+            case TypeTags.STRING_TAG:
+            case TypeTags.CHAR_STRING_TAG:
+                valueArray = new ArrayValueImpl(bStringValues);
+                break;
+            default:
+                valueArray = new ArrayValueImpl(refValues, arrayType);
+                break;
+        }
+        valueArray.size = this.size;
+        valueArray.shared = true;
+        this.shared = true;
+        refs.put(this, valueArray);
+
+        if (valueArray.refValues != null) {
+            for (int i = 0; i < this.size; i++) {
+                Object value = this.refValues[i];
+                if (!(value instanceof RefValue)) {
+                    continue;
+                }
+                Object copy = ((RefValue) value).copy(refs);
+                if (copy != value) {
+                    valueArray.unshare();
+                    valueArray.refValues[i] = copy;
+                }
+            }
+        }
+        return valueArray;
+    }
+
+    private Object copyElements(Map<Object, Object> refs) {
         ArrayValue valueArray = null;
         switch (this.elementType.getTag()) {
             case TypeTags.INT_TAG:
@@ -655,6 +714,43 @@ public class ArrayValueImpl extends AbstractArrayValue {
         return valueArray;
     }
 
+    /**
+     * Gives this array an element array of its own, if it is still shared with a copy.
+     */
+    private void unshare() {
+        if (!shared) {
+            return;
+        }
+        switch (this.elementType.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.SIGNED32_INT_TAG:
+            case TypeTags.SIGNED16_INT_TAG:
+            case TypeTags.SIGNED8_INT_TAG:
+            case TypeTags.UNSIGNED32_INT_TAG:
+            case TypeTags.UNSIGNED16_INT_TAG:
+            case TypeTags.UNSIGNED8_INT_TAG:
+                intValues = intValues.clone();
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                booleanValues = booleanValues.clone();
+                break;
+            case TypeTags.BYTE_TAG:
+                byteValues = byteValues.clone();
+                break;
+            case TypeTags.FLOAT_TAG:
+                floatValues = floatValues.clone();
+                break;
+            case TypeTags.STRING_TAG:
+            case TypeTags.CHAR_STRING_TAG:
+                bStringValues = bStringValues.clone();
+                break;
+            default:
+                refValues = refValues.clone();
+                break;
+        }
+        shared = false;
+    }
+
     @Override
     public Object frozenCopy(Map<Object, Object> refs) {
         ArrayValue copy = (ArrayValue) copy(refs);
@@ -723,6 +819,8 @@ public class ArrayValueImpl extends AbstractArrayValue {
      */
     @Override
     public Object[] getValues() {
+        // the array is exposed to the caller, who may update it
+        unshare();
         return refValues;
     }
 
@@ -795,7 +893,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
         }
 
         this.arrayType = (BArrayType) ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.arrayType);
-        if (this.elementType == null || this.elementType.getTag() > TypeTags.BOOLEAN_TAG) {
+        if (this.elementType == null || !ReadOnlyUtils.hasInherentlyImmutableMembers(this.arrayType)) {
             for (int i = 0; i < this.size; i++) {
                 Object value = this.getRefValue(i);
                 if (value instanceof RefValue) {
@@ -854,6 +952,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
                 refValues = Arrays.copyOf(refValues, newLength);
                 break;
         }
+        shared = false;
     }
 
     @Override
@@ -957,6 +1056,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
     @Override
     protected void unshift(long index, ArrayValue vals) {
         handleImmutableArrayValue();
+        unshare();
         unshiftArray(index, vals.size(), getCurrentArrayLength());
 
         int startIndex = (int) index;
@@ -978,6 +1078,7 @@ public class ArrayValueImpl extends AbstractArrayValue {
             throw BallerinaErrors.createError(reason, detail);
         }
 
+        unshare();
         int intIndex = (int) index;
         rangeCheck(index, size);
         fillerValueCheck(intIndex, size);
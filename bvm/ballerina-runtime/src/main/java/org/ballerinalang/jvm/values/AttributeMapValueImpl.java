@@ -40,12 +40,15 @@ import static org.ballerinalang.jvm.values.XMLItem.XMLNS_URL_PREFIX;
  */
 class AttributeMapValueImpl extends MapValueImpl<BString, BString> {
 
+    // shared by the attribute maps of all elements, instead of a type per element
+    private static final BMapType ATTRIBUTE_MAP_TYPE = new BMapType(BTypes.typeString);
+
     public AttributeMapValueImpl() {
-        super(new BMapType(BTypes.typeString));
+        super(ATTRIBUTE_MAP_TYPE);
     }
 
     public AttributeMapValueImpl(boolean readonly) {
-        super(new BMapType(BTypes.typeString));
+        super(ATTRIBUTE_MAP_TYPE);
 
         if (readonly) {
             this.freezeDirect();
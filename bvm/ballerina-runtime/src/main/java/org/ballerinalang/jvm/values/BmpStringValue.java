@@ -18,6 +18,7 @@
 
 package org.ballerinalang.jvm.values;
 
+ import org.ballerinalang.jvm.StringUtils;
  import org.ballerinalang.jvm.values.api.BString;
 
  /**
@@ -50,12 +51,21 @@ package org.ballerinalang.jvm.values;
 
      @Override
      public BString concat(BString str) {
+         BString rope = RopeStringValue.concat(this, str);
+         if (rope != null) {
+             return rope;
+         }
          if (str instanceof BmpStringValue) {
              return new BmpStringValue(this.value + ((BmpStringValue) str).value);
          } else if (str instanceof NonBmpStringValue) {
-             return new NonBmpStringValue(this.value + str.getValue(), ((NonBmpStringValue) str).getSurrogates());
+             int[] surrogates = ((NonBmpStringValue) str).getSurrogates();
+             // surrogate locations are code point indexes, shift them past this string
+             for (int i = 0; i < surrogates.length; i++) {
+                 surrogates[i] += value.length();
+             }
+             return new NonBmpStringValue(this.value + str.getValue(), surrogates);
          } else {
-             throw new RuntimeException("not impl yet");
+             return StringUtils.fromString(this.value + str.getValue());
          }
      }
 
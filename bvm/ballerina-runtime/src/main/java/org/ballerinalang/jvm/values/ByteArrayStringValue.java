@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Represent ballerina strings that are kept as the UTF-8 or Latin-1 encoded bytes they were read from, e.g. a
+ * network payload. The bytes are decoded to a {@link String} only when the string value is asked for, and they can
+ * be written back out as UTF-8 without an encode step.
+ * <p>
+ * Code points of Latin-1 and ASCII only strings are indexed directly. For other UTF-8 strings a sparse index of the
+ * byte offset of every {@link #INDEX_INTERVAL}th code point is built on the first indexed access, instead of a full
+ * offset table.
+ *
+ * @since 2.0.0
+ */
+public class ByteArrayStringValue implements StringValue {
+
+    private static final int INDEX_INTERVAL = 64;
+
+    private final byte[] bytes;
+    private final boolean latin1;
+    private final boolean ascii;
+    private final int length;
+    private volatile int[] index;
+    private String value;
+    private int hash;
+
+    private ByteArrayStringValue(byte[] bytes, boolean latin1, boolean ascii, int length) {
+        this.bytes = bytes;
+        this.latin1 = latin1;
+        this.ascii = ascii;
+        this.length = length;
+    }
+
+    /**
+     * Creates a string from UTF-8 encoded bytes. The array is not copied, so it must not be modified afterwards.
+     * Malformed input is decoded to a regular string, replacing the invalid sequences the same way {@link String}
+     * does.
+     *
+     * @param bytes UTF-8 encoded bytes
+     * @return ballerina string of the given bytes
+     */
+    public static BString fromUtf8(byte[] bytes) {
+        int length = 0;
+        boolean ascii = true;
+        int i = 0;
+        while (i < bytes.length) {
+            int b = bytes[i];
+            if (b >= 0) {
+                i++;
+            } else {
+                int size = validSequenceLength(bytes, i);
+                if (size < 0) {
+                    return StringUtils.fromString(new String(bytes, StandardCharsets.UTF_8));
+                }
+                ascii = false;
+                i += size;
+            }
+            length++;
+        }
+        return new ByteArrayStringValue(bytes, false, ascii, length);
+    }
+
+    /**
+     * Creates a string from Latin-1 (ISO-8859-1) encoded bytes. The array is not copied, so it must not be modified
+     * afterwards.
+     *
+     * @param bytes Latin-1 encoded bytes
+     * @return ballerina string of the given bytes
+     */
+    public static BString fromLatin1(byte[] bytes) {
+        boolean ascii = true;
+        for (byte b : bytes) {
+            if (b < 0) {
+                ascii = false;
+                break;
+            }
+        }
+        return new ByteArrayStringValue(bytes, !ascii, ascii, bytes.length);
+    }
+
+    /**
+     * Returns the length of the well formed UTF-8 multi byte sequence at the given position, or -1 if it is
+     * malformed. Overlong forms, surrogates and values above U+10FFFF are malformed.
+     */
+    private static int validSequenceLength(byte[] bytes, int pos) {
+        int lead = bytes[pos] & 0xFF;
+        int size;
+        int min;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            size = 2;
+            min = 0x80;
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            size = 3;
+            min = 0x800;
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            size = 4;
+            min = 0x10000;
+        } else {
+            return -1;
+        }
+        if (pos + size > bytes.length) {
+            return -1;
+        }
+        int codePoint = lead & (0x7F >> size);
+        for (int i = 1; i < size; i++) {
+            int b = bytes[pos + i] & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                return -1;
+            }
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        if (codePoint < min || codePoint > Character.MAX_CODE_POINT ||
+                (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+            return -1;
+        }
+        return size;
+    }
+
+    private static int sequenceLength(byte lead) {
+        if (lead >= 0) {
+            return 1;
+        }
+        int b = lead & 0xFF;
+        return b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : 2;
+    }
+
+    private int[] getIndex() {
+        int[] offsets = this.index;
+        if (offsets != null) {
+            return offsets;
+        }
+        offsets = new int[(length + INDEX_INTERVAL - 1) / INDEX_INTERVAL];
+        int pos = 0;
+        for (int i = 0; i < length; i++) {
+            if (i % INDEX_INTERVAL == 0) {
+                offsets[i / INDEX_INTERVAL] = pos;
+            }
+            pos += sequenceLength(bytes[pos]);
+        }
+        this.index = offsets;
+        return offsets;
+    }
+
+    /**
+     * Returns the UTF-8 encoded form of this string, without decoding it when it was created from UTF-8 or ASCII.
+     *
+     * @return a new array with the UTF-8 encoded bytes
+     */
+    public byte[] toUtf8Bytes() {
+        if (latin1) {
+            return getValue().getBytes(StandardCharsets.UTF_8);
+        }
+        return bytes.clone();
+    }
+
+    /**
+     * Returns a read only view of the UTF-8 encoded form of this string, without copying it. Strings created from
+     * Latin-1 bytes that are not plain ASCII have no such form and return {@code null}.
+     *
+     * @return read only buffer of the UTF-8 encoded bytes, or {@code null}
+     */
+    public ByteBuffer utf8View() {
+        if (latin1) {
+            return null;
+        }
+        return ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+    }
+
+    @Override
+    public String getValue() {
+        String str = this.value;
+        if (str == null) {
+            str = new String(bytes, latin1 || ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+            this.value = str;
+        }
+        return str;
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        if (index < 0 || index >= length) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        if (latin1 || ascii) {
+            return bytes[index] & 0xFF;
+        }
+
+        int pos = getIndex()[index / INDEX_INTERVAL];
+        for (int i = index % INDEX_INTERVAL; i > 0; i--) {
+            pos += sequenceLength(bytes[pos]);
+        }
+        int size = sequenceLength(bytes[pos]);
+        if (size == 1) {
+            return bytes[pos];
+        }
+        int codePoint = bytes[pos] & (0x7F >> size);
+        for (int i = 1; i < size; i++) {
+            codePoint = (codePoint << 6) | (bytes[pos + i] & 0x3F);
+        }
+        return codePoint;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        BString rope = RopeStringValue.concat(this, str);
+        if (rope != null) {
+            return rope;
+        }
+        if (str instanceof ByteArrayStringValue) {
+            ByteArrayStringValue other = (ByteArrayStringValue) str;
+            if (!this.latin1 && !other.latin1) {
+                byte[] both = Arrays.copyOf(this.bytes, this.bytes.length + other.bytes.length);
+                System.arraycopy(other.bytes, 0, both, this.bytes.length, other.bytes.length);
+                return new ByteArrayStringValue(both, false, this.ascii && other.ascii, this.length + other.length);
+            }
+        }
+        return StringUtils.fromString(getValue() + str.getValue());
+    }
+
+    @Override
+    @Deprecated
+    public String stringValue() {
+        return getValue();
+    }
+
+    @Override
+    public int hashCode() {
+        int h = this.hash;
+        if (h == 0 && bytes.length > 0) {
+            if (latin1 || ascii) {
+                // same as String.hashCode(), chars of these strings are the byte values
+                for (byte b : bytes) {
+                    h = 31 * h + (b & 0xFF);
+                }
+            } else {
+                h = getValue().hashCode();
+            }
+            this.hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof ByteArrayStringValue) {
+            ByteArrayStringValue other = (ByteArrayStringValue) str;
+            if (this.latin1 == other.latin1) {
+                // both encodings have a single form for a given string
+                return Arrays.equals(this.bytes, other.bytes);
+            }
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        if (latin1 || ascii) {
+            long index = getValue().indexOf(str.getValue(), fromIndex);
+            return index >= 0 ? index : null;
+        }
+        return StringUtils.fromString(getValue()).indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        if (latin1 || ascii) {
+            long index = getValue().lastIndexOf(str.getValue(), fromIndex);
+            return index >= 0 ? index : null;
+        }
+        return StringUtils.fromString(getValue()).lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        if (beginIndex < 0 || endIndex > length || beginIndex > endIndex) {
+            throw new StringIndexOutOfBoundsException("begin " + beginIndex + ", end " + endIndex + ", length " +
+                    length);
+        }
+        if (latin1 || ascii) {
+            return new ByteArrayStringValue(Arrays.copyOfRange(bytes, beginIndex, endIndex), latin1, ascii,
+                    endIndex - beginIndex);
+        }
+        return StringUtils.fromString(getValue()).substring(beginIndex, endIndex);
+    }
+}
@@ -18,10 +18,15 @@
 
 package org.ballerinalang.jvm.values;
 
-import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * This class contains the functions related to cloning Ballerina values.
+ * <p>
+ * Immutable values are returned as they are. Maps and lists are copied on write: a clone shares the storage of the
+ * original until either of them is updated, and only the mutable members get copies of their own. Copied values
+ * are tracked by identity, so that values referred to more than once, or cyclically, are copied only once.
  *
  * @since 1.0.0
  */
@@ -44,7 +49,10 @@ public class CloneUtils {
         }
 
         RefValue refValue = (RefValue) value;
-        return refValue.copy(new HashMap<>());
+        if (refValue.isFrozen()) {
+            return refValue;
+        }
+        return refValue.copy(newRefs());
     }
 
     /**
@@ -64,6 +72,13 @@ public class CloneUtils {
         }
 
         RefValue refValue = (RefValue) value;
-        return refValue.frozenCopy(new HashMap<>());
+        if (refValue.isFrozen()) {
+            return refValue;
+        }
+        return refValue.frozenCopy(newRefs());
+    }
+
+    private static Map<Object, Object> newRefs() {
+        return new IdentityHashMap<>(4);
     }
 }
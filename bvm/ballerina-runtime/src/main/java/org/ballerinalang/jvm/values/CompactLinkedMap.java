@@ -0,0 +1,673 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * <p>
+ * Insertion ordered hash map backed by flat arrays, used as the storage of {@link MapValueImpl}.
+ * </p>
+ * <p>
+ * Keys, values and key hashes are kept in parallel arrays in insertion order, and an open addressing index table
+ * maps a hash slot to the position of the entry in those arrays. Compared to {@link java.util.LinkedHashMap} this
+ * avoids allocating a node per entry, which keeps the small maps and records created by Ballerina programs compact
+ * and makes iteration a linear scan over the arrays.
+ * </p>
+ * <p>
+ * Removed entries are left as tombstones in the entry arrays so that positions of live entries stay stable, and
+ * are compacted away the next time the arrays need to grow. None of the operations of this class call overridable
+ * methods of the map, so subclasses can override them freely.
+ * </p>
+ * <p>
+ * A map can also be created as a copy that shares the arrays of another map, see {@link #shareEntries}. The shared
+ * arrays are copied by whichever of the two maps is modified first, the key arrays only when an entry is added or
+ * removed and the value array when any value is replaced.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @since 2.0.0
+ */
+public class CompactLinkedMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+    private static final Object[] EMPTY_ENTRIES = {};
+    private static final int[] EMPTY_HASHES = {};
+
+    // Index table slot markers. Occupied slots hold the entry position + 1.
+    private static final int EMPTY_SLOT = 0;
+    private static final int DELETED_SLOT = -1;
+
+    private Object[] keys = EMPTY_ENTRIES;
+    private Object[] vals = EMPTY_ENTRIES;
+    private int[] hashes = EMPTY_HASHES;
+    private int[] index = EMPTY_HASHES;
+
+    // Number of used positions in the entry arrays, including tombstones.
+    private int count;
+    private int size;
+    private transient int modCount;
+
+    // Set while the key, hash and index arrays, or the value array, are shared with another map.
+    private transient volatile boolean sharedKeys;
+    private transient volatile boolean sharedVals;
+
+    private transient Set<Map.Entry<K, V>> entrySet;
+    private transient Set<K> keySet;
+    private transient Collection<V> values;
+
+    public CompactLinkedMap() {
+    }
+
+    public CompactLinkedMap(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal initial capacity: " + initialCapacity);
+        }
+        if (initialCapacity > 0) {
+            allocate(tableSizeFor(initialCapacity));
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findEntry(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return findValue(value);
+    }
+
+    private boolean findValue(Object value) {
+        for (int i = 0; i < count; i++) {
+            if (keys[i] != Tombstone.INSTANCE && Objects.equals(value, vals[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        int pos = findEntry(key);
+        return pos < 0 ? null : (V) vals[pos];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(Object key, V defaultValue) {
+        int pos = findEntry(key);
+        return pos < 0 ? defaultValue : (V) vals[pos];
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return putEntry(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        for (Map.Entry<? extends K, ? extends V> entry : m.entrySet()) {
+            putEntry(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public V remove(Object key) {
+        int pos = findEntry(key);
+        return pos < 0 ? null : removeEntry(pos);
+    }
+
+    @Override
+    public void clear() {
+        if (count == 0) {
+            return;
+        }
+        modCount++;
+        if (sharedKeys || sharedVals) {
+            keys = EMPTY_ENTRIES;
+            vals = EMPTY_ENTRIES;
+            hashes = EMPTY_HASHES;
+            index = EMPTY_HASHES;
+            sharedKeys = false;
+            sharedVals = false;
+            count = 0;
+            size = 0;
+            return;
+        }
+        Arrays.fill(keys, 0, count, null);
+        Arrays.fill(vals, 0, count, null);
+        Arrays.fill(index, EMPTY_SLOT);
+        count = 0;
+        size = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        for (int i = 0; i < count; i++) {
+            Object key = keys[i];
+            if (key != Tombstone.INSTANCE) {
+                action.accept((K) key, (V) vals[i]);
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Replaces each value with the result of the given function. Values for which the function returns the same
+     * object are left as they are, so a map that shares its value array is only copied if a value actually changes.
+     *
+     * @param function function computing the new value of an entry
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        int expectedModCount = modCount;
+        for (int i = 0; i < count; i++) {
+            Object key = keys[i];
+            if (key == Tombstone.INSTANCE) {
+                continue;
+            }
+            V value = (V) vals[i];
+            V newValue = function.apply((K) key, value);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (newValue != value) {
+                if (sharedVals) {
+                    unshareVals();
+                }
+                vals[i] = newValue;
+            }
+        }
+    }
+
+    /**
+     * Makes this map a copy of the given map that shares its entry arrays, instead of copying them up front. This map
+     * must be empty.
+     *
+     * @param source map to share the entries of
+     */
+    protected void shareEntries(CompactLinkedMap<K, V> source) {
+        keys = source.keys;
+        vals = source.vals;
+        hashes = source.hashes;
+        index = source.index;
+        count = source.count;
+        size = source.size;
+        sharedKeys = true;
+        sharedVals = true;
+        source.sharedKeys = true;
+        source.sharedVals = true;
+    }
+
+    private void unshareKeys() {
+        keys = keys.clone();
+        hashes = hashes.clone();
+        index = index.clone();
+        sharedKeys = false;
+    }
+
+    private void unshareVals() {
+        vals = vals.clone();
+        sharedVals = false;
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> es = entrySet;
+        return es != null ? es : (entrySet = new EntrySet());
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> ks = keySet;
+        return ks != null ? ks : (keySet = new KeySet());
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> vs = values;
+        return vs != null ? vs : (values = new Values());
+    }
+
+    private static int hash(Object key) {
+        int h;
+        return key == null ? 0 : (h = key.hashCode()) ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int n = DEFAULT_CAPACITY;
+        while (n < capacity && n < MAXIMUM_CAPACITY) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        vals = new Object[capacity];
+        hashes = new int[capacity];
+        // Keep the index table at most half full, counting tombstones, so that probe sequences stay short.
+        index = new int[capacity << 1];
+        sharedKeys = false;
+        sharedVals = false;
+    }
+
+    private int findEntry(Object key) {
+        return findEntry(key, hash(key));
+    }
+
+    private int findEntry(Object key, int h) {
+        if (size == 0) {
+            return -1;
+        }
+        int mask = index.length - 1;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int ref = index[slot];
+            if (ref == EMPTY_SLOT) {
+                return -1;
+            }
+            if (ref != DELETED_SLOT) {
+                int pos = ref - 1;
+                Object k = keys[pos];
+                if (hashes[pos] == h && (k == key || (key != null && key.equals(k)))) {
+                    return pos;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V putEntry(K key, V value) {
+        int h = hash(key);
+        int pos = findEntry(key, h);
+        if (pos >= 0) {
+            V oldValue = (V) vals[pos];
+            if (sharedVals) {
+                unshareVals();
+            }
+            vals[pos] = value;
+            return oldValue;
+        }
+
+        if (count == keys.length) {
+            resize();
+        } else {
+            unshareEntries();
+        }
+        modCount++;
+        pos = count++;
+        keys[pos] = key;
+        vals[pos] = value;
+        hashes[pos] = h;
+        insertIndex(h, pos);
+        size++;
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V removeEntry(int pos) {
+        unshareEntries();
+        modCount++;
+        V oldValue = (V) vals[pos];
+        int mask = index.length - 1;
+        int slot = hashes[pos] & mask;
+        while (index[slot] != pos + 1) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = DELETED_SLOT;
+        keys[pos] = Tombstone.INSTANCE;
+        vals[pos] = null;
+        size--;
+        if (size == 0) {
+            // Nothing left to preserve, so reuse the arrays from the start.
+            Arrays.fill(keys, 0, count, null);
+            Arrays.fill(index, EMPTY_SLOT);
+            count = 0;
+        }
+        return oldValue;
+    }
+
+    private void unshareEntries() {
+        if (sharedKeys) {
+            unshareKeys();
+        }
+        if (sharedVals) {
+            unshareVals();
+        }
+    }
+
+    private void insertIndex(int h, int pos) {
+        int mask = index.length - 1;
+        int slot = h & mask;
+        while (index[slot] > EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = pos + 1;
+    }
+
+    /**
+     * Makes room for one more entry. If at least a quarter of the used positions are tombstones the live entries are
+     * compacted in place, otherwise the arrays are doubled.
+     */
+    private void resize() {
+        int capacity = keys.length;
+        if (capacity == 0) {
+            allocate(DEFAULT_CAPACITY);
+            return;
+        }
+        if (count - size < (capacity >> 2)) {
+            if (capacity >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("map capacity exceeded");
+            }
+            capacity <<= 1;
+        }
+
+        Object[] oldKeys = keys;
+        Object[] oldVals = vals;
+        int[] oldHashes = hashes;
+        int oldCount = count;
+        allocate(capacity);
+        int pos = 0;
+        for (int i = 0; i < oldCount; i++) {
+            if (oldKeys[i] == Tombstone.INSTANCE) {
+                continue;
+            }
+            keys[pos] = oldKeys[i];
+            vals[pos] = oldVals[i];
+            hashes[pos] = oldHashes[i];
+            insertIndex(oldHashes[i], pos);
+            pos++;
+        }
+        count = pos;
+    }
+
+    /**
+     * Marker stored in place of the key of a removed entry.
+     */
+    private enum Tombstone {
+        INSTANCE
+    }
+
+    /**
+     * Base iterator over the live entries in insertion order.
+     *
+     * @param <T> the type of elements returned by the iterator
+     */
+    private abstract class EntryArrayIterator<T> implements Iterator<T> {
+
+        private int next;
+        private int current = -1;
+        private int expectedModCount = modCount;
+
+        EntryArrayIterator() {
+            advance();
+        }
+
+        private void advance() {
+            while (next < count && keys[next] == Tombstone.INSTANCE) {
+                next++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < count;
+        }
+
+        int nextPosition() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= count) {
+                throw new NoSuchElementException();
+            }
+            current = next++;
+            advance();
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeEntry(current);
+            current = -1;
+            expectedModCount = modCount;
+            // Removing the last live entry resets the arrays.
+            if (size == 0) {
+                next = 0;
+            }
+        }
+    }
+
+    /**
+     * Map entry that writes value updates through to the backing arrays.
+     */
+    private final class ArrayEntry implements Map.Entry<K, V> {
+
+        private final int pos;
+        private final K key;
+        private V value;
+
+        ArrayEntry(int pos, K key, V value) {
+            this.pos = pos;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            // Look the key up again if the arrays have been compacted since this entry was read.
+            int current = pos < count && keys[pos] == key ? pos : findEntry(key);
+            if (current >= 0) {
+                if (sharedVals) {
+                    unshareVals();
+                }
+                vals[current] = value;
+            }
+            V oldValue = this.value;
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new EntryArrayIterator<Map.Entry<K, V>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Map.Entry<K, V> next() {
+                    int pos = nextPosition();
+                    return new ArrayEntry(pos, (K) keys[pos], (V) vals[pos]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            int pos = findEntry(e.getKey());
+            return pos >= 0 && Objects.equals(vals[pos], e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            removeEntry(findEntry(((Map.Entry<?, ?>) o).getKey()));
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedMap.this.clear();
+        }
+    }
+
+    private final class KeySet extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            return new EntryArrayIterator<K>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public K next() {
+                    return (K) keys[nextPosition()];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return findEntry(o) >= 0;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            int pos = findEntry(o);
+            if (pos < 0) {
+                return false;
+            }
+            removeEntry(pos);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedMap.this.clear();
+        }
+    }
+
+    private final class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new EntryArrayIterator<V>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public V next() {
+                    return (V) vals[nextPosition()];
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return findValue(o);
+        }
+
+        @Override
+        public void clear() {
+            CompactLinkedMap.this.clear();
+        }
+    }
+}
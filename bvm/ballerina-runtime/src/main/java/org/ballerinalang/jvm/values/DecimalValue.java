@@ -34,6 +34,13 @@ import java.math.MathContext;
  * The {@link DecimalValue} represents a decimal value in Ballerina.
  * </p>
  * <p>
+ * Values with up to 18 significant digits, such as most literals and the results of adding, subtracting and
+ * multiplying them, are kept as an unscaled {@code long} and a scale. The {@link BigDecimal} form is only created
+ * when it is needed, e.g. for division or when a result does not fit in a {@code long}. Since the decimal128 context
+ * has a precision of 34 digits, results computed in the compact form never need rounding and are the same as the
+ * {@link MathContext#DECIMAL128} results.
+ * </p>
+ * <p>
  * <i>Note: This is an internal API and may change in future versions.</i>
  * </p> 
  * @since 0.995.0
@@ -52,27 +59,155 @@ public class DecimalValue implements SimpleValue, BDecimal {
     @Deprecated
     public DecimalValueKind valueKind = DecimalValueKind.OTHER;
 
+    // Marks a value that is not kept in the compact form.
+    private static final long INFLATED = Long.MIN_VALUE;
+
+    // Maximum number of digits parsed into the compact form, so that the unscaled value always fits in a long.
+    private static final int MAX_COMPACT_DIGITS = 18;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    // Created lazily for compact values.
     private BigDecimal value;
 
+    private final long compactValue;
+    private final int compactScale;
+
     public DecimalValue(BigDecimal value) {
         this.value = value;
+        this.compactValue = INFLATED;
+        this.compactScale = 0;
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
     public DecimalValue(String value) {
+        long unscaled = INFLATED;
+        int scale = 0;
         // Check whether the number provided is a hexadecimal value.
         if (isHexValueString(value)) {
             this.value = hexToDecimalFloatingPointNumber(value);
         } else {
-            this.value = new BigDecimal(value, MathContext.DECIMAL128);
+            scale = parseCompactScale(value);
+            if (scale >= 0) {
+                unscaled = parseCompactUnscaled(value);
+            } else {
+                this.value = new BigDecimal(value, MathContext.DECIMAL128);
+                scale = 0;
+            }
         }
+        this.compactValue = unscaled;
+        this.compactScale = scale;
         if (!this.booleanValue()) {
             this.valueKind = DecimalValueKind.ZERO;
         }
     }
 
+    private DecimalValue(long unscaled, int scale) {
+        this.compactValue = unscaled;
+        this.compactScale = scale;
+        if (unscaled == 0) {
+            this.valueKind = DecimalValueKind.ZERO;
+        }
+    }
+
+    /**
+     * Returns the scale of a plain decimal string, e.g. {@code -12.50}, that fits in the compact form, or -1 if the
+     * string has to be parsed as a {@link BigDecimal}.
+     */
+    private static int parseCompactScale(String value) {
+        int length = value.length();
+        int i = 0;
+        if (length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        int scale = -1;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                return -1;
+            }
+        }
+        if (digits == 0 || digits > MAX_COMPACT_DIGITS) {
+            return -1;
+        }
+        return scale < 0 ? 0 : scale;
+    }
+
+    private static long parseCompactUnscaled(String value) {
+        long unscaled = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                unscaled = unscaled * 10 + (c - '0');
+            }
+        }
+        return value.charAt(0) == '-' ? -unscaled : unscaled;
+    }
+
+    /**
+     * Returns a compact decimal of the given unscaled value and scale, or null if it cannot be kept compact.
+     */
+    private static DecimalValue compact(long unscaled, int scale) {
+        if (unscaled == INFLATED) {
+            return null;
+        }
+        return new DecimalValue(unscaled, scale);
+    }
+
+    private boolean isCompact() {
+        return compactValue != INFLATED;
+    }
+
+    /**
+     * Returns the given compact unscaled value rescaled from {@code scale} to the larger {@code newScale}, or
+     * {@link #INFLATED} on overflow.
+     */
+    private static long rescale(long unscaled, int scale, int newScale) {
+        int diff = newScale - scale;
+        if (diff == 0) {
+            return unscaled;
+        }
+        if (diff >= POWERS_OF_TEN.length) {
+            return INFLATED;
+        }
+        long limit = Long.MAX_VALUE / POWERS_OF_TEN[diff];
+        if (unscaled > limit || unscaled < -limit) {
+            return INFLATED;
+        }
+        return unscaled * POWERS_OF_TEN[diff];
+    }
+
+    /**
+     * Adds two compact values exactly, returns null if the result does not fit in the compact form.
+     */
+    private static DecimalValue addCompact(long lhs, int lhsScale, long rhs, int rhsScale) {
+        int scale = Math.max(lhsScale, rhsScale);
+        long lhsRescaled = rescale(lhs, lhsScale, scale);
+        long rhsRescaled = rescale(rhs, rhsScale, scale);
+        if (lhsRescaled == INFLATED || rhsRescaled == INFLATED) {
+            return null;
+        }
+        long sum = lhsRescaled + rhsRescaled;
+        if (((lhsRescaled ^ sum) & (rhsRescaled ^ sum)) < 0) {
+            return null;
+        }
+        return compact(sum, scale);
+    }
+
     public DecimalValue(String value, DecimalValueKind valueKind) {
         this(value);
         this.valueKind = valueKind;
@@ -140,7 +275,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the value
      */
     public BigDecimal decimalValue() {
-        return this.value;
+        BigDecimal bigDecimal = this.value;
+        if (bigDecimal == null) {
+            bigDecimal = BigDecimal.valueOf(compactValue, compactScale);
+            this.value = bigDecimal;
+        }
+        return bigDecimal;
     }
 
     /**
@@ -158,10 +298,10 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw BallerinaErrors.createNumericConversionError(POSITIVE_INF, BTypes.typeInt);
         }
 
-        if (!isDecimalWithinIntRange(value)) {
+        if (!isDecimalWithinIntRange(decimalValue())) {
             throw BallerinaErrors.createNumericConversionError(this.stringValue(), BTypes.typeDecimal, BTypes.typeInt);
         }
-        return (long) Math.rint(value.doubleValue());
+        return (long) Math.rint(decimalValue().doubleValue());
     }
 
     /**
@@ -189,9 +329,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 throw BallerinaErrors.createNumericConversionError(POSITIVE_INF, BTypes.typeByte);
         }
 
-        int intVal = (int) Math.rint(this.value.doubleValue());
+        int intVal = (int) Math.rint(decimalValue().doubleValue());
         if (!isByteLiteral(intVal)) {
-            throw BallerinaErrors.createNumericConversionError(value, BTypes.typeDecimal, BTypes.typeByte);
+            throw BallerinaErrors.createNumericConversionError(decimalValue(), BTypes.typeDecimal, BTypes.typeByte);
         }
         return intVal;
     }
@@ -208,7 +348,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind == DecimalValueKind.NOT_A_NUMBER) {
             return Double.NaN;
         }
-        return value.doubleValue();
+        return decimalValue().doubleValue();
     }
 
     /**
@@ -216,6 +356,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return true if the value is non zero
      */
     public boolean booleanValue() {
+        if (isCompact()) {
+            return compactValue != 0;
+        }
         return value.compareTo(BigDecimal.ZERO) != 0;
     }
 
@@ -227,7 +370,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
         if (this.valueKind != DecimalValueKind.OTHER) {
             return this.valueKind.getValue();
         }
-        return value.toString();
+        return decimalValue().toString();
     }
 
     /**
@@ -235,7 +378,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return the decimal value
      */
     public BigDecimal value() {
-        return this.value;
+        return decimalValue();
     }
 
     /**
@@ -276,6 +419,13 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (augend.valueKind == DecimalValueKind.OTHER) {
+                    if (this.isCompact() && augend.isCompact()) {
+                        DecimalValue sum = addCompact(this.compactValue, this.compactScale, augend.compactValue,
+                                augend.compactScale);
+                        if (sum != null) {
+                            return sum;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().add(augend.decimalValue(), MathContext.DECIMAL128));
                 }
                 return augend;
@@ -314,6 +464,14 @@ public class DecimalValue implements SimpleValue, BDecimal {
                     return this;
                 }
                 if (subtrahend.valueKind == DecimalValueKind.OTHER) {
+                    if (this.isCompact() && subtrahend.isCompact()) {
+                        // negating is safe, INFLATED is the only value without a negation
+                        DecimalValue difference = addCompact(this.compactValue, this.compactScale,
+                                -subtrahend.compactValue, subtrahend.compactScale);
+                        if (difference != null) {
+                            return difference;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().subtract(subtrahend.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -357,6 +515,12 @@ public class DecimalValue implements SimpleValue, BDecimal {
                 return NaN;
             default:
                 if (multiplicand.valueKind == DecimalValueKind.OTHER) {
+                    if (this.isCompact() && multiplicand.isCompact()) {
+                        DecimalValue product = multiplyCompact(multiplicand);
+                        if (product != null) {
+                            return product;
+                        }
+                    }
                     return new DecimalValue(this.decimalValue().multiply(multiplicand.decimalValue(),
                             MathContext.DECIMAL128));
                 }
@@ -367,6 +531,20 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
     }
 
+    private DecimalValue multiplyCompact(DecimalValue multiplicand) {
+        long product;
+        try {
+            product = Math.multiplyExact(this.compactValue, multiplicand.compactValue);
+        } catch (ArithmeticException e) {
+            return null;
+        }
+        long scale = (long) this.compactScale + multiplicand.compactScale;
+        if (scale > Integer.MAX_VALUE) {
+            return null;
+        }
+        return compact(product, (int) scale);
+    }
+
     /**
      * Returns a decimal whose value is {@code (this /
      * divisor)}.
@@ -449,6 +627,9 @@ public class DecimalValue implements SimpleValue, BDecimal {
     public DecimalValue negate() {
         switch (this.valueKind) {
             case OTHER:
+                if (isCompact()) {
+                    return new DecimalValue(-compactValue, compactScale);
+                }
                 return new DecimalValue(this.decimalValue().negate());
             case POSITIVE_INFINITY:
                 return NEGATIVE_INF;
@@ -505,12 +686,30 @@ public class DecimalValue implements SimpleValue, BDecimal {
         }
 
         DecimalValue bDecimal = (DecimalValue) obj;
-        return ((value.compareTo(bDecimal.value) == 0) && (this.valueKind == bDecimal.valueKind));
+        return ((compareTo(bDecimal) == 0) && (this.valueKind == bDecimal.valueKind));
+    }
+
+    /**
+     * Compares the numeric values of two decimals, ignoring the scale, as {@link BigDecimal#compareTo} does.
+     *
+     * @param other decimal to compare with
+     * @return -1, 0, or 1 as this decimal is less than, equal to, or greater than the other
+     */
+    public int compareTo(DecimalValue other) {
+        if (this.isCompact() && other.isCompact()) {
+            int scale = Math.max(this.compactScale, other.compactScale);
+            long lhs = rescale(this.compactValue, this.compactScale, scale);
+            long rhs = rescale(other.compactValue, other.compactScale, scale);
+            if (lhs != INFLATED && rhs != INFLATED) {
+                return Long.compare(lhs, rhs);
+            }
+        }
+        return decimalValue().compareTo(other.decimalValue());
     }
 
     @Override
     public int hashCode() {
-        return value.hashCode();
+        return decimalValue().hashCode();
     }
 
     /**
@@ -528,7 +727,7 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     /**
@@ -537,6 +736,14 @@ public class DecimalValue implements SimpleValue, BDecimal {
      * @return decimal value
      */
     public static DecimalValue valueOf(long value) {
+        return valueOfIntegral(value);
+    }
+
+    private static DecimalValue valueOfIntegral(long value) {
+        long unscaled = rescale(value, 0, 1);
+        if (unscaled != INFLATED) {
+            return new DecimalValue(unscaled, 1);
+        }
         return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
     }
 
@@ -560,23 +767,23 @@ public class DecimalValue implements SimpleValue, BDecimal {
     }
 
     public static DecimalValue valueOfJ(byte value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(char value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(short value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(int value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(long value) {
-        return new DecimalValue(new BigDecimal(value, MathContext.DECIMAL128).setScale(1, BigDecimal.ROUND_HALF_EVEN));
+        return valueOfIntegral(value);
     }
 
     public static DecimalValue valueOfJ(float value) {
@@ -43,7 +43,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -75,13 +74,14 @@ import static org.ballerinalang.jvm.values.ReadOnlyUtils.handleInvalidUpdate;
  *
  * @since 0.995.0
  */
-public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue, CollectionValue, MapValue<K, V>,
+public class MapValueImpl<K, V> extends CompactLinkedMap<K, V> implements RefValue, CollectionValue, MapValue<K, V>,
         BMap<K, V> {
 
     private static final long serialVersionUID = 1L;
     private TypedescValue typedesc;
     private BType type;
-    private final Map<String, Object> nativeData = new HashMap<>();
+    // most maps never hold native data, so the map is created on first use
+    private Map<String, Object> nativeData;
     private BType iteratorNextReturnType;
 
     public MapValueImpl(TypedescValue typedesc) {
@@ -389,6 +389,12 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
 
         MapValueImpl<K, V> newMap = new MapValueImpl<>(type);
         refs.put(this, newMap);
+        if (getClass() == MapValueImpl.class) {
+            // share the entries until either map is modified, only the mutable values need copies of their own
+            newMap.shareEntries(this);
+            newMap.replaceAll((key, value) -> value instanceof RefValue ? (V) ((RefValue) value).copy(refs) : value);
+            return newMap;
+        }
         for (Map.Entry<K, V> entry : this.entrySet()) {
             V value = entry.getValue();
             value = value instanceof RefValue ? (V) ((RefValue) value).copy(refs) : value;
@@ -433,6 +439,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
         }
 
         this.type = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.type);
+        if (ReadOnlyUtils.hasInherentlyImmutableMembers(this.type)) {
+            return;
+        }
 
         this.values().forEach(val -> {
             if (val instanceof RefValue) {
@@ -500,7 +509,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @param data value to be added.
      */
     public void addNativeData(String key, Object data) {
-        nativeData.put(key, data);
+        getNativeDataMap().put(key, data);
     }
 
     /**
@@ -509,7 +518,7 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return value for the given key.
      */
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        return nativeData == null ? null : nativeData.get(key);
     }
 
     @Override
@@ -523,6 +532,9 @@ public class MapValueImpl<K, V> extends LinkedHashMap<K, V> implements RefValue,
      * @return nativeData map
      */
     public Map<String, Object> getNativeDataMap() {
+        if (this.nativeData == null) {
+            this.nativeData = new HashMap<>();
+        }
         return this.nativeData;
     }
 
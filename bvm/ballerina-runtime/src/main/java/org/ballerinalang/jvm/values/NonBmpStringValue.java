@@ -69,16 +69,24 @@
 
     @Override
     public BString concat(BString str) {
+        BString rope = RopeStringValue.concat(this, str);
+        if (rope != null) {
+            return rope;
+        }
         if (str instanceof NonBmpStringValue) {
             NonBmpStringValue other = (NonBmpStringValue) str;
             int[] both = Arrays.copyOf(surrogates, surrogates.length + other.surrogates.length);
-            System.arraycopy(other.surrogates, 0, both, surrogates.length, other.surrogates.length);
+            // surrogate locations are code point indexes, shift the other string's ones past this string
+            int shift = length();
+            for (int i = 0; i < other.surrogates.length; i++) {
+                both[surrogates.length + i] = other.surrogates[i] + shift;
+            }
             return new NonBmpStringValue(this.value + other.value, both);
         } else if (str instanceof BmpStringValue) {
             BmpStringValue other = (BmpStringValue) str;
             return new NonBmpStringValue(this.value + other.getValue(), surrogates);
         } else {
-            throw new RuntimeException("not impl yet");
+            return StringUtils.fromString(this.value + str.getValue());
         }
     }
 
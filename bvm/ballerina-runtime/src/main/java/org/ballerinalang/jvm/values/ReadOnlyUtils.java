@@ -78,15 +78,48 @@ public class ReadOnlyUtils {
             return ((BIntersectionType) type).getEffectiveType();
         }
 
+        if (type.isReadOnly()) {
+            // Already the effective type of an immutable intersection, e.g., when refreezing a value.
+            return type;
+        }
+
         BType immutableType = type.getImmutableType();
         if (immutableType != null) {
             return ((BIntersectionType) immutableType).getEffectiveType();
         }
 
-
         return setImmutableIntersectionType(type, new HashSet<>()).getEffectiveType();
     }
 
+    /**
+     * Checks whether every member a value of the given readonly structured type can hold is inherently immutable.
+     * Freezing such a value only needs to update its type, without visiting its members.
+     *
+     * @param type the effective type of a frozen map, record, array or tuple value
+     * @return true if the members of a value of this type never need to be frozen
+     */
+    static boolean hasInherentlyImmutableMembers(BType type) {
+        switch (type.getTag()) {
+            case TypeTags.MAP_TAG:
+                return TypeChecker.isInherentlyImmutableType(((BMapType) type).getConstrainedType());
+            case TypeTags.ARRAY_TAG:
+                return TypeChecker.isInherentlyImmutableType(((BArrayType) type).getElementType());
+            case TypeTags.TUPLE_TAG:
+                BTupleType tupleType = (BTupleType) type;
+                for (BType memberType : tupleType.getTupleTypes()) {
+                    if (!TypeChecker.isInherentlyImmutableType(memberType)) {
+                        return false;
+                    }
+                }
+                BType tupleRestType = tupleType.getRestType();
+                return tupleRestType == null || TypeChecker.isInherentlyImmutableType(tupleRestType);
+            case TypeTags.RECORD_TYPE_TAG:
+                return ((BRecordType) type).hasInherentlyImmutableMembers();
+            default:
+                return false;
+        }
+    }
+
     private static BType getImmutableType(BType type, Set<BType> unresolvedTypes) {
         if (TypeChecker.isInherentlyImmutableType(type)) {
             return type;
@@ -161,7 +194,7 @@ public class ReadOnlyUtils {
                 Map<String, BField> fields = new HashMap<>(originalFields.size());
                 BRecordType immutableRecordType = new BRecordType(origRecordType.getName().concat(" & readonly"),
                                                                   origRecordType.getPackage(),
-                                                                  origRecordType.flags |= Flags.READONLY, fields,
+                                                                  origRecordType.flags | Flags.READONLY, fields,
                                                                   null, origRecordType.sealed,
                                                                   origRecordType.typeFlags);
                 BIntersectionType intersectionType = createAndSetImmutableIntersectionType(origRecordType,
@@ -203,7 +236,7 @@ public class ReadOnlyUtils {
                 Map<String, BField> immutableObjectFields = new HashMap<>(originalObjectFields.size());
                 BObjectType immutableObjectType = new BObjectType(origObjectType.getName().concat(" & readonly"),
                                                                   origObjectType.getPackage(),
-                                                                  origObjectType.flags |= Flags.READONLY);
+                                                                  origObjectType.flags | Flags.READONLY);
                 immutableObjectType.setFields(immutableObjectFields);
                 immutableObjectType.generatedInitializer = origObjectType.generatedInitializer;
                 immutableObjectType.initializer = origObjectType.initializer;
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Represent ballerina strings built by concatenating large strings. The concatenated parts are only kept as a tree
+ * of references, and they are copied into a single string the first time the content is needed. This keeps loops
+ * that keep appending to a large string linear, instead of copying the whole string on every concatenation.
+ *
+ * @since 2.0.0
+ */
+public class RopeStringValue implements StringValue {
+
+    /**
+     * Minimum number of chars in the result of a concatenation, for it to be kept as a rope.
+     */
+    static final int ROPE_THRESHOLD = 1024;
+
+    private final int charLength;
+    private final int length;
+    private BString left;
+    private BString right;
+    private volatile BString flat;
+
+    RopeStringValue(BString left, BString right) {
+        this.left = left;
+        this.right = right;
+        this.charLength = charLength(left) + charLength(right);
+        this.length = left.length() + right.length();
+    }
+
+    /**
+     * Returns the concatenation of the given strings as a rope, if the result is large enough, or null otherwise.
+     *
+     * @param left  left part
+     * @param right right part
+     * @return rope of the two parts or null
+     */
+    static BString concat(BString left, BString right) {
+        if (charLength(left) + charLength(right) < ROPE_THRESHOLD) {
+            return null;
+        }
+        return new RopeStringValue(left, right);
+    }
+
+    private static int charLength(BString str) {
+        if (str instanceof RopeStringValue) {
+            return ((RopeStringValue) str).charLength;
+        }
+        return str.getValue().length();
+    }
+
+    private BString flatten() {
+        BString flatValue = this.flat;
+        if (flatValue != null) {
+            return flatValue;
+        }
+        synchronized (this) {
+            if (this.flat == null) {
+                this.flat = StringUtils.fromString(build());
+                // the parts are no longer needed once flattened
+                this.left = null;
+                this.right = null;
+            }
+            return this.flat;
+        }
+    }
+
+    private String build() {
+        StringBuilder sb = new StringBuilder(charLength);
+        // ropes built in a loop are deep on one side, so walk the tree without recursion
+        Deque<BString> parts = new ArrayDeque<>();
+        parts.push(right);
+        parts.push(left);
+        while (!parts.isEmpty()) {
+            BString part = parts.pop();
+            if (part instanceof RopeStringValue) {
+                RopeStringValue rope = (RopeStringValue) part;
+                synchronized (rope) {
+                    if (rope.flat == null) {
+                        parts.push(rope.right);
+                        parts.push(rope.left);
+                        continue;
+                    }
+                }
+                part = rope.flat;
+            }
+            sb.append(part.getValue());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String getValue() {
+        return flatten().getValue();
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return flatten().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        return new RopeStringValue(flat != null ? flat : this, str);
+    }
+
+    @Override
+    @Deprecated
+    public String stringValue() {
+        return getValue();
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return flatten().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return flatten().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        return flatten().substring(beginIndex, endIndex);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.TableUtils;
+import org.ballerinalang.jvm.TypeChecker;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Secondary index of a {@link TableValueImpl} on a readonly field that is not part of the key sequence. Rows are
+ * grouped by the shape hash of the field value, and lookups compare the field values with
+ * {@link TypeChecker#isEqual(Object, Object)} to filter out hash collisions. Since the field is readonly, the hash of
+ * a row does not change while it is indexed.
+ * <p>
+ * The rows of a hash are kept by identity, so that a row is removed without scanning the rows of its hash.
+ *
+ * @param <V> the type of rows maintained by the table
+ *
+ * @since 2.0.0
+ */
+class TableFieldIndex<V> {
+
+    private final BString fieldName;
+    private final Map<Long, Map<RowRef<V>, RowRef<V>>> rows = new HashMap<>();
+
+    TableFieldIndex(BString fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    void add(V row) {
+        RowRef<V> ref = new RowRef<>(row);
+        RowRef<V> existing = rows.computeIfAbsent(TableUtils.computeHash(fieldValue(row)),
+                                                  hash -> new LinkedHashMap<>(2)).putIfAbsent(ref, ref);
+        if (existing != null) {
+            // The same row is added more than once to a keyless table
+            existing.count++;
+        }
+    }
+
+    void remove(V row) {
+        Long hash = TableUtils.computeHash(fieldValue(row));
+        Map<RowRef<V>, RowRef<V>> bucket = rows.get(hash);
+        if (bucket == null) {
+            return;
+        }
+        RowRef<V> ref = bucket.get(new RowRef<>(row));
+        if (ref == null || --ref.count > 0) {
+            return;
+        }
+        bucket.remove(ref);
+        if (bucket.isEmpty()) {
+            rows.remove(hash);
+        }
+    }
+
+    void clear() {
+        rows.clear();
+    }
+
+    /**
+     * Returns the rows whose indexed field is equal to the given value, in the order they were first indexed.
+     *
+     * @param value value of the field
+     * @return matching rows
+     */
+    List<V> lookup(Object value) {
+        Map<RowRef<V>, RowRef<V>> bucket = rows.get(TableUtils.computeHash(value));
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        List<V> matches = new ArrayList<>(bucket.size());
+        for (RowRef<V> ref : bucket.keySet()) {
+            if (TypeChecker.isEqual(fieldValue(ref.row), value)) {
+                for (int i = 0; i < ref.count; i++) {
+                    matches.add(ref.row);
+                }
+            }
+        }
+        return matches;
+    }
+
+    Object fieldValue(V row) {
+        return ((MapValue<?, ?>) row).get(fieldName);
+    }
+
+    /**
+     * Identity of an indexed row, along with the number of times it is indexed.
+     */
+    private static final class RowRef<V> {
+
+        private final V row;
+        private int count = 1;
+
+        private RowRef(V row) {
+            this.row = row;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RowRef && ((RowRef<?>) o).row == row;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(row);
+        }
+    }
+}
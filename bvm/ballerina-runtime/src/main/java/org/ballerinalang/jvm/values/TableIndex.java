@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.TableUtils;
+import org.ballerinalang.jvm.TypeChecker;
+
+import java.util.Arrays;
+
+/**
+ * Insertion ordered row storage of a {@link TableValueImpl}.
+ * <p>
+ * Rows are kept in parallel key, value and hash arrays in the order they were added. For tables with a key sequence,
+ * an open addressing index maps the shape hash of a key to the position of its row. Hash collisions are resolved
+ * by comparing the keys with {@link TypeChecker#isEqual(Object, Object)}, so distinct keys with the same hash never
+ * replace each other. Keyless tables only append to the arrays.
+ * <p>
+ * A removed row leaves an empty position behind, which keeps the positions of the remaining rows stable until the
+ * arrays are compacted when they run out of space. {@link #getCompactionCount()} changes whenever that happens, so
+ * that cursors over the positions can find their place again.
+ *
+ * @param <K> the type of keys maintained by the table
+ * @param <V> the type of rows maintained by the table
+ *
+ * @since 2.0.0
+ */
+class TableIndex<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 29;
+
+    // Index slot markers. Occupied slots hold the row position + 1.
+    private static final int EMPTY_SLOT = 0;
+    private static final int DELETED_SLOT = -1;
+
+    private final boolean keyed;
+    private Object[] keys;
+    private Object[] values;
+    private int[] hashes;
+    private int[] slots;
+
+    // Number of used positions, including the positions of removed rows.
+    private int count;
+    private int size;
+    private int compactionCount;
+    private int clearCount;
+
+    TableIndex(boolean keyed) {
+        this.keyed = keyed;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of used positions. Positions below this limit either hold a row or are empty.
+     *
+     * @return the position limit
+     */
+    int limit() {
+        return count;
+    }
+
+    int getCompactionCount() {
+        return compactionCount;
+    }
+
+    /**
+     * Returns the number of times the rows were cleared. Clearing the rows also counts as a compaction.
+     *
+     * @return the clear count
+     */
+    int getClearCount() {
+        return clearCount;
+    }
+
+    boolean isKeyed() {
+        return keyed;
+    }
+
+    boolean isPresent(int pos) {
+        return values[pos] != null;
+    }
+
+    /**
+     * Returns the key of the row at the given position, or {@code null} for keyless tables.
+     *
+     * @param pos position of the row
+     * @return key of the row
+     */
+    @SuppressWarnings("unchecked")
+    K keyAt(int pos) {
+        return keyed ? (K) keys[pos] : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    V valueAt(int pos) {
+        return (V) values[pos];
+    }
+
+    void setValueAt(int pos, V value) {
+        values[pos] = value;
+    }
+
+    /**
+     * Returns the position of the row with the given key.
+     *
+     * @param key key of the row
+     * @return position of the row, or -1 if there is no such row
+     */
+    int positionOf(Object key) {
+        if (!keyed || size == 0) {
+            return -1;
+        }
+        int h = hash(key);
+        int mask = slots.length - 1;
+        for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+            int ref = slots[slot];
+            if (ref == EMPTY_SLOT) {
+                return -1;
+            }
+            if (ref != DELETED_SLOT) {
+                int pos = ref - 1;
+                Object k = keys[pos];
+                if (hashes[pos] == h && (k == key || TypeChecker.isEqual(k, key))) {
+                    return pos;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a row after all existing rows. For keyed tables, the caller must make sure that there is no row with the
+     * same key.
+     *
+     * @param key   key of the row, ignored for keyless tables
+     * @param value the row
+     */
+    void append(K key, V value) {
+        if (count == values.length) {
+            resize();
+        }
+        int pos = count++;
+        values[pos] = value;
+        if (keyed) {
+            int h = hash(key);
+            keys[pos] = key;
+            hashes[pos] = h;
+            insertSlot(h, pos);
+        }
+        size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    V removeAt(int pos) {
+        V value = (V) values[pos];
+        if (keyed) {
+            int mask = slots.length - 1;
+            int slot = hashes[pos] & mask;
+            while (slots[slot] != pos + 1) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = DELETED_SLOT;
+            keys[pos] = null;
+        }
+        values[pos] = null;
+        size--;
+        return value;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0, count, null);
+        if (keyed) {
+            Arrays.fill(keys, 0, count, null);
+            Arrays.fill(slots, EMPTY_SLOT);
+        }
+        count = 0;
+        size = 0;
+        compactionCount++;
+        clearCount++;
+    }
+
+    private static int hash(Object key) {
+        long h = TableUtils.computeHash(key);
+        int hash = (int) (h ^ (h >>> 32));
+        return hash ^ (hash >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        values = new Object[capacity];
+        if (keyed) {
+            keys = new Object[capacity];
+            hashes = new int[capacity];
+            // Keep the index at most half full, counting removed rows, so that probe sequences stay short.
+            slots = new int[capacity << 1];
+        }
+    }
+
+    private void insertSlot(int h, int pos) {
+        int mask = slots.length - 1;
+        int slot = h & mask;
+        while (slots[slot] > EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = pos + 1;
+    }
+
+    /**
+     * Makes room for one more row. If at least a quarter of the used positions are empty the rows are compacted,
+     * otherwise the capacity is doubled.
+     */
+    private void resize() {
+        int capacity = values.length;
+        if (count - size < (capacity >> 2)) {
+            if (capacity >= MAXIMUM_CAPACITY) {
+                throw new IllegalStateException("table capacity exceeded");
+            }
+            capacity <<= 1;
+        }
+
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldCount = count;
+        allocate(capacity);
+        int pos = 0;
+        for (int i = 0; i < oldCount; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            values[pos] = oldValues[i];
+            if (keyed) {
+                keys[pos] = oldKeys[i];
+                hashes[pos] = oldHashes[i];
+                insertSlot(oldHashes[i], pos);
+            }
+            pos++;
+        }
+        if (pos != oldCount) {
+            compactionCount++;
+        }
+        count = pos;
+    }
+}
@@ -20,7 +20,7 @@ package org.ballerinalang.jvm.values;
 import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.IteratorUtils;
 import org.ballerinalang.jvm.StringUtils;
-import org.ballerinalang.jvm.TableUtils;
+import org.ballerinalang.jvm.TableSerializer;
 import org.ballerinalang.jvm.TypeChecker;
 import org.ballerinalang.jvm.types.BField;
 import org.ballerinalang.jvm.types.BMapType;
@@ -29,23 +29,28 @@ import org.ballerinalang.jvm.types.BTableType;
 import org.ballerinalang.jvm.types.BTupleType;
 import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.types.TypeTags;
+import org.ballerinalang.jvm.util.Flags;
 import org.ballerinalang.jvm.util.exceptions.BLangFreezeException;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
 import org.ballerinalang.jvm.values.api.BIterator;
+import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.jvm.values.api.BValueCreator;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static org.ballerinalang.jvm.util.BLangConstants.TABLE_LANG_LIB;
 import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.OPERATION_NOT_SUPPORTED_IDENTIFIER;
@@ -54,6 +59,9 @@ import static org.ballerinalang.jvm.util.exceptions.BallerinaErrorReasons.TABLE_
 
 /**
  * The runtime representation of table.
+ * <p>
+ * Rows are stored in a single insertion ordered {@link TableIndex}, keyed on the actual key value of each row for
+ * tables with a key sequence. Secondary indexes on other fields can be added with {@link #addFieldIndex(BString)}.
  *
  * @param <K> the type of keys maintained by this map
  * @param <V> the type of mapped values
@@ -64,18 +72,12 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     private BTableType type;
     private BType iteratorNextReturnType;
-    private ConcurrentHashMap<Long, Map.Entry<K, V>> entries;
-    private LinkedHashMap<Long, V> values;
-    private LinkedHashMap<Long, K> keys;
+    private TableIndex<K, V> rows;
+    private Map<String, TableFieldIndex<V>> fieldIndexes;
     private String[] fieldNames;
     private ValueHolder valueHolder;
     private long maxIntKey = 0;
 
-    //These are required to achieve the iterator behavior
-    private LinkedHashMap<Long, Long> indexToKeyMap;
-    private LinkedHashMap<Long, Long> keyToIndexMap;
-    private long noOfAddedEntries = 0;
-
     private boolean nextKeySupported;
     public static final String IS_STRING_VALUE_PROP = "ballerina.bstring";
     public static final boolean USE_BSTRING = System.getProperty(IS_STRING_VALUE_PROP) != null;
@@ -83,15 +85,12 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     public TableValueImpl(BTableType type) {
         this.type = type;
 
-        this.entries = new ConcurrentHashMap<>();
-        this.keys = new LinkedHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new LinkedHashMap<>();
         this.fieldNames = type.getFieldNames();
         if (type.getFieldNames() != null) {
+            this.rows = new TableIndex<>(true);
             this.valueHolder = new KeyHashValueHolder();
         } else {
+            this.rows = new TableIndex<>(false);
             this.valueHolder = new ValueHolder();
         }
     }
@@ -115,7 +114,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public IteratorValue getIterator() {
-        return new TableIterator<K, V>();
+        return new TableIterator();
     }
 
     @Override
@@ -200,24 +199,106 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public Set<Map.Entry<K, V>> entrySet() {
-        return new LinkedHashSet<>(entries.values());
+        Set<Map.Entry<K, V>> entrySet = new LinkedHashSet<>();
+        for (int pos = 0; pos < rows.limit(); pos++) {
+            if (rows.isPresent(pos)) {
+                entrySet.add(new AbstractMap.SimpleEntry<>((K) valueHolder.getKeyAt(pos), rows.valueAt(pos)));
+            }
+        }
+        return entrySet;
     }
 
     @Override
     public Collection<V> values() {
-        return values.values();
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new RowIterator();
+            }
+
+            @Override
+            public int size() {
+                return rows.size();
+            }
+        };
     }
 
     @Override
     public void clear() {
         handleFrozenTableValue();
-        entries.clear();
-        keys.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        rows.clear();
+        if (fieldIndexes != null) {
+            fieldIndexes.values().forEach(TableFieldIndex::clear);
+        }
+    }
+
+    /**
+     * Adds a secondary index on a readonly field that is not part of the key sequence, so that rows can be looked up
+     * by the value of that field with {@link #getRowsByField(BString, Object)} without scanning the table. The index
+     * is maintained as rows are added, replaced and removed. Adding an index on an already indexed field has no
+     * effect.
+     * <p>
+     * Only fields that cannot be updated in a row are indexed, that is readonly fields of the row record type, or
+     * any field of a readonly row type or of a readonly table.
+     *
+     * @param fieldName name of the field to index
+     */
+    public void addFieldIndex(BString fieldName) {
+        if (!isReadOnlyField(fieldName)) {
+            throw BallerinaErrors.createError(OPERATION_NOT_SUPPORTED_IDENTIFIER,
+                    "cannot index field '" + fieldName + "': only readonly fields can be indexed");
+        }
+        if (fieldIndexes == null) {
+            fieldIndexes = new HashMap<>();
+        } else if (fieldIndexes.containsKey(fieldName.getValue())) {
+            return;
+        }
+
+        TableFieldIndex<V> fieldIndex = new TableFieldIndex<>(fieldName);
+        for (int pos = 0; pos < rows.limit(); pos++) {
+            if (rows.isPresent(pos)) {
+                fieldIndex.add(rows.valueAt(pos));
+            }
+        }
+        fieldIndexes.put(fieldName.getValue(), fieldIndex);
+    }
+
+    private boolean isReadOnlyField(BString fieldName) {
+        BType constraintType = type.getConstrainedType();
+        if (isFrozen() || constraintType.isReadOnly()) {
+            return true;
+        }
+        if (constraintType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            return false;
+        }
+        BField field = ((BRecordType) constraintType).getFields().get(fieldName.getValue());
+        return field != null && Flags.isFlagOn(field.flags, Flags.READONLY);
+    }
+
+    /**
+     * Returns the rows in which the given field is equal to the given value. Uses the secondary index of the field
+     * if there is one, otherwise the rows are scanned in order.
+     *
+     * @param fieldName name of the field
+     * @param value     value to compare the field with
+     * @return matching rows
+     */
+    public List<V> getRowsByField(BString fieldName, Object value) {
+        TableFieldIndex<V> fieldIndex = fieldIndexes == null ? null : fieldIndexes.get(fieldName.getValue());
+        if (fieldIndex != null) {
+            return fieldIndex.lookup(value);
+        }
+
+        List<V> matches = new ArrayList<>();
+        for (int pos = 0; pos < rows.limit(); pos++) {
+            if (rows.isPresent(pos)
+                    && TypeChecker.isEqual(((MapValue) rows.valueAt(pos)).get(fieldName), value)) {
+                matches.add(rows.valueAt(pos));
+            }
+        }
+        return matches;
     }
 
     @Override
@@ -242,7 +323,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                     "Defined key sequence is not supported with nextKey(). "
                             + "The key sequence should only have an Integer field.");
         }
-        return keys.size() == 0 ? 0 : (this.maxIntKey + 1);
+        return rows.size() == 0 ? 0 : (this.maxIntKey + 1);
     }
 
     public BType getKeyType() {
@@ -268,18 +349,30 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public K[] getKeys() {
-        return (K[]) keys.values().toArray(new Object[]{});
+        if (fieldNames == null || rows.size() == 0) {
+            return (K[]) new Object[0];
+        }
+
+        Object[] keys = new Object[rows.size()];
+        int i = 0;
+        for (int pos = 0; pos < rows.limit(); pos++) {
+            if (rows.isPresent(pos)) {
+                keys[i++] = rows.keyAt(pos);
+            }
+        }
+        return (K[]) keys;
     }
 
     @Override
     public int size() {
-        return entries.size();
+        return rows.size();
     }
 
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return rows.size() == 0;
     }
 
     @Override
@@ -294,15 +387,27 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     public String stringValue() {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
-        return createStringValueDataEntry(itr);
+        return createStringValueDataEntry(new RowIterator());
+    }
+
+    /**
+     * Serializes the rows of this table as a JSON array, a row at a time, without building the JSON of the table.
+     *
+     * @param outputStream Represent the output stream that the data will be written to.
+     */
+    @Override
+    public void serialize(OutputStream outputStream) {
+        try {
+            TableSerializer.serializeJSON(this, outputStream, true);
+        } catch (IOException e) {
+            throw new BallerinaException("error occurred while serializing data", e);
+        }
     }
 
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr) {
+    private String createStringValueDataEntry(Iterator<V> itr) {
         StringJoiner sj = new StringJoiner("\n");
         while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(struct.getValue().toString());
+            sj.add(itr.next().toString());
         }
         return sj.toString();
     }
@@ -330,40 +435,98 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         return iteratorNextReturnType;
     }
 
-    private class TableIterator<K, V> implements IteratorValue {
-        private long cursor;
+    /**
+     * Cursor over the row positions of the table. If the rows are compacted while iterating, the cursor continues
+     * after the row with the key it returned last.
+     */
+    private class RowCursor {
+        private int cursor;
+        private Object lastKey;
+        private boolean returned;
+        private int compactionCount = rows.getCompactionCount();
+        private int clearCount = rows.getClearCount();
+
+        boolean hasNext() {
+            relocate();
+            while (cursor < rows.limit() && !rows.isPresent(cursor)) {
+                cursor++;
+            }
+            return cursor < rows.limit();
+        }
 
-        TableIterator() {
-            this.cursor = 0;
+        int nextPosition() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int pos = cursor++;
+            lastKey = rows.keyAt(pos);
+            returned = true;
+            return pos;
         }
 
-        @Override
-        public Object next() {
-            Long hash = indexToKeyMap.get(cursor);
-            if (hash != null) {
-                Map.Entry<K, V> next = (Map.Entry<K, V>) entries.get(hash);
-                V value = next.getValue();
-                K key = next.getKey();
-
-                List<BType> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
+        private void relocate() {
+            if (compactionCount == rows.getCompactionCount()) {
+                return;
+            }
+            compactionCount = rows.getCompactionCount();
+            if (clearCount != rows.getClearCount()) {
+                // The returned rows were cleared, continue with the rows added since then
+                clearCount = rows.getClearCount();
+                returned = false;
+            }
+            if (!returned) {
+                cursor = 0;
+                return;
+            }
+            if (!rows.isKeyed()) {
+                // Rows of a keyless table are never removed one by one, so they are only compacted when cleared
+                return;
+            }
+            int pos = rows.positionOf(lastKey);
+            if (pos >= 0) {
+                cursor = pos + 1;
             } else {
-                cursor++;
-                return next();
+                // The last returned row was removed, and the rows after it may have moved back
+                cursor = Math.min(cursor, rows.limit());
             }
         }
+    }
+
+    private class TableIterator extends RowCursor implements IteratorValue {
+
+        @Override
+        public Object next() {
+            int pos = nextPosition();
+            V value = rows.valueAt(pos);
+            Object key = valueHolder.getKeyAt(pos);
+
+            List<BType> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            return tuple;
+        }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries;
+            return super.hasNext();
+        }
+    }
+
+    private class RowIterator extends RowCursor implements Iterator<V> {
+
+        @Override
+        public V next() {
+            return rows.valueAt(nextPosition());
+        }
+
+        @Override
+        public boolean hasNext() {
+            return super.hasNext();
         }
     }
 
@@ -382,11 +545,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
 
         public V putData(V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            UUID uuid = UUID.randomUUID();
-            entries.put((long) uuid.hashCode(), entry);
-            updateIndexKeyMappings((long) uuid.hashCode());
-            return values.put((long) uuid.hashCode(), data);
+            appendRow(null, data);
+            return null;
         }
 
         public V remove(K key) {
@@ -400,14 +560,21 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         public BType getKeyType() {
             throw BallerinaErrors.createError(TABLE_KEY_NOT_FOUND_ERROR, "keys are not defined");
         }
+
+        // Rows of a keyless table are their own keys
+        public Object getKeyAt(int pos) {
+            return rows.valueAt(pos);
+        }
     }
 
     private class KeyHashValueHolder extends ValueHolder {
         private DefaultKeyWrapper keyWrapper;
         private BType keyType;
+        private final BString[] keyFieldNames;
 
         public KeyHashValueHolder() {
             super();
+            keyFieldNames = StringUtils.fromStringArray(fieldNames);
             if (fieldNames.length > 1) {
                 keyWrapper = new MultiKeyWrapper();
             } else {
@@ -424,68 +591,60 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                         key + "'");
             }
 
-            if (nextKeySupported && (keys.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
+            if (nextKeySupported && (rows.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
                 maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
             }
 
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-            Long hash = TableUtils.hash(key, null);
-            putData(key, data, entry, hash);
+            appendRow(key, data);
         }
 
         public V getData(K key) {
-            return values.get(TableUtils.hash(key, null));
+            int pos = rows.positionOf(key);
+            return pos < 0 ? null : rows.valueAt(pos);
         }
 
         public V putData(K key, V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
-            Long actualHash = TableUtils.hash(actualKey, null);
-            Long hash = TableUtils.hash(key, null);
-
-            if (!hash.equals(actualHash)) {
+            if (!TypeChecker.isEqual(key, actualKey)) {
                 throw BallerinaErrors.createError(TABLE_KEY_NOT_FOUND_ERROR, "The key '" +
                         key + "' not found in value " + data.toString());
             }
 
-            return putData(key, data, entry, hash);
+            return putData(key, data, rows.positionOf(key));
         }
 
-        private V putData(K key, V data, Map.Entry<K, V> entry, Long hash) {
-            entries.put(hash, entry);
-            keys.put(hash, key);
-            updateIndexKeyMappings(hash);
-            return values.put(hash, data);
+        private V putData(K key, V data, int pos) {
+            if (pos < 0) {
+                appendRow(key, data);
+                return null;
+            }
+            return replaceRow(pos, data);
         }
 
         public V putData(V data) {
             MapValue dataMap = (MapValue) data;
             K key = this.keyWrapper.wrapKey(dataMap);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
-            return putData((K) key, data, entry, hash);
+            return putData(key, data, rows.positionOf(key));
         }
 
         public V remove(K key) {
-            Long hash = TableUtils.hash(key, null);
-            entries.remove(hash);
-            keys.remove(hash);
-            Long index = keyToIndexMap.remove(hash);
-            indexToKeyMap.remove(index);
-            if (index != null && index == noOfAddedEntries - 1) {
-                noOfAddedEntries--;
-            }
-            return values.remove(hash);
+            int pos = rows.positionOf(key);
+            return pos < 0 ? null : removeRow(pos);
         }
 
         public boolean containsKey(K key) {
-            return keys.containsKey(TableUtils.hash(key, null));
+            return rows.positionOf(key) >= 0;
         }
 
         public BType getKeyType() {
             return keyType;
         }
 
+        @Override
+        public Object getKeyAt(int pos) {
+            return rows.keyAt(pos);
+        }
+
         private class DefaultKeyWrapper {
 
             public DefaultKeyWrapper() {
@@ -498,7 +657,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             }
 
             public K wrapKey(MapValue data) {
-                return (K) data.get(StringUtils.fromString(fieldNames[0]));
+                return (K) data.get(keyFieldNames[0]);
             }
         }
 
@@ -521,21 +680,43 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             public K wrapKey(MapValue data) {
                 TupleValueImpl arr = (TupleValueImpl) BValueCreator
                         .createTupleValue((BTupleType) keyType);
-                for (int i = 0; i < fieldNames.length; i++) {
-                    arr.add(i, data.get(StringUtils.fromString(fieldNames[i])));
+                for (int i = 0; i < keyFieldNames.length; i++) {
+                    arr.add(i, data.get(keyFieldNames[i]));
                 }
                 return (K) arr;
             }
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(Long hash) {
-        if (!keyToIndexMap.containsKey(hash)) {
-            keyToIndexMap.put(hash, noOfAddedEntries);
-            indexToKeyMap.put(noOfAddedEntries, hash);
-            noOfAddedEntries++;
+    private void appendRow(K key, V data) {
+        rows.append(key, data);
+        if (fieldIndexes != null) {
+            for (TableFieldIndex<V> fieldIndex : fieldIndexes.values()) {
+                fieldIndex.add(data);
+            }
+        }
+    }
+
+    private V replaceRow(int pos, V data) {
+        V oldData = rows.valueAt(pos);
+        rows.setValueAt(pos, data);
+        if (fieldIndexes != null) {
+            for (TableFieldIndex<V> fieldIndex : fieldIndexes.values()) {
+                fieldIndex.remove(oldData);
+                fieldIndex.add(data);
+            }
+        }
+        return oldData;
+    }
+
+    private V removeRow(int pos) {
+        V oldData = rows.removeAt(pos);
+        if (fieldIndexes != null) {
+            for (TableFieldIndex<V> fieldIndex : fieldIndexes.values()) {
+                fieldIndex.remove(oldData);
+            }
         }
+        return oldData;
     }
 
     @Override
@@ -502,6 +502,9 @@ public class TupleValueImpl extends AbstractArrayValue {
         }
 
         this.tupleType = (BTupleType) ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.tupleType);
+        if (ReadOnlyUtils.hasInherentlyImmutableMembers(this.tupleType)) {
+            return;
+        }
         for (int i = 0; i < this.size; i++) {
             Object value = this.get(i);
             if (value instanceof RefValue) {
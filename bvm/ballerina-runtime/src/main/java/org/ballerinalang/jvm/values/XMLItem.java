@@ -23,6 +23,7 @@ import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.BallerinaXMLSerializer;
 import org.ballerinalang.jvm.StringUtils;
 import org.ballerinalang.jvm.XMLFactory;
+import org.ballerinalang.jvm.XMLLazyContent;
 import org.ballerinalang.jvm.XMLNodeType;
 import org.ballerinalang.jvm.XMLValidator;
 import org.ballerinalang.jvm.types.BTypes;
@@ -36,7 +37,6 @@ import java.io.ByteArrayOutputStream;
 import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -67,8 +67,10 @@ public final class XMLItem extends XMLValue {
     private QName name;
     private XMLSequence children;
     private AttributeMapValueImpl attributes;
-    // Keep track of probable parents of xml element to detect probable cycles in xml.
-    private List<WeakReference<XMLItem>> probableParents;
+    // Keep track of probable parents of xml element to detect probable cycles in xml. Created on first use.
+    private List<WeakReference<XMLItem>> probableParents = Collections.emptyList();
+    // Source of the children of an element parsed lazily, until they are built.
+    private volatile XMLLazyContent lazyChildren;
 
     public XMLItem(QName name, XMLSequence children) {
         this.name = name;
@@ -78,7 +80,6 @@ public final class XMLItem extends XMLValue {
         }
         attributes = new AttributeMapValueImpl(false);
         addDefaultNamespaceAttribute(name, attributes);
-        probableParents = new ArrayList<>();
         this.type = BTypes.typeElement;
     }
 
@@ -101,7 +102,6 @@ public final class XMLItem extends XMLValue {
         }
         attributes = new AttributeMapValueImpl(readonly);
         addDefaultNamespaceAttribute(name, attributes);
-        probableParents = new ArrayList<>();
 
         this.type = readonly ? BTypes.typeReadonlyElement : BTypes.typeElement;
     }
@@ -174,7 +174,7 @@ public final class XMLItem extends XMLValue {
      */
     @Override
     public String getTextValue() {
-        return children.getTextValue();
+        return getChildrenSeq().getTextValue();
     }
 
     /**
@@ -263,7 +263,7 @@ public final class XMLItem extends XMLValue {
      */
     @Override
     public XMLValue children() {
-        return new XMLSequence(new ArrayList<>(children.getChildrenList()));
+        return new XMLSequence(new ArrayList<>(getChildrenSeq().getChildrenList()));
     }
 
     /**
@@ -271,7 +271,7 @@ public final class XMLItem extends XMLValue {
      */
     @Override
     public XMLValue children(String qname) {
-        return children.elements(qname);
+        return getChildrenSeq().elements(qname);
     }
 
     /**
@@ -287,6 +287,7 @@ public final class XMLItem extends XMLValue {
             return;
         }
 
+        this.lazyChildren = null;
         if (seq.getNodeType() == XMLNodeType.SEQUENCE) {
             children = (XMLSequence) seq;
             for (BXML child : children.children) {
@@ -313,7 +314,7 @@ public final class XMLItem extends XMLValue {
             return;
         }
 
-        List<BXML> leftList = new ArrayList<>(children.children);
+        List<BXML> leftList = new ArrayList<>(getChildrenSeq().children);
 
         if (seq.getNodeType() == XMLNodeType.SEQUENCE) {
             List<BXML> appendingList = ((XMLSequence) seq).getChildrenList();
@@ -344,7 +345,11 @@ public final class XMLItem extends XMLValue {
     // xml literal syntax, or after ensuring the new xml tree is not cyclic.
     private void addParent(BXML child, XMLItem thisElem) {
         if (child.getNodeType() == ELEMENT) {
-            ((XMLItem) child).probableParents.add(new WeakReference<>(thisElem));
+            XMLItem item = (XMLItem) child;
+            if (item.probableParents.isEmpty()) {
+                item.probableParents = new ArrayList<>(1);
+            }
+            item.probableParents.add(new WeakReference<>(thisElem));
         }
     }
 
@@ -352,7 +357,7 @@ public final class XMLItem extends XMLValue {
         for (WeakReference<XMLItem> probableParentRef : current.probableParents) {
             XMLItem parent = probableParentRef.get();
             // probable parent is the actual parent.
-            if (parent.children.children.contains(current)) {
+            if (parent != null && parent.getChildrenSeq().children.contains(current)) {
                 // If new subtree is in the lineage of current node, adding this newSubTree forms a cycle.
                 if (parent == newSubTree) {
                     throw createXMLCycleError();
@@ -386,7 +391,7 @@ public final class XMLItem extends XMLValue {
      */
     @Override
     public XMLValue strip() {
-        children.strip();
+        getChildrenSeq().strip();
         return this;
     }
 
@@ -404,11 +409,17 @@ public final class XMLItem extends XMLValue {
     @Override
     public XMLValue descendants(List<String> qnames) {
         if (qnames.contains(getQName().toString())) {
-            List<BXML> descendants = Arrays.asList(this);
-            addDescendants(descendants, this, qnames);
+            List<BXML> descendants = new ArrayList<>();
+            descendants.add(this);
+            List<BXML> indexed = qnames.size() == 1 ? getChildrenSeq().getIndexedDescendants(qnames.get(0)) : null;
+            if (indexed != null) {
+                descendants.addAll(indexed);
+            } else {
+                addDescendants(descendants, this, qnames);
+            }
             return new XMLSequence(descendants);
         }
-        return children.descendants(qnames);
+        return getChildrenSeq().descendants(qnames);
     }
 
     /**
@@ -470,7 +481,7 @@ public final class XMLItem extends XMLValue {
         }
 
         QName elemName = new QName(this.name.getNamespaceURI(), this.name.getLocalPart(), this.name.getPrefix());
-        XMLItem xmlItem = new XMLItem(elemName, (XMLSequence) children.copy(refs));
+        XMLItem xmlItem = new XMLItem(elemName, (XMLSequence) getChildrenSeq().copy(refs));
 
         MapValue<BString, BString> attributesMap = xmlItem.getAttributesMap();
         MapValue<BString, BString> copy = (MapValue<BString, BString>) this.getAttributesMap().copy(refs);
@@ -547,7 +558,7 @@ public final class XMLItem extends XMLValue {
             ReadOnlyUtils.handleInvalidUpdate(XML_LANG_LIB);
         }
 
-        List<BXML> children = this.children.children;
+        List<BXML> children = getChildrenSeq().children;
         List<Integer> toRemove = new ArrayList<>();
         for (int i = 0; i < children.size(); i++) {
             BXML child = children.get(i);
@@ -602,8 +613,12 @@ public final class XMLItem extends XMLValue {
      */
     @Override
     public void freezeDirect() {
+        if (this.type.isReadOnly()) {
+            return;
+        }
+
         this.type = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.type);
-        this.children.freezeDirect();
+        getChildrenSeq().freezeDirect();
         this.attributes.freezeDirect();
     }
 
@@ -618,9 +633,31 @@ public final class XMLItem extends XMLValue {
     }
 
     public XMLSequence getChildrenSeq() {
+        XMLLazyContent lazy = this.lazyChildren;
+        if (lazy != null) {
+            buildLazyChildren();
+        }
         return children;
     }
 
+    /**
+     * Defers building the children of this element, which has no children yet, until they are first navigated.
+     *
+     * @param content source of the children
+     */
+    public void setLazyChildren(XMLLazyContent content) {
+        this.lazyChildren = content;
+    }
+
+    private synchronized void buildLazyChildren() {
+        XMLLazyContent lazy = this.lazyChildren;
+        if (lazy == null) {
+            return;
+        }
+        this.children = new XMLSequence(lazy.build());
+        this.lazyChildren = null;
+    }
+
     @Override
     public IteratorValue getIterator() {
         XMLItem that = this;
@@ -661,7 +698,7 @@ public final class XMLItem extends XMLValue {
                 return false;
             }
 
-            return that.children.equals(this.children);
+            return that.getChildrenSeq().equals(this.getChildrenSeq());
         }
         if (obj instanceof XMLSequence) {
             XMLSequence other = (XMLSequence) obj;
@@ -672,7 +709,7 @@ public final class XMLItem extends XMLValue {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, children, attributes, probableParents);
+        return Objects.hash(name, getChildrenSeq(), attributes, probableParents);
     }
 
     private interface SetAttributeFunction {
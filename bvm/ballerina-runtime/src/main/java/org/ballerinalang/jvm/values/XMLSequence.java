@@ -27,6 +27,8 @@ import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.jvm.values.api.BXML;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,9 @@ import static org.ballerinalang.jvm.util.BLangConstants.XML_LANG_LIB;
 public final class XMLSequence extends XMLValue {
 
     List<BXML> children;
+    // indexes of the element children and descendants by name, built on the first lookup once readonly
+    private volatile Map<String, List<BXML>> elementIndex;
+    private volatile Map<String, List<BXML>> descendantIndex;
 
     /**
      * Create an empty xml sequence.
@@ -213,8 +218,12 @@ public final class XMLSequence extends XMLValue {
      */
     @Override
     public XMLValue elements(String qname) {
-        List<BXML> elementsSeq = new ArrayList<>();
         String qnameStr = getQname(qname).toString();
+        List<BXML> indexed = getIndexedElements(qnameStr);
+        if (indexed != null) {
+            return new XMLSequence(new ArrayList<>(indexed));
+        }
+        List<BXML> elementsSeq = new ArrayList<>();
         for (BXML child : children) {
             if (child.getNodeType() == XMLNodeType.ELEMENT && child.getElementName().equals(qnameStr)) {
                 elementsSeq.add(child);
@@ -370,6 +379,12 @@ public final class XMLSequence extends XMLValue {
      */
     @Override
     public XMLValue descendants(List<String> qnames) {
+        if (qnames.size() == 1) {
+            List<BXML> indexed = getIndexedDescendants(qnames.get(0));
+            if (indexed != null) {
+                return new XMLSequence(new ArrayList<>(indexed));
+            }
+        }
         List<BXML> descendants = new ArrayList<>();
         for (BXML child : children) {
             if (child.getNodeType() == XMLNodeType.ELEMENT) {
@@ -532,8 +547,80 @@ public final class XMLSequence extends XMLValue {
         children.get(0).removeChildren(qname);
     }
 
+    /**
+     * Returns the element children with the given expanded name, such as {@code {uri}local} or {@code local}, or
+     * {@code null} if this sequence is not readonly. The children of a readonly sequence never change, so they are
+     * looked up in an index by name, which is built on the first lookup.
+     *
+     * @param elementName expanded name of the elements
+     * @return the matching elements in order, which must not be modified, or {@code null} if this is not readonly
+     */
+    public List<BXML> getIndexedElements(String elementName) {
+        if (!this.type.isReadOnly()) {
+            return null;
+        }
+        Map<String, List<BXML>> index = this.elementIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            for (BXML child : children) {
+                if (child.getNodeType() == XMLNodeType.ELEMENT) {
+                    addToIndex(index, child);
+                }
+            }
+            this.elementIndex = index;
+        }
+        return index.getOrDefault(elementName, Collections.emptyList());
+    }
+
+    /**
+     * Returns the elements with the given expanded name among the element children and their descendants, in
+     * document order, or {@code null} if this sequence is not readonly. Like {@link #getIndexedElements(String)},
+     * they are looked up in an index by name, which is built on the first lookup.
+     *
+     * @param elementName expanded name of the elements
+     * @return the matching elements in order, which must not be modified, or {@code null} if this is not readonly
+     */
+    public List<BXML> getIndexedDescendants(String elementName) {
+        if (!this.type.isReadOnly()) {
+            return null;
+        }
+        Map<String, List<BXML>> index = this.descendantIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            indexDescendants(index, children);
+            this.descendantIndex = index;
+        }
+        return index.getOrDefault(elementName, Collections.emptyList());
+    }
+
+    private static void indexDescendants(Map<String, List<BXML>> index, List<BXML> items) {
+        for (BXML item : items) {
+            if (item.getNodeType() == XMLNodeType.ELEMENT) {
+                addToIndex(index, item);
+                indexDescendants(index, ((XMLItem) item).getChildrenSeq().children);
+            }
+        }
+    }
+
+    private static void addToIndex(Map<String, List<BXML>> index, BXML element) {
+        List<BXML> elements = index.get(element.getElementName());
+        if (elements == null) {
+            index.put(element.getElementName(), Collections.singletonList(element));
+        } else {
+            if (elements.size() == 1) {
+                elements = new ArrayList<>(elements);
+                index.put(element.getElementName(), elements);
+            }
+            elements.add(element);
+        }
+    }
+
     @Override
     public void freezeDirect() {
+        if (this.type.isReadOnly()) {
+            return;
+        }
+
         this.type = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(this.type);
         for (BXML elem : children) {
             elem.freezeDirect();
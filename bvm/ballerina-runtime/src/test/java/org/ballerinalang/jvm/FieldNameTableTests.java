@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test cases for {@link FieldNameTable}.
+ */
+public class FieldNameTableTests {
+
+    @Test
+    void testRepeatedNames() {
+        FieldNameTable table = new FieldNameTable();
+        BString name = get(table, "name");
+        Assert.assertEquals(name.getValue(), "name");
+        Assert.assertSame(get(table, "name"), name);
+        Assert.assertSame(getBytes(table, "name"), name);
+        Assert.assertNotSame(get(table, "names"), name);
+        Assert.assertEquals(get(table, "").getValue(), "");
+        Assert.assertSame(get(table, ""), get(table, ""));
+    }
+
+    @Test
+    void testNameLengthBound() {
+        FieldNameTable table = new FieldNameTable();
+        String longest = repeat('a', FieldNameTable.MAX_NAME_LENGTH);
+        Assert.assertSame(get(table, longest), get(table, longest));
+        Assert.assertSame(getBytes(table, longest), get(table, longest));
+
+        // longer names are created every time
+        String tooLong = repeat('a', FieldNameTable.MAX_NAME_LENGTH + 1);
+        BString first = get(table, tooLong);
+        Assert.assertEquals(first.getValue(), tooLong);
+        Assert.assertNotSame(get(table, tooLong), first);
+        Assert.assertEquals(getBytes(table, tooLong).getValue(), tooLong);
+        Assert.assertNotSame(getBytes(table, tooLong), getBytes(table, tooLong));
+    }
+
+    @Test
+    void testEntryBound() {
+        FieldNameTable table = new FieldNameTable();
+        List<BString> names = new ArrayList<>();
+        for (int i = 0; i < FieldNameTable.MAX_ENTRIES; i++) {
+            names.add(get(table, "field" + i));
+        }
+
+        // the table is full, so new names are created every time, while the kept names are still found
+        BString extra = get(table, "extra");
+        Assert.assertEquals(extra.getValue(), "extra");
+        Assert.assertNotSame(get(table, "extra"), extra);
+        Assert.assertNotSame(getBytes(table, "extra"), getBytes(table, "extra"));
+        for (int i = 0; i < FieldNameTable.MAX_ENTRIES; i++) {
+            Assert.assertSame(get(table, "field" + i), names.get(i));
+            Assert.assertSame(getBytes(table, "field" + i), names.get(i));
+        }
+
+        // the table is empty again for the next document
+        table.clear();
+        BString field = get(table, "field0");
+        Assert.assertNotSame(field, names.get(0));
+        Assert.assertSame(get(table, "field0"), field);
+        Assert.assertSame(get(table, "extra"), get(table, "extra"));
+    }
+
+    @Test
+    void testNonAsciiNames() {
+        FieldNameTable table = new FieldNameTable();
+        String name = "caf\u00e9 \ud83d\ude00";
+        Assert.assertSame(get(table, name), get(table, name));
+
+        // names given as bytes are kept only if they are ASCII
+        BString fromBytes = getBytes(table, name);
+        Assert.assertEquals(fromBytes.getValue(), name);
+        Assert.assertNotSame(getBytes(table, name), fromBytes);
+    }
+
+    @Test
+    void testNameInLargerBuffer() {
+        FieldNameTable table = new FieldNameTable();
+        char[] chars = Arrays.copyOf("idx".toCharArray(), 16);
+        BString id = table.get(chars, 2);
+        Assert.assertEquals(id.getValue(), "id");
+        byte[] bytes = "{\"id\":1}".getBytes(StandardCharsets.US_ASCII);
+        Assert.assertSame(table.get(bytes, 2, 4), id);
+    }
+
+    private static BString get(FieldNameTable table, String name) {
+        char[] chars = name.toCharArray();
+        return table.get(chars, chars.length);
+    }
+
+    private static BString getBytes(FieldNameTable table, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        return table.get(bytes, 0, bytes.length);
+    }
+
+    private static String repeat(char ch, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, ch);
+        return new String(chars);
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for {@link JSONByteParser}, which check that parsing UTF-8 bytes gives the same values and errors as the
+ * character based {@link JSONParser} state machine.
+ */
+public class JSONByteParserTests {
+
+    private static final BPackage PKG = new BPackage("test", "json", "1.0.0");
+    private static final int ANYDATA_FLAGS = TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE);
+
+    @DataProvider(name = "numbers")
+    Object[][] numbers() {
+        return new Object[][]{
+                {"0"}, {"-0"}, {"7"}, {"-42"}, {"123456789012345678"}, {"-123456789012345678"},
+                {"1234567890123456789"}, {"9223372036854775807"}, {"-9223372036854775808"}, {"0.0"}, {"-0.0"},
+                {"3.25"}, {"-1.5"}, {"1.5e3"}, {"1.0E-7"}, {"2.5E+10"}, {"123456789012345678901.5"}, {".5"}
+        };
+    }
+
+    @Test(dataProvider = "numbers")
+    void testNumbers(String number) {
+        assertSameValue(number);
+        assertSameValue("[" + number + "]");
+        assertSameValue("[" + number + "," + number + " ]");
+        assertSameValue("{\"a\":" + number + "}");
+        assertSameValue("{\"a\": " + number + " , \"b\":" + number + "}");
+    }
+
+    @Test
+    void testNumberTypes() {
+        Assert.assertEquals(JSONParser.parse(bytes("123456789012345678")), 123456789012345678L);
+        Assert.assertEquals(JSONParser.parse(bytes("1234567890123456789")), 1234567890123456789L);
+        Assert.assertEquals(JSONParser.parse(bytes("-0")), 0L);
+        Assert.assertEquals(JSONParser.parse(bytes("1.5e3")), 1500.0);
+        Object negativeZero = JSONParser.parse(bytes("-0.0"));
+        Assert.assertEquals(Double.doubleToLongBits((Double) negativeZero), Double.doubleToLongBits(-0.0));
+    }
+
+    @DataProvider(name = "invalidNumbers")
+    Object[][] invalidNumbers() {
+        // a number without a '.' is an int, so an exponent needs a fraction, and an int has at most 19 digits
+        return new Object[][]{
+                {"1e5"}, {"-2E3"}, {"12345678901234567890"}, {"99999999999999999999999"}, {"-"}, {"--1"}, {"1-"},
+                {"0x1F"}, {"1.2.3"}, {"tru"}, {"nul"}, {"True"}, {"1a"}
+        };
+    }
+
+    @Test(dataProvider = "invalidNumbers")
+    void testInvalidNumbers(String number) {
+        assertSameError(number);
+        assertSameError("[" + number + "]");
+        assertSameError("[1, " + number + "]");
+        assertSameError("{\"a\":" + number + "}");
+        assertSameError("{\"a\": 1,\n \"b\": " + number + " }");
+    }
+
+    @Test
+    void testEscapes() {
+        assertSameValue("\"a\\\"b\\\\c\\/d\\be\\ff\\ng\\rh\\ti\"");
+        assertSameValue("\"\\u0041\\u00e9\\u4E2D\\u0000\"");
+        assertSameValue("{\"k\\u0041\\n\": \"v\\\"\", \"plain\": \"\\\\\"}");
+        assertSameValue("['single \"quoted\"', \"double ' quoted\"]");
+        assertSameValue("{'key': 'value'}");
+        // escapes after more than eight plain bytes, where the closing quote is searched a word at a time
+        assertSameValue("[\"0123456789abcdef\\n0123456789abcdef\\u0041\", \"0123456789\\\\\"]");
+        Assert.assertEquals(((BString) JSONParser.parse(bytes("\"a\\tb\\u0041\""))).getValue(), "a\tbA");
+    }
+
+    @Test
+    void testSurrogatePairs() {
+        // U+1F600 = GRINNING FACE
+        assertSameValue("\"\\ud83d\\ude00\"");
+        assertSameValue("\"\uD83D\uDE00\"");
+        assertSameValue("{\"\uD83D\uDE00\": [\"a\\uD83D\\uDE00b\", \"x\uD83D\uDE00y\"]}");
+        assertSameValue("\"\\ud83d\"");
+        BString value = (BString) JSONParser.parse(bytes("\"a\\ud83d\\ude00b\uD83D\uDE00\""));
+        Assert.assertEquals(value.getValue(), "a\uD83D\uDE00b\uD83D\uDE00");
+        Assert.assertEquals(value.length(), 4);
+        Assert.assertEquals(value.getCodePoint(1), 0x1F600);
+        Assert.assertEquals(value.getCodePoint(3), 0x1F600);
+    }
+
+    @Test
+    void testStructures() {
+        assertSameValue("{}");
+        assertSameValue(" [ ] ");
+        assertSameValue("{\"a\": {}, \"b\": [], \"c\": [{}, []], \"d\": null, \"e\": true, \"f\": false}");
+        assertSameValue("{\n\t\"a\" : [ 1 , \"x\" , { \"b\" : [ null ] } ] ,\r\n\"a\":2 }");
+        assertSameValue("[[[[[[1]]]]], [[2, [3]]], {\"a\": [{\"b\": {\"c\": [4]}}]}]");
+        // a non-string value can close an object with a ']'
+        assertSameValue("{\"a\": 1]");
+        assertSameValue("[{\"a\": {\"b\": true]}]");
+
+        StringBuilder deep = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            deep.append("[{\"a\":");
+        }
+        deep.append("1");
+        for (int i = 0; i < 1000; i++) {
+            deep.append("}]");
+        }
+        assertSameValue(deep.toString());
+    }
+
+    @DataProvider(name = "malformed")
+    Object[][] malformed() {
+        return new Object[][]{
+                {""}, {"  \n "}, {"{"}, {"["}, {"{ "}, {"[ "}, {"{\"a\""}, {"{\"a"}, {"{\"a\":"}, {"{\"a\": "},
+                {"{\"a\":1"}, {"{\"a\":\"x\""}, {"[1"}, {"[1,"}, {"[\"a\","}, {"[\"a\" "}, {"[1 2]"},
+                {"[\"a\" \"b\"]"}, {"{\"a\" 1}"}, {"{1:2}"}, {"{\"a\":1,}"}, {"{\"a\":1 x}"}, {"{\"a\":1,\"b\"]"},
+                {"1 2"}, {"{} x"}, {"[]]"}, {"\"abc"}, {"\"a\" \"b\""}, {"\"\\x\""}, {"\"\\"}, {"\"\\u12G4\""},
+                {"\"\\u12"}, {"{\"a\\q\": 1}"}, {"['a]"}, {"{\"a\": {\"b\": [1, {\"c\": x}]}}"},
+                {"{\n  \"a\": 1,\n  \"b\": [1, 2\n  x]\n}"}, {"{\n  \"a\": \"line\nbreak\",\n  \"b\": tru\n}"},
+                {"{\"\u00e9\uD83D\uDE00\": tru}"}, {"[\"\u4E2D\u6587\", 1, 2, nul, 3]"},
+                {"{\"a\": [1, 2]\n, \"b\": [3, 4}"}, {"{\"a\": \"\\\"\", 'b' 1}"}
+        };
+    }
+
+    @Test(dataProvider = "malformed")
+    void testMalformed(String document) {
+        assertSameError(document);
+    }
+
+    @Test
+    void testErrorLocation() {
+        assertError("{\n  \"a\": 1,\n  \"b\": [1, 2\n  x]\n}", "expected , or ] at line: 4 column: 3");
+        assertError("[1, tru]", "unrecognized token 'tru' at line: 1 column: 10");
+        assertError("[1,", "invalid JSON document");
+    }
+
+    @Test
+    void testParseToRecord() {
+        BRecordType customerType = new BRecordType("Customer", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        customerType.setFields(fields(field(BTypes.typeString, "name"), field(BTypes.typeInt, "age")));
+        BRecordType orderType = new BRecordType("Order", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        orderType.setFields(fields(field(BTypes.typeInt, "id"), field(BTypes.typeFloat, "total"),
+                                   field(customerType, "customer"), field(BTypes.typeString, "note")));
+
+        assertSameRecord("{\"id\": 1, \"total\": 2.5, \"customer\": {\"name\": \"\\u00e9\", \"age\": 30}, " +
+                                 "\"note\": \"n\", \"extra\": [1, {\"x\": null}]}", orderType);
+        assertSameRecord("{\"id\": 1, \"id\": 2, 'customer': {}}", orderType);
+        assertSameRecord("{}", orderType);
+        assertSameRecord("{\"id\": 1]", orderType);
+
+        // conversion errors are reported for the first field of the record, after the document is checked
+        assertSameRecord("{\"total\": \"x\", \"id\": \"y\"}", orderType);
+        assertSameRecord("{\"customer\": {\"age\": \"old\"}}", orderType);
+        assertSameRecord("{\"customer\": [1]}", orderType);
+        assertSameRecord("{\"id\": \"y\", \"id\": 3}", orderType);
+        assertSameRecord("{\"id\": \"y\", \"total\": tru}", orderType);
+        assertSameRecord("[1, 2]", orderType);
+        assertSameRecord("\"order\"", orderType);
+        assertSameRecord("", orderType);
+        assertSameRecord("{\"id\": 1,", orderType);
+        assertSameRecord("{\"customer\": {\"name\": \"a\" \"age\": 1}}", orderType);
+    }
+
+    private static void assertSameValue(String document) {
+        Object expected = JSONParser.parse(document);
+        Object actual = JSONParser.parse(bytes(document));
+        Assert.assertTrue(TypeChecker.isEqual(actual, expected), document);
+        assertSameTypes(actual, expected);
+    }
+
+    private static void assertSameTypes(Object actual, Object expected) {
+        if (expected instanceof MapValueImpl) {
+            MapValueImpl<?, ?> expectedMap = (MapValueImpl<?, ?>) expected;
+            MapValueImpl<?, ?> actualMap = (MapValueImpl<?, ?>) actual;
+            Assert.assertEquals(actualMap.getType(), expectedMap.getType());
+            for (Object key : expectedMap.getKeys()) {
+                assertSameTypes(actualMap.get(key), expectedMap.get(key));
+            }
+        } else if (expected instanceof ArrayValue) {
+            ArrayValue expectedArray = (ArrayValue) expected;
+            ArrayValue actualArray = (ArrayValue) actual;
+            Assert.assertEquals(actualArray.getType(), expectedArray.getType());
+            for (int i = 0; i < expectedArray.size(); i++) {
+                assertSameTypes(actualArray.get(i), expectedArray.get(i));
+            }
+        } else if (expected instanceof Double) {
+            Assert.assertEquals(Double.doubleToLongBits((Double) actual), Double.doubleToLongBits((Double) expected));
+        } else if (expected instanceof BString) {
+            Assert.assertEquals(((BString) actual).getValue(), ((BString) expected).getValue());
+        } else {
+            Assert.assertEquals(actual, expected);
+        }
+    }
+
+    private static void assertSameError(String document) {
+        String expected = null;
+        try {
+            JSONParser.parse(document);
+        } catch (BallerinaException e) {
+            expected = e.getMessage();
+        }
+        Assert.assertNotNull(expected, "no error for " + document);
+        assertError(document, expected);
+    }
+
+    private static void assertError(String document, String message) {
+        try {
+            JSONParser.parse(bytes(document));
+            Assert.fail("no error for " + document);
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), message, document);
+        }
+    }
+
+    private static void assertSameRecord(String document, BRecordType recordType) {
+        MapValueImpl<BString, Object> expected = null;
+        String expectedError = null;
+        try {
+            expected = JSONUtils.convertJSONToRecord(JSONParser.parse(document), recordType);
+        } catch (RuntimeException e) {
+            // conversion errors are error values, and parsing errors are BallerinaExceptions
+            expectedError = e.getMessage();
+        }
+        try {
+            MapValueImpl<BString, Object> actual = JSONParser.parseToRecord(bytes(document), recordType);
+            Assert.assertNull(expectedError, "no error for " + document);
+            Assert.assertEquals(actual.getType(), recordType);
+            Assert.assertTrue(TypeChecker.isEqual(actual, expected), document);
+        } catch (RuntimeException e) {
+            Assert.assertEquals(e.getMessage(), expectedError, document);
+        }
+    }
+
+    private static BField field(BType type, String name) {
+        return new BField(type, name, Flags.REQUIRED);
+    }
+
+    private static Map<String, BField> fields(BField... fields) {
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        for (BField field : fields) {
+            fieldMap.put(field.getFieldName(), field);
+        }
+        return fieldMap;
+    }
+
+    private static byte[] bytes(String document) {
+        return document.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.ByteArrayStringValue;
+import org.ballerinalang.jvm.values.DecimalValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for {@link JSONByteSerializer}, which check that it writes the same bytes as {@link JSONGenerator} with
+ * the UTF-8 charset.
+ */
+public class JSONByteSerializerTests {
+
+    private static final BPackage PKG = new BPackage("test", "json", "1.0.0");
+    private static final int ANYDATA_FLAGS = TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE);
+
+    @DataProvider(name = "strings")
+    Object[][] strings() {
+        char[] large = new char[20000];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = i % 3 == 0 ? 'a' : i % 3 == 1 ? '\u00e9' : '\u4e2d';
+        }
+        return new Object[][]{
+                {""}, {"plain"}, {"quote \" and backslash \\"}, {"\b\f\n\r\t"}, {"a/b"}, {"a/b \""},
+                {"form\ffeed"}, {"form\ffeed\n"}, {"control \u0001\u001f"}, {"latin \u00e9\u00ff"},
+                {"cjk \u4e2d\u6587"}, {"emoji \ud83d\ude00 pair"}, {"lone high \ud83d end"}, {"lone low \ude00 end"},
+                {"\ud83d"}, {"\ude00\ud83d"}, {"\ud83d\ud83d\ude00"}, {new String(large)}
+        };
+    }
+
+    @Test(dataProvider = "strings")
+    void testStrings(String value) throws IOException {
+        assertSameAsGenerator(value);
+        assertSameAsGenerator(StringUtils.fromString(value));
+        assertSameAsGenerator(ByteArrayStringValue.fromUtf8(value.getBytes(StandardCharsets.UTF_8)));
+
+        // strings as keys and as values of objects and arrays
+        MapValueImpl<BString, Object> map = newJsonMap();
+        map.put(StringUtils.fromString(value), StringUtils.fromString(value));
+        map.put(StringUtils.fromString("utf8"),
+                ByteArrayStringValue.fromUtf8(value.getBytes(StandardCharsets.UTF_8)));
+        assertSameAsGenerator(map);
+        assertSameAsGenerator(newJsonArray(value, StringUtils.fromString(value)));
+    }
+
+    @Test
+    void testByteArrayStrings() throws IOException {
+        // Latin-1 strings which are not ASCII have no UTF-8 form of their own
+        assertSameAsGenerator(ByteArrayStringValue.fromLatin1("caf\u00e9".getBytes(StandardCharsets.ISO_8859_1)));
+        assertSameAsGenerator(ByteArrayStringValue.fromLatin1("a \"b\"/c".getBytes(StandardCharsets.ISO_8859_1)));
+        // malformed UTF-8 is decoded to a regular string
+        assertSameAsGenerator(ByteArrayStringValue.fromUtf8(new byte[]{'a', (byte) 0xC3, '"'}));
+
+        // strings parsed from bytes are written from the bytes they were parsed from
+        Object parsed = JSONParser.parse(("{\"na\\/me\": \"\\u00e9\\\"\\ud83d\\ude00\", \"list\": [\"x\\ty\", " +
+                "\"\u4e2d\"]}").getBytes(StandardCharsets.UTF_8));
+        assertSameAsGenerator(parsed);
+        Assert.assertEquals(serialize(parsed),
+                            "{\"na/me\":\"\u00e9\\\"\ud83d\ude00\", \"list\":[\"x\\ty\", \"\u4e2d\"]}");
+    }
+
+    @Test
+    void testNumbers() throws IOException {
+        Object[] numbers = {0L, -1L, 42L, Long.MAX_VALUE, Long.MIN_VALUE, 0.0, -0.0, 1.0, 0.1, -2.5, 1.0E20, 1.0E-7,
+                Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, 255,
+                new DecimalValue("0"), new DecimalValue("1.50"), new DecimalValue("-123.456"),
+                new DecimalValue("12345678901234567890.123456789"), new DecimalValue("1E+10"),
+                new DecimalValue("0.000001")};
+        for (Object number : numbers) {
+            assertSameAsGenerator(number);
+        }
+        assertSameAsGenerator(newJsonArray(numbers));
+        Assert.assertEquals(serialize(newJsonArray(1L, 2.5, new DecimalValue("1.50"))), "[1, 2.5, 1.50]");
+    }
+
+    @Test
+    void testLiterals() throws IOException {
+        assertSameAsGenerator(null);
+        assertSameAsGenerator(true);
+        assertSameAsGenerator(false);
+        assertSameAsGenerator(newJsonArray(true, null, false));
+        assertSameAsGenerator(newJsonArray());
+        assertSameAsGenerator(newJsonMap());
+    }
+
+    @Test
+    void testNestedMaps() throws IOException {
+        MapValueImpl<BString, Object> inner = newJsonMap();
+        inner.put(StringUtils.fromString("id"), 7L);
+        inner.put(StringUtils.fromString("tags"), newJsonArray("a", newJsonArray(), newJsonMap()));
+        MapValueImpl<BString, Object> outer = newJsonMap();
+        outer.put(StringUtils.fromString("inner"), inner);
+        outer.put(StringUtils.fromString("list"), newJsonArray(inner, inner));
+        outer.put(StringUtils.fromString("none"), null);
+
+        MapValueImpl<BString, Object> intMap = new MapValueImpl<>(new BMapType(BTypes.typeInt));
+        intMap.put(StringUtils.fromString("count"), 3L);
+        outer.put(StringUtils.fromString("ints"), intMap);
+        assertSameAsGenerator(outer);
+    }
+
+    @Test
+    void testNestedRecords() throws IOException {
+        // type Address record {| string street; |}; type Person record { string name; Address address; json...; };
+        BRecordType addressType = new BRecordType("Address", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        addressType.setFields(fields(field(BTypes.typeString, "street")));
+        BRecordType personType = new BRecordType("Person", PKG, Flags.PUBLIC, false, ANYDATA_FLAGS);
+        personType.setFields(fields(field(BTypes.typeString, "name"), field(addressType, "address"),
+                                    field(BTypes.typeString, "quote\"d")));
+        personType.restFieldType = BTypes.typeJSON;
+
+        MapValueImpl<BString, Object> address = new MapValueImpl<>(addressType);
+        address.put(StringUtils.fromString("street"), StringUtils.fromString("Main \"St\""));
+        MapValueImpl<BString, Object> person = new MapValueImpl<>(personType);
+        person.put(StringUtils.fromString("name"), StringUtils.fromString("Ann \u00e9"));
+        person.put(StringUtils.fromString("address"), address);
+        person.put(StringUtils.fromString("quote\"d"), StringUtils.fromString("x"));
+        // a rest field, which is not one of the cached field names
+        person.put(StringUtils.fromString("rest\tfield"), newJsonArray(address, 1L));
+
+        // a record is written the same as a json object with the same entries
+        String expected = generate(toJsonMap(person));
+        Assert.assertEquals(serialize(person), expected);
+        Assert.assertEquals(serialize(person), expected);
+        Assert.assertEquals(serialize(newJsonArray(person, person)), "[" + expected + ", " + expected + "]");
+    }
+
+    @Test
+    void testRecordTypesOfSameName() throws IOException {
+        // record types of the same name are equal, but each is written with its own fields
+        BRecordType first = new BRecordType("Row", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        first.setFields(fields(field(BTypes.typeInt, "a"), field(BTypes.typeInt, "b")));
+        BRecordType second = new BRecordType("Row", PKG, Flags.PUBLIC, true, ANYDATA_FLAGS);
+        second.setFields(fields(field(BTypes.typeInt, "c")));
+        Assert.assertEquals(first, second);
+
+        MapValueImpl<BString, Object> firstRow = new MapValueImpl<>(first);
+        firstRow.put(StringUtils.fromString("a"), 1L);
+        firstRow.put(StringUtils.fromString("b"), 2L);
+        MapValueImpl<BString, Object> secondRow = new MapValueImpl<>(second);
+        secondRow.put(StringUtils.fromString("c"), 3L);
+        Assert.assertEquals(serialize(firstRow), "{\"a\":1, \"b\":2}");
+        Assert.assertEquals(serialize(secondRow), "{\"c\":3}");
+    }
+
+    private static void assertSameAsGenerator(Object json) throws IOException {
+        Assert.assertEquals(serialize(json), generate(json));
+    }
+
+    private static String serialize(Object json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSONByteSerializer.serialize(json, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String generate(Object json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSONGenerator gen = new JSONGenerator(out, StandardCharsets.UTF_8);
+        gen.serialize(json);
+        gen.flush();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static MapValueImpl<BString, Object> newJsonMap() {
+        return new MapValueImpl<>(new BMapType(BTypes.typeJSON));
+    }
+
+    private static BArray newJsonArray(Object... values) {
+        BArray array = BValueCreator.createArrayValue(new BArrayType(BTypes.typeJSON));
+        for (Object value : values) {
+            array.append(value instanceof String ? StringUtils.fromString((String) value) : value);
+        }
+        return array;
+    }
+
+    /**
+     * Copies a record to json objects, which {@link JSONGenerator} can write.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object toJsonMap(Object value) {
+        if (value instanceof MapValueImpl) {
+            MapValueImpl<BString, Object> json = newJsonMap();
+            for (Map.Entry<BString, Object> entry : ((MapValueImpl<BString, Object>) value).entrySet()) {
+                json.put(entry.getKey(), toJsonMap(entry.getValue()));
+            }
+            return json;
+        }
+        if (value instanceof BArray) {
+            BArray array = (BArray) value;
+            Object[] values = new Object[array.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = toJsonMap(array.get(i));
+            }
+            return newJsonArray(values);
+        }
+        return value;
+    }
+
+    private static BField field(BType type, String name) {
+        return new BField(type, name, Flags.REQUIRED);
+    }
+
+    private static Map<String, BField> fields(BField... fields) {
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        Arrays.stream(fields).forEach(field -> fieldMap.put(field.getFieldName(), field));
+        return fieldMap;
+    }
+}
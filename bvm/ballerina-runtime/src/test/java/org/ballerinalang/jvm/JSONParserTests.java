@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Test cases for the values created by the {@link JSONParser} entry points.
+ */
+public class JSONParserTests {
+
+    @DataProvider(name = "parsers")
+    Object[][] parsers() {
+        Function<String, Object> reader = json -> JSONParser.parse(new StringReader(json));
+        Function<String, Object> string = JSONParser::parse;
+        Function<String, Object> bytes = json -> JSONParser.parse(json.getBytes(StandardCharsets.UTF_8));
+        Function<String, Object> stream = json -> JSONParser.parse(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "UTF-8");
+        Function<String, Object> utf16Stream = json -> JSONParser.parse(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_16)), "UTF-16");
+        return new Object[][]{{reader}, {string}, {bytes}, {stream}, {utf16Stream}};
+    }
+
+    @Test(dataProvider = "parsers")
+    void testStringsAreBStrings(Function<String, Object> parser) {
+        // strings at the top level, in arrays and in objects are all ballerina strings
+        Object topLevel = parser.apply("\"top \\u00e9\"");
+        Assert.assertTrue(topLevel instanceof BString, topLevel.getClass().getName());
+        Assert.assertEquals(((BString) topLevel).getValue(), "top \u00e9");
+
+        ArrayValue array = (ArrayValue) parser.apply("[\"a\", 1, [\"b\"], {\"c\": \"d\"}]");
+        Assert.assertTrue(array.get(0) instanceof BString, array.get(0).getClass().getName());
+        Assert.assertEquals(array.get(1), 1L);
+        Assert.assertTrue(((ArrayValue) array.get(2)).get(0) instanceof BString);
+        Object field = ((MapValueImpl<?, ?>) array.get(3)).get(StringUtils.fromString("c"));
+        Assert.assertTrue(field instanceof BString, field.getClass().getName());
+        Assert.assertEquals(((BString) field).getValue(), "d");
+    }
+
+    @Test(dataProvider = "parsers")
+    void testRepeatedFieldNamesAreShared(Function<String, Object> parser) {
+        ArrayValue array = (ArrayValue) parser.apply("[{\"id\": 1, \"name\": \"a\"}, {\"name\": \"b\", \"id\": 2}]");
+        BString[] first = keys(array.get(0));
+        BString[] second = keys(array.get(1));
+        Assert.assertSame(first[0], second[1]);
+        Assert.assertSame(first[1], second[0]);
+    }
+
+    @Test(dataProvider = "parsers")
+    void testManyDistinctFieldNames(Function<String, Object> parser) {
+        // more names, and longer names, than the field name table keeps
+        int count = FieldNameTable.MAX_ENTRIES * 2;
+        String longName = new String(new char[FieldNameTable.MAX_NAME_LENGTH * 2]).replace('\0', 'k');
+        StringBuilder json = new StringBuilder("[{");
+        for (int i = 0; i < count; i++) {
+            json.append("\"field").append(i).append("\": ").append(i).append(", ");
+        }
+        json.append('"').append(longName).append("\": true}, {\"").append(longName).append("\": false}]");
+
+        ArrayValue array = (ArrayValue) parser.apply(json.toString());
+        MapValueImpl<?, ?> first = (MapValueImpl<?, ?>) array.get(0);
+        Assert.assertEquals(first.size(), count + 1);
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(first.get(StringUtils.fromString("field" + i)), (long) i);
+        }
+        Assert.assertEquals(first.get(StringUtils.fromString(longName)), true);
+        Assert.assertEquals(((MapValueImpl<?, ?>) array.get(1)).get(StringUtils.fromString(longName)), false);
+    }
+
+    @Test
+    void testParseAfterFailedParse() {
+        // nothing of a failed document is left over for the next one parsed on the same thread
+        Assert.assertThrows(BallerinaException.class, () -> JSONParser.parse(new StringReader("{\"abc\": \"de")));
+        Object value = JSONParser.parse(new StringReader("{\"x\": \"y\"}"));
+        BString[] keys = keys(value);
+        Assert.assertEquals(keys.length, 1);
+        Assert.assertEquals(keys[0].getValue(), "x");
+        Assert.assertEquals(((BString) ((MapValueImpl<?, ?>) value).get(keys[0])).getValue(), "y");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BString[] keys(Object map) {
+        return ((MapValueImpl<BString, ?>) map).getKeys();
+    }
+}
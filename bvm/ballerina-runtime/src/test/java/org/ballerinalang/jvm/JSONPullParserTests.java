@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test cases for {@link JSONPullParser}.
+ */
+public class JSONPullParserTests {
+
+    @Test
+    void testSequence() {
+        String ndjson = "{\"id\": 1, \"tags\": [\"a\", \"b\"]}\n{\"id\": 2}\r\n\n\"text\"\n42\n-1.5 true null\n[1, 2]\n";
+        assertValues(readAll(ndjson, ""), "{\"id\":1, \"tags\":[\"a\", \"b\"]}", "{\"id\":2}", "\"text\"", "42", "-1.5",
+                     "true", "null", "[1, 2]");
+        assertValues(readAll("", ""));
+        assertValues(readAll(" \n\t ", ""));
+        assertValues(readAll("{}", ""), "{}");
+    }
+
+    @Test
+    void testTopLevelArray() {
+        assertValues(readAll("[{\"id\": 1}, \"two\", 3, [4, [5]], {\"a\": {\"b\": [\"]\"]}}, null]", ""),
+                     "{\"id\":1}", "\"two\"", "3", "[4, [5]]", "{\"a\":{\"b\":[\"]\"]}}", "null");
+        assertValues(readAll("  [ ]  ", ""));
+        assertValues(readAll("[\n1\n,\n2\n]", ""), "1", "2");
+    }
+
+    @Test
+    void testPointer() {
+        String document = "{\"meta\": {\"count\": 2, \"list\": [0]}, \"a/b\": {\"m~n\": [\"x\", \"y\"]}, " +
+                "\"items\": [{\"id\": 1}, {\"id\": 2}], \"last\": true}";
+        assertValues(readAll(document, "/items"), "{\"id\":1}", "{\"id\":2}");
+        assertValues(readAll(document, "/meta/list"), "0");
+        assertValues(readAll(document, "/a~1b/m~0n"), "\"x\"", "\"y\"");
+        assertValues(readAll(document, "/items/1"), "{\"id\":2}");
+        // a value that is not an array is returned on its own
+        assertValues(readAll(document, "/meta/count"), "2");
+        assertValues(readAll(document, "/last"), "true");
+        assertValues(readAll("[[1, 2], [3, 4]]", "/1"), "3", "4");
+    }
+
+    @Test
+    void testPointerNotFound() {
+        String document = "{\"items\": [{\"id\": 1}], \"other\": {}}";
+        assertError(document, "/missing", "JSON pointer '/missing' does not match the input");
+        assertError(document, "/items/1", "JSON pointer '/items/1' does not match the input");
+        assertError(document, "/items/x", "JSON pointer '/items/x' does not match the input");
+        assertError(document, "/other/x", "JSON pointer '/other/x' does not match the input");
+        assertError("[1]", "/a", "JSON pointer '/a' does not match the input");
+        try {
+            new JSONPullParser(new StringReader(document), "items");
+            Assert.fail("invalid pointer accepted");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), "invalid JSON pointer 'items': expected '/' at the start");
+        }
+    }
+
+    @Test
+    void testMalformedInput() {
+        JSONPullParser parser = new JSONPullParser(new StringReader("[{\"id\": 1} {\"id\": 2}]"), "");
+        Assert.assertTrue(parser.hasNext());
+        Assert.assertEquals(jsonString(parser.next()), "{\"id\":1}");
+        try {
+            parser.hasNext();
+            Assert.fail("missing separator accepted");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), "expected , or ]");
+        }
+
+        // a malformed value is reported by the JSON parser
+        parser = new JSONPullParser(new StringReader("{\"id\": 1}\n{\"id\": tru}\n"), "");
+        Assert.assertEquals(jsonString(parser.next()), "{\"id\":1}");
+        try {
+            parser.next();
+            Assert.fail("malformed value accepted");
+        } catch (BallerinaException e) {
+            Assert.assertTrue(e.getMessage().startsWith("unrecognized token 'tru'"), e.getMessage());
+        }
+
+        parser = new JSONPullParser(new StringReader("[{\"id\": \"1"), "");
+        Assert.assertTrue(parser.hasNext());
+        try {
+            parser.next();
+            Assert.fail("unterminated value accepted");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), "unexpected end of JSON document");
+        }
+    }
+
+    @Test
+    void testLargeValues() {
+        // values larger than the read buffer, and split across reads
+        StringBuilder expected = new StringBuilder();
+        StringBuilder input = new StringBuilder("[");
+        for (int i = 0; i < 3; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = 0; j < 5000 * (i + 1); j++) {
+                text.append((char) ('a' + j % 26));
+            }
+            if (i > 0) {
+                input.append(',');
+            }
+            input.append("{\"text\": \"").append(text).append("\", \"i\": ").append(i).append('}');
+            expected.append(text);
+        }
+        input.append(']');
+
+        JSONPullParser parser = new JSONPullParser(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), "");
+        StringBuilder actual = new StringBuilder();
+        int count = 0;
+        while (parser.hasNext()) {
+            actual.append(((MapValueImpl<?, ?>) parser.next()).get(
+                    StringUtils.fromString("text")));
+            count++;
+        }
+        Assert.assertEquals(count, 3);
+        Assert.assertEquals(actual.toString(), expected.toString());
+    }
+
+    @Test
+    void testNextAfterEnd() throws IOException {
+        JSONPullParser parser = new JSONPullParser(new StringReader("[1]"), "");
+        Assert.assertEquals(parser.next(), 1L);
+        Assert.assertFalse(parser.hasNext());
+        try {
+            parser.next();
+            Assert.fail("value read after the end");
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), "no more JSON values");
+        }
+
+        parser = new JSONPullParser(new StringReader("1\n2"), "");
+        Assert.assertTrue(parser.hasNext());
+        parser.close();
+        Assert.assertFalse(parser.hasNext());
+    }
+
+    private static List<String> readAll(String input, String pointer) {
+        JSONPullParser parser = new JSONPullParser(
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), pointer);
+        List<String> values = new ArrayList<>();
+        while (parser.hasNext()) {
+            Object value = parser.next();
+            values.add(jsonString(value));
+        }
+        return values;
+    }
+
+    private static void assertValues(List<String> actual, String... expected) {
+        List<String> expectedValues = new ArrayList<>();
+        for (String value : expected) {
+            Object json = JSONParser.parse(value);
+            expectedValues.add(jsonString(json));
+        }
+        Assert.assertEquals(actual, expectedValues);
+    }
+
+    private static String jsonString(Object value) {
+        return value == null ? "null" : org.ballerinalang.jvm.values.utils.StringUtils.getJsonString(value);
+    }
+
+    private static void assertError(String input, String pointer, String message) {
+        try {
+            readAll(input, pointer);
+            Assert.fail("no error for " + pointer);
+        } catch (BallerinaException e) {
+            Assert.assertEquals(e.getMessage(), message);
+        }
+    }
+}
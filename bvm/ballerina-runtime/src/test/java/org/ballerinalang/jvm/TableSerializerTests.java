@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTableType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.TableValueImpl;
+import org.ballerinalang.jvm.values.XMLValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for {@link TableSerializer}.
+ */
+public class TableSerializerTests {
+
+    @Test
+    void testSerializeXML() throws IOException {
+        TableValueImpl<?, ?> table = newTable(2);
+        Assert.assertEquals(serializeXML(table, false),
+                            "<results><result><id>0</id><name>row 0</name></result>" +
+                                    "<result><id>1</id><name>row 1</name></result></results>");
+        Assert.assertEquals(serializeXML(newTable(0), false), "<results></results>");
+    }
+
+    @Test
+    void testParallelSerializeXML() throws IOException {
+        // enough rows for several chunks, the last of which is not full
+        TableValueImpl<?, ?> table = newTable(TableSerializer.PARALLEL_THRESHOLD + 2500);
+        String xml = serializeXML(table, true);
+        Assert.assertEquals(xml, serializeXML(table, false));
+        Assert.assertTrue(xml.endsWith("<result><id>12499</id><name>row 12499</name></result></results>"));
+    }
+
+    @Test
+    void testSerializeJSON() throws IOException {
+        TableValueImpl<?, ?> table = newTable(2);
+        Assert.assertEquals(serializeJSON(table, false),
+                            "[{\"id\":0, \"name\":\"row 0\"}, {\"id\":1, \"name\":\"row 1\"}]");
+        Assert.assertEquals(serializeJSON(table, false), generateJSON(table));
+        Assert.assertEquals(serializeJSON(newTable(0), false), "[]");
+    }
+
+    @Test
+    void testParallelSerializeJSON() throws IOException {
+        TableValueImpl<?, ?> table = newTable(TableSerializer.PARALLEL_THRESHOLD + 2500);
+        String json = serializeJSON(table, true);
+        Assert.assertEquals(json, serializeJSON(table, false));
+        Assert.assertEquals(json, generateJSON(table));
+    }
+
+    @Test
+    void testParallelSerializeWriteFailure() {
+        TableValueImpl<?, ?> table = newTable(TableSerializer.PARALLEL_THRESHOLD);
+        OutputStream failingOut = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+        Assert.assertThrows(IOException.class, () -> TableSerializer.serializeJSON(table, failingOut, true));
+        Assert.assertThrows(IOException.class, () -> TableSerializer.serializeXML(table, failingOut, true));
+    }
+
+    @Test
+    void testTableSerialize() throws IOException {
+        // a table which is the payload of a message is written as the JSON of its rows
+        TableValueImpl<?, ?> table = newTable(TableSerializer.PARALLEL_THRESHOLD + 10);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.serialize(out);
+        Assert.assertEquals(new String(out.toByteArray(), StandardCharsets.UTF_8), generateJSON(table));
+    }
+
+    @Test
+    void testTableToXML() throws IOException {
+        XMLValue xml = XMLFactory.tableToXML(newTable(3));
+        Assert.assertEquals(xml.toString(), "<results><result><id>0</id><name>row 0</name></result>" +
+                "<result><id>1</id><name>row 1</name></result><result><id>2</id><name>row 2</name></result>" +
+                "</results>");
+
+        // the rows of all the chunks are in the one element
+        TableValueImpl<?, ?> table = newTable(TableSerializer.ROWS_PER_CHUNK * 2 + 5);
+        xml = XMLFactory.tableToXML(table);
+        Assert.assertEquals(xml.toString(), serializeXML(table, false));
+        Assert.assertEquals(xml.size(), 1);
+        Assert.assertEquals(xml.children().size(), TableSerializer.ROWS_PER_CHUNK * 2 + 5);
+
+        Assert.assertEquals(XMLFactory.tableToXML(newTable(0)).toString(), "<results/>");
+    }
+
+    private static String serializeJSON(TableValueImpl<?, ?> table, boolean parallel) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TableSerializer.serializeJSON(table, out, parallel);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the JSON of the table with the generic JSON generator, which the serializer is to match.
+     */
+    private static String generateJSON(TableValueImpl<?, ?> table) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JSONGenerator gen = new JSONGenerator(out);
+        new TableJSONDataSource(table).serialize(gen);
+        gen.flush();
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String serializeXML(TableValueImpl<?, ?> table, boolean parallel) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TableSerializer.serializeXML(table, out, parallel);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TableValueImpl<?, ?> newTable(int rows) {
+        // type Row record {| int id; string name; |};
+        BRecordType rowType = new BRecordType("Row", new BPackage("test", "table", "1.0.0"), Flags.PUBLIC, true,
+                                              TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE));
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED));
+        fields.put("name", new BField(BTypes.typeString, "name", Flags.REQUIRED));
+        rowType.setFields(fields);
+
+        TableValueImpl table = new TableValueImpl(new BTableType(rowType, false));
+        for (int i = 0; i < rows; i++) {
+            String row = "{\"id\": " + i + ", \"name\": \"row " + i + "\"}";
+            table.add(JSONParser.parseToRecord(row.getBytes(StandardCharsets.UTF_8), rowType));
+        }
+        return table;
+    }
+}
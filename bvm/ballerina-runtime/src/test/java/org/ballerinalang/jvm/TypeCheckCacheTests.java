@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.ErrorValue;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for {@link TypeCheckCache}.
+ */
+public class TypeCheckCacheTests {
+
+    @Test
+    void testGetAndPut() {
+        TypeCheckCache cache = new TypeCheckCache(4, 4);
+        BType source = new BMapType(BTypes.typeInt);
+        BType target = new BMapType(BTypes.typeAnydata);
+        Assert.assertNull(cache.get(source, target));
+
+        cache.put(source, target, true);
+        cache.put(target, source, false);
+        Assert.assertEquals(cache.get(source, target), Boolean.TRUE);
+        Assert.assertEquals(cache.get(target, source), Boolean.FALSE);
+        Assert.assertEquals(cache.size(), 2);
+    }
+
+    @Test
+    void testIdentityKeys() {
+        TypeCheckCache cache = new TypeCheckCache(4, 4);
+        BType source = new BMapType(BTypes.typeInt);
+        BType target = new BMapType(BTypes.typeAnydata);
+        cache.put(source, target, true);
+
+        // Equal types created separately are not the same cache entry
+        Assert.assertNull(cache.get(new BMapType(BTypes.typeInt), target));
+        Assert.assertNull(cache.get(source, new BMapType(BTypes.typeAnydata)));
+    }
+
+    @Test
+    void testTargetTypesBoundedPerSourceType() {
+        TypeCheckCache cache = new TypeCheckCache(4, 4);
+        BType stableSource = new BMapType(BTypes.typeInt);
+        BType stableTarget = new BMapType(BTypes.typeAnydata);
+        cache.put(stableSource, stableTarget, true);
+
+        BType source = new BMapType(BTypes.typeString);
+        for (int i = 0; i < 10; i++) {
+            cache.put(source, new BMapType(BTypes.typeAnydata), true);
+        }
+
+        // Only the results of the source type with too many target types are cleared
+        Assert.assertEquals(cache.get(stableSource, stableTarget), Boolean.TRUE);
+        // The 9th target type cleared the results of the source type, and two target types were added since
+        Assert.assertEquals(cache.size(), 3);
+    }
+
+    @Test
+    void testReferencedSourceTypesSurviveEviction() {
+        TypeCheckCache cache = new TypeCheckCache(4, 4);
+        BType stableSource = new BMapType(BTypes.typeInt);
+        BType target = new BMapType(BTypes.typeAnydata);
+        cache.put(stableSource, target, true);
+
+        // Short-lived source types, with the stable source type looked up in between
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(cache.get(stableSource, target), Boolean.TRUE);
+            cache.put(new BMapType(BTypes.typeString), target, false);
+        }
+        Assert.assertEquals(cache.get(stableSource, target), Boolean.TRUE);
+        Assert.assertTrue(cache.size() <= 4);
+    }
+
+    @Test
+    void testUnreferencedSourceTypesEvicted() {
+        TypeCheckCache cache = new TypeCheckCache(4, 4);
+        BType[] sources = new BType[4];
+        BType target = new BMapType(BTypes.typeAnydata);
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new BMapType(BTypes.typeInt);
+            cache.put(sources[i], target, true);
+        }
+        Assert.assertEquals(cache.get(sources[0], target), Boolean.TRUE);
+
+        // A full cache evicts the source types that were not looked up since they were cached
+        cache.put(new BMapType(BTypes.typeString), target, false);
+        Assert.assertEquals(cache.get(sources[0], target), Boolean.TRUE);
+        for (int i = 1; i < sources.length; i++) {
+            Assert.assertNull(cache.get(sources[i], target));
+        }
+        Assert.assertEquals(cache.size(), 2);
+    }
+
+    @Test
+    void testCastThroughCache() {
+        BMapType intMapType = new BMapType(BTypes.typeInt);
+        BMapType anydataMapType = new BMapType(BTypes.typeAnydata);
+        BMapType stringMapType = new BMapType(BTypes.typeString);
+        MapValueImpl<Object, Object> intMap = new MapValueImpl<>(intMapType);
+
+        // The second cast of each pair is answered by the cache
+        for (int i = 0; i < 2; i++) {
+            Assert.assertSame(TypeChecker.checkCast(intMap, anydataMapType), intMap);
+            Assert.assertTrue(TypeChecker.checkIsType(intMapType, anydataMapType));
+            Assert.assertFalse(TypeChecker.checkIsType(anydataMapType, intMapType));
+            try {
+                TypeChecker.checkCast(intMap, stringMapType);
+                Assert.fail("expected a type cast error");
+            } catch (ErrorValue e) {
+                Assert.assertEquals(e.getMessage(), "{ballerina}TypeCastError");
+            }
+        }
+    }
+
+    @Test
+    void testCastWithShortLivedTypes() {
+        BMapType intMapType = new BMapType(BTypes.typeInt);
+        BMapType anydataMapType = new BMapType(BTypes.typeAnydata);
+        MapValueImpl<Object, Object> intMap = new MapValueImpl<>(intMapType);
+
+        for (int i = 0; i < 5000; i++) {
+            BMapType shortLivedType = new BMapType(i % 2 == 0 ? BTypes.typeInt : BTypes.typeString);
+            Assert.assertEquals(TypeChecker.checkIsType(shortLivedType, anydataMapType), true);
+            Assert.assertEquals(TypeChecker.checkIsType(shortLivedType, intMapType), i % 2 == 0);
+            Assert.assertSame(TypeChecker.checkCast(intMap, anydataMapType), intMap);
+        }
+    }
+
+    @Test
+    void testIsSameType() {
+        BArrayType intArrayType = new BArrayType(BTypes.typeInt);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(TypeChecker.isSameType(intArrayType, new BArrayType(BTypes.typeInt)));
+            Assert.assertFalse(TypeChecker.isSameType(intArrayType, new BArrayType(BTypes.typeString)));
+            Assert.assertTrue(TypeChecker.isSameType(new BMapType(BTypes.typeInt), new BMapType(BTypes.typeInt)));
+            Assert.assertFalse(TypeChecker.isSameType(new BMapType(BTypes.typeInt),
+                                                      new BMapType(BTypes.typeString)));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm;
+
+import org.ballerinalang.jvm.values.ErrorValue;
+import org.ballerinalang.jvm.values.XMLItem;
+import org.ballerinalang.jvm.values.XMLSequence;
+import org.ballerinalang.jvm.values.XMLValue;
+import org.ballerinalang.jvm.values.api.BXML;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Test cases for {@link XMLLazyContent}, which check that an XML document parsed lazily gives the same tree as when
+ * it is parsed eagerly.
+ */
+public class XMLLazyContentTests {
+
+    @DataProvider(name = "documents")
+    Object[][] documents() {
+        return new Object[][]{
+                // namespaces declared and re-declared in nested scopes
+                {"<a xmlns=\"urn:a\" xmlns:p=\"urn:p\"><b><p:c p:attr=\"1\"/><d xmlns=\"urn:d\"><e>x</e>" +
+                         "<p:f xmlns:p=\"urn:q\"><p:g/><h/></p:f></d><i/></b><p:j><k/></p:j></a>"},
+                {"<p:a xmlns:p=\"urn:p\"><b xmlns=\"\"><c/></b><d xmlns=\"urn:d\"><e xmlns=\"\"><f/></e></d></p:a>"},
+                {"<a><b xmlns:p=\"urn:p\"><c><p:d><p:e/></p:d></c></b><c xmlns:p=\"urn:other\"><p:d/></c></a>"},
+                // '>' and quotes inside attribute values
+                {"<a x=\"1>2\" y='a>b'><b z=\"c>d\" w='\"'>text</b><c q=\"'>'\"><d/></c><e s=\"/\"><f/></e></a>"},
+                // comments, processing instructions and CDATA between elements, which may look like tags
+                {"<!-- top --><?pi top?><a><!-- <b> --><?pi <c>?><![CDATA[<d>]]><e>1</e><!--x--><f><![CDATA[" +
+                         "</f>]]></f><?end?></a><!-- after -->"},
+                // empty elements mixed with elements with content
+                {"<a><b/><c></c><d>x</d><e /><f><g/><h></h><i>y<j/>z</i></f><k attr=\"v\"/></a>"},
+                {"<a>text<b>more</b>tail</a>"},
+                {"<a/>"},
+        };
+    }
+
+    @Test(dataProvider = "documents")
+    void testSameTreeAsEagerParsing(String document) {
+        XMLValue lazy = XMLFactory.parseLazily(document);
+        XMLValue eager = XMLFactory.parse(document);
+        assertSameTree(lazy, eager);
+        Assert.assertEquals(lazy.toString(), eager.toString());
+    }
+
+    @Test
+    void testNestedNamespaceResolution() {
+        XMLSequence document = (XMLSequence) XMLFactory.parseLazily(
+                "<a xmlns=\"urn:a\" xmlns:p=\"urn:p\"><d xmlns=\"urn:d\"><p:f xmlns:p=\"urn:q\"><p:g/><h/></p:f>" +
+                        "</d></a>");
+        XMLItem a = (XMLItem) document.getChildrenList().get(0);
+        XMLItem d = child(a, 0);
+        XMLItem f = child(d, 0);
+        Assert.assertEquals(f.getElementName(), "{urn:q}f");
+        Assert.assertEquals(child(f, 0).getElementName(), "{urn:q}g");
+        Assert.assertEquals(child(f, 1).getElementName(), "{urn:d}h");
+    }
+
+    @Test
+    void testMismatchedEndTags() {
+        String[] documents = {"<a><b></c></a>", "<a><b></a>", "<a></b>", "<a><b></b>", "<a><b/></a></a>"};
+        for (String document : documents) {
+            // the tags are matched when the document is scanned, so these fail on parsing
+            Assert.assertThrows(ErrorValue.class, () -> XMLFactory.parse(document));
+            Assert.assertThrows(ErrorValue.class, () -> XMLFactory.parseLazily(document));
+        }
+    }
+
+    @Test
+    void testErrorsDeferredUntilNavigation() {
+        String[] documents = {"<a><b>&undefined;</b><c>ok</c></a>", "<a><b><d x=\"1\" x=\"2\"/></b><c>ok</c></a>",
+                "<a><b>1 & 2</b><c>ok</c></a>", "<a><b><1/></b><c>ok</c></a>"};
+        for (String document : documents) {
+            Assert.assertThrows(ErrorValue.class, () -> XMLFactory.parse(document));
+
+            // the error is in the content of b, which is parsed only when b is navigated
+            XMLSequence lazy = (XMLSequence) XMLFactory.parseLazily(document);
+            XMLItem a = (XMLItem) lazy.getChildrenList().get(0);
+            XMLItem b = child(a, 0);
+            XMLItem c = child(a, 1);
+            Assert.assertEquals(b.getElementName(), "b");
+            Assert.assertEquals(c.children().toString(), "ok");
+            Assert.assertThrows(ErrorValue.class, () -> b.children());
+        }
+    }
+
+    @Test
+    void testDocumentTypeParsedEagerly() {
+        String document = "<!DOCTYPE a [<!ENTITY e \"entity\">]><a><b>&e;</b></a>";
+        XMLValue lazy = XMLFactory.parseLazily(document);
+        assertSameTree(lazy, XMLFactory.parse(document));
+        Assert.assertEquals(lazy.toString(), "<a><b>entity</b></a>");
+    }
+
+    private static XMLItem child(XMLItem parent, int index) {
+        return (XMLItem) parent.getChildrenSeq().getChildrenList().get(index);
+    }
+
+    private static void assertSameTree(BXML lazy, BXML eager) {
+        Assert.assertEquals(lazy.getNodeType(), eager.getNodeType());
+        switch (eager.getNodeType()) {
+            case SEQUENCE:
+                assertSameChildren(((XMLSequence) lazy).getChildrenList(), ((XMLSequence) eager).getChildrenList());
+                break;
+            case ELEMENT:
+                XMLItem lazyItem = (XMLItem) lazy;
+                XMLItem eagerItem = (XMLItem) eager;
+                Assert.assertEquals(lazyItem.getQName(), eagerItem.getQName());
+                Assert.assertEquals(lazyItem.getQName().getPrefix(), eagerItem.getQName().getPrefix());
+                Assert.assertEquals(lazyItem.getAttributesMap(), eagerItem.getAttributesMap(),
+                                    eagerItem.getElementName());
+                assertSameChildren(lazyItem.getChildrenSeq().getChildrenList(),
+                                   eagerItem.getChildrenSeq().getChildrenList());
+                break;
+            default:
+                Assert.assertEquals(lazy.toString(), eager.toString());
+        }
+    }
+
+    private static void assertSameChildren(List<BXML> lazy, List<BXML> eager) {
+        Assert.assertEquals(lazy.size(), eager.size());
+        for (int i = 0; i < eager.size(); i++) {
+            assertSameTree(lazy.get(i), eager.get(i));
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import org.ballerinalang.jvm.BLock;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for running strands with the {@link Scheduler} in each {@link SchedulerMode}.
+ */
+public class SchedulerTests {
+
+    private static final int NUM_THREADS = 4;
+
+    @DataProvider(name = "modes")
+    public Object[][] modes() {
+        return new Object[][]{
+                {SchedulerMode.SHARED},
+                {SchedulerMode.WORK_STEALING},
+                {SchedulerMode.VIRTUAL_THREAD}
+        };
+    }
+
+    @Test(dataProvider = "modes")
+    void testModeResolution(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        if (mode == SchedulerMode.VIRTUAL_THREAD && !VirtualThreads.isSupported()) {
+            Assert.assertEquals(scheduler.getMode(), SchedulerMode.SHARED);
+        } else {
+            Assert.assertEquals(scheduler.getMode(), mode);
+        }
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testFanOut(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        AtomicInteger completed = new AtomicInteger();
+        Function<Object[], Object> child = params -> completed.incrementAndGet();
+        Function<Object[], Object> parent = params -> {
+            Strand strand = (Strand) params[0];
+            for (int i = 0; i < 10; i++) {
+                scheduler.schedule(new Object[1], child, strand, null);
+            }
+            return completed.incrementAndGet();
+        };
+        for (int i = 0; i < 100; i++) {
+            scheduler.schedule(new Object[1], parent, null, null);
+        }
+
+        // Returns once all the strands are done, as the scheduler is not immortal
+        scheduler.start();
+        Assert.assertEquals(completed.get(), 1100);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testYieldAndResume(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        AtomicInteger executions = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        Function<Object[], Object> function = params -> {
+            Strand strand = (Strand) params[0];
+            if (strand.resumeIndex == 0) {
+                // Yield, and get rescheduled right away
+                strand.resumeIndex = 1;
+                executions.incrementAndGet();
+                strand.setState(State.YIELD);
+                return null;
+            }
+            if (strand.resumeIndex == 1) {
+                // Block, until another thread unblocks the strand
+                strand.resumeIndex = 2;
+                executions.incrementAndGet();
+                strand.setState(State.BLOCK_AND_YIELD);
+                new Thread(() -> scheduler.unblockStrand(strand)).start();
+                return null;
+            }
+            executions.incrementAndGet();
+            return completed.incrementAndGet();
+        };
+        for (int i = 0; i < 50; i++) {
+            scheduler.schedule(new Object[1], function, null, null);
+        }
+
+        scheduler.start();
+        Assert.assertEquals(completed.get(), 50);
+        Assert.assertEquals(executions.get(), 150);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testLockContention(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        BLock lock = new BLock();
+        int[] counter = new int[1];
+        AtomicInteger completed = new AtomicInteger();
+        Function<Object[], Object> function = params -> {
+            Strand strand = (Strand) params[0];
+            if (!lock.lock(strand)) {
+                // The strand is resumed, and tries again, once the lock is released
+                return null;
+            }
+            for (int i = 0; i < 100; i++) {
+                counter[0]++;
+                if (i == 50) {
+                    Thread.yield();
+                }
+            }
+            lock.unlock();
+            return completed.incrementAndGet();
+        };
+        for (int i = 0; i < 200; i++) {
+            scheduler.schedule(new Object[1], function, null, null);
+        }
+
+        scheduler.start();
+        Assert.assertEquals(completed.get(), 200);
+        Assert.assertEquals(counter[0], 20000);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testImmortalSchedulerShutdown(SchedulerMode mode) throws InterruptedException {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, true, mode);
+        CountDownLatch done = new CountDownLatch(20);
+        Function<Object[], Object> function = params -> {
+            done.countDown();
+            return null;
+        };
+        for (int i = 0; i < 20; i++) {
+            scheduler.schedule(new Object[1], function, null, null);
+        }
+
+        Thread main = new Thread(scheduler::start);
+        main.start();
+        Assert.assertTrue(done.await(10, TimeUnit.SECONDS));
+        // An immortal scheduler keeps running without strands, until it is poisoned
+        main.join(200);
+        Assert.assertTrue(main.isAlive());
+
+        scheduler.poison();
+        main.join(10000);
+        Assert.assertFalse(main.isAlive());
+    }
+}
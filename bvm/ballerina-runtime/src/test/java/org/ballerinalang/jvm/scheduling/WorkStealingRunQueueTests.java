@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.ballerinalang.jvm.scheduling.ItemGroup.POISON_PILL;
+
+/**
+ * Test cases for {@link WorkStealingRunQueue}. Idle workers park without a timeout, so a lost signal shows up as a
+ * group which is never taken.
+ */
+public class WorkStealingRunQueueTests {
+
+    private static final int NUM_WORKERS = 4;
+
+    @Test(timeOut = 20000)
+    void testTakeWaitsForAdd() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(1);
+        List<ItemGroup> taken = new ArrayList<>();
+        Thread worker = startWorker(queue, group -> taken.add(group), new AtomicReference<>());
+
+        // the worker parks on the empty queue, until the group is added
+        waitUntilParked(worker);
+        ItemGroup group = newGroup();
+        queue.add(group);
+        queue.add(POISON_PILL);
+        worker.join(10000);
+        Assert.assertFalse(worker.isAlive());
+        Assert.assertEquals(taken.size(), 1);
+        Assert.assertSame(taken.get(0), group);
+        Assert.assertEquals(queue.size(), 0);
+    }
+
+    @Test(timeOut = 20000)
+    void testGroupOfBusyWorkerTakenByIdleWorker() throws InterruptedException {
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(2);
+        ItemGroup blocking = newGroup();
+        ItemGroup resumed = newGroup();
+        CountDownLatch blockingTaken = new CountDownLatch(1);
+        CountDownLatch resumedTaken = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        RunAction action = group -> {
+            if (group == blocking) {
+                blockingTaken.countDown();
+                release.await();
+            } else if (group == resumed) {
+                resumedTaken.countDown();
+            }
+        };
+        Thread first = startWorker(queue, action, failure);
+        Thread second = startWorker(queue, action, failure);
+        waitUntilParked(first);
+        waitUntilParked(second);
+
+        queue.add(blocking);
+        Assert.assertTrue(blockingTaken.await(10, TimeUnit.SECONDS));
+        // the group is handed back to the worker which ran it last, which is busy, so the idle worker must take it
+        resumed.lastWorkerId = blocking.lastWorkerId;
+        queue.add(resumed);
+        Assert.assertTrue(resumedTaken.await(10, TimeUnit.SECONDS));
+
+        release.countDown();
+        queue.add(POISON_PILL);
+        queue.add(POISON_PILL);
+        first.join(10000);
+        second.join(10000);
+        Assert.assertNull(failure.get());
+    }
+
+    @Test(timeOut = 120000)
+    void testEveryAddWakesAWorker() throws InterruptedException {
+        // Each round adds a group for every worker, and a worker holds its group until all of them are taken, so a
+        // round completes only if each group reaches a separate worker. Some of the groups of a round are added by
+        // the workers as they leave the previous round, while the other workers go idle, and the rest by this thread.
+        // This thread adds at least one group, so that a round does not start before it has seen the previous one.
+        WorkStealingRunQueue queue = new WorkStealingRunQueue(NUM_WORKERS);
+        int rounds = 20000;
+        Random random = new Random(42);
+        int[] completedRounds = new int[1];
+        int[] addedByWorkers = new int[1];
+        AtomicInteger workerAdds = new AtomicInteger();
+        Semaphore roundDone = new Semaphore(0);
+        CyclicBarrier allTaken = new CyclicBarrier(NUM_WORKERS, () -> {
+            completedRounds[0]++;
+            addedByWorkers[0] = completedRounds[0] < rounds ? random.nextInt(NUM_WORKERS) : 0;
+            workerAdds.set(addedByWorkers[0]);
+            roundDone.release();
+        });
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        RunAction action = group -> {
+            allTaken.await(10, TimeUnit.SECONDS);
+            if (workerAdds.getAndDecrement() > 0) {
+                queue.add(newGroup());
+            }
+        };
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < NUM_WORKERS; i++) {
+            workers.add(startWorker(queue, action, failure));
+        }
+
+        addGroups(queue, NUM_WORKERS, random);
+        for (int round = 1; round <= rounds; round++) {
+            Assert.assertTrue(roundDone.tryAcquire(10, TimeUnit.SECONDS), "round " + round + " did not complete");
+            if (round < rounds) {
+                addGroups(queue, NUM_WORKERS - addedByWorkers[0], random);
+            }
+        }
+
+        for (int i = 0; i < NUM_WORKERS; i++) {
+            queue.add(POISON_PILL);
+        }
+        for (Thread worker : workers) {
+            worker.join(10000);
+            Assert.assertFalse(worker.isAlive());
+        }
+        Assert.assertNull(failure.get());
+    }
+
+    private static void addGroups(WorkStealingRunQueue queue, int count, Random random) {
+        for (int i = 0; i < count; i++) {
+            ItemGroup group = newGroup();
+            if (random.nextBoolean()) {
+                // hand the group back to a worker, which may get more than one of them
+                group.lastWorkerId = random.nextInt(NUM_WORKERS);
+            }
+            queue.add(group);
+        }
+    }
+
+    private static Thread startWorker(WorkStealingRunQueue queue, RunAction action,
+                                      AtomicReference<Throwable> failure) {
+        Thread thread = new Thread(() -> {
+            queue.attachWorker();
+            try {
+                while (true) {
+                    ItemGroup group = queue.take();
+                    if (group == POISON_PILL) {
+                        return;
+                    }
+                    action.run(group);
+                }
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void waitUntilParked(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static ItemGroup newGroup() {
+        return new ItemGroup(new SchedulerItem(params -> null, new Object[1], null));
+    }
+
+    /**
+     * Runs a group taken from the queue.
+     */
+    @FunctionalInterface
+    private interface RunAction {
+
+        void run(ItemGroup group) throws InterruptedException, BrokenBarrierException, TimeoutException;
+    }
+}
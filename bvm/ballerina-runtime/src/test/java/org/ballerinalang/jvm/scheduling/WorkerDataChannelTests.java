@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.scheduling;
+
+import org.ballerinalang.jvm.BallerinaErrors;
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.ErrorValue;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for {@link WorkerDataChannel}.
+ * <p>
+ * The worker functions behave like the generated code: when a send or receive blocks they return, and they are
+ * called again once the strand is resumed.
+ */
+public class WorkerDataChannelTests {
+
+    private static final int NUM_THREADS = 4;
+    private static final int MESSAGES = 10000;
+
+    @DataProvider(name = "modes")
+    public Object[][] modes() {
+        return new Object[][]{
+                {SchedulerMode.SHARED},
+                {SchedulerMode.WORK_STEALING}
+        };
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testSendReceiveOrder(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        WorkerDataChannel channel = new WorkerDataChannel("order");
+        List<Object> received = new ArrayList<>();
+
+        Function<Object[], Object> sender = params -> {
+            Strand strand = (Strand) params[0];
+            for (long i = 0; i < MESSAGES; i++) {
+                channel.sendData(i, strand);
+            }
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            Strand strand = (Strand) params[0];
+            while (received.size() < MESSAGES) {
+                Object message = receive(channel, strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(message);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], receiver, null, null);
+        scheduler.schedule(new Object[1], sender, null, null);
+        scheduler.start();
+
+        assertInOrder(received, MESSAGES);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testPingPong(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        WorkerDataChannel ping = new WorkerDataChannel("ping");
+        WorkerDataChannel pong = new WorkerDataChannel("pong");
+        List<Object> replies = new ArrayList<>();
+
+        // {next message, whether it has been sent}
+        long[] pingState = new long[2];
+        Function<Object[], Object> pinger = params -> {
+            Strand strand = (Strand) params[0];
+            while (pingState[0] < 1000) {
+                if (pingState[1] == 0) {
+                    ping.sendData(pingState[0], strand);
+                    pingState[1] = 1;
+                }
+                Object reply = receive(pong, strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                replies.add(reply);
+                pingState[1] = 0;
+                pingState[0]++;
+            }
+            return null;
+        };
+        Function<Object[], Object> ponger = params -> {
+            Strand strand = (Strand) params[0];
+            while (true) {
+                Object message = receive(ping, strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                pong.sendData(message, strand);
+                if ((Long) message == 999) {
+                    return null;
+                }
+            }
+        };
+        scheduler.schedule(new Object[1], pinger, null, null);
+        scheduler.schedule(new Object[1], ponger, null, null);
+        scheduler.start();
+
+        assertInOrder(replies, 1000);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testSyncSend(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        WorkerDataChannel channel = new WorkerDataChannel("sync");
+        List<Object> received = new ArrayList<>();
+        AtomicInteger receiveAttempts = new AtomicInteger();
+        List<Object> sendResults = new ArrayList<>();
+        int messages = 1000;
+
+        long[] next = new long[1];
+        int[] blocked = new int[1];
+        int[] completedEarly = new int[1];
+        Function<Object[], Object> sender = params -> {
+            Strand strand = (Strand) params[0];
+            while (next[0] < messages) {
+                Object result = syncSend(channel, next[0], strand);
+                if (strand.isYielded()) {
+                    blocked[0]++;
+                    return null;
+                }
+                // a sync send only completes once the receiver has taken the message
+                if (receiveAttempts.get() <= next[0]) {
+                    completedEarly[0]++;
+                }
+                sendResults.add(result);
+                next[0]++;
+            }
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            Strand strand = (Strand) params[0];
+            while (received.size() < messages) {
+                receiveAttempts.incrementAndGet();
+                Object message = receive(channel, strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(message);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], sender, null, null);
+        scheduler.schedule(new Object[1], receiver, null, null);
+        scheduler.start();
+
+        assertInOrder(received, messages);
+        Assert.assertEquals(blocked[0], messages);
+        Assert.assertEquals(completedEarly[0], 0);
+        Assert.assertEquals(sendResults.size(), messages);
+        for (Object result : sendResults) {
+            Assert.assertNull(result);
+        }
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testSendError(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        WorkerDataChannel channel = new WorkerDataChannel("send-error");
+        ErrorValue error = BallerinaErrors.createError(StringUtils.fromString("sender failed"));
+        List<Object> received = new ArrayList<>();
+
+        Function<Object[], Object> sender = params -> {
+            Strand strand = (Strand) params[0];
+            for (long i = 0; i < 3; i++) {
+                channel.sendData(i, strand);
+            }
+            // the sending worker failed before its next send
+            channel.setSendError(error);
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            Strand strand = (Strand) params[0];
+            while (received.size() < 4) {
+                Object message = receive(channel, strand);
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(message);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], receiver, null, null);
+        scheduler.schedule(new Object[1], sender, null, null);
+        scheduler.start();
+
+        // the messages sent before the failure are received first
+        Assert.assertEquals(received.subList(0, 3), listOf(0L, 1L, 2L));
+        Assert.assertSame(received.get(3), error);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testReceiveErrorResumesSyncSender(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        WorkerDataChannel channel = new WorkerDataChannel("receive-error");
+        ErrorValue error = BallerinaErrors.createError(StringUtils.fromString("receiver failed"));
+        Object[] sendResult = new Object[1];
+
+        Function<Object[], Object> sender = params -> {
+            Strand strand = (Strand) params[0];
+            Object result = syncSend(channel, 1L, strand);
+            if (strand.isYielded()) {
+                return null;
+            }
+            sendResult[0] = result;
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            // the receiving worker fails without taking the message
+            channel.setReceiveError(error);
+            return null;
+        };
+        scheduler.schedule(new Object[1], sender, null, null);
+        scheduler.schedule(new Object[1], receiver, null, null);
+        scheduler.start();
+
+        Assert.assertSame(sendResult[0], error);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testSendPanic(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        WorkerDataChannel channel = new WorkerDataChannel("send-panic");
+        RuntimeException panic = new RuntimeException("sender panicked");
+        List<Object> received = new ArrayList<>();
+        Throwable[] receivePanic = new Throwable[1];
+
+        Function<Object[], Object> sender = params -> {
+            Strand strand = (Strand) params[0];
+            channel.sendData(1L, strand);
+            channel.setSendPanic(panic);
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            Strand strand = (Strand) params[0];
+            while (true) {
+                Object message;
+                try {
+                    message = channel.tryTakeData(strand);
+                } catch (Throwable e) {
+                    receivePanic[0] = e;
+                    return null;
+                }
+                if (strand.isYielded()) {
+                    return null;
+                }
+                received.add(message);
+            }
+        };
+        scheduler.schedule(new Object[1], receiver, null, null);
+        scheduler.schedule(new Object[1], sender, null, null);
+        scheduler.start();
+
+        Assert.assertEquals(received, listOf(1L));
+        Assert.assertSame(receivePanic[0], panic);
+    }
+
+    @Test(dataProvider = "modes", timeOut = 20000)
+    void testReceiverPanicResumesSyncSender(SchedulerMode mode) {
+        Scheduler scheduler = new Scheduler(NUM_THREADS, false, mode);
+        WorkerDataChannel channel = new WorkerDataChannel("receive-panic");
+        RuntimeException panic = new RuntimeException("receiver panicked");
+        Throwable[] sendPanic = new Throwable[1];
+
+        Function<Object[], Object> sender = params -> {
+            Strand strand = (Strand) params[0];
+            try {
+                channel.syncSendData(1L, strand);
+            } catch (Throwable e) {
+                sendPanic[0] = e;
+            }
+            return null;
+        };
+        Function<Object[], Object> receiver = params -> {
+            channel.setReceiverPanic(panic);
+            return null;
+        };
+        scheduler.schedule(new Object[1], sender, null, null);
+        scheduler.schedule(new Object[1], receiver, null, null);
+        scheduler.start();
+
+        Assert.assertSame(sendPanic[0], panic);
+    }
+
+    private static void assertInOrder(List<Object> messages, int count) {
+        Assert.assertEquals(messages.size(), count);
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(messages.get(i), (long) i);
+        }
+    }
+
+    private static List<Object> listOf(Object... values) {
+        List<Object> list = new ArrayList<>();
+        for (Object value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    private static Object receive(WorkerDataChannel channel, Strand strand) {
+        try {
+            return channel.tryTakeData(strand);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object syncSend(WorkerDataChannel channel, Object data, Strand strand) {
+        try {
+            return channel.syncSendData(data, strand);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
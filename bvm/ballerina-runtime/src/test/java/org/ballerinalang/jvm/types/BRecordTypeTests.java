@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.types;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.MapValueImpl;
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for the inherently immutable members check of {@link BRecordType}, which is cached on the type.
+ */
+public class BRecordTypeTests {
+
+    private static final BPackage PKG = new BPackage("test", "types", "1.0.0");
+
+    @Test
+    void testInherentlyImmutableMembers() {
+        // record {| int x; string y; |}
+        Assert.assertTrue(newRecordType(true, null, field(BTypes.typeInt, "x"), field(BTypes.typeString, "y"))
+                                  .hasInherentlyImmutableMembers());
+        // record {| int x; string...; |}
+        Assert.assertTrue(newRecordType(true, BTypes.typeString, field(BTypes.typeInt, "x"))
+                                  .hasInherentlyImmutableMembers());
+        // record {| |}
+        Assert.assertTrue(newRecordType(true, null).hasInherentlyImmutableMembers());
+
+        // record {| int x; map<int> y; |}
+        Assert.assertFalse(newRecordType(true, null, field(BTypes.typeInt, "x"),
+                                         field(new BMapType(BTypes.typeInt), "y")).hasInherentlyImmutableMembers());
+        // record {| int x; json...; |}
+        Assert.assertFalse(newRecordType(true, BTypes.typeJSON, field(BTypes.typeInt, "x"))
+                                   .hasInherentlyImmutableMembers());
+        // record { int x; }, without a rest field type
+        Assert.assertFalse(newRecordType(false, null, field(BTypes.typeInt, "x")).hasInherentlyImmutableMembers());
+    }
+
+    @Test
+    void testCachedOnFirstCall() {
+        BRecordType recordType = newRecordType(true, null, field(BTypes.typeInt, "x"));
+        Assert.assertNull(recordType.inherentlyImmutableMembers);
+        Assert.assertTrue(recordType.hasInherentlyImmutableMembers());
+        Assert.assertEquals(recordType.inherentlyImmutableMembers, Boolean.TRUE);
+
+        // the cached result is returned, it is not recomputed
+        recordType.inherentlyImmutableMembers = false;
+        Assert.assertFalse(recordType.hasInherentlyImmutableMembers());
+    }
+
+    @Test
+    void testCachedWhenFrozen() {
+        BRecordType recordType = newRecordType(true, null, field(BTypes.typeInt, "x"));
+        MapValueImpl<BString, Object> record = new MapValueImpl<>(recordType);
+        record.put(StringUtils.fromString("x"), 1L);
+        record.freezeDirect();
+
+        // the check is done on the readonly type of the frozen value, the original type is left as it is
+        BRecordType frozenType = (BRecordType) record.getType();
+        Assert.assertNotSame(frozenType, recordType);
+        Assert.assertEquals(frozenType.inherentlyImmutableMembers, Boolean.TRUE);
+        Assert.assertNull(recordType.inherentlyImmutableMembers);
+    }
+
+    private static BRecordType newRecordType(boolean sealed, BType restFieldType, BField... fields) {
+        BRecordType recordType = new BRecordType("Rec", PKG, Flags.PUBLIC, sealed, 0);
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        Arrays.stream(fields).forEach(field -> fieldMap.put(field.getFieldName(), field));
+        recordType.setFields(fieldMap);
+        recordType.restFieldType = restFieldType;
+        return recordType;
+    }
+
+    private static BField field(BType type, String name) {
+        return new BField(type, name, Flags.REQUIRED);
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for {@link ByteArrayStringValue}.
+ */
+public class ByteArrayStringValueTests {
+
+    // U+1F6F8 = FLYING SAUCER
+    private static final String SAUCER = "🛸";
+    private static final String MIXED = "aé€" + SAUCER;
+
+    @Test
+    void testUtf8() {
+        BString str = utf8(MIXED);
+        Assert.assertTrue(str instanceof ByteArrayStringValue);
+        Assert.assertEquals(str.length(), 4);
+        Assert.assertEquals(str.getValue(), MIXED);
+        Assert.assertEquals(str.getCodePoint(0), 'a');
+        Assert.assertEquals(str.getCodePoint(1), 'é');
+        Assert.assertEquals(str.getCodePoint(2), '€');
+        Assert.assertEquals(str.getCodePoint(3), 0x1F6F8);
+    }
+
+    @Test
+    void testLatin1() {
+        BString str = latin1("café");
+        Assert.assertTrue(str instanceof ByteArrayStringValue);
+        Assert.assertEquals(str.length(), 4);
+        Assert.assertEquals(str.getValue(), "café");
+        Assert.assertEquals(str.getCodePoint(3), 'é');
+        Assert.assertEquals(((ByteArrayStringValue) str).toUtf8Bytes(), "café".getBytes(StandardCharsets.UTF_8));
+        // Latin-1 bytes are not valid UTF-8
+        Assert.assertNull(((ByteArrayStringValue) str).utf8View());
+    }
+
+    @Test
+    void testUtf8Bytes() {
+        byte[] bytes = MIXED.getBytes(StandardCharsets.UTF_8);
+        ByteArrayStringValue str = (ByteArrayStringValue) ByteArrayStringValue.fromUtf8(bytes);
+        Assert.assertEquals(str.toUtf8Bytes(), bytes);
+        ByteBuffer view = str.utf8View();
+        Assert.assertTrue(view.isReadOnly());
+        Assert.assertEquals(view.remaining(), bytes.length);
+
+        ByteArrayStringValue ascii = (ByteArrayStringValue) latin1("plain");
+        Assert.assertEquals(ascii.toUtf8Bytes(), "plain".getBytes(StandardCharsets.UTF_8));
+        Assert.assertNotNull(ascii.utf8View());
+    }
+
+    @Test
+    void testMalformedUtf8Fallback() {
+        byte[][] malformed = {
+                {'a', (byte) 0xFF, 'b'},                                 // invalid lead byte
+                {'a', (byte) 0xE2, (byte) 0x82},                         // truncated sequence
+                {(byte) 0xC0, (byte) 0x80},                              // overlong form
+                {(byte) 0xE0, (byte) 0x80, (byte) 0xAF},                 // overlong 3 byte form
+                {(byte) 0xED, (byte) 0xA0, (byte) 0x80},                 // surrogate
+                {(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80},    // above U+10FFFF
+                {(byte) 0xC3, 'a'},                                      // missing continuation byte
+                {(byte) 0x80, 'a'}                                       // stray continuation byte
+        };
+        for (byte[] bytes : malformed) {
+            BString str = ByteArrayStringValue.fromUtf8(bytes);
+            String expected = new String(bytes, StandardCharsets.UTF_8);
+            Assert.assertFalse(str instanceof ByteArrayStringValue, expected);
+            Assert.assertEquals(str.getValue(), expected);
+            Assert.assertEquals(str, StringUtils.fromString(expected));
+            Assert.assertEquals(str.length(), expected.codePointCount(0, expected.length()));
+        }
+    }
+
+    @Test
+    void testSparseIndex() {
+        StringBuilder sb = new StringBuilder();
+        String[] parts = {"a", "é", "€", SAUCER, "z"};
+        for (int i = 0; i < 300; i++) {
+            sb.append(parts[i % parts.length]);
+        }
+        String value = sb.toString();
+        BString str = utf8(value);
+        BString expected = StringUtils.fromString(value);
+        Assert.assertTrue(str instanceof ByteArrayStringValue);
+        Assert.assertEquals(str.length(), 300);
+
+        // Code points both at and between the indexed positions, in no particular order
+        int[] positions = {299, 64, 63, 0, 65, 128, 127, 129, 191, 192, 256, 1, 255};
+        for (int i : positions) {
+            Assert.assertEquals(str.getCodePoint(i), expected.getCodePoint(i), "code point at " + i);
+        }
+        for (int i = 0; i < 300; i++) {
+            Assert.assertEquals(str.getCodePoint(i), expected.getCodePoint(i), "code point at " + i);
+        }
+    }
+
+    @Test
+    void testSparseIndexLengthMultipleOfInterval() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 128; i++) {
+            sb.append(i % 2 == 0 ? "é" : SAUCER);
+        }
+        BString str = utf8(sb.toString());
+        Assert.assertEquals(str.getCodePoint(127), 0x1F6F8);
+        Assert.assertEquals(str.getCodePoint(64), 'é');
+    }
+
+    @Test(expectedExceptions = StringIndexOutOfBoundsException.class)
+    void testCodePointOutOfBounds() {
+        utf8(MIXED).getCodePoint(4);
+    }
+
+    @Test(expectedExceptions = StringIndexOutOfBoundsException.class)
+    void testNegativeCodePoint() {
+        latin1("abc").getCodePoint(-1);
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        assertEqualStrings(utf8("plain"), StringUtils.fromString("plain"));
+        assertEqualStrings(latin1("plain"), StringUtils.fromString("plain"));
+        assertEqualStrings(utf8("café"), StringUtils.fromString("café"));
+        assertEqualStrings(latin1("café"), StringUtils.fromString("café"));
+        assertEqualStrings(latin1("café"), utf8("café"));
+        assertEqualStrings(latin1("plain"), utf8("plain"));
+        assertEqualStrings(utf8(MIXED), StringUtils.fromString(MIXED));
+        assertEqualStrings(utf8(""), StringUtils.fromString(""));
+
+        Assert.assertTrue(StringUtils.fromString(MIXED) instanceof NonBmpStringValue);
+        Assert.assertTrue(StringUtils.fromString("café") instanceof BmpStringValue);
+
+        // Ropes
+        String large = repeat(MIXED, 300);
+        BString rope = StringUtils.fromString(large.substring(0, 600)).concat(
+                StringUtils.fromString(large.substring(600)));
+        Assert.assertTrue(rope instanceof RopeStringValue);
+        assertEqualStrings(utf8(large), rope);
+
+        Assert.assertNotEquals(utf8("café"), latin1("cafe"));
+        Assert.assertNotEquals(utf8(MIXED), StringUtils.fromString(MIXED + "a"));
+        Assert.assertNotEquals(latin1("abc"), "abc");
+    }
+
+    @Test
+    void testConcat() {
+        BString both = utf8("aé").concat(utf8("€" + SAUCER));
+        Assert.assertTrue(both instanceof ByteArrayStringValue);
+        assertSameString(both, MIXED);
+
+        // ASCII bytes are valid UTF-8 too
+        both = latin1("abc").concat(utf8("dé"));
+        Assert.assertTrue(both instanceof ByteArrayStringValue);
+        assertSameString(both, "abcdé");
+
+        both = latin1("café").concat(utf8("dé"));
+        Assert.assertFalse(both instanceof ByteArrayStringValue);
+        assertSameString(both, "cafédé");
+
+        both = utf8("dé").concat(latin1("café"));
+        assertSameString(both, "décafé");
+
+        both = latin1("ab").concat(latin1("cd"));
+        assertSameString(both, "abcd");
+
+        both = utf8(SAUCER).concat(StringUtils.fromString("x" + SAUCER));
+        assertSameString(both, SAUCER + "x" + SAUCER);
+
+        both = StringUtils.fromString("x" + SAUCER).concat(utf8("é" + SAUCER));
+        assertSameString(both, "x" + SAUCER + "é" + SAUCER);
+    }
+
+    @Test
+    void testLargeConcat() {
+        String left = repeat("é", 600);
+        String right = repeat("a" + SAUCER, 300);
+        BString both = utf8(left).concat(latin1(repeat("b", 10))).concat(utf8(right));
+        Assert.assertTrue(both instanceof RopeStringValue);
+        assertSameString(both, left + repeat("b", 10) + right);
+    }
+
+    @Test
+    void testSubstring() {
+        String value = repeat("aé€" + SAUCER + "z", 40);
+        BString str = utf8(value);
+        assertSameString(str.substring(0, 5), "aé€" + SAUCER + "z");
+        assertSameString(str.substring(62, 131), StringUtils.fromString(value).substring(62, 131).getValue());
+        assertSameString(str.substring(200, 200), "");
+
+        BString latin = latin1(repeat("café", 30));
+        BString sub = latin.substring(62, 70);
+        Assert.assertTrue(sub instanceof ByteArrayStringValue);
+        assertSameString(sub, "fécaféca");
+        assertSameString(latin.substring(3, 4), "é");
+    }
+
+    @Test(expectedExceptions = StringIndexOutOfBoundsException.class)
+    void testSubstringOutOfBounds() {
+        latin1("abc").substring(1, 4);
+    }
+
+    @Test
+    void testIndexOf() {
+        String value = repeat("ab" + SAUCER + "é", 30);
+        BString str = utf8(value);
+        BString expected = StringUtils.fromString(value);
+        BString search = StringUtils.fromString(SAUCER + "é");
+        Assert.assertEquals(str.indexOf(search, 0), expected.indexOf(search, 0));
+        Assert.assertEquals(str.indexOf(search, 70), expected.indexOf(search, 70));
+        Assert.assertEquals(str.lastIndexOf(search, str.length()), expected.lastIndexOf(search, str.length()));
+        Assert.assertNull(str.indexOf(StringUtils.fromString("x"), 0));
+
+        BString latin = latin1("cafécafé");
+        Assert.assertEquals(latin.indexOf(StringUtils.fromString("é"), 0), Long.valueOf(3));
+        Assert.assertEquals(latin.indexOf(StringUtils.fromString("é"), 4), Long.valueOf(7));
+        Assert.assertEquals(latin.lastIndexOf(StringUtils.fromString("ca"), 8), Long.valueOf(4));
+        Assert.assertNull(latin.indexOf(StringUtils.fromString("x"), 0));
+    }
+
+    private static BString utf8(String value) {
+        return ByteArrayStringValue.fromUtf8(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BString latin1(String value) {
+        return ByteArrayStringValue.fromLatin1(value.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static void assertEqualStrings(BString first, BString second) {
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(first.hashCode(), second.hashCode());
+        Assert.assertEquals(first.hashCode(), first.getValue().hashCode());
+    }
+
+    private static void assertSameString(BString actual, String expectedValue) {
+        BString expected = StringUtils.fromString(expectedValue);
+        Assert.assertEquals(actual.getValue(), expectedValue);
+        Assert.assertEquals(actual.length(), expected.length());
+        for (int i = 0; i < actual.length(); i++) {
+            Assert.assertEquals(actual.getCodePoint(i), expected.getCodePoint(i), "code point at " + i);
+        }
+        assertEqualStrings(actual, expected);
+    }
+
+    private static String repeat(String str, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(str);
+        }
+        return sb.toString();
+    }
+}
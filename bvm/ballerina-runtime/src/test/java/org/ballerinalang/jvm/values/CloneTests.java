@@ -0,0 +1,428 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test cases for the copy-on-write clones of {@link MapValueImpl} and {@link ArrayValueImpl}.
+ */
+public class CloneTests {
+
+    @Test
+    void testMapPutAfterClone() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L, "b", 2L);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        clone.put(key("c"), 3L);
+        original.put(key("d"), 4L);
+        assertMap(original, "a", 1L, "b", 2L, "d", 4L);
+        assertMap(clone, "a", 1L, "b", 2L, "c", 3L);
+
+        // replacing a value only copies the values
+        original.put(key("a"), 10L);
+        clone.put(key("b"), 20L);
+        assertMap(original, "a", 10L, "b", 2L, "d", 4L);
+        assertMap(clone, "a", 1L, "b", 20L, "c", 3L);
+    }
+
+    @Test
+    void testMapReplaceOnBothSides() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L, "b", 2L);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        original.put(key("a"), 10L);
+        assertMap(original, "a", 10L, "b", 2L);
+        assertMap(clone, "a", 1L, "b", 2L);
+
+        clone.put(key("a"), 100L);
+        assertMap(original, "a", 10L, "b", 2L);
+        assertMap(clone, "a", 100L, "b", 2L);
+    }
+
+    @Test
+    void testMapRemoveAfterClone() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L, "b", 2L, "c", 3L);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        Assert.assertEquals(clone.remove(key("b")), 2L);
+        assertMap(original, "a", 1L, "b", 2L, "c", 3L);
+        assertMap(clone, "a", 1L, "c", 3L);
+
+        Assert.assertEquals(original.remove(key("a")), 1L);
+        original.put(key("b"), 20L);
+        assertMap(original, "b", 20L, "c", 3L);
+        assertMap(clone, "a", 1L, "c", 3L);
+    }
+
+    @Test
+    void testMapClearAfterClone() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L, "b", 2L);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        clone.clear();
+        Assert.assertTrue(clone.isEmpty());
+        assertMap(original, "a", 1L, "b", 2L);
+
+        clone.put(key("c"), 3L);
+        original.clear();
+        Assert.assertTrue(original.isEmpty());
+        assertMap(clone, "c", 3L);
+    }
+
+    @Test
+    void testMapEntrySetValueAfterClone() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L, "b", 2L);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        for (Map.Entry<BString, Object> entry : clone.entrySet()) {
+            entry.setValue((Long) entry.getValue() * 10);
+        }
+        assertMap(original, "a", 1L, "b", 2L);
+        assertMap(clone, "a", 10L, "b", 20L);
+
+        Iterator<Map.Entry<BString, Object>> iterator = original.entrySet().iterator();
+        iterator.next().setValue(-1L);
+        assertMap(original, "a", -1L, "b", 2L);
+        assertMap(clone, "a", 10L, "b", 20L);
+    }
+
+    @Test
+    void testMapReplaceAllAfterClone() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L, "b", 2L);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        original.replaceAll((key, value) -> (Long) value + 1);
+        assertMap(original, "a", 2L, "b", 3L);
+        assertMap(clone, "a", 1L, "b", 2L);
+
+        // a replacement that does not change any value leaves the entries shared
+        clone.replaceAll((key, value) -> value);
+        clone.put(key("b"), 5L);
+        assertMap(original, "a", 2L, "b", 3L);
+        assertMap(clone, "a", 1L, "b", 5L);
+    }
+
+    @Test
+    void testMapGrowthAfterClone() {
+        MapValueImpl<BString, Object> original = new MapValueImpl<>();
+        for (long i = 0; i < 10; i++) {
+            original.put(key("k" + i), i);
+        }
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        // enough inserts to resize the entry arrays of the clone
+        for (long i = 10; i < 100; i++) {
+            clone.put(key("k" + i), i);
+        }
+        original.remove(key("k0"));
+        Assert.assertEquals(original.size(), 9);
+        Assert.assertEquals(clone.size(), 100);
+        for (long i = 0; i < 100; i++) {
+            Assert.assertEquals(clone.get(key("k" + i)), i);
+            Assert.assertEquals(original.containsKey(key("k" + i)), i > 0 && i < 10);
+        }
+    }
+
+    @Test
+    void testCloneOfClone() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L);
+        MapValueImpl<BString, Object> first = cloneMap(original);
+        MapValueImpl<BString, Object> second = cloneMap(first);
+
+        second.put(key("a"), 3L);
+        first.put(key("a"), 2L);
+        assertMap(original, "a", 1L);
+        assertMap(first, "a", 2L);
+        assertMap(second, "a", 3L);
+
+        original.put(key("b"), 1L);
+        assertMap(first, "a", 2L);
+        assertMap(second, "a", 3L);
+    }
+
+    @Test
+    void testIntArrayAfterClone() {
+        ArrayValue original = newIntArray(1, 2, 3);
+        ArrayValue clone = cloneArray(original);
+
+        clone.add(0, 10L);
+        original.add(2, 30L);
+        assertIntArray(original, 1, 2, 30);
+        assertIntArray(clone, 10, 2, 3);
+
+        clone.append(4L);
+        original.setLength(1);
+        assertIntArray(original, 1);
+        assertIntArray(clone, 10, 2, 3, 4);
+
+        long[] values = clone.getIntArray();
+        values[1] = 100;
+        assertIntArray(clone, 10, 2, 3, 4);
+    }
+
+    @Test
+    void testStringArrayAfterClone() {
+        ArrayValue original = new BArrayType(BTypes.typeString).getEmptyValue();
+        original.append(key("x"));
+        original.append(key("y"));
+        ArrayValue clone = cloneArray(original);
+
+        original.add(1, key("z"));
+        Assert.assertEquals(original.getStringArray(), new String[]{"x", "z"});
+        Assert.assertEquals(clone.getStringArray(), new String[]{"x", "y"});
+
+        Assert.assertEquals(clone.shift().toString(), "x");
+        Assert.assertEquals(original.getStringArray(), new String[]{"x", "z"});
+        Assert.assertEquals(clone.getStringArray(), new String[]{"y"});
+    }
+
+    @Test
+    void testRefArrayAfterClone() {
+        ArrayValue original = newRefArray(1L, "two", 3.0);
+        ArrayValue clone = cloneArray(original);
+
+        clone.shift();
+        original.unshift(newRefArray(0L));
+        Assert.assertEquals(original.size(), 4);
+        Assert.assertEquals(original.get(0), 0L);
+        Assert.assertEquals(original.get(1), 1L);
+        Assert.assertEquals(clone.size(), 2);
+        Assert.assertEquals(clone.get(0), "two");
+        Assert.assertEquals(clone.get(1), 3.0);
+
+        // the values given to the caller can be updated without changing the other array
+        ArrayValue again = cloneArray(original);
+        again.getValues()[0] = -1L;
+        Assert.assertEquals(again.get(0), -1L);
+        Assert.assertEquals(original.get(0), 0L);
+    }
+
+    @Test
+    void testNestedValuesAfterClone() {
+        MapValueImpl<BString, Object> inner = newMap("x", 1L);
+        ArrayValue list = newRefArray(inner, 2L);
+        MapValueImpl<BString, Object> original = newMap("list", list, "map", inner, "n", 5L);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        ArrayValue clonedList = (ArrayValue) clone.get(key("list"));
+        @SuppressWarnings("unchecked")
+        MapValueImpl<BString, Object> clonedInner = (MapValueImpl<BString, Object>) clone.get(key("map"));
+        Assert.assertNotSame(clonedList, list);
+        Assert.assertNotSame(clonedInner, inner);
+        // a value referred to twice is copied once
+        Assert.assertSame(clonedList.get(0), clonedInner);
+
+        clonedInner.put(key("x"), 10L);
+        clonedList.append(3L);
+        assertMap(inner, "x", 1L);
+        Assert.assertEquals(list.size(), 2);
+
+        inner.put(key("y"), 2L);
+        list.add(1, (Object) 20L);
+        assertMap(clonedInner, "x", 10L);
+        Assert.assertEquals(clonedList.get(1), 2L);
+        Assert.assertEquals(clonedList.size(), 3);
+        Assert.assertEquals(clone.get(key("n")), 5L);
+    }
+
+    @Test
+    void testCyclicValueClone() {
+        MapValueImpl<BString, Object> original = newMap("a", 1L);
+        original.put(key("self"), original);
+        MapValueImpl<BString, Object> clone = cloneMap(original);
+
+        Assert.assertNotSame(clone, original);
+        Assert.assertSame(clone.get(key("self")), clone);
+        clone.put(key("a"), 2L);
+        Assert.assertEquals(original.get(key("a")), 1L);
+        Assert.assertSame(original.get(key("self")), original);
+    }
+
+    @Test
+    void testFrozenValueClone() {
+        MapValueImpl<BString, Object> map = newMap("a", 1L);
+        map.freezeDirect();
+        Assert.assertSame(CloneUtils.cloneValue(map), map);
+        Assert.assertSame(CloneUtils.cloneReadOnly(map), map);
+
+        ArrayValue array = newIntArray(1, 2);
+        array.freezeDirect();
+        Assert.assertSame(CloneUtils.cloneValue(array), array);
+        Assert.assertSame(CloneUtils.cloneReadOnly(array), array);
+    }
+
+    @Test
+    void testFrozenMembersAreNotCopied() {
+        MapValueImpl<BString, Object> frozen = newMap("x", 1L);
+        frozen.freezeDirect();
+        MapValueImpl<BString, Object> mutable = newMap("y", 2L);
+        ArrayValue original = newRefArray(frozen, mutable);
+        ArrayValue clone = cloneArray(original);
+
+        Assert.assertSame(clone.get(0), frozen);
+        Assert.assertNotSame(clone.get(1), mutable);
+
+        // the clone still shares nothing that can be updated through the original
+        original.add(0, (Object) 0L);
+        Assert.assertSame(clone.get(0), frozen);
+    }
+
+    @Test
+    void testReadOnlyCloneOfMutableValue() {
+        MapValueImpl<BString, Object> inner = newMap("x", 1L);
+        MapValueImpl<BString, Object> original = newMap("inner", inner, "a", 1L);
+        @SuppressWarnings("unchecked")
+        MapValueImpl<BString, Object> clone = (MapValueImpl<BString, Object>) CloneUtils.cloneReadOnly(original);
+
+        Assert.assertTrue(clone.isFrozen());
+        Assert.assertTrue(((MapValueImpl<?, ?>) clone.get(key("inner"))).isFrozen());
+        Assert.assertFalse(original.isFrozen());
+        Assert.assertFalse(inner.isFrozen());
+
+        // the original can still be updated, without changing the read-only clone
+        original.put(key("a"), 2L);
+        original.put(key("b"), 3L);
+        inner.put(key("x"), 10L);
+        assertMap(clone, "inner", clone.get(key("inner")), "a", 1L);
+        assertMap((MapValueImpl<?, ?>) clone.get(key("inner")), "x", 1L);
+        Assert.assertThrows(RuntimeException.class, () -> clone.put(key("a"), 5L));
+    }
+
+    @Test
+    void testConcurrentClones() throws Exception {
+        MapValueImpl<BString, Object> inner = newMap("x", 0L);
+        MapValueImpl<BString, Object> original = newMap("inner", inner, "list", newIntArray(1, 2, 3));
+        for (long i = 0; i < 50; i++) {
+            original.put(key("k" + i), i);
+        }
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                long id = t;
+                Callable<Boolean> task = () -> {
+                    start.await();
+                    for (int round = 0; round < 200; round++) {
+                        MapValueImpl<BString, Object> clone = cloneMap(original);
+                        clone.put(key("k" + (round % 50)), -id);
+                        clone.put(key("t" + id), id);
+                        ((MapValueImpl<?, ?>) clone.get(key("inner"))).remove(key("x"));
+                        ((ArrayValue) clone.get(key("list"))).add(0, id);
+                        if (!clone.get(key("k" + (round % 50))).equals(-id) || clone.size() != 53 ||
+                                ((ArrayValue) clone.get(key("list"))).getInt(0) != id) {
+                            return false;
+                        }
+                    }
+                    return true;
+                };
+                results.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(original.size(), 52);
+        for (long i = 0; i < 50; i++) {
+            Assert.assertEquals(original.get(key("k" + i)), i);
+        }
+        assertMap(inner, "x", 0L);
+        assertIntArray((ArrayValue) original.get(key("list")), 1, 2, 3);
+    }
+
+    private static BString key(String key) {
+        return StringUtils.fromString(key);
+    }
+
+    private static MapValueImpl<BString, Object> newMap(Object... keysAndValues) {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(key((String) keysAndValues[i]), keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static ArrayValue newIntArray(long... values) {
+        ArrayValue array = new BArrayType(BTypes.typeInt).getEmptyValue();
+        for (long value : values) {
+            array.append(value);
+        }
+        return array;
+    }
+
+    private static ArrayValue newRefArray(Object... values) {
+        ArrayValue array = new BArrayType(BTypes.typeAny).getEmptyValue();
+        for (Object value : values) {
+            array.append(value);
+        }
+        return array;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MapValueImpl<BString, Object> cloneMap(MapValueImpl<BString, Object> map) {
+        MapValueImpl<BString, Object> clone = (MapValueImpl<BString, Object>) CloneUtils.cloneValue(map);
+        Assert.assertNotSame(clone, map);
+        return clone;
+    }
+
+    private static ArrayValue cloneArray(ArrayValue array) {
+        ArrayValue clone = (ArrayValue) CloneUtils.cloneValue(array);
+        Assert.assertNotSame(clone, array);
+        return clone;
+    }
+
+    private static void assertMap(MapValueImpl<?, ?> map, Object... keysAndValues) {
+        Assert.assertEquals(map.size(), keysAndValues.length / 2);
+        int i = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Assert.assertEquals(entry.getKey(), key((String) keysAndValues[i]));
+            Assert.assertEquals(entry.getValue(), keysAndValues[i + 1], "value of " + entry.getKey());
+            i += 2;
+        }
+    }
+
+    private static void assertIntArray(ArrayValue array, long... values) {
+        Assert.assertEquals(array.size(), values.length);
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(array.getInt(i), values[i], "element " + i);
+        }
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Test cases for {@link CompactLinkedMap}.
+ */
+public class CompactLinkedMapTests {
+
+    @Test
+    void testInsertionOrder() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("c", 1);
+        map.put("a", 2);
+        map.put("b", 3);
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("c", "a", "b"));
+        Assert.assertEquals(new ArrayList<>(map.values()), Arrays.asList(1, 2, 3));
+
+        // Replacing a value keeps the position of the entry
+        Assert.assertEquals(map.put("a", 4), Integer.valueOf(2));
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("c", "a", "b"));
+        Assert.assertEquals(map.get("a"), Integer.valueOf(4));
+    }
+
+    @Test
+    void testInsertionOrderAfterRemove() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        for (int i = 0; i < 6; i++) {
+            map.put("k" + i, i);
+        }
+        Assert.assertEquals(map.remove("k1"), Integer.valueOf(1));
+        Assert.assertEquals(map.remove("k4"), Integer.valueOf(4));
+        Assert.assertNull(map.remove("k4"));
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("k0", "k2", "k3", "k5"));
+
+        // A removed key that is added again goes last
+        map.put("k1", 10);
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("k0", "k2", "k3", "k5", "k1"));
+        Assert.assertEquals(map.size(), 5);
+        Assert.assertFalse(map.containsKey("k4"));
+        Assert.assertTrue(map.containsValue(10));
+        Assert.assertFalse(map.containsValue(1));
+    }
+
+    @Test
+    void testRemoveAllThenAdd() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.remove("a");
+        map.remove("b");
+        Assert.assertTrue(map.isEmpty());
+
+        map.put("c", 3);
+        map.put("a", 4);
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("c", "a"));
+        Assert.assertNull(map.get("b"));
+    }
+
+    @Test
+    void testNullKeyAndValue() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put(null, 1);
+        map.put("a", null);
+        Assert.assertEquals(map.get(null), Integer.valueOf(1));
+        Assert.assertTrue(map.containsKey("a"));
+        Assert.assertNull(map.get("a"));
+        Assert.assertEquals(map.getOrDefault("b", 5), Integer.valueOf(5));
+        Assert.assertTrue(map.containsValue(null));
+        Assert.assertEquals(map.remove(null), Integer.valueOf(1));
+        Assert.assertFalse(map.containsKey(null));
+    }
+
+    @Test
+    void testResize() {
+        CompactLinkedMap<Integer, Integer> map = new CompactLinkedMap<>();
+        List<Integer> expectedKeys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 7, i);
+            expectedKeys.add(i * 7);
+        }
+        Assert.assertEquals(map.size(), 1000);
+        Assert.assertEquals(new ArrayList<>(map.keySet()), expectedKeys);
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals(map.get(i * 7), Integer.valueOf(i));
+        }
+    }
+
+    @Test
+    void testCompactionAfterRemoves() {
+        CompactLinkedMap<Integer, Integer> map = new CompactLinkedMap<>(16);
+        List<Integer> expectedKeys = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            map.put(i, i);
+            if (i % 2 == 0) {
+                expectedKeys.add(i);
+            }
+        }
+        for (int i = 1; i < 16; i += 2) {
+            map.remove(i);
+        }
+
+        // Adding to the full arrays compacts the removed entries away, instead of growing the arrays
+        for (int i = 100; i < 108; i++) {
+            map.put(i, i);
+            expectedKeys.add(i);
+        }
+        Assert.assertEquals(new ArrayList<>(map.keySet()), expectedKeys);
+        for (Integer key : expectedKeys) {
+            Assert.assertEquals(map.get(key), key);
+        }
+        for (int i = 1; i < 16; i += 2) {
+            Assert.assertFalse(map.containsKey(i));
+        }
+    }
+
+    @Test
+    void testCollidingKeys() {
+        CompactLinkedMap<CollidingKey, Integer> map = new CompactLinkedMap<>();
+        for (int i = 0; i < 20; i++) {
+            map.put(new CollidingKey(i), i);
+        }
+        map.remove(new CollidingKey(3));
+        map.remove(new CollidingKey(10));
+
+        // Lookups probe past the removed entries with the same hash
+        for (int i = 0; i < 20; i++) {
+            if (i == 3 || i == 10) {
+                Assert.assertFalse(map.containsKey(new CollidingKey(i)));
+            } else {
+                Assert.assertEquals(map.get(new CollidingKey(i)), Integer.valueOf(i));
+            }
+        }
+        map.put(new CollidingKey(3), 30);
+        Assert.assertEquals(map.get(new CollidingKey(3)), Integer.valueOf(30));
+        Assert.assertEquals(map.size(), 19);
+    }
+
+    @Test
+    void testIteratorRemove() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        for (int i = 0; i < 5; i++) {
+            map.put("k" + i, i);
+        }
+        Iterator<String> iterator = map.keySet().iterator();
+        List<String> seen = new ArrayList<>();
+        while (iterator.hasNext()) {
+            String key = iterator.next();
+            seen.add(key);
+            if (key.equals("k1") || key.equals("k3")) {
+                iterator.remove();
+            }
+        }
+        Assert.assertEquals(seen, Arrays.asList("k0", "k1", "k2", "k3", "k4"));
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("k0", "k2", "k4"));
+
+        Iterator<Integer> values = map.values().iterator();
+        values.next();
+        values.remove();
+        try {
+            values.remove();
+            Assert.fail("expected an IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testIteratorRemoveAll() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    @Test
+    void testIteratorFailsAfterModification() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        Iterator<String> iterator = map.keySet().iterator();
+        iterator.next();
+        map.put("c", 3);
+        try {
+            iterator.next();
+            Assert.fail("expected a ConcurrentModificationException");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        iterator = map.keySet().iterator();
+        iterator.next();
+        map.remove("c");
+        try {
+            iterator.next();
+            Assert.fail("expected a ConcurrentModificationException");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+
+        try {
+            map.forEach((key, value) -> map.remove("a"));
+            Assert.fail("expected a ConcurrentModificationException");
+        } catch (ConcurrentModificationException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testIteratorAfterValueUpdate() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        // Replacing the value of an existing key is not a structural modification
+        Iterator<Map.Entry<String, Integer>> iterator = map.entrySet().iterator();
+        Map.Entry<String, Integer> entry = iterator.next();
+        map.put("b", 20);
+        Assert.assertEquals(iterator.next().getValue(), Integer.valueOf(20));
+
+        Assert.assertEquals(entry.setValue(10), Integer.valueOf(1));
+        Assert.assertEquals(map.get("a"), Integer.valueOf(10));
+    }
+
+    @Test
+    void testEntrySetValueAfterCompaction() {
+        CompactLinkedMap<Integer, Integer> map = new CompactLinkedMap<>(8);
+        for (int i = 0; i < 8; i++) {
+            map.put(i, i);
+        }
+        Map.Entry<Integer, Integer> entry = null;
+        for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+            if (e.getKey() == 7) {
+                entry = e;
+            }
+        }
+        for (int i = 0; i < 4; i++) {
+            map.remove(i);
+        }
+        map.put(100, 100);
+
+        // The entry finds its key at the new position
+        entry.setValue(70);
+        Assert.assertEquals(map.get(7), Integer.valueOf(70));
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList(4, 5, 6, 7, 100));
+    }
+
+    @Test
+    void testReplaceAll() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.remove("a");
+        map.put("c", 3);
+        map.replaceAll((key, value) -> value * 10);
+        Assert.assertEquals(new ArrayList<>(map.values()), Arrays.asList(20, 30));
+    }
+
+    @Test
+    void testClear() {
+        CompactLinkedMap<String, Integer> map = new CompactLinkedMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get("a"));
+        map.put("b", 3);
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("b"));
+    }
+
+    @Test
+    void testAgainstLinkedHashMap() {
+        CompactLinkedMap<Integer, Integer> map = new CompactLinkedMap<>();
+        Map<Integer, Integer> expected = new LinkedHashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int key = random.nextInt(200);
+            switch (random.nextInt(3)) {
+                case 0:
+                    Assert.assertEquals(map.remove(key), expected.remove(key));
+                    break;
+                default:
+                    Assert.assertEquals(map.put(key, i), expected.put(key, i));
+                    break;
+            }
+            if (i % 1000 == 0) {
+                Assert.assertEquals(new ArrayList<>(map.entrySet()), new ArrayList<>(expected.entrySet()));
+            }
+        }
+        Assert.assertEquals(map, expected);
+        Assert.assertEquals(map.hashCode(), expected.hashCode());
+        Assert.assertEquals(new ArrayList<>(map.keySet()), new ArrayList<>(expected.keySet()));
+    }
+
+    /**
+     * Key with a fixed hash code.
+     */
+    private static class CollidingKey {
+
+        private final int id;
+
+        CollidingKey(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CollidingKey && ((CollidingKey) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.DecimalValueKind;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Test cases for {@link DecimalValue} arithmetic, comparing the compact form against the same values held as
+ * {@link BigDecimal}s.
+ */
+public class DecimalValueTests {
+
+    private static final String MAX_COMPACT = "999999999999999999";
+
+    @DataProvider(name = "operands")
+    public Object[][] operands() {
+        return new Object[][]{
+                {"1.5", "2.25"},
+                {"-12.50", "3"},
+                {"0.1", "0.2"},
+                {"100", "-0.001"},
+                {MAX_COMPACT, "1"},
+                {MAX_COMPACT, MAX_COMPACT},
+                {"-" + MAX_COMPACT, "-" + MAX_COMPACT},
+                {"123456789012345678", "876543210987654321"},
+                {"0.000000000000000001", MAX_COMPACT},
+                {"99999999999999999.9", "0.00000000000000001"},
+                {"4611686018427387904", "2"},
+                {"1E+3", "2.5"},
+                {"-2.5E+5", "0.75"},
+                {"1.23E-40", "1"},
+                {"12345678901234567890.12345678901234567890", "1.1"}
+        };
+    }
+
+    @Test(dataProvider = "operands")
+    void testAdd(String lhs, String rhs) {
+        assertSameDecimal(decimal(lhs).add(decimal(rhs)), big(lhs).add(big(rhs), MathContext.DECIMAL128));
+        assertSameDecimal(decimal(rhs).add(decimal(lhs)), big(rhs).add(big(lhs), MathContext.DECIMAL128));
+    }
+
+    @Test(dataProvider = "operands")
+    void testSubtract(String lhs, String rhs) {
+        assertSameDecimal(decimal(lhs).subtract(decimal(rhs)), big(lhs).subtract(big(rhs), MathContext.DECIMAL128));
+        assertSameDecimal(decimal(rhs).subtract(decimal(lhs)), big(rhs).subtract(big(lhs), MathContext.DECIMAL128));
+    }
+
+    @Test(dataProvider = "operands")
+    void testMultiply(String lhs, String rhs) {
+        assertSameDecimal(decimal(lhs).multiply(decimal(rhs)), big(lhs).multiply(big(rhs), MathContext.DECIMAL128));
+    }
+
+    @Test(dataProvider = "operands")
+    void testCompare(String lhs, String rhs) {
+        int expected = big(lhs).compareTo(big(rhs));
+        Assert.assertEquals(decimal(lhs).compareTo(decimal(rhs)), expected);
+        Assert.assertEquals(decimal(rhs).compareTo(decimal(lhs)), -expected);
+        Assert.assertEquals(decimal(lhs).compareTo(inflated(rhs)), expected);
+        Assert.assertEquals(inflated(lhs).compareTo(decimal(rhs)), expected);
+    }
+
+    @Test(dataProvider = "operands")
+    void testNegate(String lhs, String rhs) {
+        assertSameDecimal(decimal(lhs).negate(), big(lhs).negate());
+    }
+
+    @Test
+    void testOverflowToBigDecimal() {
+        DecimalValue max = decimal(MAX_COMPACT);
+        DecimalValue sum = max;
+        // Keeps adding past Long.MAX_VALUE
+        for (int i = 0; i < 20; i++) {
+            sum = sum.add(max);
+        }
+        Assert.assertEquals(sum.decimalValue(), new BigDecimal(MAX_COMPACT).multiply(BigDecimal.valueOf(21)));
+
+        DecimalValue product = max.multiply(max).multiply(max);
+        Assert.assertEquals(product.decimalValue(),
+                            new BigDecimal(MAX_COMPACT).pow(3, MathContext.DECIMAL128));
+
+        // Rescaling to a common scale overflows as well
+        DecimalValue small = decimal("0.000000000000000001");
+        assertSameDecimal(max.add(small), new BigDecimal(MAX_COMPACT).add(new BigDecimal("0.000000000000000001"),
+                                                                          MathContext.DECIMAL128));
+        Assert.assertEquals(max.compareTo(small), 1);
+        Assert.assertEquals(small.compareTo(max), -1);
+    }
+
+    @Test
+    void testRoundingToDecimal128() {
+        // 36 digits, rounded to 34 with half even
+        DecimalValue product = decimal("123456789012345678").multiply(decimal("987654321098765432"));
+        BigDecimal exact = new BigDecimal("123456789012345678").multiply(new BigDecimal("987654321098765432"));
+        Assert.assertNotEquals(product.decimalValue(), exact);
+        Assert.assertEquals(product.decimalValue(), exact.round(MathContext.DECIMAL128));
+        Assert.assertEquals(product.decimalValue().precision(), 34);
+
+        DecimalValue sum = decimal("1E+40").add(decimal("0.5"));
+        Assert.assertEquals(sum.decimalValue(), new BigDecimal("1E+40").add(new BigDecimal("0.5"),
+                                                                             MathContext.DECIMAL128));
+        Assert.assertEquals(sum.compareTo(decimal("1E+40")), 0);
+
+        // More than 34 digits in a literal
+        DecimalValue literal = decimal("1.234567890123456789012345678901234567890");
+        Assert.assertEquals(literal.decimalValue().precision(), 34);
+        Assert.assertEquals(literal.stringValue(), "1.234567890123456789012345678901235");
+    }
+
+    @Test
+    void testNegativeScale() {
+        DecimalValue thousand = decimal("1E+3");
+        Assert.assertEquals(thousand.decimalValue().scale(), -3);
+        Assert.assertEquals(thousand.stringValue(), "1E+3");
+
+        Assert.assertEquals(thousand.compareTo(decimal("1000")), 0);
+        Assert.assertEquals(thousand, decimal("1000.00"));
+        Assert.assertEquals(thousand.add(decimal("0.5")).stringValue(), "1000.5");
+        Assert.assertEquals(decimal("0.5").add(thousand).stringValue(), "1000.5");
+        Assert.assertEquals(decimal("2.5").multiply(thousand).stringValue(), "2.5E+3");
+        Assert.assertEquals(thousand.subtract(decimal("1000")).booleanValue(), false);
+        Assert.assertEquals(thousand.intValue(), 1000);
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        String[] values = {"12.50", "-3", "0.001", MAX_COMPACT, "-" + MAX_COMPACT, "1"};
+        for (String value : values) {
+            DecimalValue compact = decimal(value);
+            DecimalValue inflated = inflated(value);
+            Assert.assertEquals(compact, inflated);
+            Assert.assertEquals(inflated, compact);
+            Assert.assertEquals(compact.hashCode(), inflated.hashCode(), value);
+            Assert.assertEquals(compact.stringValue(), inflated.stringValue());
+            Assert.assertEquals(compact.getValueKind(), inflated.getValueKind());
+        }
+
+        // Equality ignores the scale
+        Assert.assertEquals(decimal("12.5"), decimal("12.50"));
+        Assert.assertEquals(decimal("12.5"), inflated("12.500"));
+        Assert.assertNotEquals(decimal("12.5"), decimal("12.51"));
+
+        // The same results, computed in the compact form and with BigDecimal
+        DecimalValue compactSum = decimal("1.25").add(decimal("2.5"));
+        DecimalValue inflatedSum = inflated("1.25").add(inflated("2.5"));
+        Assert.assertEquals(compactSum, inflatedSum);
+        Assert.assertEquals(compactSum.hashCode(), inflatedSum.hashCode());
+        Assert.assertEquals(compactSum.stringValue(), "3.75");
+    }
+
+    @Test
+    void testZero() {
+        Assert.assertEquals(decimal("0").getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(decimal("-0.00").getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(decimal("1.5").subtract(decimal("1.5")).getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(decimal("1.5").multiply(decimal("0")).getValueKind(), DecimalValueKind.ZERO);
+        Assert.assertEquals(decimal("0"), inflated("0.0"));
+    }
+
+    @Test
+    void testValueOf() {
+        Assert.assertEquals(DecimalValue.valueOf(5).stringValue(), "5.0");
+        Assert.assertEquals(DecimalValue.valueOf(-5L).decimalValue(), new BigDecimal("-5.0"));
+        Assert.assertEquals(DecimalValue.valueOf(Long.MAX_VALUE).decimalValue(),
+                            new BigDecimal(Long.MAX_VALUE).setScale(1));
+        Assert.assertEquals(DecimalValue.valueOf(Long.MIN_VALUE).decimalValue(),
+                            new BigDecimal(Long.MIN_VALUE).setScale(1));
+        Assert.assertEquals(DecimalValue.valueOf(Long.MAX_VALUE).add(DecimalValue.valueOf(1)).decimalValue(),
+                            new BigDecimal(Long.MAX_VALUE).add(BigDecimal.ONE).setScale(1));
+    }
+
+    private static DecimalValue decimal(String value) {
+        return new DecimalValue(value);
+    }
+
+    private static DecimalValue inflated(String value) {
+        return new DecimalValue(big(value));
+    }
+
+    private static BigDecimal big(String value) {
+        return new BigDecimal(value, MathContext.DECIMAL128);
+    }
+
+    private static void assertSameDecimal(DecimalValue actual, BigDecimal expected) {
+        DecimalValue expectedDecimal = new DecimalValue(expected);
+        Assert.assertEquals(actual.decimalValue(), expected);
+        Assert.assertEquals(actual.stringValue(), expectedDecimal.stringValue());
+        Assert.assertEquals(actual.getValueKind(), expectedDecimal.getValueKind());
+        Assert.assertEquals(actual, expectedDecimal);
+        Assert.assertEquals(actual.hashCode(), expectedDecimal.hashCode());
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.XMLFactory;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BObjectType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTupleType;
+import org.ballerinalang.jvm.types.BType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.api.BArray;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.jvm.values.api.BValueCreator;
+import org.ballerinalang.jvm.values.api.BXML;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Test cases for freezing values, which skips values that are already readonly, and the members of values that can
+ * only hold inherently immutable members.
+ */
+public class FreezeTests {
+
+    private static final BPackage PKG = new BPackage("test", "freeze", "1.0.0");
+    private static final int ANYDATA_FLAGS = TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE);
+
+    @Test
+    void testRefreezeMap() {
+        MapValueImpl<BString, Object> inner = newMap(new BMapType(BTypes.typeInt), "x", 1L);
+        MapValueImpl<BString, Object> map = newMap(new BMapType(BTypes.typeAnydata), "inner", inner, "y", 2L);
+        map.freezeDirect();
+        BType frozenType = map.getType();
+        Assert.assertTrue(frozenType.isReadOnly());
+        Assert.assertTrue(inner.isFrozen());
+
+        // an already readonly value keeps its type, and so do its members
+        BType innerType = inner.getType();
+        map.freezeDirect();
+        inner.freezeDirect();
+        Assert.assertSame(map.getType(), frozenType);
+        Assert.assertSame(inner.getType(), innerType);
+        Assert.assertSame(ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(frozenType), frozenType);
+    }
+
+    @Test
+    void testFreezeMapMembers() {
+        // members of inherently immutable types are left as they are
+        MapValueImpl<BString, Object> ints = newMap(new BMapType(BTypes.typeInt), "a", 1L, "b", 2L);
+        ints.freezeDirect();
+        Assert.assertTrue(ints.isFrozen());
+        Assert.assertEquals(ints.get(key("a")), 1L);
+
+        // mutable members are frozen with the map, however deeply nested
+        BArray array = newArray(new BArrayType(BTypes.typeJSON), 1L, StringUtils.fromString("s"));
+        MapValueImpl<BString, Object> nested = newMap(new BMapType(BTypes.typeJSON), "array", array);
+        MapValueImpl<BString, Object> map = newMap(new BMapType(BTypes.typeJSON), "nested", nested, "n", 3L);
+        map.freezeDirect();
+        Assert.assertTrue(map.isFrozen());
+        Assert.assertTrue(nested.isFrozen());
+        Assert.assertTrue(array.isFrozen());
+    }
+
+    @Test
+    void testFreezeArrays() {
+        BArray ints = BValueCreator.createArrayValue(new long[]{1, 2, 3});
+        ints.freezeDirect();
+        Assert.assertTrue(ints.isFrozen());
+        BType frozenType = ints.getType();
+        ints.freezeDirect();
+        Assert.assertSame(ints.getType(), frozenType);
+
+        MapValueImpl<BString, Object> first = newMap(new BMapType(BTypes.typeInt), "a", 1L);
+        MapValueImpl<BString, Object> second = newMap(new BMapType(BTypes.typeInt), "b", 2L);
+        BArray maps = newArray(new BArrayType(new BMapType(BTypes.typeInt)), first, second);
+        maps.freezeDirect();
+        Assert.assertTrue(maps.isFrozen());
+        Assert.assertTrue(first.isFrozen());
+        Assert.assertTrue(second.isFrozen());
+    }
+
+    @Test
+    void testFreezeTuples() {
+        BArray simple = newTuple(new BTupleType(Arrays.asList(BTypes.typeInt, BTypes.typeString)), 1L,
+                                 StringUtils.fromString("a"));
+        simple.freezeDirect();
+        Assert.assertTrue(simple.isFrozen());
+        BType frozenType = simple.getType();
+        simple.freezeDirect();
+        Assert.assertSame(simple.getType(), frozenType);
+
+        // a mutable member, and a mutable rest member
+        MapValueImpl<BString, Object> member = newMap(new BMapType(BTypes.typeInt), "a", 1L);
+        BArray restMember = newArray(new BArrayType(BTypes.typeInt), 2L);
+        BTupleType tupleType = new BTupleType(Arrays.asList(BTypes.typeInt, new BMapType(BTypes.typeInt)),
+                                              new BArrayType(BTypes.typeInt), 0, false);
+        BArray tuple = newTuple(tupleType, 1L, member, restMember);
+        tuple.freezeDirect();
+        Assert.assertTrue(tuple.isFrozen());
+        Assert.assertTrue(member.isFrozen());
+        Assert.assertTrue(restMember.isFrozen());
+
+        BTupleType restOnlyType = new BTupleType(Arrays.asList(BTypes.typeInt), BTypes.typeJSON, 0, false);
+        MapValueImpl<BString, Object> restMap = newMap(new BMapType(BTypes.typeJSON), "a", 1L);
+        BArray restTuple = newTuple(restOnlyType, 1L, restMap);
+        restTuple.freezeDirect();
+        Assert.assertTrue(restMap.isFrozen());
+    }
+
+    @Test
+    void testFreezeRecords() {
+        // type Point record {| int x; int y; |};
+        BRecordType pointType = newRecordType("Point", true, field(BTypes.typeInt, "x"), field(BTypes.typeInt, "y"));
+        MapValueImpl<BString, Object> point = newMap(pointType, "x", 1L, "y", 2L);
+        point.freezeDirect();
+        Assert.assertTrue(point.isFrozen());
+        BType frozenType = point.getType();
+        point.freezeDirect();
+        Assert.assertSame(point.getType(), frozenType);
+
+        // type Shape record { Point origin; int sides; json...; };
+        BRecordType shapeType = newRecordType("Shape", false, field(pointType, "origin"),
+                                              field(BTypes.typeInt, "sides"));
+        shapeType.restFieldType = BTypes.typeJSON;
+        MapValueImpl<BString, Object> origin = newMap(pointType, "x", 0L, "y", 0L);
+        MapValueImpl<BString, Object> extra = newMap(new BMapType(BTypes.typeJSON), "a", 1L);
+        MapValueImpl<BString, Object> shape = newMap(shapeType, "origin", origin, "sides", 4L, "extra", extra);
+        shape.freezeDirect();
+        Assert.assertTrue(shape.isFrozen());
+        Assert.assertTrue(origin.isFrozen());
+        Assert.assertTrue(extra.isFrozen());
+
+        // an open record of simple fields can still hold mutable values in its rest fields
+        BRecordType openType = newRecordType("Open", false, field(BTypes.typeInt, "x"));
+        MapValueImpl<BString, Object> rest = newMap(new BMapType(BTypes.typeAnydata), "a", 1L);
+        MapValueImpl<BString, Object> open = newMap(openType, "x", 1L, "rest", rest);
+        open.freezeDirect();
+        Assert.assertTrue(rest.isFrozen());
+    }
+
+    @Test
+    void testOriginalTypesAfterCloneReadOnly() {
+        BRecordType pointType = newRecordType("Point", true, field(BTypes.typeInt, "x"));
+        int pointFlags = pointType.flags;
+        BRecordType personType = newRecordType("Person", true, field(BTypes.typeString, "name"),
+                                               field(pointType, "home"), field(new BMapType(BTypes.typeInt), "ids"));
+        int personFlags = personType.flags;
+        MapValueImpl<BString, Object> home = newMap(pointType, "x", 1L);
+        MapValueImpl<BString, Object> ids = newMap(new BMapType(BTypes.typeInt), "a", 1L);
+        MapValueImpl<BString, Object> person = newMap(personType, "name", StringUtils.fromString("Ann"), "home",
+                                                      home, "ids", ids);
+
+        MapValueImpl<?, ?> clone = (MapValueImpl<?, ?>) CloneUtils.cloneReadOnly(person);
+        Assert.assertTrue(clone.isFrozen());
+        Assert.assertTrue(((MapValueImpl<?, ?>) clone.get(key("home"))).isFrozen());
+        Assert.assertTrue(((MapValueImpl<?, ?>) clone.get(key("ids"))).isFrozen());
+        Assert.assertTrue(Flags.isFlagOn(((BRecordType) clone.getType()).flags, Flags.READONLY));
+        Assert.assertSame(CloneUtils.cloneReadOnly(clone), clone);
+
+        // the original values and types are left mutable
+        Assert.assertFalse(person.isFrozen());
+        Assert.assertFalse(home.isFrozen());
+        Assert.assertFalse(ids.isFrozen());
+        Assert.assertEquals(personType.flags, personFlags);
+        Assert.assertEquals(pointType.flags, pointFlags);
+        Assert.assertFalse(Flags.isFlagOn(personType.flags, Flags.READONLY));
+        Assert.assertFalse(personType.isReadOnly());
+        person.put(key("name"), StringUtils.fromString("Bob"));
+        Assert.assertEquals(clone.get(key("name")).toString(), "Ann");
+
+        BObjectType objectType = new BObjectType("Counter", PKG, Flags.PUBLIC);
+        objectType.setFields(fields(field(BTypes.typeInt, "count")));
+        BType readonlyObjectType = ReadOnlyUtils.setImmutableTypeAndGetEffectiveType(objectType);
+        Assert.assertTrue(readonlyObjectType.isReadOnly());
+        Assert.assertEquals(objectType.flags, Flags.PUBLIC);
+        Assert.assertFalse(objectType.isReadOnly());
+    }
+
+    @Test
+    void testRefreezeXML() {
+        XMLSequence xml = (XMLSequence) XMLFactory.parse("<a x=\"1\"><b>text</b><c><d/></c></a>");
+        xml.freezeDirect();
+        XMLItem a = (XMLItem) xml.getChildrenList().get(0);
+        XMLItem c = (XMLItem) a.getChildrenSeq().getChildrenList().get(1);
+        Assert.assertTrue(xml.isFrozen());
+        Assert.assertTrue(a.isFrozen());
+        Assert.assertTrue(c.isFrozen());
+        Assert.assertTrue(((XMLItem) c.getChildrenSeq().getChildrenList().get(0)).isFrozen());
+        Assert.assertTrue(a.getAttributesMap().isFrozen());
+
+        BType sequenceType = xml.getType();
+        BType elementType = a.getType();
+        xml.freezeDirect();
+        a.freezeDirect();
+        Assert.assertSame(xml.getType(), sequenceType);
+        Assert.assertSame(a.getType(), elementType);
+        Assert.assertEquals(xml.toString(), "<a x=\"1\"><b>text</b><c><d/></c></a>");
+    }
+
+    @Test
+    void testFreezeXMLInMutableSequence() {
+        // a readonly element in a mutable sequence, and a mutable element in it
+        XMLItem frozen = (XMLItem) ((XMLSequence) XMLFactory.parse("<a><b/></a>")).getChildrenList().get(0);
+        frozen.freezeDirect();
+        BType frozenType = frozen.getType();
+        XMLItem mutable = (XMLItem) ((XMLSequence) XMLFactory.parse("<c><d/></c>")).getChildrenList().get(0);
+        XMLSequence sequence = new XMLSequence(Arrays.<BXML>asList(frozen, mutable));
+        Assert.assertFalse(sequence.isFrozen());
+
+        sequence.freezeDirect();
+        Assert.assertTrue(sequence.isFrozen());
+        Assert.assertTrue(mutable.isFrozen());
+        Assert.assertTrue(((XMLItem) mutable.getChildrenSeq().getChildrenList().get(0)).isFrozen());
+        Assert.assertSame(frozen.getType(), frozenType);
+    }
+
+    private static BString key(String key) {
+        return StringUtils.fromString(key);
+    }
+
+    private static MapValueImpl<BString, Object> newMap(BType type, Object... entries) {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(type);
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(key((String) entries[i]), entries[i + 1]);
+        }
+        return map;
+    }
+
+    private static BArray newArray(BArrayType type, Object... values) {
+        BArray array = BValueCreator.createArrayValue(type);
+        for (Object value : values) {
+            array.append(value);
+        }
+        return array;
+    }
+
+    private static BArray newTuple(BTupleType type, Object... values) {
+        BArray tuple = BValueCreator.createTupleValue(type);
+        for (int i = 0; i < values.length; i++) {
+            tuple.add(i, values[i]);
+        }
+        return tuple;
+    }
+
+    private static BRecordType newRecordType(String name, boolean sealed, BField... fields) {
+        BRecordType recordType = new BRecordType(name, PKG, Flags.PUBLIC, sealed, ANYDATA_FLAGS);
+        recordType.setFields(fields(fields));
+        return recordType;
+    }
+
+    private static BField field(BType type, String name) {
+        return new BField(type, name, Flags.REQUIRED);
+    }
+
+    private static Map<String, BField> fields(BField... fields) {
+        Map<String, BField> fieldMap = new LinkedHashMap<>();
+        Arrays.stream(fields).forEach(field -> fieldMap.put(field.getFieldName(), field));
+        return fieldMap;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for {@link RopeStringValue}, and for concatenating {@link NonBmpStringValue}s.
+ */
+public class RopeStringValueTests {
+
+    // U+1F6F8 = FLYING SAUCER, U+1F47D = EXTRATERRESTRIAL ALIEN
+    private static final String SAUCER = "🛸";
+    private static final String ALIEN = "👽";
+
+    @Test
+    void testNonBmpConcatSurrogates() {
+        BString left = StringUtils.fromString("a" + SAUCER + "b");
+        BString right = StringUtils.fromString("c" + ALIEN + "d" + SAUCER);
+        BString result = left.concat(right);
+
+        Assert.assertTrue(result instanceof NonBmpStringValue);
+        assertSameString(result, "a" + SAUCER + "bc" + ALIEN + "d" + SAUCER);
+        Assert.assertEquals(((NonBmpStringValue) result).getSurrogates(), new int[]{1, 4, 6});
+        Assert.assertEquals(result.getCodePoint(4), 0x1F47D);
+        Assert.assertEquals(result.getCodePoint(6), 0x1F6F8);
+    }
+
+    @Test
+    void testBmpAndNonBmpConcatSurrogates() {
+        BString bmp = StringUtils.fromString("abc");
+        BString nonBmp = StringUtils.fromString(ALIEN + "x" + SAUCER);
+
+        BString result = bmp.concat(nonBmp);
+        Assert.assertTrue(result instanceof NonBmpStringValue);
+        Assert.assertEquals(((NonBmpStringValue) result).getSurrogates(), new int[]{3, 5});
+        assertSameString(result, "abc" + ALIEN + "x" + SAUCER);
+
+        result = nonBmp.concat(bmp);
+        Assert.assertEquals(((NonBmpStringValue) result).getSurrogates(), new int[]{0, 2});
+        assertSameString(result, ALIEN + "x" + SAUCER + "abc");
+
+        // The surrogates of the concatenated string are not shared with the original
+        Assert.assertEquals(((NonBmpStringValue) nonBmp).getSurrogates(), new int[]{0, 2});
+    }
+
+    @Test
+    void testSmallConcatIsNotRope() {
+        BString result = StringUtils.fromString("abc").concat(StringUtils.fromString("def"));
+        Assert.assertFalse(result instanceof RopeStringValue);
+        Assert.assertEquals(result.getValue(), "abcdef");
+    }
+
+    @Test
+    void testLargeConcatIsRope() {
+        String left = repeat("ab", 400);
+        String right = repeat("cd", 400);
+        BString result = StringUtils.fromString(left).concat(StringUtils.fromString(right));
+        Assert.assertTrue(result instanceof RopeStringValue);
+        Assert.assertEquals(result.length(), 1600);
+        assertSameString(result, left + right);
+    }
+
+    @Test
+    void testNonBmpRope() {
+        String left = repeat("a" + SAUCER, 300);
+        String right = repeat(ALIEN + "b", 300);
+        BString rope = StringUtils.fromString(left).concat(StringUtils.fromString(right));
+        Assert.assertTrue(rope instanceof RopeStringValue);
+
+        // The length is known before the rope is flattened
+        Assert.assertEquals(rope.length(), 1200);
+        Assert.assertEquals(rope.getCodePoint(599), 0x1F6F8);
+        Assert.assertEquals(rope.getCodePoint(600), 0x1F47D);
+        Assert.assertEquals(rope.getCodePoint(601), 'b');
+        assertSameString(rope, left + right);
+    }
+
+    @Test
+    void testSearchAcrossJoin() {
+        String left = repeat("x", 1000) + "ab" + SAUCER;
+        String right = ALIEN + "cd" + repeat("y", 100) + SAUCER + ALIEN;
+        BString rope = StringUtils.fromString(left).concat(StringUtils.fromString(right));
+        BString flat = StringUtils.fromString(left + right);
+        Assert.assertTrue(rope instanceof RopeStringValue);
+
+        BString joint = StringUtils.fromString(SAUCER + ALIEN);
+        Assert.assertEquals(rope.indexOf(joint, 0), Long.valueOf(1002));
+        Assert.assertEquals(rope.indexOf(joint, 0), flat.indexOf(joint, 0));
+        Assert.assertEquals(rope.lastIndexOf(joint, rope.length()), Long.valueOf(1106));
+        Assert.assertEquals(rope.lastIndexOf(joint, rope.length()), flat.lastIndexOf(joint, flat.length()));
+        Assert.assertEquals(rope.indexOf(StringUtils.fromString("cd"), 0), Long.valueOf(1004));
+        Assert.assertNull(rope.indexOf(StringUtils.fromString("zz"), 0));
+
+        BString sub = rope.substring(1000, 1006);
+        Assert.assertEquals(sub.getValue(), "ab" + SAUCER + ALIEN + "cd");
+        Assert.assertEquals(sub.length(), 6);
+        Assert.assertEquals(sub.getCodePoint(3), 0x1F47D);
+    }
+
+    @Test
+    void testNestedRopes() {
+        BString first = StringUtils.fromString(repeat("a", 600) + SAUCER);
+        BString second = StringUtils.fromString(ALIEN + repeat("b", 600));
+        BString third = StringUtils.fromString(repeat("c", 600) + SAUCER);
+        BString left = first.concat(second);
+        BString right = second.concat(third);
+        BString both = left.concat(right);
+        Assert.assertTrue(both instanceof RopeStringValue);
+
+        String expected = first.getValue() + second.getValue() + second.getValue() + third.getValue();
+        assertSameString(both, expected);
+        // The parts are not changed by flattening the rope that contains them
+        assertSameString(left, first.getValue() + second.getValue());
+        assertSameString(right, second.getValue() + third.getValue());
+    }
+
+    @Test
+    void testConcatAfterFlatten() {
+        BString rope = StringUtils.fromString(repeat("a", 1100)).concat(StringUtils.fromString(SAUCER + "b"));
+        Assert.assertTrue(rope instanceof RopeStringValue);
+        Assert.assertEquals(rope.getCodePoint(1100), 0x1F6F8);
+
+        BString result = rope.concat(StringUtils.fromString(ALIEN));
+        Assert.assertTrue(result instanceof RopeStringValue);
+        assertSameString(result, repeat("a", 1100) + SAUCER + "b" + ALIEN);
+    }
+
+    @Test
+    void testDeepRope() {
+        // Ropes built in a loop are deep on one side
+        BString str = StringUtils.fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            String part = i % 10 == 0 ? SAUCER : "x";
+            str = str.concat(StringUtils.fromString(part));
+            expected.append(part);
+        }
+        Assert.assertTrue(str instanceof RopeStringValue);
+        Assert.assertEquals(str.length(), 100000);
+        Assert.assertEquals(str.getValue(), expected.toString());
+        Assert.assertEquals(str.getCodePoint(99990), 0x1F6F8);
+        Assert.assertEquals(str.getCodePoint(99999), 'x');
+    }
+
+    @Test
+    void testEqualsAndHashCode() {
+        String value = repeat("ab" + SAUCER, 400);
+        BString rope = StringUtils.fromString(value.substring(0, 500)).concat(
+                StringUtils.fromString(value.substring(500)));
+        BString flat = StringUtils.fromString(value);
+        Assert.assertTrue(rope instanceof RopeStringValue);
+        Assert.assertEquals(rope, flat);
+        Assert.assertEquals(flat, rope);
+        Assert.assertEquals(rope.hashCode(), flat.hashCode());
+        Assert.assertNotEquals(rope, StringUtils.fromString(value + "c"));
+        Assert.assertEquals(rope.toString(), value);
+    }
+
+    /**
+     * Checks the code points, searches and substrings of the given string against the same string created in one
+     * piece.
+     */
+    private static void assertSameString(BString actual, String expectedValue) {
+        BString expected = StringUtils.fromString(expectedValue);
+        Assert.assertEquals(actual.getValue(), expectedValue);
+        Assert.assertEquals(actual.length(), expected.length());
+        Assert.assertEquals(actual.length(), expectedValue.codePointCount(0, expectedValue.length()));
+        int step = Math.max(1, actual.length() / 50);
+        for (int i = 0; i < actual.length(); i += step) {
+            Assert.assertEquals(actual.getCodePoint(i), expected.getCodePoint(i), "code point at " + i);
+            int end = Math.min(actual.length(), i + 3);
+            BString sub = actual.substring(i, end);
+            Assert.assertEquals(sub.getValue(), expected.substring(i, end).getValue(), "substring at " + i);
+            Assert.assertEquals(actual.indexOf(sub, 0), expected.indexOf(sub, 0), "index of " + sub);
+            Assert.assertEquals(actual.lastIndexOf(sub, actual.length()), expected.lastIndexOf(sub, expected.length()),
+                                "last index of " + sub);
+        }
+    }
+
+    private static String repeat(String str, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(str);
+        }
+        return sb.toString();
+    }
+}
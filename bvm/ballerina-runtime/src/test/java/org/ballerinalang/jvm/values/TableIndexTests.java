@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test cases for {@link TableIndex}.
+ */
+public class TableIndexTests {
+
+    // Long.hashCode folds the upper half into the lower half, so both keys have the hash 0
+    private static final Long KEY = 0L;
+    private static final Long COLLIDING_KEY = 0x100000001L;
+
+    @Test
+    void testKeyedInsert() {
+        TableIndex<Long, String> index = new TableIndex<>(true);
+        index.append(1L, "a");
+        index.append(2L, "b");
+        index.append(3L, "c");
+
+        Assert.assertEquals(index.size(), 3);
+        Assert.assertEquals(index.valueAt(index.positionOf(2L)), "b");
+        Assert.assertEquals(index.keyAt(index.positionOf(3L)), Long.valueOf(3L));
+        Assert.assertEquals(index.positionOf(4L), -1);
+        Assert.assertEquals(values(index), Arrays.asList("a", "b", "c"));
+    }
+
+    @Test
+    void testKeylessInsert() {
+        TableIndex<Long, String> index = new TableIndex<>(false);
+        index.append(null, "a");
+        index.append(null, "b");
+
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertNull(index.keyAt(0));
+        Assert.assertEquals(index.positionOf(1L), -1);
+        Assert.assertEquals(values(index), Arrays.asList("a", "b"));
+    }
+
+    @Test
+    void testKeyedRemove() {
+        TableIndex<Long, String> index = new TableIndex<>(true);
+        index.append(1L, "a");
+        index.append(2L, "b");
+        index.append(3L, "c");
+
+        Assert.assertEquals(index.removeAt(index.positionOf(2L)), "b");
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertEquals(index.positionOf(2L), -1);
+        Assert.assertEquals(index.valueAt(index.positionOf(3L)), "c");
+
+        // A key added again after its removal goes after the remaining rows
+        index.append(2L, "d");
+        Assert.assertEquals(values(index), Arrays.asList("a", "c", "d"));
+    }
+
+    @Test
+    void testKeylessRemove() {
+        TableIndex<Long, String> index = new TableIndex<>(false);
+        index.append(null, "a");
+        index.append(null, "b");
+        index.append(null, "c");
+
+        Assert.assertEquals(index.removeAt(0), "a");
+        Assert.assertFalse(index.isPresent(0));
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertEquals(values(index), Arrays.asList("b", "c"));
+    }
+
+    @Test
+    void testIterationOrderAcrossCompaction() {
+        TableIndex<Long, String> index = new TableIndex<>(true);
+        for (long i = 0; i < 16; i++) {
+            index.append(i, "v" + i);
+        }
+        for (long i = 0; i < 16; i += 2) {
+            index.removeAt(index.positionOf(i));
+        }
+        int compactionCount = index.getCompactionCount();
+
+        // The arrays are full, and half of the positions are empty, so the next row compacts them
+        index.append(16L, "v16");
+        Assert.assertNotEquals(index.getCompactionCount(), compactionCount);
+        Assert.assertEquals(index.limit(), 9);
+
+        List<String> expected = new ArrayList<>();
+        for (long i = 1; i < 16; i += 2) {
+            expected.add("v" + i);
+            Assert.assertEquals(index.valueAt(index.positionOf(i)), "v" + i);
+        }
+        expected.add("v16");
+        Assert.assertEquals(values(index), expected);
+    }
+
+    @Test
+    void testIterationOrderAcrossGrowth() {
+        TableIndex<Long, String> index = new TableIndex<>(true);
+        List<String> expected = new ArrayList<>();
+        for (long i = 0; i < 100; i++) {
+            index.append(i, "v" + i);
+            expected.add("v" + i);
+        }
+        Assert.assertEquals(index.size(), 100);
+        Assert.assertEquals(values(index), expected);
+        for (long i = 0; i < 100; i++) {
+            Assert.assertEquals(index.valueAt(index.positionOf(i)), "v" + i);
+        }
+    }
+
+    @Test
+    void testKeysWithSameHash() {
+        Assert.assertEquals(KEY.hashCode(), COLLIDING_KEY.hashCode());
+        TableIndex<Long, String> index = new TableIndex<>(true);
+        index.append(KEY, "a");
+        index.append(COLLIDING_KEY, "b");
+
+        Assert.assertEquals(index.size(), 2);
+        Assert.assertEquals(index.valueAt(index.positionOf(KEY)), "a");
+        Assert.assertEquals(index.valueAt(index.positionOf(COLLIDING_KEY)), "b");
+
+        // Removing one of the keys leaves the other reachable past the removed slot
+        index.removeAt(index.positionOf(KEY));
+        Assert.assertEquals(index.positionOf(KEY), -1);
+        Assert.assertEquals(index.valueAt(index.positionOf(COLLIDING_KEY)), "b");
+    }
+
+    @Test
+    void testClear() {
+        TableIndex<Long, String> index = new TableIndex<>(true);
+        index.append(1L, "a");
+        index.clear();
+
+        Assert.assertEquals(index.size(), 0);
+        Assert.assertEquals(index.positionOf(1L), -1);
+        index.append(1L, "b");
+        Assert.assertEquals(values(index), Arrays.asList("b"));
+    }
+
+    private static List<String> values(TableIndex<Long, String> index) {
+        List<String> values = new ArrayList<>();
+        for (int pos = 0; pos < index.limit(); pos++) {
+            if (index.isPresent(pos)) {
+                values.add(index.valueAt(pos));
+            }
+        }
+        return values;
+    }
+}
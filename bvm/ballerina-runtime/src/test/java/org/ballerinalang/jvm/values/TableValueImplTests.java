@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.jvm.values;
+
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BField;
+import org.ballerinalang.jvm.types.BMapType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.types.BRecordType;
+import org.ballerinalang.jvm.types.BTableType;
+import org.ballerinalang.jvm.types.BTypes;
+import org.ballerinalang.jvm.types.TypeFlags;
+import org.ballerinalang.jvm.util.Flags;
+import org.ballerinalang.jvm.values.api.BString;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for the secondary field indexes and the row iteration of {@link TableValueImpl}.
+ */
+public class TableValueImplTests {
+
+    private static final BString ID = StringUtils.fromString("id");
+    private static final BString GROUP = StringUtils.fromString("group");
+    private static final BString NAME = StringUtils.fromString("name");
+
+    // record {| readonly int id; readonly int group; string name; |}
+    private static final BRecordType ROW_TYPE = createRowType();
+
+    @Test
+    void testIndexOnMutableFieldIsRejected() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = newTable();
+        try {
+            table.addFieldIndex(NAME);
+            Assert.fail("indexed a mutable field");
+        } catch (ErrorValue e) {
+            Assert.assertTrue(e.getDetails().toString().contains("only readonly fields can be indexed"),
+                              e.getDetails().toString());
+        }
+
+        TableValueImpl<Object, MapValueImpl<BString, Object>> mapTable =
+                new TableValueImpl<>(new BTableType(new BMapType(BTypes.typeInt), new String[]{"id"}, false));
+        Assert.assertThrows(ErrorValue.class, () -> mapTable.addFieldIndex(GROUP));
+    }
+
+    @Test
+    void testIndexOnReadOnlyRowType() {
+        BMapType readOnlyRowType = new BMapType(BTypes.typeInt, true);
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table =
+                new TableValueImpl<>(new BTableType(readOnlyRowType, new String[]{"id"}, false));
+        MapValueImpl<BString, Object> row = new MapValueImpl<>(new BMapType(BTypes.typeInt));
+        row.put(ID, 1L);
+        row.put(GROUP, 7L);
+        row.freezeDirect();
+        table.add(row);
+
+        table.addFieldIndex(GROUP);
+        Assert.assertEquals(table.getRowsByField(GROUP, 7L), Collections.singletonList(row));
+    }
+
+    @Test
+    void testIndexedLookup() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = newTable();
+        List<MapValueImpl<BString, Object>> rows = addRows(table, 10, 3);
+        table.addFieldIndex(GROUP);
+        // Rows added after the index are indexed as well
+        MapValueImpl<BString, Object> lastRow = newRow(10, 1, "row10");
+        table.add(lastRow);
+
+        Assert.assertEquals(table.getRowsByField(GROUP, 1L),
+                            Arrays.asList(rows.get(1), rows.get(4), rows.get(7), lastRow));
+        Assert.assertEquals(table.getRowsByField(GROUP, 5L), Collections.emptyList());
+        assertSameAsScan(table, 3);
+    }
+
+    @Test
+    void testIndexedLookupAfterUpdate() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = newTable();
+        List<MapValueImpl<BString, Object>> rows = addRows(table, 6, 2);
+        table.addFieldIndex(GROUP);
+
+        // Updating a field that is not indexed does not affect the index
+        rows.get(2).put(NAME, "updated");
+        Assert.assertEquals(table.getRowsByField(GROUP, 0L), Arrays.asList(rows.get(0), rows.get(2), rows.get(4)));
+
+        // A readonly field is updated by replacing the row
+        MapValueImpl<BString, Object> replacement = newRow(2, 1, "replaced");
+        Assert.assertSame(table.put(2L, replacement), rows.get(2));
+        Assert.assertEquals(table.getRowsByField(GROUP, 0L), Arrays.asList(rows.get(0), rows.get(4)));
+        Assert.assertEquals(table.getRowsByField(GROUP, 1L),
+                            Arrays.asList(rows.get(1), rows.get(3), rows.get(5), replacement));
+        assertSameAsScan(table, 2);
+    }
+
+    @Test
+    void testIndexedRemove() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = newTable();
+        List<MapValueImpl<BString, Object>> rows = addRows(table, 9, 3);
+        table.addFieldIndex(GROUP);
+
+        Assert.assertSame(table.remove(3L), rows.get(3));
+        Assert.assertEquals(table.getRowsByField(GROUP, 0L), Arrays.asList(rows.get(0), rows.get(6)));
+        table.remove(0L);
+        table.remove(6L);
+        Assert.assertEquals(table.getRowsByField(GROUP, 0L), Collections.emptyList());
+        Assert.assertEquals(table.getRowsByField(GROUP, 1L), Arrays.asList(rows.get(1), rows.get(4), rows.get(7)));
+
+        // A row added again after its removal is found again
+        table.add(rows.get(3));
+        Assert.assertEquals(table.getRowsByField(GROUP, 0L), Collections.singletonList(rows.get(3)));
+        assertSameAsScan(table, 3);
+
+        table.clear();
+        Assert.assertEquals(table.getRowsByField(GROUP, 1L), Collections.emptyList());
+    }
+
+    @Test
+    void testSameRowAddedTwiceToKeylessTable() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table =
+                new TableValueImpl<>(new BTableType(ROW_TYPE, false));
+        MapValueImpl<BString, Object> row = newRow(1, 4, "row");
+        MapValueImpl<BString, Object> other = newRow(2, 4, "other");
+        table.add(row);
+        table.add(other);
+        table.add(row);
+
+        table.addFieldIndex(GROUP);
+        Assert.assertEquals(table.getRowsByField(GROUP, 4L), Arrays.asList(row, row, other));
+        table.clear();
+        Assert.assertEquals(table.getRowsByField(GROUP, 4L), Collections.emptyList());
+    }
+
+    @Test
+    void testKeyedIterationAfterCompaction() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = newTable();
+        addRows(table, 16, 1);
+        Iterator<MapValueImpl<BString, Object>> iterator = table.values().iterator();
+        Assert.assertEquals(iterator.next().get(ID), 0L);
+        Assert.assertEquals(iterator.next().get(ID), 1L);
+
+        // Removing rows and adding new ones compacts the rows, the iteration continues after the last returned row
+        for (long id = 2; id < 10; id++) {
+            table.remove(id);
+        }
+        table.add(newRow(16, 0, "row16"));
+        Assert.assertEquals(ids(iterator), Arrays.asList(10L, 11L, 12L, 13L, 14L, 15L, 16L));
+    }
+
+    @Test
+    void testKeylessIterationAfterClear() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table =
+                new TableValueImpl<>(new BTableType(ROW_TYPE, false));
+        addRows(table, 5, 1);
+        Iterator<MapValueImpl<BString, Object>> iterator = table.values().iterator();
+        Assert.assertEquals(iterator.next().get(ID), 0L);
+        Assert.assertEquals(iterator.next().get(ID), 1L);
+
+        // The iteration continues with the rows added after the table is cleared
+        table.clear();
+        table.add(newRow(20, 0, "row20"));
+        table.add(newRow(21, 0, "row21"));
+        Assert.assertEquals(ids(iterator), Arrays.asList(20L, 21L));
+    }
+
+    @Test
+    void testKeyedIterationAfterClear() {
+        TableValueImpl<Object, MapValueImpl<BString, Object>> table = newTable();
+        addRows(table, 5, 1);
+        Iterator<MapValueImpl<BString, Object>> iterator = table.values().iterator();
+        iterator.next();
+        iterator.next();
+        iterator.next();
+
+        table.clear();
+        table.add(newRow(20, 0, "row20"));
+        Assert.assertEquals(ids(iterator), Collections.singletonList(20L));
+    }
+
+    private static BRecordType createRowType() {
+        Map<String, BField> fields = new LinkedHashMap<>();
+        fields.put("id", new BField(BTypes.typeInt, "id", Flags.REQUIRED + Flags.READONLY));
+        fields.put("group", new BField(BTypes.typeInt, "group", Flags.REQUIRED + Flags.READONLY));
+        fields.put("name", new BField(BTypes.typeString, "name", Flags.REQUIRED));
+        return new BRecordType("Row", new BPackage("test", "table"), 0, fields, null, true,
+                               TypeFlags.asMask(TypeFlags.ANYDATA, TypeFlags.PURETYPE));
+    }
+
+    private static TableValueImpl<Object, MapValueImpl<BString, Object>> newTable() {
+        return new TableValueImpl<>(new BTableType(ROW_TYPE, new String[]{"id"}, false));
+    }
+
+    private static MapValueImpl<BString, Object> newRow(long id, long group, String name) {
+        MapValueImpl<BString, Object> row = new MapValueImpl<>(ROW_TYPE);
+        row.put(ID, id);
+        row.put(GROUP, group);
+        row.put(NAME, name);
+        return row;
+    }
+
+    private static List<MapValueImpl<BString, Object>> addRows(TableValueImpl<Object, MapValueImpl<BString, Object>>
+                                                                       table, int count, int groups) {
+        List<MapValueImpl<BString, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MapValueImpl<BString, Object> row = newRow(i, i % groups, "row" + i);
+            table.add(row);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<Object> ids(Iterator<MapValueImpl<BString, Object>> iterator) {
+        List<Object> ids = new ArrayList<>();
+        while (iterator.hasNext()) {
+            ids.add(iterator.next().get(ID));
+        }
+        return ids;
+    }
+
+    /**
+     * Checks the lookups of the index of the group field against scans of the rows.
+     */
+    private static void assertSameAsScan(TableValueImpl<Object, MapValueImpl<BString, Object>> table, int groups) {
+        for (long group = 0; group < groups; group++) {
+            List<MapValueImpl<BString, Object>> expected = new ArrayList<>();
+            for (MapValueImpl<BString, Object> row : table.values()) {
+                if (row.get(GROUP).equals(group)) {
+                    expected.add(row);
+                }
+            }
+            List<MapValueImpl<BString, Object>> actual = table.getRowsByField(GROUP, group);
+            Assert.assertEquals(actual.size(), expected.size(), "group " + group);
+            Assert.assertTrue(actual.containsAll(expected), "group " + group);
+        }
+    }
+}
@@ -40,13 +40,17 @@ import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
 import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SchedulerPolicy;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BObjectType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BServiceType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.objectweb.asm.Opcodes.AASTORE;
 import static org.objectweb.asm.Opcodes.ACONST_NULL;
@@ -67,6 +71,7 @@ import static org.objectweb.asm.Opcodes.DSUB;
 import static org.objectweb.asm.Opcodes.DUP;
 import static org.objectweb.asm.Opcodes.FLOAD;
 import static org.objectweb.asm.Opcodes.FSTORE;
+import static org.objectweb.asm.Opcodes.GETFIELD;
 import static org.objectweb.asm.Opcodes.GETSTATIC;
 import static org.objectweb.asm.Opcodes.GOTO;
 import static org.objectweb.asm.Opcodes.I2B;
@@ -91,6 +96,7 @@ import static org.objectweb.asm.Opcodes.IF_ICMPLT;
 import static org.objectweb.asm.Opcodes.IF_ICMPNE;
 import static org.objectweb.asm.Opcodes.ILOAD;
 import static org.objectweb.asm.Opcodes.INEG;
+import static org.objectweb.asm.Opcodes.INSTANCEOF;
 import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
 import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
 import static org.objectweb.asm.Opcodes.INVOKESTATIC;
@@ -117,6 +123,7 @@ import static org.objectweb.asm.Opcodes.LUSHR;
 import static org.objectweb.asm.Opcodes.LXOR;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.NEWARRAY;
+import static org.objectweb.asm.Opcodes.POP;
 import static org.objectweb.asm.Opcodes.PUTSTATIC;
 import static org.objectweb.asm.Opcodes.T_INT;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmCastGen.generateCast;
@@ -173,8 +180,10 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTerminatorGen.toNam
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.duplicateServiceTypeWithAnnots;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.getTypeDesc;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmTypeGen.loadType;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getFieldIsPresentFlagName;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getTypeDescClassName;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.getTypeValueClassName;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmValueGen.isOptionalRecordField;
 
 /**
  * Instruction generator helper class to hold its enclosing pkg and index map.
@@ -192,6 +201,11 @@ public class JvmInstructionGen {
     private JvmPackageGen jvmPackageGen;
     private SymbolTable symbolTable;
 
+    // String constants loaded into temporaries of the current basic block, used to resolve record field names.
+    private final Map<BIRNode.BIRVariableDcl, String> stringConstants = new HashMap<>();
+    // Record types declared in the current module, mapped to their generated value class.
+    private Map<BRecordType, String> recordValueClasses;
+
     public JvmInstructionGen(MethodVisitor mv, BIRVarToJVMIndexMap indexMap, BIRNode.BIRPackage currentPackage,
                              JvmPackageGen jvmPackageGen) {
 
@@ -1274,6 +1288,14 @@ public class JvmInstructionGen {
         BType varRefType = mapLoadIns.rhsOp.variableDcl.type;
         addUnboxInsn(this.mv, varRefType);
 
+        Label recordFieldLoadEnd = null;
+        if (varRefType.tag == TypeTags.RECORD && !mapLoadIns.fillingRead) {
+            recordFieldLoadEnd = new Label();
+            if (!generateRecordFieldLoad(mapLoadIns, (BRecordType) varRefType, recordFieldLoadEnd)) {
+                recordFieldLoadEnd = null;
+            }
+        }
+
         // visit key_expr
         this.loadVar(mapLoadIns.keyOp.variableDcl);
 
@@ -1302,9 +1324,87 @@ public class JvmInstructionGen {
         // store in the target reg
         BType targetType = mapLoadIns.lhsOp.variableDcl.type;
         addUnboxInsn(this.mv, targetType);
+        if (recordFieldLoadEnd != null) {
+            this.mv.visitLabel(recordFieldLoadEnd);
+        }
         this.storeToVar(mapLoadIns.lhsOp.variableDcl);
     }
 
+    /**
+     * Generates a direct field load for a known field of a record declared in this module. The record value on the
+     * stack is only accessed through the field if it is an instance of the generated value class of the record,
+     * since a value of a record type can also be a value of a structurally compatible type. Otherwise, execution
+     * continues after the generated code with the record value still on the stack, where the generic map lookup is
+     * emitted.
+     *
+     * @param mapLoadIns the map load instruction
+     * @param recordType static type of the record value
+     * @param endLabel   label to jump to once the field value is converted to the target type
+     * @return true if the direct field load was generated
+     */
+    private boolean generateRecordFieldLoad(FieldAccess mapLoadIns, BRecordType recordType, Label endLabel) {
+
+        String fieldName = this.stringConstants.get(mapLoadIns.keyOp.variableDcl);
+        if (fieldName == null) {
+            return false;
+        }
+        BField field = recordType.fields.get(fieldName);
+        String className = getRecordValueClassName(recordType);
+        if (field == null || className == null) {
+            return false;
+        }
+
+        Label lookupLabel = new Label();
+        this.mv.visitInsn(DUP);
+        this.mv.visitTypeInsn(INSTANCEOF, className);
+        this.mv.visitJumpInsn(IFEQ, lookupLabel);
+        this.mv.visitTypeInsn(CHECKCAST, className);
+
+        BType targetType = mapLoadIns.lhsOp.variableDcl.type;
+        if (isOptionalRecordField(field)) {
+            // an optional field that is not present reads as nil
+            Label presentLabel = new Label();
+            this.mv.visitInsn(DUP);
+            this.mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
+                                   getTypeDesc(symbolTable.booleanType));
+            this.mv.visitJumpInsn(IFNE, presentLabel);
+            this.mv.visitInsn(POP);
+            this.mv.visitInsn(ACONST_NULL);
+            addUnboxInsn(this.mv, targetType);
+            this.mv.visitJumpInsn(GOTO, endLabel);
+            this.mv.visitLabel(presentLabel);
+        }
+
+        String fieldDesc = getTypeDesc(field.type);
+        this.mv.visitFieldInsn(GETFIELD, className, fieldName, fieldDesc);
+        if (!fieldDesc.equals(getTypeDesc(targetType))) {
+            addBoxInsn(this.mv, field.type);
+            addUnboxInsn(this.mv, targetType);
+        }
+        this.mv.visitJumpInsn(GOTO, endLabel);
+        this.mv.visitLabel(lookupLabel);
+        return true;
+    }
+
+    private String getRecordValueClassName(BRecordType recordType) {
+
+        if (this.recordValueClasses == null) {
+            this.recordValueClasses = new HashMap<>();
+            for (BIRNode.BIRTypeDefinition typeDef : this.currentPackage.typeDefs) {
+                if (typeDef.type.tag != TypeTags.RECORD) {
+                    continue;
+                }
+                // Only the type definition that declares the record owns a value class with its fields. Type
+                // definitions referring to a record declared elsewhere reuse that class.
+                String className = getTypeValueClassName(this.currentPackage, typeDef.name.value);
+                if (className.equals(getTypeValueClassName(typeDef.type.tsymbol.pkgID, toNameString(typeDef.type)))) {
+                    this.recordValueClasses.put((BRecordType) typeDef.type, className);
+                }
+            }
+        }
+        return this.recordValueClasses.get(recordType);
+    }
+
     void generateObjectLoadIns(BIRNonTerminator.FieldAccess objectLoadIns) {
         // visit object_ref
         this.loadVar(objectLoadIns.rhsOp.variableDcl);
@@ -1866,6 +1966,7 @@ public class JvmInstructionGen {
 
     private void storeToVar(BIRNode.BIRVariableDcl varDcl) {
 
+        this.stringConstants.remove(varDcl);
         generateVarStore(this.mv, varDcl, this.currentPackageName, this.getJVMIndexOfVarRef(varDcl));
     }
 
@@ -1873,6 +1974,18 @@ public class JvmInstructionGen {
 
         loadConstantValue(loadIns.type, loadIns.value, this.mv);
         this.storeToVar(loadIns.lhsOp.variableDcl);
+        if (loadIns.value instanceof String && loadIns.lhsOp.variableDcl.kind == VarKind.TEMP) {
+            this.stringConstants.put(loadIns.lhsOp.variableDcl, (String) loadIns.value);
+        }
+    }
+
+    /**
+     * Forgets the string constants tracked so far. Called at the start of each basic block, since a temporary
+     * loaded in one block is not guaranteed to hold the same value when another block is entered.
+     */
+    void resetStringConstants() {
+
+        this.stringConstants.clear();
     }
 
     private void loadListInitialValues(BIRNonTerminator.NewArray arrayNewIns) {
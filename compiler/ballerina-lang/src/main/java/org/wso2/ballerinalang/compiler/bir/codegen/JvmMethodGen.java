@@ -1779,6 +1779,7 @@ public class JvmMethodGen {
             // create jvm label
             Label bbLabel = labelGen.getLabel(funcName + bb.id.value);
             mv.visitLabel(bbLabel);
+            instGen.resetStringConstants();
             if (j == 0 && !isArg) {
                 // SIPUSH range is (-32768 to 32767) so if the state index goes beyond that, need to use visitLdcInsn
                 mv.visitIntInsn(SIPUSH, caseIndex);
@@ -92,7 +92,6 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BLANG_RUN
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.BTYPE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_STRING_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.COLLECTION;
-import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LINKED_HASH_MAP;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LINKED_HASH_SET;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LIST;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.LOCK_VALUE;
@@ -804,20 +803,20 @@ class JvmValueGen {
             FieldVisitor fv = cw.visitField(0, field.name.value, getTypeDesc(field.type), null, null);
             fv.visitEnd();
 
-            if (this.isOptionalRecordField(field)) {
-                fv = cw.visitField(0, this.getFieldIsPresentFlagName(field.name.value), getTypeDesc(booleanType),
+            if (isOptionalRecordField(field)) {
+                fv = cw.visitField(0, getFieldIsPresentFlagName(field.name.value), getTypeDesc(booleanType),
                         null, null);
                 fv.visitEnd();
             }
         }
     }
 
-    private String getFieldIsPresentFlagName(String fieldName) {
+    static String getFieldIsPresentFlagName(String fieldName) {
 
         return String.format("%s$isPresent", fieldName);
     }
 
-    private boolean isOptionalRecordField(BField field) {
+    static boolean isOptionalRecordField(BField field) {
 
         return (field.symbol.flags & BAL_OPTIONAL) == BAL_OPTIONAL;
     }
@@ -857,9 +856,9 @@ class JvmValueGen {
             // if the field is an optional-field, first check the 'isPresent' flag of that field.
             Label ifPresentLabel = new Label();
             String fieldName = field.name.value;
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFNE, ifPresentLabel);
                 mv.visitInsn(ACONST_NULL);
@@ -926,10 +925,10 @@ class JvmValueGen {
             mv.visitFieldInsn(PUTFIELD, className, fieldName, getTypeDesc(field.type));
 
             // if the field is an optional-field, then also set the isPresent flag of that field to true.
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 mv.visitVarInsn(ALOAD, 0);
                 mv.visitInsn(ICONST_1);
-                mv.visitFieldInsn(PUTFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
             }
 
@@ -984,9 +983,9 @@ class JvmValueGen {
 
             // If its an optional field, generate if-condition to check the presense of the field.
             String fieldName = field.name.value;
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                                   getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
@@ -1015,7 +1014,7 @@ class JvmValueGen {
         // Add all from super.enrtySet() to the current entry set.
         mv.visitVarInsn(ALOAD, entrySetVarIndex);
         mv.visitVarInsn(ALOAD, 0);
-        mv.visitMethodInsn(INVOKESPECIAL, LINKED_HASH_MAP, "entrySet", String.format("()L%s;", SET), false);
+        mv.visitMethodInsn(INVOKESPECIAL, MAP_VALUE_IMPL, "entrySet", String.format("()L%s;", SET), false);
         mv.visitMethodInsn(INVOKEINTERFACE, SET, "addAll", String.format("(L%s;)Z", COLLECTION), true);
         mv.visitInsn(POP);
 
@@ -1057,10 +1056,10 @@ class JvmValueGen {
             mv.visitLabel(targetLabel);
 
             String fieldName = field.name.value;
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 // if the field is optional, then return the value is the 'isPresent' flag.
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
             } else {
                 // else always return true.
@@ -1100,9 +1099,9 @@ class JvmValueGen {
 
             // If its an optional field, generate if-condition to check the presense of the field.
             String fieldName = field.name.value;
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 mv.visitVarInsn(ALOAD, 0); // this
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                                   getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
@@ -1142,9 +1141,9 @@ class JvmValueGen {
         for (BField optionalField : fields.values()) {
             BField field = getObjectField(optionalField);
             String fieldName = field.name.value;
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 mv.visitVarInsn(ALOAD, 0);
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                                   getTypeDesc(booleanType));
                 Label l3 = new Label();
                 mv.visitJumpInsn(IFEQ, l3);
@@ -1210,11 +1209,11 @@ class JvmValueGen {
             mv.visitLabel(targetLabel);
 
             //Setting isPresent as zero
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 String fieldName = field.name.value;
                 mv.visitVarInsn(ALOAD, 0);
                 mv.visitInsn(ICONST_0);
-                mv.visitFieldInsn(PUTFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(PUTFIELD, className, getFieldIsPresentFlagName(fieldName),
                         getTypeDesc(booleanType));
 
                 // load the existing value to return
@@ -1281,9 +1280,9 @@ class JvmValueGen {
 
             // If its an optional field, generate if-condition to check the presense of the field.
             String fieldName = field.name.value;
-            if (this.isOptionalRecordField(field)) {
+            if (isOptionalRecordField(field)) {
                 mv.visitVarInsn(ALOAD, 0); // this
-                mv.visitFieldInsn(GETFIELD, className, this.getFieldIsPresentFlagName(fieldName),
+                mv.visitFieldInsn(GETFIELD, className, getFieldIsPresentFlagName(fieldName),
                                   getTypeDesc(booleanType));
                 mv.visitJumpInsn(IFEQ, ifNotPresent);
             }
@@ -1299,7 +1298,7 @@ class JvmValueGen {
 
         mv.visitVarInsn(ALOAD, keysVarIndex);
         mv.visitVarInsn(ALOAD, 0); // this
-        mv.visitMethodInsn(INVOKESPECIAL, LINKED_HASH_MAP, "keySet", String.format("()L%s;", SET), false);
+        mv.visitMethodInsn(INVOKESPECIAL, MAP_VALUE_IMPL, "keySet", String.format("()L%s;", SET), false);
         mv.visitMethodInsn(INVOKEINTERFACE, SET, "addAll", String.format("(L%s;)Z", COLLECTION), true);
         mv.visitInsn(POP);
 
@@ -29,6 +29,7 @@ import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Return elements matching at least one of `elemNames`.
@@ -75,6 +76,13 @@ public class GetElements {
         ArrayList<BXML> selectedElements = new ArrayList<>();
         if (xmlVal.getNodeType() == XMLNodeType.SEQUENCE) {
             XMLSequence sequence = (XMLSequence) xmlVal;
+            // a single name without wildcards is looked up in the name index of readonly sequences
+            if (elemNames.size() == 1 && !localNameList.get(0).equals(STAR)) {
+                List<BXML> indexed = sequence.getIndexedElements(elemNames.getString(0));
+                if (indexed != null) {
+                    return new XMLSequence(new ArrayList<>(indexed));
+                }
+            }
             for (BXML child : sequence.getChildrenList()) {
                 if (child.getNodeType() != XMLNodeType.ELEMENT) {
                     continue;
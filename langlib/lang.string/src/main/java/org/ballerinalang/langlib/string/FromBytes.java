@@ -19,16 +19,14 @@
 package org.ballerinalang.langlib.string;
 
 import org.ballerinalang.jvm.BallerinaErrors;
-import org.ballerinalang.jvm.StringUtils;
 import org.ballerinalang.jvm.scheduling.Strand;
 import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ByteArrayStringValue;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
-import java.nio.charset.StandardCharsets;
-
 import static org.ballerinalang.util.BLangCompilerConstants.STRING_VERSION;
 
 /**
@@ -46,7 +44,7 @@ public class FromBytes {
 
     public static Object fromBytes(Strand strand, ArrayValue bytes) {
         try {
-            return StringUtils.fromString(new String(bytes.getBytes(), StandardCharsets.UTF_8));
+            return ByteArrayStringValue.fromUtf8(bytes.getBytes());
         } catch (Exception e) {
             return BallerinaErrors.createError("FailedToDecodeBytes", e.getMessage());
         }
@@ -20,6 +20,7 @@ package org.ballerinalang.langlib.string;
 import org.ballerinalang.jvm.scheduling.Strand;
 import org.ballerinalang.jvm.values.ArrayValue;
 import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.ByteArrayStringValue;
 import org.ballerinalang.jvm.values.api.BString;
 import org.ballerinalang.model.types.TypeKind;
 import org.ballerinalang.natives.annotations.Argument;
@@ -44,7 +45,9 @@ import static org.ballerinalang.util.BLangCompilerConstants.STRING_VERSION;
 public class ToBytes {
 
     public static ArrayValue toBytes(Strand strand, BString value) {
-
+        if (value instanceof ByteArrayStringValue) {
+            return new ArrayValueImpl(((ByteArrayStringValue) value).toUtf8Bytes());
+        }
         byte[] bytes = value.getValue().getBytes(StandardCharsets.UTF_8);
         return new ArrayValueImpl(bytes);
     }
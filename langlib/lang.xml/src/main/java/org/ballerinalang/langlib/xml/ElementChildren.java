@@ -53,7 +53,7 @@ public class ElementChildren {
         String name = namedQuery ? ((BString) nameObj).getValue() : null;
         if (xmlVal.getNodeType() == XMLNodeType.ELEMENT) {
             if (namedQuery) {
-                return (XMLValue) ((XMLItem) xmlVal).children().elements(name);
+                return (XMLValue) ((XMLItem) xmlVal).children(name);
             }
             return (XMLValue) ((XMLItem) xmlVal).children().elements();
         } else if (xmlVal.getNodeType() == XMLNodeType.SEQUENCE) {
@@ -265,6 +265,11 @@ public class LangLibXMLTest {
         BValue[] returns = BRunUtil.invoke(compileResult, "testElementChildrenNS");
     }
 
+    @Test
+    public void testReadOnlyElementNavigation() {
+        BRunUtil.invoke(compileResult, "testReadOnlyElementNavigation");
+    }
+
     @Test
     public void testXMLFunctionalCtor() {
         BRunUtil.invoke(compileResult, "testXMLFunctionalCtor");
@@ -415,6 +415,18 @@ function testXMLTextCtor() {
     assertValueEquality(y, x);
 }
 
+function testReadOnlyElementNavigation() {
+    xml letter = xml `<note><to>Tove</to><to>Irshad</to><cc><to>Jani</to></cc><from>Jani</from></note>`;
+    xml readOnlyLetter = letter.cloneReadOnly();
+
+    assertValueEquality(letter.elementChildren("to"), readOnlyLetter.elementChildren("to"));
+    assertValueEquality(letter/<to>, readOnlyLetter/<to>);
+    assertValueEquality(letter/**/<to>, readOnlyLetter/**/<to>);
+    assertValueEquality((readOnlyLetter/**/<to>).length(), 3);
+    assertValueEquality((readOnlyLetter/<cc>/<to>).toString(), "<to>Jani</to>");
+    assertValueEquality((readOnlyLetter/<bcc>).length(), 0);
+}
+
 const ASSERTION_ERROR_REASON = "AssertionError";
 
 function assertValueEquality(anydata|error expected, anydata|error actual) {
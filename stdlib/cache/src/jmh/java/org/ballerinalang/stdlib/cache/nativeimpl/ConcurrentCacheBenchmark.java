@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks concurrent reads and writes of the native {@code cache:Cache} storage. The {@code globalLock} benchmarks
+ * use a least recently used map behind a single lock, as the Ballerina cache does with its module lock.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class ConcurrentCacheBenchmark {
+
+    @Param({"1000", "100000"})
+    public int capacity;
+
+    @Param({"false", "true"})
+    public boolean frequencyBasedAdmission;
+
+    private String[] keys;
+    private ConcurrentCache cache;
+    private Map<String, Object> globalLockCache;
+
+    @Setup
+    public void setup() {
+        // Twice the keys that fit in the cache, so that writes keep evicting
+        keys = new String[capacity * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = "key" + i;
+        }
+        cache = new ConcurrentCache(capacity, 0.25, 3600, frequencyBasedAdmission);
+        globalLockCache = new LinkedHashMap<String, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+                return size() > capacity;
+            }
+        };
+        for (int i = 0; i < capacity; i++) {
+            cache.put(keys[i], keys[i], -1, 1);
+            globalLockCache.put(keys[i], keys[i]);
+        }
+    }
+
+    @Benchmark
+    public Object get() {
+        return cache.get(keys[ThreadLocalRandom.current().nextInt(capacity)]);
+    }
+
+    @Benchmark
+    public Object globalLockGet() {
+        String key = keys[ThreadLocalRandom.current().nextInt(capacity)];
+        synchronized (globalLockCache) {
+            return globalLockCache.get(key);
+        }
+    }
+
+    @Benchmark
+    public boolean put() {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        return cache.put(key, key, -1, 1);
+    }
+
+    @Benchmark
+    public Object globalLockPut() {
+        String key = keys[ThreadLocalRandom.current().nextInt(keys.length)];
+        synchronized (globalLockCache) {
+            return globalLockCache.put(key, key);
+        }
+    }
+}
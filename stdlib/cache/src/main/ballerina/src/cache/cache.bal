@@ -14,26 +14,38 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/java;
 import ballerina/task;
 import ballerina/time;
 
 # Represents configurations for the `cache:Cache` object.
 #
-# + capacity - Maximum number of entries allowed in the cache
+# + capacity - Maximum number of entries allowed in the cache, or their maximum total weight if a `weigher` is set
 # + evictionPolicy - The policy, which defines the cache eviction algorithm
 # + evictionFactor - The factor by which the entries will be evicted once the cache is full
 # + defaultMaxAgeInSeconds - The default value in seconds which all the cache entries are valid.
 #                            '-1' means, the entries are valid forever. This will be overwritten by the the
 #                            `maxAgeInSeconds` property set when inserting item to the cache
 # + cleanupIntervalInSeconds - Interval of the timer task, which will clean up the cache
+# + weigher - The function, which returns the weight of each cache entry. This is only supported with the
+#             `cache:LruEvictionPolicy`
+# + frequencyBasedAdmission - If `true`, a new key is added to a full cache only if it is used more frequently than
+#                             the least recently used entry, which would be evicted for it. This is only supported
+#                             with the `cache:LruEvictionPolicy`
 public type CacheConfig record {|
     int capacity = 100;
     AbstractEvictionPolicy evictionPolicy = new LruEvictionPolicy();
     float evictionFactor = 0.25;
     int defaultMaxAgeInSeconds = -1;
     int cleanupIntervalInSeconds?;
+    Weigher? weigher = ();
+    boolean frequencyBasedAdmission = false;
 |};
 
+# The function, which returns the weight of a cache entry. The weight should be a non-negative value, which is not
+# greater than the capacity of the cache.
+public type Weigher function (string key, any value) returns int;
+
 type CacheEntry record {|
     string key;
     any data;
@@ -57,6 +69,14 @@ service cleanupService = service {
     }
 };
 
+// Cleanup service of the caches, which are stored natively. The expired entries are found without a lock, and
+// without scanning the whole cache.
+service nativeCleanupService = service {
+    resource function onTrigger(Cache cache) {
+        externCleanup(cache);
+    }
+};
+
 # The `cache:Cache` object, which is used for all the cache-related operations. It is not recommended to insert `()`
 # as the value of the cache since it doesn't make any sense to cache a nil.
 public type Cache object {
@@ -69,6 +89,10 @@ public type Cache object {
     private int defaultMaxAgeInSeconds;
     private map<Node> entries = {};
     private LinkedList list;
+    private Weigher? weigher;
+    // Whether the entries are stored natively. This is the case for the `cache:LruEvictionPolicy`, while the custom
+    // eviction policies maintain the linked list of the cache.
+    private boolean nativeCache;
 
     # Called when a new `cache:Cache` object is created.
     #
@@ -78,6 +102,8 @@ public type Cache object {
         self.evictionPolicy = cacheConfig.evictionPolicy;
         self.evictionFactor = cacheConfig.evictionFactor;
         self.defaultMaxAgeInSeconds = cacheConfig.defaultMaxAgeInSeconds;
+        self.weigher = cacheConfig.weigher;
+        self.nativeCache = externIsDefaultEvictionPolicy(self.evictionPolicy);
 
         // Cache capacity must be a positive value.
         if (self.capacity <= 0) {
@@ -93,10 +119,20 @@ public type Cache object {
             panic prepareError("Default max age should be greater than 0 or -1 for indicate forever valid.");
         }
 
+        // Weighted entries and frequency based admission are only supported by the native cache.
+        if (!self.nativeCache && (self.weigher is Weigher || cacheConfig.frequencyBasedAdmission)) {
+            panic prepareError("Weigher and frequency based admission are only supported with the LRU eviction " +
+                               "policy.");
+        }
+
         self.list = {
             head: (),
             tail: ()
         };
+        if (self.nativeCache) {
+            externInit(self, self.capacity, self.evictionFactor, self.defaultMaxAgeInSeconds,
+                       cacheConfig.frequencyBasedAdmission);
+        }
         int? cleanupIntervalInSeconds = cacheConfig?.cleanupIntervalInSeconds;
         if (cleanupIntervalInSeconds is int) {
             task:TimerConfiguration timerConfiguration = {
@@ -104,8 +140,12 @@ public type Cache object {
                 initialDelayInMillis: cleanupIntervalInSeconds
             };
             task:Scheduler cleanupScheduler = new(timerConfiguration);
-            task:SchedulerError? result = cleanupScheduler.attach(cleanupService, self.entries, self.list,
-                                                                  self.evictionPolicy);
+            task:SchedulerError? result;
+            if (self.nativeCache) {
+                result = cleanupScheduler.attach(nativeCleanupService, self);
+            } else {
+                result = cleanupScheduler.attach(cleanupService, self.entries, self.list, self.evictionPolicy);
+            }
             if (result is task:SchedulerError) {
                 panic prepareError("Failed to create the cache cleanup task.", result);
             }
@@ -123,8 +163,25 @@ public type Cache object {
     # + value - Value to be cached. Value should not be `()`
     # + maxAgeInSeconds - The time in seconds for which the cache entry is valid. If the value is '-1', the entry is
     #                     valid forever.
-    # + return - `()` if successfully added to the cache or `Error` if a `()` value is inserted to the cache.
+    # + return - `()` if successfully added to the cache or `Error` if a `()` value is inserted to the cache, or if
+    #            the weight of the value is invalid.
     public function put(string key, any value, int maxAgeInSeconds = -1) returns Error? {
+        if (self.nativeCache) {
+            if (value is ()) {
+                return prepareErrorWithDebugLog("Unsupported cache value '()' for the key: " + key + ".");
+            }
+            int weight = 1;
+            Weigher? weigher = self.weigher;
+            if (weigher is Weigher) {
+                weight = weigher(key, value);
+                if (weight < 0 || weight > self.capacity) {
+                    return prepareErrorWithDebugLog("Unsupported cache entry weight '" + weight.toString() +
+                                                    "' for the key: " + key + ".");
+                }
+            }
+            externPut(self, key, value, maxAgeInSeconds, weight);
+            return;
+        }
         lock {
             if (value is ()) {
                 return prepareErrorWithDebugLog("Unsupported cache value '()' for the key: " + key + ".");
@@ -168,6 +225,13 @@ public type Cache object {
     # + return - The cached value associated with the provided key or an `Error` if the provided cache key is not
     #            exisiting in the cache or any error occurred while retrieving the value from the cache.
     public function get(string key) returns any|Error {
+        if (self.nativeCache) {
+            any|error value = externGet(self, key);
+            if (value is error) {
+                return prepareErrorWithDebugLog("Cache entry from the given key: " + key + ", is not available.");
+            }
+            return value;
+        }
         lock {
             if (!self.hasKey(key)) {
                 return prepareErrorWithDebugLog("Cache entry from the given key: " + key + ", is not available.");
@@ -195,6 +259,12 @@ public type Cache object {
     # + return - `()` if successfully discarded the value or an `Error` if the provided cache key is not present in the
     #            cache or if any error occurred while discarding the value from the cache.
     public function invalidate(string key) returns Error? {
+        if (self.nativeCache) {
+            if (!externInvalidate(self, key)) {
+                return prepareErrorWithDebugLog("Cache entry from the given key: " + key + ", is not available.");
+            }
+            return;
+        }
         lock {
             if (!self.hasKey(key)) {
                 return prepareErrorWithDebugLog("Cache entry from the given key: " + key + ", is not available.");
@@ -211,6 +281,10 @@ public type Cache object {
     # + return - `()` if successfully discarded all the values from the cache or an `Error` if any error occurred while
     # discarding all the values from the cache.
     public function invalidateAll() returns Error? {
+        if (self.nativeCache) {
+            externInvalidateAll(self);
+            return;
+        }
         lock {
             self.evictionPolicy.clear(self.list);
             return removeAllEntries(self.entries);
@@ -223,6 +297,9 @@ public type Cache object {
     # + return - `true` if a cached value is available for the provided key or `false` if there is no cached value
     #            associated for the given key
     public function hasKey(string key) returns boolean {
+        if (self.nativeCache) {
+            return externHasKey(self, key);
+        }
         return self.entries.hasKey(key);
     }
 
@@ -230,6 +307,9 @@ public type Cache object {
     #
     # + return - Array of all the keys from the cache
     public function keys() returns string[] {
+        if (self.nativeCache) {
+            return externKeys(self);
+        }
         return self.entries.keys();
     }
 
@@ -237,6 +317,9 @@ public type Cache object {
     #
     # + return - The size of the cache
     public function size() returns int {
+        if (self.nativeCache) {
+            return externSize(self);
+        }
         return self.entries.length();
     }
 
@@ -293,3 +376,54 @@ function removeAllEntries(map<Node> entries) returns Error? {
         return prepareErrorWithDebugLog("Error while removing all the entries from the map.", result);
     }
 }
+
+function externInit(Cache cache, int capacity, float evictionFactor, int defaultMaxAgeInSeconds,
+                    boolean frequencyBasedAdmission) = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "init"
+} external;
+
+function externIsDefaultEvictionPolicy(AbstractEvictionPolicy evictionPolicy) returns boolean = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "isDefaultEvictionPolicy"
+} external;
+
+function externPut(Cache cache, string key, any value, int maxAgeInSeconds, int weight) = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "put"
+} external;
+
+function externGet(Cache cache, string key) returns any|error = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "get"
+} external;
+
+function externInvalidate(Cache cache, string key) returns boolean = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "invalidate"
+} external;
+
+function externInvalidateAll(Cache cache) = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "invalidateAll"
+} external;
+
+function externHasKey(Cache cache, string key) returns boolean = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "hasKey"
+} external;
+
+function externKeys(Cache cache) returns string[] = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "keys"
+} external;
+
+function externSize(Cache cache) returns int = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "size"
+} external;
+
+function externCleanup(Cache cache) = @java:Method {
+    class: "org.ballerinalang.stdlib.cache.nativeimpl.ExternCache",
+    name: "cleanup"
+} external;
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+/**
+ * An entry of a {@link ConcurrentCache}.
+ * <p>
+ * The key, value, weight and expiry time of an entry never change, a put of an existing key replaces its node. The
+ * links of the access order and of the timer wheel are guarded by the eviction lock of the cache.
+ *
+ * @since 2.0.0
+ */
+final class CacheNode {
+
+    final String key;
+    final Object value;
+    final long weight;
+    final boolean expires;
+    final long expiryTime;
+    // Order in which the key was first added, which is kept when the value of the key is replaced
+    final long insertionOrder;
+
+    // Cleared under the eviction lock when the node is removed, so that buffered reads of it are ignored
+    volatile boolean alive = true;
+
+    CacheNode accessPrev;
+    CacheNode accessNext;
+    CacheNode timerPrev;
+    CacheNode timerNext;
+
+    CacheNode(String key, Object value, long weight, boolean expires, long expiryTime, long insertionOrder) {
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+        this.expires = expires;
+        this.expiryTime = expiryTime;
+        this.insertionOrder = insertionOrder;
+    }
+
+    /**
+     * Creates a sentinel of a linked list of nodes.
+     */
+    static CacheNode sentinel() {
+        CacheNode sentinel = new CacheNode(null, null, 0, false, 0, 0);
+        sentinel.accessPrev = sentinel;
+        sentinel.accessNext = sentinel;
+        sentinel.timerPrev = sentinel;
+        sentinel.timerNext = sentinel;
+        return sentinel;
+    }
+
+    boolean isExpired(long now) {
+        return expires && now - expiryTime > 0;
+    }
+}
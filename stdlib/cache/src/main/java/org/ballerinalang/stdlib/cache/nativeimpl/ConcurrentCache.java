@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The native storage of the {@code cache:Cache} object, when it uses the default LRU eviction policy.
+ * <p>
+ * The entries are kept in a {@link ConcurrentHashMap}, so reads do not take a lock. A read records the node in a
+ * {@link ReadBuffer}, and the recorded reads are applied to the least recently used order later, in batches, under
+ * the eviction lock. Writes, removals and evictions update the map and the eviction policy under the eviction lock.
+ * <p>
+ * The capacity bounds the total weight of the entries, where the weight of an entry is 1 unless a weigher is
+ * configured for the cache. When a put does not fit, the least recently used entries are evicted until the eviction
+ * factor of the capacity is free. Optionally, a new key is only admitted to a full cache if it is used more
+ * frequently than the entry it would evict, as estimated by a {@link FrequencySketch}.
+ * <p>
+ * Expiring entries are kept in a {@link TimerWheel}, which is advanced on writes and by the cleanup task of the
+ * cache. An expired entry that is still in the cache is removed when it is read.
+ *
+ * @since 2.0.0
+ */
+public final class ConcurrentCache {
+
+    /**
+     * Returned by {@link #get(String)} for an entry that had expired, and was removed by the read.
+     */
+    public static final Object EXPIRED = new Object();
+
+    private final ConcurrentHashMap<String, CacheNode> data = new ConcurrentHashMap<>();
+    private final long capacity;
+    private final long evictionWeight;
+    private final long defaultMaxAgeInSeconds;
+    private final ReadBuffer readBuffer = new ReadBuffer();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    // Guarded by the eviction lock
+    private final CacheNode accessOrder = CacheNode.sentinel();
+    private final TimerWheel timerWheel;
+    private final FrequencySketch sketch;
+    private long weightedSize;
+    private long insertionCounter;
+
+    /**
+     * Creates a cache.
+     *
+     * @param capacity                maximum total weight of the entries
+     * @param evictionFactor          fraction of the capacity to be freed when the cache is full
+     * @param defaultMaxAgeInSeconds  time in seconds during which an entry is valid unless given on the put, or -1 if
+     *                                entries are valid forever
+     * @param frequencyBasedAdmission whether new keys are admitted to a full cache based on their access frequency
+     */
+    public ConcurrentCache(long capacity, double evictionFactor, long defaultMaxAgeInSeconds,
+                           boolean frequencyBasedAdmission) {
+        this.capacity = capacity;
+        this.evictionWeight = Math.max(1, (long) (capacity * evictionFactor));
+        this.defaultMaxAgeInSeconds = defaultMaxAgeInSeconds;
+        this.timerWheel = new TimerWheel(System.nanoTime());
+        this.sketch = frequencyBasedAdmission ? new FrequencySketch(capacity) : null;
+    }
+
+    /**
+     * Adds an entry to the cache, replacing the value of the key if it is already cached.
+     *
+     * @param key             key of the entry
+     * @param value           value of the entry
+     * @param maxAgeInSeconds time in seconds during which the entry is valid, or -1 to use the default of the cache
+     * @param weight          weight of the entry, which is not larger than the capacity
+     * @return false if the key was not admitted to the cache
+     */
+    public boolean put(String key, Object value, long maxAgeInSeconds, long weight) {
+        long now = System.nanoTime();
+        long maxAge = maxAgeInSeconds > 0 ? maxAgeInSeconds : defaultMaxAgeInSeconds;
+        boolean expires = maxAge > 0;
+        long expiryTime = expires ? now + TimeUnit.SECONDS.toNanos(maxAge) : 0;
+
+        evictionLock.lock();
+        try {
+            maintain(now);
+            CacheNode oldNode = data.get(key);
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+            if (oldNode != null) {
+                unlink(oldNode);
+            }
+            if (weightedSize + weight > capacity) {
+                if (oldNode == null && !admit(key)) {
+                    return false;
+                }
+                long targetSize = Math.min(capacity - evictionWeight, capacity - weight);
+                while (weightedSize > targetSize && accessOrder.accessNext != accessOrder) {
+                    remove(accessOrder.accessNext);
+                }
+            }
+
+            CacheNode node = new CacheNode(key, value, weight, expires, expiryTime,
+                                           oldNode == null ? insertionCounter++ : oldNode.insertionOrder);
+            data.put(key, node);
+            link(node);
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key key of the entry
+     * @return the value, {@link #EXPIRED} if the entry had expired, or null if the key is not cached
+     */
+    public Object get(String key) {
+        CacheNode node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (node.isExpired(System.nanoTime())) {
+            evictionLock.lock();
+            try {
+                if (data.get(key) == node) {
+                    remove(node);
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+            return EXPIRED;
+        }
+        if (!readBuffer.offer(node) && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Removes the entry of a key.
+     *
+     * @param key key of the entry
+     * @return false if the key is not cached
+     */
+    public boolean invalidate(String key) {
+        evictionLock.lock();
+        try {
+            CacheNode node = data.get(key);
+            if (node == null) {
+                return false;
+            }
+            remove(node);
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        evictionLock.lock();
+        try {
+            for (CacheNode node : data.values()) {
+                node.alive = false;
+            }
+            data.clear();
+            accessOrder.accessPrev = accessOrder;
+            accessOrder.accessNext = accessOrder;
+            timerWheel.clear();
+            weightedSize = 0;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the entries that have expired since the last time expired entries were removed.
+     */
+    public void cleanup() {
+        evictionLock.lock();
+        try {
+            maintain(System.nanoTime());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    public boolean hasKey(String key) {
+        return data.containsKey(key);
+    }
+
+    /**
+     * @return the keys of the cache, in the order they were first added
+     */
+    public List<String> keys() {
+        List<CacheNode> nodes = new ArrayList<>(data.values());
+        nodes.sort(Comparator.comparingLong(node -> node.insertionOrder));
+        List<String> keys = new ArrayList<>(nodes.size());
+        for (CacheNode node : nodes) {
+            keys.add(node.key);
+        }
+        return keys;
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public long capacity() {
+        return capacity;
+    }
+
+    private void maintain(long now) {
+        drainReadBuffer();
+        timerWheel.advance(now, this::remove);
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(node -> {
+            if (!node.alive) {
+                return;
+            }
+            if (sketch != null) {
+                sketch.increment(node.key);
+            }
+            // Move the node to the most recently used end of the access order
+            node.accessPrev.accessNext = node.accessNext;
+            node.accessNext.accessPrev = node.accessPrev;
+            linkLast(node);
+        });
+    }
+
+    private boolean admit(String key) {
+        if (sketch == null) {
+            return true;
+        }
+        CacheNode victim = accessOrder.accessNext;
+        return victim == accessOrder || sketch.frequency(key) > sketch.frequency(victim.key);
+    }
+
+    private void link(CacheNode node) {
+        linkLast(node);
+        timerWheel.schedule(node);
+        weightedSize += node.weight;
+    }
+
+    private void linkLast(CacheNode node) {
+        node.accessPrev = accessOrder.accessPrev;
+        node.accessNext = accessOrder;
+        accessOrder.accessPrev.accessNext = node;
+        accessOrder.accessPrev = node;
+    }
+
+    private void unlink(CacheNode node) {
+        node.alive = false;
+        node.accessPrev.accessNext = node.accessNext;
+        node.accessNext.accessPrev = node.accessPrev;
+        timerWheel.deschedule(node);
+        weightedSize -= node.weight;
+    }
+
+    private void remove(CacheNode node) {
+        unlink(node);
+        data.remove(node.key, node);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import org.ballerinalang.jvm.BallerinaErrors;
+import org.ballerinalang.jvm.StringUtils;
+import org.ballerinalang.jvm.types.BObjectType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.ErrorValue;
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.jvm.values.api.BString;
+
+import java.util.List;
+
+/**
+ * Extern methods of the natively stored {@code cache:Cache} object.
+ *
+ * @since 2.0.0
+ */
+public class ExternCache {
+
+    private static final String CACHE = "CACHE";
+    private static final String PACKAGE_ORG = "ballerina";
+    private static final String PACKAGE_NAME = "cache";
+    private static final String DEFAULT_EVICTION_POLICY = "LruEvictionPolicy";
+    // Returned for a key that is not cached. The cache creates the `cache:Error` to be returned to the caller.
+    private static final ErrorValue MISSING_ENTRY = BallerinaErrors.createError("Cache entry is not available.");
+
+    public static void init(ObjectValue cache, long capacity, double evictionFactor, long defaultMaxAgeInSeconds,
+                            boolean frequencyBasedAdmission) {
+        cache.addNativeData(CACHE, new ConcurrentCache(capacity, evictionFactor, defaultMaxAgeInSeconds,
+                                                       frequencyBasedAdmission));
+    }
+
+    /**
+     * Checks whether the given eviction policy is the {@code cache:LruEvictionPolicy}. The default policy is run
+     * natively, while a custom policy maintains the linked list of the cache in Ballerina.
+     *
+     * @param evictionPolicy eviction policy of the cache
+     * @return true if the eviction policy is the default policy
+     */
+    public static boolean isDefaultEvictionPolicy(ObjectValue evictionPolicy) {
+        BObjectType type = evictionPolicy.getType();
+        BPackage pkg = type.getPackage();
+        return DEFAULT_EVICTION_POLICY.equals(type.getName()) && pkg != null && PACKAGE_ORG.equals(pkg.getOrg()) &&
+                PACKAGE_NAME.equals(pkg.getName());
+    }
+
+    public static void put(ObjectValue cache, BString key, Object value, long maxAgeInSeconds, long weight) {
+        // A new key that is not admitted to a full cache is dropped, like an entry evicted right after the put
+        getCache(cache).put(key.getValue(), value, maxAgeInSeconds, weight);
+    }
+
+    public static Object get(ObjectValue cache, BString key) {
+        Object value = getCache(cache).get(key.getValue());
+        if (value == null) {
+            return MISSING_ENTRY;
+        }
+        // An expired entry is removed, and nil is returned for it
+        return value == ConcurrentCache.EXPIRED ? null : value;
+    }
+
+    public static boolean invalidate(ObjectValue cache, BString key) {
+        return getCache(cache).invalidate(key.getValue());
+    }
+
+    public static void invalidateAll(ObjectValue cache) {
+        getCache(cache).invalidateAll();
+    }
+
+    public static boolean hasKey(ObjectValue cache, BString key) {
+        return getCache(cache).hasKey(key.getValue());
+    }
+
+    public static ArrayValue keys(ObjectValue cache) {
+        List<String> keys = getCache(cache).keys();
+        BString[] keyValues = new BString[keys.size()];
+        for (int i = 0; i < keyValues.length; i++) {
+            keyValues[i] = StringUtils.fromString(keys.get(i));
+        }
+        return new ArrayValueImpl(keyValues);
+    }
+
+    public static long size(ObjectValue cache) {
+        return getCache(cache).size();
+    }
+
+    public static void cleanup(ObjectValue cache) {
+        getCache(cache).cleanup();
+    }
+
+    private static ConcurrentCache getCache(ObjectValue cache) {
+        return (ConcurrentCache) cache.getNativeData(CACHE);
+    }
+}
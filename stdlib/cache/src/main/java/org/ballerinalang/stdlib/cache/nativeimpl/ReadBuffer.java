@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A lossy, striped buffer of the nodes read from a {@link ConcurrentCache}.
+ * <p>
+ * Reads are recorded here instead of reordering the access order of the cache under its lock. Threads record into
+ * different stripes, picked by their thread ID, and a recording is a single atomic increment and a store. When a
+ * stripe is full, its recordings are dropped until the buffer is drained under the eviction lock. Losing some reads
+ * only makes the least recently used order slightly less accurate.
+ *
+ * @since 2.0.0
+ */
+final class ReadBuffer {
+
+    private static final int STRIPES = stripeCount();
+    private static final int STRIPE_SIZE = 32;
+    // Spaces the write counters of the stripes by a cache line, so that they do not share one
+    private static final int COUNTER_SPACING = 16;
+
+    private final AtomicReferenceArray<CacheNode> nodes = new AtomicReferenceArray<>(STRIPES * STRIPE_SIZE);
+    private final AtomicIntegerArray writeCounts = new AtomicIntegerArray(STRIPES * COUNTER_SPACING);
+
+    /**
+     * Records a read.
+     *
+     * @param node node that was read
+     * @return false if the stripe of the current thread is full and the buffer should be drained
+     */
+    boolean offer(CacheNode node) {
+        int stripe = stripe();
+        int index = writeCounts.getAndIncrement(stripe * COUNTER_SPACING);
+        if (index >= STRIPE_SIZE) {
+            return false;
+        }
+        nodes.lazySet(stripe * STRIPE_SIZE + index, node);
+        return index + 1 < STRIPE_SIZE;
+    }
+
+    /**
+     * Passes the recorded reads to the given consumer, and empties the buffer. Only called under the eviction lock.
+     *
+     * @param consumer consumer of the read nodes
+     */
+    void drainTo(Consumer<CacheNode> consumer) {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            int count = Math.min(writeCounts.get(stripe * COUNTER_SPACING), STRIPE_SIZE);
+            for (int i = 0; i < count; i++) {
+                CacheNode node = nodes.getAndSet(stripe * STRIPE_SIZE + i, null);
+                if (node != null) {
+                    consumer.accept(node);
+                }
+            }
+            // A read that took an index but is yet to store its node is either lost, or seen on the next drain
+            writeCounts.set(stripe * COUNTER_SPACING, 0);
+        }
+    }
+
+    private static int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id * 0x9e3779b97f4a7c15L) >>> 32) & (STRIPES - 1);
+    }
+
+    private static int stripeCount() {
+        int processors = Math.min(Runtime.getRuntime().availableProcessors(), 64);
+        return Integer.highestOneBit(processors * 2 - 1);
+    }
+}
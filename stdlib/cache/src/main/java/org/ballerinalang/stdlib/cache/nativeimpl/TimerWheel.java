@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.function.Consumer;
+
+/**
+ * A hashed timer wheel of the expiring nodes of a {@link ConcurrentCache}.
+ * <p>
+ * Time is split into ticks of about a second, and a node is kept in the bucket of the tick it expires in. When the
+ * wheel is advanced, only the buckets of the ticks passed since the last advance are visited, so expiring entries
+ * costs time in proportion to the entries that expire, rather than a scan of the whole cache. A node that expires
+ * more than a full turn of the wheel later is skipped when its bucket is visited before that.
+ * <p>
+ * The wheel is not thread safe. It is only used under the eviction lock of a cache.
+ *
+ * @since 2.0.0
+ */
+final class TimerWheel {
+
+    private static final int TICK_SHIFT = 30;
+    private static final int BUCKET_COUNT = 64;
+
+    private final CacheNode[] buckets = new CacheNode[BUCKET_COUNT];
+    private long currentTick;
+
+    TimerWheel(long now) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = CacheNode.sentinel();
+        }
+        this.currentTick = now >> TICK_SHIFT;
+    }
+
+    void schedule(CacheNode node) {
+        if (!node.expires) {
+            return;
+        }
+        CacheNode sentinel = buckets[(int) (node.expiryTime >> TICK_SHIFT) & (BUCKET_COUNT - 1)];
+        node.timerPrev = sentinel.timerPrev;
+        node.timerNext = sentinel;
+        sentinel.timerPrev.timerNext = node;
+        sentinel.timerPrev = node;
+    }
+
+    void deschedule(CacheNode node) {
+        if (node.timerNext == null) {
+            return;
+        }
+        node.timerPrev.timerNext = node.timerNext;
+        node.timerNext.timerPrev = node.timerPrev;
+        node.timerPrev = null;
+        node.timerNext = null;
+    }
+
+    /**
+     * Passes the nodes that expired in the ticks passed since the last advance to the given consumer, which is
+     * expected to deschedule them.
+     *
+     * @param now      current time in nanoseconds
+     * @param expireFn consumer of the expired nodes
+     */
+    void advance(long now, Consumer<CacheNode> expireFn) {
+        long nowTick = now >> TICK_SHIFT;
+        long ticks = nowTick - currentTick;
+        if (ticks <= 0) {
+            return;
+        }
+        // The nodes in the bucket of the current tick are not all expired yet, it is visited once the tick passes
+        long firstTick = ticks > BUCKET_COUNT ? nowTick - BUCKET_COUNT : currentTick;
+        for (long tick = firstTick; tick < nowTick; tick++) {
+            CacheNode sentinel = buckets[(int) tick & (BUCKET_COUNT - 1)];
+            CacheNode node = sentinel.timerNext;
+            while (node != sentinel) {
+                CacheNode next = node.timerNext;
+                if (node.isExpired(now)) {
+                    expireFn.accept(node);
+                }
+                node = next;
+            }
+        }
+        currentTick = nowTick;
+    }
+
+    void clear() {
+        for (CacheNode sentinel : buckets) {
+            sentinel.timerPrev = sentinel;
+            sentinel.timerNext = sentinel;
+        }
+    }
+}
@@ -250,6 +250,36 @@ public class CacheTest {
         Assert.assertEquals(((BInteger) returns[1]).intValue(), expected.length);
     }
 
+    @Test
+    public void testCacheEvictionWithWeigher() {
+        BValue[] args = new BValue[0];
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCacheEvictionWithWeigher", args);
+        Assert.assertTrue(returns[0] instanceof BValueArray);
+        Assert.assertTrue(returns[1] instanceof BInteger);
+        String[] expected = new String[]{"B", "C", "D"};
+        String[] actual = removeEmptyValues(((BValueArray) returns[0]).getStringArray());
+        Assert.assertTrue(Arrays.equals(actual, expected));
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), expected.length);
+    }
+
+    @Test
+    public void testPutWithInvalidWeight() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testPutWithInvalidWeight");
+        Assert.assertTrue(returns[0] instanceof BError);
+    }
+
+    @Test
+    public void testCacheWithFrequencyBasedAdmission() {
+        BValue[] args = new BValue[0];
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCacheWithFrequencyBasedAdmission", args);
+        Assert.assertTrue(returns[0] instanceof BValueArray);
+        Assert.assertTrue(returns[1] instanceof BInteger);
+        String[] expected = new String[]{"A", "B"};
+        String[] actual = removeEmptyValues(((BValueArray) returns[0]).getStringArray());
+        Assert.assertTrue(Arrays.equals(actual, expected));
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), expected.length);
+    }
+
     @Test(expectedExceptions = BLangRuntimeException.class)
     public void testCreateCacheWithZeroCapacity() {
         BRunUtil.invoke(compileResult, "testCreateCacheWithZeroCapacity");
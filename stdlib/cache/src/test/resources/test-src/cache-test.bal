@@ -293,3 +293,49 @@ function testCreateCacheWithNegativeDefaultMaxAge() {
     };
     cache:Cache c = new(config);
 }
+
+function testCacheEvictionWithWeigher() returns [string[], int] {
+    cache:CacheConfig config = {
+        capacity: 10,
+        evictionFactor: 0.2,
+        weigher: function (string key, any value) returns int {
+            return (<string>value).length();
+        }
+    };
+    cache:Cache cache = new(config);
+    checkpanic cache.put("A", "111");
+    checkpanic cache.put("B", "222");
+    checkpanic cache.put("C", "333");
+    checkpanic cache.put("D", "44");
+    return [cache.keys(), cache.size()];
+}
+
+function testPutWithInvalidWeight() returns cache:Error? {
+    cache:CacheConfig config = {
+        capacity: 10,
+        evictionFactor: 0.2,
+        weigher: function (string key, any value) returns int {
+            return 11;
+        }
+    };
+    cache:Cache cache = new(config);
+    return cache.put("A", "1");
+}
+
+function testCacheWithFrequencyBasedAdmission() returns [string[], int] {
+    cache:CacheConfig config = {
+        capacity: 2,
+        evictionFactor: 0.5,
+        frequencyBasedAdmission: true
+    };
+    cache:Cache cache = new(config);
+    checkpanic cache.put("A", "1");
+    checkpanic cache.put("B", "2");
+    foreach int i in 1...3 {
+        any|error value = cache.get("A");
+        value = cache.get("B");
+    }
+    // "C" is used less frequently than the least recently used entry, so it is not added.
+    checkpanic cache.put("C", "3");
+    return [cache.keys(), cache.size()];
+}
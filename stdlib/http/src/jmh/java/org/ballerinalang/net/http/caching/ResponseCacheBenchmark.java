@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http.caching;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks concurrent lookups and additions of the HTTP caching client storage. The {@code globalLock} benchmarks
+ * use a least recently used map behind a single lock, as the cache used before {@link ResponseCache} did.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class ResponseCacheBenchmark {
+
+    private static final long RESPONSE_SIZE = 4096;
+
+    @Param({"1000"})
+    public int keys;
+
+    private String[] cacheKeys;
+    private ResponseCache<String> responseCache;
+    private Map<String, String> globalLockCache;
+
+    @Setup
+    public void setup() {
+        cacheKeys = new String[keys * 2];
+        for (int i = 0; i < cacheKeys.length; i++) {
+            cacheKeys[i] = "GET /api/resource" + i;
+        }
+        // Holds about half of the keys, so that additions keep evicting
+        long capacity = keys * RESPONSE_SIZE;
+        responseCache = new ResponseCache<>(capacity, 0.2, response -> "\"" + response.hashCode() + "\"");
+        globalLockCache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > keys;
+            }
+        };
+        for (int i = 0; i < keys; i++) {
+            responseCache.put(cacheKeys[i], cacheKeys[i], RESPONSE_SIZE);
+            globalLockCache.put(cacheKeys[i], cacheKeys[i]);
+        }
+    }
+
+    @Benchmark
+    public String get() {
+        return responseCache.get(cacheKeys[ThreadLocalRandom.current().nextInt(keys)]);
+    }
+
+    @Benchmark
+    public String globalLockGet() {
+        String key = cacheKeys[ThreadLocalRandom.current().nextInt(keys)];
+        synchronized (globalLockCache) {
+            return globalLockCache.get(key);
+        }
+    }
+
+    @Benchmark
+    public boolean put() {
+        String key = cacheKeys[ThreadLocalRandom.current().nextInt(cacheKeys.length)];
+        responseCache.remove(key);
+        return responseCache.put(key, key, RESPONSE_SIZE);
+    }
+
+    @Benchmark
+    public String globalLockPut() {
+        String key = cacheKeys[ThreadLocalRandom.current().nextInt(cacheKeys.length)];
+        synchronized (globalLockCache) {
+            globalLockCache.remove(key);
+            return globalLockCache.put(key, key);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.uri;
+
+import org.ballerinalang.net.http.HttpResourceArguments;
+import org.ballerinalang.net.uri.parser.DataElement;
+import org.ballerinalang.net.uri.parser.DataReturnAgent;
+import org.ballerinalang.net.uri.parser.Literal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks dispatching request paths to the services of a listener and then to the path param resources of the
+ * matched service, as done for every inbound HTTP request. The {@code linearScan} benchmark finds the base path by
+ * going through all the base paths, longest first, as was done before {@link BasePathRouter}.
+ *
+ * @since 2.0.0
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class RoutingBenchmark {
+
+    private static final String[] RESOURCE_PATHS = {
+            "/health", "/users", "/users/{id}", "/users/{id}/orders", "/users/{id}/orders/{orderId}", "/*"
+    };
+
+    @Param({"10", "300"})
+    public int services;
+
+    private List<String> sortedBasePaths;
+    private BasePathRouter router;
+    private Map<String, URITemplate<String, Object>> templates;
+    private String[] requestPaths;
+
+    @Setup
+    public void setup() throws Exception {
+        sortedBasePaths = new ArrayList<>();
+        templates = new HashMap<>();
+        for (int i = 0; i < services; i++) {
+            String basePath = "/api/v" + (i % 3) + "/service" + i;
+            sortedBasePaths.add(basePath);
+            URITemplate<String, Object> template = new URITemplate<>(new Literal<>(new ResourceElement(), "/"));
+            for (String resourcePath : RESOURCE_PATHS) {
+                template.parse(resourcePath, basePath + resourcePath, ResourceElement::new);
+            }
+            templates.put(basePath, template);
+        }
+        sortedBasePaths.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+        router = new BasePathRouter(sortedBasePaths);
+
+        requestPaths = new String[64];
+        for (int i = 0; i < requestPaths.length; i++) {
+            int service = (i * 7919) % services;
+            requestPaths[i] = "/api/v" + (service % 3) + "/service" + service + "/users/" + i + "/orders/" + (i * 31);
+        }
+    }
+
+    @Benchmark
+    public void findBasePath(Blackhole bh) {
+        for (String requestPath : requestPaths) {
+            bh.consume(router.findTheMostSpecificBasePath(requestPath));
+        }
+    }
+
+    @Benchmark
+    public void linearScan(Blackhole bh) {
+        for (String requestPath : requestPaths) {
+            bh.consume(linearScan(requestPath));
+        }
+    }
+
+    @Benchmark
+    public void findResource(Blackhole bh) {
+        for (String requestPath : requestPaths) {
+            String basePath = router.findTheMostSpecificBasePath(requestPath);
+            String subPath = URIUtil.getSubPath(requestPath, basePath);
+            bh.consume(templates.get(basePath).matches(subPath, new HttpResourceArguments(), null));
+        }
+    }
+
+    private String linearScan(String requestPath) {
+        for (String basePath : sortedBasePaths) {
+            if (!requestPath.toLowerCase().contains(basePath.toLowerCase())) {
+                continue;
+            }
+            if (requestPath.length() <= basePath.length()) {
+                return basePath;
+            }
+            if (requestPath.startsWith(basePath.concat("/"))) {
+                return basePath;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Resource data element, which accepts any inbound message.
+     */
+    private static class ResourceElement implements DataElement<String, Object> {
+
+        private String resource;
+
+        @Override
+        public void setData(String data) {
+            this.resource = data;
+        }
+
+        @Override
+        public boolean hasData() {
+            return resource != null;
+        }
+
+        @Override
+        public boolean getData(Object inboundMessage, DataReturnAgent<String> dataReturnAgent) {
+            if (resource == null) {
+                return false;
+            }
+            dataReturnAgent.setData(resource);
+            return true;
+        }
+    }
+}
@@ -14,20 +14,19 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/cache;
+import ballerina/java;
 import ballerina/log;
 
 # Implements a cache for storing HTTP responses. This cache complies with the caching policy set when configuring
-# HTTP caching in the HTTP client endpoint.
+# HTTP caching in the HTTP client endpoint. The responses are stored natively, in a cache bounded by the size of the
+# responses in bytes.
 #
-# + cache - The underlying cache used for storing HTTP responses
 # + policy - Gives the user some control over the caching behaviour. By default, this is set to
 #            `CACHE_CONTROL_AND_VALIDATORS`. The default behaviour is to allow caching only when the `cache-control`
 #            header and either the `etag` or `last-modified` header are present.
 # + isShared - Specifies whether the HTTP caching layer should behave as a public cache or a private cache
 public type HttpCache object {
 
-    public cache:Cache cache;
     public CachingPolicy policy = CACHE_CONTROL_AND_VALIDATORS;
     public boolean isShared = false;
 
@@ -35,11 +34,7 @@ public type HttpCache object {
     #
     # + cacheConfig - The configurations for the HTTP cache
     public function init(CacheConfig cacheConfig) {
-        cache:CacheConfig config = {
-            capacity: cacheConfig.capacity,
-            evictionFactor: cacheConfig.evictionFactor
-        };
-        self.cache = new cache:Cache(config);
+        externInitHttpCache(self, cacheConfig.capacity, cacheConfig.evictionFactor);
         self.policy = cacheConfig.policy;
         self.isShared = cacheConfig.isShared;
     }
@@ -64,7 +59,11 @@ public type HttpCache object {
             log:printDebug(function() returns string {
                 return "Adding new cache entry for: " + key;
             });
-            addEntry(self.cache, key, inboundResponse);
+            if (!externHttpCachePut(self, key, inboundResponse)) {
+                log:printDebug(function() returns string {
+                    return "Failed to add cached response with the key: " + key + " to the HTTP cache.";
+                });
+            }
         }
     }
 
@@ -95,69 +94,27 @@ public type HttpCache object {
     }
 
     function hasKey(string key) returns boolean {
-        return self.cache.hasKey(key);
+        return externHttpCacheHasKey(self, key);
     }
 
-    function get(string key) returns Response {
-        Response[] cacheEntry = <Response[]> self.cache.get(key);
-        return cacheEntry[cacheEntry.length() - 1];
+    function get(string key) returns Response? {
+        return externHttpCacheGet(self, key);
     }
 
     function getAll(string key) returns Response[]|() {
-        var cacheEntry = trap <Response[]> self.cache.get(key);
-        if (cacheEntry is Response[]) {
-            return cacheEntry;
-        }
-        return ();
+        return externHttpCacheGetAll(self, key);
     }
 
     function getAllByETag(string key, string etag) returns Response[] {
-        Response[] cachedResponses = [];
-        Response[] matchingResponses = [];
-        int i = 0;
-
-        var responses = self.getAll(key);
-        if (responses is Response[]) {
-            cachedResponses = responses;
-        }
-
-        foreach var cachedResp in cachedResponses {
-            if (cachedResp.getHeader(ETAG) == etag && !etag.startsWith(WEAK_VALIDATOR_TAG)) {
-                matchingResponses[i] = cachedResp;
-                i = i + 1;
-            }
-        }
-
-        return matchingResponses;
+        return externHttpCacheGetAllByETag(self, key, etag) ?: [];
     }
 
     function getAllByWeakETag(string key, string etag) returns Response[] {
-        Response[] cachedResponses = [];
-        Response[] matchingResponses = [];
-        int i = 0;
-
-        var responses = self.getAll(key);
-        if (responses is Response[]) {
-            cachedResponses = responses;
-        }
-
-        foreach var cachedResp in cachedResponses {
-            if (cachedResp.hasHeader(ETAG) && weakValidatorEquals(etag, cachedResp.getHeader(ETAG))) {
-                matchingResponses[i] = cachedResp;
-                i = i + 1;
-            }
-        }
-
-        return matchingResponses;
+        return externHttpCacheGetAllByWeakETag(self, key, etag) ?: [];
     }
 
     function remove(string key) {
-        cache:Error? result = self.cache.invalidate(key);
-        if (result is cache:Error) {
-            log:printDebug(function() returns string {
-                return "Failed to remove the key: " + key + " from the HTTP cache.";
-            });
-        }
+        externHttpCacheRemove(self, key);
     }
 };
 
@@ -170,28 +127,48 @@ function isCacheableStatusCode(int statusCode) returns boolean {
            statusCode == STATUS_NOT_IMPLEMENTED;
 }
 
-function addEntry(cache:Cache cache, string key, Response inboundResponse) {
-    if (cache.hasKey(key)) {
-        Response[] existingResponses = <Response[]>cache.get(key);
-        existingResponses[existingResponses.length()] = inboundResponse;
-    } else {
-        Response[] cachedResponses = [inboundResponse];
-        cache:Error? result = cache.put(key, cachedResponses);
-        if (result is cache:Error) {
-            log:printDebug(function() returns string {
-                return "Failed to add cached response with the key: " + key + " to the HTTP cache.";
-            });
-        }
-    }
-}
-
-function weakValidatorEquals(string etag1, string etag2) returns boolean {
-    string validatorPortion1 = etag1.startsWith(WEAK_VALIDATOR_TAG) ? etag1.substring(2, etag1.length()) : etag1;
-    string validatorPortion2 = etag2.startsWith(WEAK_VALIDATOR_TAG) ? etag2.substring(2, etag2.length()) : etag2;
-
-    return validatorPortion1 == validatorPortion2;
-}
-
 function getCacheKey(string httpMethod, string url) returns string {
     return httpMethod + " " + url;
 }
+
+function externInitHttpCache(HttpCache httpCache, int capacity, float evictionFactor) = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "init"
+} external;
+
+function externHttpCachePut(HttpCache httpCache, string key, Response response) returns boolean = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "put"
+} external;
+
+function externHttpCacheHasKey(HttpCache httpCache, string key) returns boolean = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "hasKey"
+} external;
+
+function externHttpCacheGet(HttpCache httpCache, string key) returns Response? = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "get"
+} external;
+
+function externHttpCacheGetAll(HttpCache httpCache, string key) returns Response[]? = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "getAll"
+} external;
+
+function externHttpCacheGetAllByETag(HttpCache httpCache, string key, string etag) returns Response[]? =
+@java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "getAllByETag"
+} external;
+
+function externHttpCacheGetAllByWeakETag(HttpCache httpCache, string key, string etag) returns Response[]? =
+@java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "getAllByWeakETag"
+} external;
+
+function externHttpCacheRemove(HttpCache httpCache, string key) = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternHttpCache",
+    name: "remove"
+} external;
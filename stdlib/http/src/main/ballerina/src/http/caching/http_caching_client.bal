@@ -14,7 +14,6 @@
 // specific language governing permissions and limitations
 // under the License.
 
-import ballerina/cache;
 import ballerina/log;
 import ballerina/runtime;
 import ballerina/time;
@@ -53,8 +52,9 @@ public const RFC_7234 = "RFC_7234";
 #
 # + enabled - Specifies whether HTTP caching is enabled. Caching is enabled by default.
 # + isShared - Specifies whether the HTTP caching layer should behave as a public cache or a private cache
-# + capacity - The capacity of the cache
-# + evictionFactor - The fraction of entries to be removed when the cache is full. The value should be
+# + capacity - The capacity of the cache in bytes. The size of a cached response is its payload size along with the
+#              size of its headers.
+# + evictionFactor - The fraction of the capacity to be freed when the cache is full. The value should be
 #                    between 0 (exclusive) and 1 (inclusive).
 # + policy - Gives the user some control over the caching behaviour. By default, this is set to
 #            `CACHE_CONTROL_AND_VALIDATORS`. The default behaviour is to allow caching only when the `cache-control`
@@ -333,8 +333,8 @@ function getCachedResponse(HttpCache cache, HttpClient httpClient, @tainted Requ
     time:Time currentT = time:currentTime();
     req.parseCacheControlHeader();
 
-    if (cache.hasKey(getCacheKey(httpMethod, path))) {
-        Response cachedResponse = cache.get(getCacheKey(httpMethod, path));
+    Response? cachedResponse = cache.get(getCacheKey(httpMethod, path));
+    if (cachedResponse is Response) {
         // Based on https://tools.ietf.org/html/rfc7234#section-4
         log:printDebug(function() returns string {
             return "Cached response found for: '" + httpMethod + " " + path + "'";
@@ -512,18 +512,8 @@ function invalidateResponses(HttpCache httpCache, Response inboundResponse, stri
     // TODO: Improve this logic in accordance with the spec
     if (isCacheableStatusCode(inboundResponse.statusCode) &&
         inboundResponse.statusCode >= 200 && inboundResponse.statusCode < 400) {
-        cache:Error? result = httpCache.cache.invalidate(getCacheKey(GET, path));
-        if (result is cache:Error) {
-            log:printDebug(function() returns string {
-                return "Failed to remove the key: " + getCacheKey(GET, path) + " from the cache.";
-            });
-        }
-        result = httpCache.cache.invalidate(getCacheKey(HEAD, path));
-        if (result is cache:Error) {
-            log:printDebug(function() returns string {
-                return "Failed to remove the key: " + getCacheKey(GET, path) + " from the cache.";
-            });
-        }
+        httpCache.remove(getCacheKey(GET, path));
+        httpCache.remove(getCacheKey(HEAD, path));
     }
 }
 
@@ -454,12 +454,6 @@ function createCircuitBreakerClient(string uri, ClientConfiguration configuratio
 
         time:Time circuitStartTime = time:currentTime();
         int numberOfBuckets = (cbConfig.rollingWindow.timeWindowInMillis / cbConfig.rollingWindow.bucketSizeInMillis);
-        Bucket?[] bucketArray = [];
-        int bucketIndex = 0;
-        while (bucketIndex < numberOfBuckets) {
-            bucketArray[bucketIndex] = {};
-            bucketIndex = bucketIndex + 1;
-        }
 
         CircuitBreakerInferredConfig circuitBreakerInferredConfig = {
             failureThreshold: cbConfig.failureThreshold,
@@ -468,13 +462,8 @@ function createCircuitBreakerClient(string uri, ClientConfiguration configuratio
             noOfBuckets: numberOfBuckets,
             rollingWindow: cbConfig.rollingWindow
         };
-        CircuitHealth circuitHealth = {
-            startTime: circuitStartTime,
-            lastRequestTime: circuitStartTime,
-            lastErrorTime: circuitStartTime,
-            lastForcedOpenTime: circuitStartTime,
-            totalBuckets: bucketArray
-        };
+        // The buckets of the rolling window are kept natively by the circuit breaker client
+        CircuitHealth circuitHealth = {startTime: circuitStartTime};
         return new CircuitBreakerClient(uri, configuration, circuitBreakerInferredConfig, cbHttpClient, circuitHealth);
     } else {
         return createCookieClient(uri, configuration, cookieStore);
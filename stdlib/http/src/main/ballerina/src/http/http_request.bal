@@ -279,6 +279,27 @@ public type Request object {
         }
     }
 
+    # Gets the request payload as a stream of `json` values, which are read from the payload as they are requested.
+    # Use this instead of `Request.getJsonPayload()` for large JSON arrays and newline delimited JSON payloads.
+    #
+    # + pointer - JSON pointer of the array to read the elements of. By default, the elements of a top level array
+    #             are read, and any other payload is read as a sequence of whitespace separated JSON documents
+    # + return - A stream of the JSON values or `http:ClientError` in case of errors
+    public function getJsonStream(string pointer = "") returns @tainted stream<json, io:Error>|ClientError {
+        var channel = self.getByteChannel();
+        if (channel is ClientError) {
+            return channel;
+        } else {
+            var jsonStream = channel.readJsonStream(pointer);
+            if (jsonStream is io:Error) {
+                string message = "Error occurred while retrieving the json stream from the request";
+                return GenericClientError(message, jsonStream);
+            } else {
+                return jsonStream;
+            }
+        }
+    }
+
     # Gets the request payload as a `ByteChannel` except in the case of multiparts. To retrieve multiparts, use
     # `Request.getBodyParts()`.
     #
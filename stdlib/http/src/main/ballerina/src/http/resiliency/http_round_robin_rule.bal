@@ -14,29 +14,41 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/java;
+
 # Implementation of round robin load balancing strategy.
 #
-# + index - Keep tracks the current point of the Client[]
+# + index - The position of the client to be picked by the next request. It is updated after each pick for
+#           reference, and setting it does not change the client that is picked next
 public type LoadBalancerRoundRobinRule object {
 
     public int index = 0;
 
+    # Called when a new `http:LoadBalancerRoundRobinRule` object is created.
+    public function init() {
+        externInitRoundRobinRule(self);
+    }
+
     # Provides an HTTP client, which is chosen according to the round robin algorithm.
     #
     # + loadBalanceCallerActionsArray - Array of HTTP clients, which needs to be load balanced
     # + return - Chosen `http:Client` from the algorithm or else an `http:ClientError` for a failure in
     #            the algorithm implementation
     public function getNextClient(Client?[] loadBalanceCallerActionsArray) returns Client|ClientError {
-        Client httpClient = <Client>loadBalanceCallerActionsArray[self.index];
-        lock {
-            if (self.index == ((loadBalanceCallerActionsArray.length()) - 1)) {
-                httpClient = <Client>loadBalanceCallerActionsArray[self.index];
-                self.index = 0;
-            } else {
-                httpClient = <Client>loadBalanceCallerActionsArray[self.index];
-                self.index += 1;
-            }
-        }
-        return httpClient;
+        int noOfClients = loadBalanceCallerActionsArray.length();
+        // The client is picked by an atomic counter, so that concurrent requests do not take a lock
+        int clientIndex = externNextIndex(self, noOfClients);
+        self.index = (clientIndex + 1) % noOfClients;
+        return <Client>loadBalanceCallerActionsArray[clientIndex];
     }
 };
+
+function externInitRoundRobinRule(LoadBalancerRoundRobinRule roundRobinRule) = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternRoundRobinRule",
+    name: "init"
+} external;
+
+function externNextIndex(LoadBalancerRoundRobinRule roundRobinRule, int noOfClients) returns int = @java:Method {
+    class: "org.ballerinalang.net.http.nativeimpl.ExternRoundRobinRule",
+    name: "nextIndex"
+} external;
@@ -111,7 +111,7 @@ public class BallerinaHTTPConnectorListener implements HttpConnectorListener {
             observerContext.addTag(TAG_KEY_HTTP_URL, inboundMessage.getRequestUrl());
             properties.put(ObservabilityConstants.KEY_OBSERVER_CONTEXT, observerContext);
         }
-        CallableUnitCallback callback = new HttpCallableUnitCallback(inboundMessage);
+        CallableUnitCallback callback = new HttpCallableUnitCallback(inboundMessage, httpResource.getMetrics());
         ObjectValue service = httpResource.getParentService().getBalService();
         Executor.submit(httpServicesRegistry.getScheduler(), service, httpResource.getName(), callback, properties,
                         signatureParams);
@@ -24,9 +24,11 @@ import org.ballerinalang.jvm.scheduling.Scheduler;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.ObjectValue;
 import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.net.http.observability.HttpResourceMetrics;
 import org.ballerinalang.net.http.websocket.WebSocketConstants;
 import org.ballerinalang.net.http.websocket.server.WebSocketServerService;
 import org.ballerinalang.net.http.websocket.server.WebSocketServicesRegistry;
+import org.ballerinalang.net.uri.BasePathRouter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +54,7 @@ public class HTTPServicesRegistry {
     protected List<String> sortedServiceURIs;
     private final WebSocketServicesRegistry webSocketServicesRegistry;
     private Scheduler scheduler;
+    private String listenerId = "";
 
     public HTTPServicesRegistry(WebSocketServicesRegistry webSocketServicesRegistry) {
         this.webSocketServicesRegistry = webSocketServicesRegistry;
@@ -124,6 +127,7 @@ public class HTTPServicesRegistry {
                                 basePath + errorMessage);
             }
             servicesByBasePath.put(basePath, httpService);
+            registerResourceMetrics(httpService);
             String errLog = String.format("Service deployed : %s with context %s", service.getType().getName(),
                                           basePath);
             logger.info(errLog);
@@ -131,11 +135,42 @@ public class HTTPServicesRegistry {
             //basePath will get cached after registering service
             sortedServiceURIs.add(basePath);
             sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+            updateBasePathRouter(hostName);
             // Register the WebSocket upgrade service in the WebSocket registry
             registerWebSocketUpgradeService(httpService);
         }
     }
 
+    private void registerResourceMetrics(HttpService httpService) {
+        if (!HttpResourceMetrics.isEnabled()) {
+            return;
+        }
+        for (HttpResource resource : httpService.getResources()) {
+            resource.setMetrics(HttpResourceMetrics.register(listenerId, resource));
+        }
+    }
+
+    /**
+     * Remove the resource metrics of all the registered services, when the registry is discarded without
+     * unregistering its services.
+     */
+    public void unregisterResourceMetrics() {
+        for (ServicesMapHolder servicesMapHolder : servicesMapByHost.values()) {
+            for (HttpService httpService : servicesMapHolder.servicesByBasePath.values()) {
+                unregisterResourceMetrics(httpService);
+            }
+        }
+    }
+
+    private void unregisterResourceMetrics(HttpService httpService) {
+        for (HttpResource resource : httpService.getResources()) {
+            HttpResourceMetrics metrics = resource.getMetrics();
+            if (metrics != null) {
+                metrics.unregister();
+            }
+        }
+    }
+
     private void registerWebSocketUpgradeService(HttpService httpService) {
         httpService.getUpgradeToWebSocketResources().forEach(upgradeToWebSocketResource -> {
             WebSocketServerService webSocketService = new WebSocketServerService(
@@ -164,23 +199,34 @@ public class HTTPServicesRegistry {
         return basePath;
     }
 
-    public String findTheMostSpecificBasePath(String requestURIPath, Map<String, HttpService> services,
-                                              List<String> sortedServiceURIs) {
-        for (Object key : sortedServiceURIs) {
-            if (!requestURIPath.toLowerCase().contains(key.toString().toLowerCase())) {
-                continue;
-            }
-            if (requestURIPath.length() <= key.toString().length()) {
-                return key.toString();
-            }
-            if (requestURIPath.startsWith(key.toString().concat("/"))) {
-                return key.toString();
-            }
-        }
-        if (services.containsKey(HttpConstants.DEFAULT_BASE_PATH)) {
-            return HttpConstants.DEFAULT_BASE_PATH;
-        }
-        return null;
+    /**
+     * Find the base path of the service that should handle the given request path.
+     *
+     * @param requestURIPath raw path of the request URI
+     * @param servicesMapHolder services of the host the request is for
+     * @return the most specific base path, or null if no service matches the path
+     */
+    public String findTheMostSpecificBasePath(String requestURIPath, ServicesMapHolder servicesMapHolder) {
+        return servicesMapHolder.basePathRouter.findTheMostSpecificBasePath(requestURIPath);
+    }
+
+    /**
+     * Rebuild the base path router of a host, after the services of the host have changed.
+     *
+     * @param hostName of the services
+     */
+    protected void updateBasePathRouter(String hostName) {
+        ServicesMapHolder servicesMapHolder = servicesMapByHost.get(hostName);
+        servicesMapHolder.basePathRouter = new BasePathRouter(servicesMapHolder.sortedServiceURIs);
+    }
+
+    /**
+     * Set the ID of the listener these services are attached to, which is used to tag resource metrics.
+     *
+     * @param listenerId ID of the listener
+     */
+    public void setListenerId(String listenerId) {
+        this.listenerId = listenerId;
     }
 
     public void setScheduler(Scheduler scheduler) {
@@ -197,10 +243,12 @@ public class HTTPServicesRegistry {
     protected class ServicesMapHolder {
         private Map<String, HttpService> servicesByBasePath;
         private List<String> sortedServiceURIs;
+        private volatile BasePathRouter basePathRouter;
 
         public ServicesMapHolder(Map<String, HttpService> servicesByBasePath, List<String> sortedServiceURIs) {
             this.servicesByBasePath = servicesByBasePath;
             this.sortedServiceURIs = sortedServiceURIs;
+            this.basePathRouter = new BasePathRouter(sortedServiceURIs);
         }
     }
 
@@ -224,13 +272,14 @@ public class HTTPServicesRegistry {
             if (!servicesByBasePath.containsKey(basePath)) {
                 continue;
             }
-            servicesByBasePath.remove(basePath);
+            unregisterResourceMetrics(servicesByBasePath.remove(basePath));
             sortedServiceURIs.remove(basePath);
             if (logger.isDebugEnabled()) {
                 logger.debug(String.format("Service detached : %s with context %s", service.getType().getName(),
                                            basePath));
             }
             sortedServiceURIs.sort((basePath1, basePath2) -> basePath2.length() - basePath1.length());
+            updateBasePathRouter(hostName);
         }
     }
 }
@@ -18,6 +18,7 @@ package org.ballerinalang.net.http;
 
 import org.ballerinalang.jvm.values.ErrorValue;
 import org.ballerinalang.jvm.values.connector.CallableUnitCallback;
+import org.ballerinalang.net.http.observability.HttpResourceMetrics;
 import org.wso2.transport.http.netty.message.HttpCarbonMessage;
 
 /**
@@ -27,18 +28,30 @@ import org.wso2.transport.http.netty.message.HttpCarbonMessage;
  */
 public class HttpCallableUnitCallback implements CallableUnitCallback {
     private HttpCarbonMessage requestMessage;
+    private HttpResourceMetrics resourceMetrics;
+    private long startTime;
 
-    HttpCallableUnitCallback(HttpCarbonMessage requestMessage) {
+    HttpCallableUnitCallback(HttpCarbonMessage requestMessage, HttpResourceMetrics resourceMetrics) {
         this.requestMessage = requestMessage;
+        this.resourceMetrics = resourceMetrics;
+        if (resourceMetrics != null) {
+            this.startTime = resourceMetrics.requestStarted();
+        }
     }
 
     @Override
     public void notifySuccess() {
+        if (resourceMetrics != null) {
+            resourceMetrics.requestCompleted(startTime, false);
+        }
         requestMessage.waitAndReleaseAllEntities();
     }
 
     @Override
     public void notifyFailure(ErrorValue error) {
+        if (resourceMetrics != null) {
+            resourceMetrics.requestCompleted(startTime, true);
+        }
         HttpUtil.handleFailure(requestMessage, error);
         requestMessage.waitAndReleaseAllEntities();
     }
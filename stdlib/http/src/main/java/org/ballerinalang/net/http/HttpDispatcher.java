@@ -39,7 +39,6 @@ import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.ballerinalang.net.http.HttpConstants.DEFAULT_HOST;
@@ -54,17 +53,14 @@ public class HttpDispatcher {
 
     public static HttpService findService(HTTPServicesRegistry servicesRegistry, HttpCarbonMessage inboundReqMsg) {
         try {
-            Map<String, HttpService> servicesOnInterface;
-            List<String> sortedServiceURIs;
             String hostName = inboundReqMsg.getHeader(HttpHeaderNames.HOST.toString());
-
-            if (hostName != null && servicesRegistry.getServicesMapHolder(hostName) != null) {
-                servicesOnInterface = servicesRegistry.getServicesByHost(hostName);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(hostName);
-            } else if (servicesRegistry.getServicesMapHolder(DEFAULT_HOST) != null) {
-                servicesOnInterface = servicesRegistry.getServicesByHost(DEFAULT_HOST);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(DEFAULT_HOST);
-            } else {
+            HTTPServicesRegistry.ServicesMapHolder servicesMapHolder =
+                    hostName != null ? servicesRegistry.getServicesMapHolder(hostName) : null;
+            if (servicesMapHolder == null) {
+                servicesMapHolder = servicesRegistry.getServicesMapHolder(DEFAULT_HOST);
+                hostName = DEFAULT_HOST;
+            }
+            if (servicesMapHolder == null) {
                 inboundReqMsg.setHttpStatusCode(404);
                 String localAddress = inboundReqMsg.getProperty(HttpConstants.LOCAL_ADDRESS).toString();
                 throw new BallerinaConnectorException("no service has registered for listener : " + localAddress);
@@ -78,32 +74,46 @@ public class HttpDispatcher {
             inboundReqMsg.setProperty(HttpConstants.TO, uriWithoutMatrixParams);
             inboundReqMsg.setProperty(HttpConstants.MATRIX_PARAMS, matrixParams);
 
-            URI validatedUri = getValidatedURI(uriWithoutMatrixParams);
+            String rawPath;
+            String rawQuery;
+            String query;
+            int queryStart = URIUtil.getQueryStartIfPlain(uriWithoutMatrixParams);
+            if (queryStart >= 0) {
+                // Nothing to decode or validate, so the path and the query can be taken as they are
+                rawPath = uriWithoutMatrixParams.substring(0, queryStart);
+                rawQuery = queryStart < uriWithoutMatrixParams.length() ?
+                        uriWithoutMatrixParams.substring(queryStart + 1) : null;
+                query = rawQuery;
+            } else {
+                URI validatedUri = getValidatedURI(uriWithoutMatrixParams);
+                rawPath = validatedUri.getRawPath();
+                rawQuery = validatedUri.getRawQuery();
+                query = validatedUri.getQuery();
+            }
 
-            String basePath = servicesRegistry.findTheMostSpecificBasePath(validatedUri.getRawPath(),
-                    servicesOnInterface, sortedServiceURIs);
+            String basePath = servicesRegistry.findTheMostSpecificBasePath(rawPath, servicesMapHolder);
 
             if (basePath == null) {
                 inboundReqMsg.setHttpStatusCode(404);
-                throw new BallerinaConnectorException("no matching service found for path : " +
-                        validatedUri.getRawPath());
+                throw new BallerinaConnectorException("no matching service found for path : " + rawPath);
             }
 
-            HttpService service = servicesOnInterface.get(basePath);
-            setInboundReqProperties(inboundReqMsg, validatedUri, basePath);
+            HttpService service = servicesRegistry.getServicesByHost(hostName).get(basePath);
+            setInboundReqProperties(inboundReqMsg, rawPath, rawQuery, query, basePath);
             return service;
         } catch (Exception e) {
             throw new BallerinaConnectorException(e.getMessage());
         }
     }
 
-    private static void setInboundReqProperties(HttpCarbonMessage inboundReqMsg, URI requestUri, String basePath) {
-        String subPath = URIUtil.getSubPath(requestUri.getRawPath(), basePath);
+    private static void setInboundReqProperties(HttpCarbonMessage inboundReqMsg, String rawPath, String rawQuery,
+                                                String query, String basePath) {
+        String subPath = URIUtil.getSubPath(rawPath, basePath);
         inboundReqMsg.setProperty(HttpConstants.BASE_PATH, basePath);
         inboundReqMsg.setProperty(HttpConstants.SUB_PATH, subPath);
-        inboundReqMsg.setProperty(HttpConstants.QUERY_STR, requestUri.getQuery());
+        inboundReqMsg.setProperty(HttpConstants.QUERY_STR, query);
         //store query params comes with request as it is
-        inboundReqMsg.setProperty(HttpConstants.RAW_QUERY_STR, requestUri.getRawQuery());
+        inboundReqMsg.setProperty(HttpConstants.RAW_QUERY_STR, rawQuery);
     }
 
     public static URI getValidatedURI(String uriStr) {
@@ -24,6 +24,7 @@ import org.ballerinalang.jvm.types.BType;
 import org.ballerinalang.jvm.values.MapValue;
 import org.ballerinalang.jvm.values.MapValueImpl;
 import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.net.http.observability.HttpResourceMetrics;
 import org.ballerinalang.net.uri.DispatcherUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -73,6 +74,7 @@ public class HttpResource {
     private boolean interruptible;
 
     private boolean transactionAnnotated = false;
+    private HttpResourceMetrics metrics;
 
     protected HttpResource(AttachedFunction resource, HttpService parentService) {
         this.balResource = resource;
@@ -100,6 +102,19 @@ public class HttpResource {
         return parentService;
     }
 
+    /**
+     * Returns the request metrics of this resource.
+     *
+     * @return the metrics, or null if HTTP resource metrics are not enabled
+     */
+    public HttpResourceMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(HttpResourceMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public AttachedFunction getBalResource() {
         return balResource;
     }
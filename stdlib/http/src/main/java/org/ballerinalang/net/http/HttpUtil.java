@@ -31,7 +31,7 @@ import io.netty.handler.codec.http.HttpVersion;
 import org.apache.commons.lang3.StringUtils;
 import org.ballerinalang.config.ConfigRegistry;
 import org.ballerinalang.jvm.BallerinaErrors;
-import org.ballerinalang.jvm.JSONGenerator;
+import org.ballerinalang.jvm.JSONByteSerializer;
 import org.ballerinalang.jvm.observability.ObserveUtils;
 import org.ballerinalang.jvm.observability.ObserverContext;
 import org.ballerinalang.jvm.scheduling.Strand;
@@ -1387,9 +1387,7 @@ public class HttpUtil {
     public static void serializeDataSource(Object outboundMessageSource, ObjectValue entity,
                                            OutputStream messageOutputStream) throws IOException {
         if (MimeUtil.generateAsJSON(outboundMessageSource, entity)) {
-            JSONGenerator gen = new JSONGenerator(messageOutputStream);
-            gen.serialize(outboundMessageSource);
-            gen.flush();
+            JSONByteSerializer.serialize(outboundMessageSource, messageOutputStream);
         } else {
             serialize(outboundMessageSource, messageOutputStream);
         }
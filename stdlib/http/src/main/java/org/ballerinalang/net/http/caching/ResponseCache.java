@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http.caching;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Storage of the HTTP caching client. Keeps the cached responses of each cache key, bounded by their size in bytes.
+ * <p>
+ * The keys are spread over lock striped segments, each of which keeps its keys in least recently used order, so
+ * lookups of different keys do not contend on a single lock. When the cache grows beyond its capacity, the least
+ * recently used keys of the segments are evicted in turns until the size drops by the eviction factor.
+ * <p>
+ * The responses of a key are indexed by the opaque tag of their entity tag, that is the entity tag without the weak
+ * validator prefix, for the validator lookups of a {@code 304} response. Since a validation response may replace the
+ * entity tag of a cached response with its weak form, the index only narrows down the candidates, and the current
+ * entity tag of a candidate is checked with the given function.
+ *
+ * @param <R> type of the cached responses
+ * @since 2.0.0
+ */
+public final class ResponseCache<R> {
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final String WEAK_VALIDATOR_TAG = "W/";
+
+    private final Segment<R>[] segments;
+    private final Function<R, String> entityTagFunction;
+    private final long capacity;
+    private final long evictionThreshold;
+    private final AtomicLong size = new AtomicLong();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AtomicInteger nextEvictionSegment = new AtomicInteger();
+
+    /**
+     * Creates a response cache.
+     *
+     * @param capacity          maximum size of the cached responses in bytes
+     * @param evictionFactor    fraction of the capacity to be freed when the cache is full
+     * @param entityTagFunction returns the current entity tag of a response, or {@code null} if it does not have one
+     */
+    @SuppressWarnings("unchecked")
+    public ResponseCache(long capacity, double evictionFactor, Function<R, String> entityTagFunction) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be greater than 0.");
+        }
+        if (evictionFactor <= 0 || evictionFactor > 1) {
+            throw new IllegalArgumentException(
+                    "Cache eviction factor must be between 0.0 (exclusive) and 1.0 (inclusive).");
+        }
+        this.capacity = capacity;
+        this.evictionThreshold = (long) (capacity * (1 - evictionFactor));
+        this.entityTagFunction = entityTagFunction;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            this.segments[i] = new Segment<>();
+        }
+    }
+
+    /**
+     * Adds a response to the responses of a key, and evicts the least recently used keys if the cache is full.
+     *
+     * @param key      cache key
+     * @param response response to be cached
+     * @param bytes    size of the response in bytes
+     * @return false if the response is larger than the capacity of the cache and was not added
+     */
+    public boolean put(String key, R response, long bytes) {
+        if (bytes > capacity) {
+            return false;
+        }
+        String entityTag = entityTagFunction.apply(response);
+        segmentFor(key).put(key, new CachedResponse<>(response, entityTag == null ? null : opaqueTag(entityTag),
+                                                      bytes));
+        if (size.addAndGet(bytes) > capacity) {
+            evict();
+        }
+        return true;
+    }
+
+    public boolean hasKey(String key) {
+        return segmentFor(key).containsKey(key);
+    }
+
+    /**
+     * Returns the most recently added response of a key.
+     *
+     * @param key cache key
+     * @return the response, or {@code null} if the key is not cached
+     */
+    public R get(String key) {
+        return segmentFor(key).getLatest(key);
+    }
+
+    /**
+     * Returns the responses of a key, in the order they were added.
+     *
+     * @param key cache key
+     * @return the responses, or {@code null} if the key is not cached
+     */
+    public List<R> getAll(String key) {
+        return segmentFor(key).getAll(key);
+    }
+
+    /**
+     * Returns the responses of a key that have the given strong entity tag.
+     *
+     * @param key       cache key
+     * @param entityTag entity tag, which is not weak
+     * @return the matching responses
+     */
+    public List<R> getAllByEntityTag(String key, String entityTag) {
+        if (entityTag.startsWith(WEAK_VALIDATOR_TAG)) {
+            return Collections.emptyList();
+        }
+        return getAllByOpaqueTag(key, entityTag, true);
+    }
+
+    /**
+     * Returns the responses of a key that have an entity tag matching the given entity tag, using the weak
+     * comparison.
+     *
+     * @param key       cache key
+     * @param entityTag entity tag, which may be weak
+     * @return the matching responses
+     */
+    public List<R> getAllByWeakEntityTag(String key, String entityTag) {
+        return getAllByOpaqueTag(key, entityTag, false);
+    }
+
+    private List<R> getAllByOpaqueTag(String key, String entityTag, boolean strong) {
+        String opaqueTag = opaqueTag(entityTag);
+        List<CachedResponse<R>> candidates = segmentFor(key).getByOpaqueTag(key, opaqueTag);
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<R> responses = new ArrayList<>(candidates.size());
+        for (CachedResponse<R> candidate : candidates) {
+            String currentTag = entityTagFunction.apply(candidate.response);
+            if (currentTag == null) {
+                continue;
+            }
+            if (strong ? entityTag.equals(currentTag) : opaqueTag.equals(opaqueTag(currentTag))) {
+                responses.add(candidate.response);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Removes the responses of a key.
+     *
+     * @param key cache key
+     */
+    public void remove(String key) {
+        long removed = segmentFor(key).remove(key);
+        if (removed > 0) {
+            size.addAndGet(-removed);
+        }
+    }
+
+    /**
+     * @return total size of the cached responses in bytes
+     */
+    public long size() {
+        return size.get();
+    }
+
+    private void evict() {
+        if (evictionLock.tryLock()) {
+            try {
+                // Frees the eviction factor of the capacity at once, so that the cache is not full on the next put
+                while (size.get() > evictionThreshold && evictEldest()) {
+                    // Keep evicting
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        // A caller that finds another one evicting evicts as well, so that the cache does not outgrow its capacity
+        // when responses are added faster than a single caller can evict them
+        while (size.get() > capacity && evictEldest()) {
+            // Keep evicting
+        }
+    }
+
+    private boolean evictEldest() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            Segment<R> segment = segments[nextEvictionSegment.getAndIncrement() & (SEGMENT_COUNT - 1)];
+            long evicted = segment.evictEldest();
+            if (evicted >= 0) {
+                size.addAndGet(-evicted);
+                return true;
+            }
+        }
+        // The size is only ahead of the segments while a concurrent removal is being accounted
+        return false;
+    }
+
+    private Segment<R> segmentFor(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    private static String opaqueTag(String entityTag) {
+        return entityTag.startsWith(WEAK_VALIDATOR_TAG) ? entityTag.substring(WEAK_VALIDATOR_TAG.length()) : entityTag;
+    }
+
+    /**
+     * A lock striped part of the cache, keeping its keys in least recently used order.
+     */
+    private static final class Segment<R> {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Entry<R>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        private void put(String key, CachedResponse<R> cachedResponse) {
+            lock.lock();
+            try {
+                Entry<R> entry = entries.get(key);
+                if (entry == null) {
+                    entry = new Entry<>();
+                    entries.put(key, entry);
+                }
+                entry.add(cachedResponse);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private boolean containsKey(String key) {
+            lock.lock();
+            try {
+                // Unlike a get, this does not count as an access of the key
+                return entries.containsKey(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private R getLatest(String key) {
+            lock.lock();
+            try {
+                Entry<R> entry = entries.get(key);
+                return entry == null ? null : entry.responses.get(entry.responses.size() - 1).response;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<R> getAll(String key) {
+            lock.lock();
+            try {
+                Entry<R> entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                List<R> responses = new ArrayList<>(entry.responses.size());
+                for (CachedResponse<R> cachedResponse : entry.responses) {
+                    responses.add(cachedResponse.response);
+                }
+                return responses;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<CachedResponse<R>> getByOpaqueTag(String key, String opaqueTag) {
+            lock.lock();
+            try {
+                Entry<R> entry = entries.get(key);
+                if (entry == null) {
+                    return Collections.emptyList();
+                }
+                List<CachedResponse<R>> matches = entry.byOpaqueTag.get(opaqueTag);
+                return matches == null ? Collections.emptyList() : new ArrayList<>(matches);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private long remove(String key) {
+            lock.lock();
+            try {
+                Entry<R> entry = entries.remove(key);
+                return entry == null ? 0 : entry.bytes;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @return size of the evicted responses in bytes, or -1 if the segment is empty
+         */
+        private long evictEldest() {
+            lock.lock();
+            try {
+                Iterator<Entry<R>> iterator = entries.values().iterator();
+                if (!iterator.hasNext()) {
+                    return -1;
+                }
+                long bytes = iterator.next().bytes;
+                iterator.remove();
+                return bytes;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * The responses of a cache key. Guarded by the lock of its segment.
+     */
+    private static final class Entry<R> {
+
+        private final List<CachedResponse<R>> responses = new ArrayList<>(1);
+        private final Map<String, List<CachedResponse<R>>> byOpaqueTag = new HashMap<>(2);
+        private long bytes;
+
+        private void add(CachedResponse<R> cachedResponse) {
+            responses.add(cachedResponse);
+            bytes += cachedResponse.bytes;
+            if (cachedResponse.opaqueTag != null) {
+                byOpaqueTag.computeIfAbsent(cachedResponse.opaqueTag, tag -> new ArrayList<>(1)).add(cachedResponse);
+            }
+        }
+    }
+
+    /**
+     * A cached response along with the opaque tag it is indexed by.
+     */
+    private static final class CachedResponse<R> {
+
+        private final R response;
+        private final String opaqueTag;
+        private final long bytes;
+
+        private CachedResponse(R response, String opaqueTag, long bytes) {
+            this.response = response;
+            this.opaqueTag = opaqueTag;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http.nativeimpl;
+
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.net.http.resiliency.CircuitHealthMonitor;
+
+/**
+ * Utilities related to the circuit health of the circuit breaker client.
+ * <p>
+ * The health of an {@code http:CircuitBreakerClient} within its rolling window is kept in a
+ * {@link CircuitHealthMonitor} in its native data, so that the requests through the client update it without a lock.
+ *
+ * @since 2.0.0
+ */
+public class ExternCircuitBreaker {
+
+    private static final String CIRCUIT_HEALTH = "CIRCUIT_HEALTH";
+
+    public static void init(ObjectValue circuitBreakerClient, long startTime, long bucketSizeInMillis,
+                            long noOfBuckets) {
+        circuitBreakerClient.addNativeData(CIRCUIT_HEALTH,
+                                           new CircuitHealthMonitor(startTime, bucketSizeInMillis, (int) noOfBuckets));
+    }
+
+    public static void recordRequest(ObjectValue circuitBreakerClient) {
+        getCircuitHealth(circuitBreakerClient).recordRequest(System.currentTimeMillis());
+    }
+
+    public static void recordSuccess(ObjectValue circuitBreakerClient) {
+        getCircuitHealth(circuitBreakerClient).recordSuccess(System.currentTimeMillis());
+    }
+
+    public static void recordFailure(ObjectValue circuitBreakerClient) {
+        getCircuitHealth(circuitBreakerClient).recordFailure(System.currentTimeMillis());
+    }
+
+    public static void recordRejection(ObjectValue circuitBreakerClient) {
+        getCircuitHealth(circuitBreakerClient).recordRejection(System.currentTimeMillis());
+    }
+
+    public static void forceOpen(ObjectValue circuitBreakerClient) {
+        getCircuitHealth(circuitBreakerClient).forceOpen(System.currentTimeMillis());
+    }
+
+    public static boolean isLastRequestSuccess(ObjectValue circuitBreakerClient) {
+        return getCircuitHealth(circuitBreakerClient).isLastRequestSuccess();
+    }
+
+    public static long getEffectiveErrorTime(ObjectValue circuitBreakerClient) {
+        return getCircuitHealth(circuitBreakerClient).getEffectiveErrorTime();
+    }
+
+    public static long getTotalRequestCount(ObjectValue circuitBreakerClient) {
+        return getCircuitHealth(circuitBreakerClient).getTotalRequestCount(System.currentTimeMillis());
+    }
+
+    public static double getFailureRatio(ObjectValue circuitBreakerClient) {
+        return getCircuitHealth(circuitBreakerClient).getFailureRatio(System.currentTimeMillis());
+    }
+
+    private static CircuitHealthMonitor getCircuitHealth(ObjectValue circuitBreakerClient) {
+        return (CircuitHealthMonitor) circuitBreakerClient.getNativeData(CIRCUIT_HEALTH);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http.nativeimpl;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.ballerinalang.jvm.types.BArrayType;
+import org.ballerinalang.jvm.values.ArrayValue;
+import org.ballerinalang.jvm.values.ArrayValueImpl;
+import org.ballerinalang.jvm.values.CloneUtils;
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.mime.util.EntityBodyHandler;
+import org.ballerinalang.net.http.HttpErrorType;
+import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.net.http.caching.ResponseCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.ballerinalang.mime.util.MimeConstants.ENTITY_HEADERS;
+
+/**
+ * Utilities related to the storage of the HTTP caching client.
+ * <p>
+ * The responses of an {@code http:HttpCache} are kept in a {@link ResponseCache} in its native data. The payload of
+ * a response is built before it is cached, and the cache keeps a read-only clone of the byte array of the payload.
+ * The clone shares the bytes of the payload until either of them is updated, so the payload stays mutable for the
+ * caller that received the response, and the read-only clone is shared by the response for all the cache hits
+ * without being copied.
+ *
+ * @since 2.0.0
+ */
+public class ExternHttpCache {
+
+    private static final String RESPONSE_CACHE = "RESPONSE_CACHE";
+    // Approximate size of a cached response apart from its headers and payload
+    private static final long RESPONSE_OVERHEAD = 256;
+
+    public static void init(ObjectValue httpCache, long capacity, double evictionFactor) {
+        try {
+            httpCache.addNativeData(RESPONSE_CACHE, new ResponseCache<CachedHttpResponse>(
+                    capacity, evictionFactor, cachedResponse -> getEntityTag(cachedResponse.response)));
+        } catch (IllegalArgumentException e) {
+            throw HttpUtil.createHttpError(e.getMessage(), HttpErrorType.GENERIC_CLIENT_ERROR);
+        }
+    }
+
+    public static boolean put(ObjectValue httpCache, BString key, ObjectValue response) {
+        String cacheKey = key.getValue();
+        long bytes = RESPONSE_OVERHEAD + cacheKey.length();
+
+        ArrayValue cachedPayload = null;
+        ObjectValue entity = HttpUtil.getEntity(response, false, false);
+        if (entity != null) {
+            HttpHeaders headers = (HttpHeaders) entity.getNativeData(ENTITY_HEADERS);
+            if (headers != null) {
+                for (Map.Entry<String, String> header : headers) {
+                    bytes += header.getKey().length() + header.getValue().length();
+                }
+            }
+            Object payload = EntityBodyHandler.getMessageDataSource(entity);
+            if (payload instanceof ArrayValue) {
+                cachedPayload = (ArrayValue) CloneUtils.cloneReadOnly(payload);
+                bytes += cachedPayload.size();
+            }
+        }
+        return getResponseCache(httpCache).put(cacheKey, new CachedHttpResponse(response, cachedPayload), bytes);
+    }
+
+    public static boolean hasKey(ObjectValue httpCache, BString key) {
+        return getResponseCache(httpCache).hasKey(key.getValue());
+    }
+
+    public static Object get(ObjectValue httpCache, BString key) {
+        CachedHttpResponse cachedResponse = getResponseCache(httpCache).get(key.getValue());
+        return cachedResponse == null ? null : cachedResponse.getResponse();
+    }
+
+    public static Object getAll(ObjectValue httpCache, BString key) {
+        return toResponseArray(getResponseCache(httpCache).getAll(key.getValue()));
+    }
+
+    public static Object getAllByETag(ObjectValue httpCache, BString key, BString etag) {
+        return toResponseArray(getResponseCache(httpCache).getAllByEntityTag(key.getValue(), etag.getValue()));
+    }
+
+    public static Object getAllByWeakETag(ObjectValue httpCache, BString key, BString etag) {
+        return toResponseArray(getResponseCache(httpCache).getAllByWeakEntityTag(key.getValue(), etag.getValue()));
+    }
+
+    public static void remove(ObjectValue httpCache, BString key) {
+        getResponseCache(httpCache).remove(key.getValue());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ResponseCache<CachedHttpResponse> getResponseCache(ObjectValue httpCache) {
+        return (ResponseCache<CachedHttpResponse>) httpCache.getNativeData(RESPONSE_CACHE);
+    }
+
+    private static String getEntityTag(ObjectValue response) {
+        ObjectValue entity = HttpUtil.getEntity(response, false, false);
+        if (entity == null) {
+            return null;
+        }
+        HttpHeaders headers = (HttpHeaders) entity.getNativeData(ENTITY_HEADERS);
+        return headers == null ? null : headers.get(HttpHeaderNames.ETAG);
+    }
+
+    private static ArrayValue toResponseArray(List<CachedHttpResponse> cachedResponses) {
+        if (cachedResponses == null || cachedResponses.isEmpty()) {
+            // The caller creates an empty array of the response type
+            return null;
+        }
+        List<ObjectValue> responses = new ArrayList<>(cachedResponses.size());
+        for (CachedHttpResponse cachedResponse : cachedResponses) {
+            responses.add(cachedResponse.getResponse());
+        }
+        return new ArrayValueImpl(responses.toArray(), new BArrayType(responses.get(0).getType()));
+    }
+
+    /**
+     * A cached response, along with the read-only clone of its byte payload.
+     */
+    private static final class CachedHttpResponse {
+
+        private final ObjectValue response;
+        private final ArrayValue payload;
+
+        private CachedHttpResponse(ObjectValue response, ArrayValue payload) {
+            this.response = response;
+            this.payload = payload;
+        }
+
+        /**
+         * Returns the response for a cache hit. The read-only payload is set again as the payload of the response,
+         * in case it has been replaced since the response was cached.
+         *
+         * @return the cached response
+         */
+        private ObjectValue getResponse() {
+            if (payload != null) {
+                ObjectValue entity = HttpUtil.getEntity(response, false, false);
+                if (entity != null) {
+                    EntityBodyHandler.addMessageDataSource(entity, payload);
+                }
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http.nativeimpl;
+
+import org.ballerinalang.jvm.values.ObjectValue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Utilities related to the round robin load balancing rule.
+ * <p>
+ * The clients of an {@code http:LoadBalancerRoundRobinRule} are picked in turns by an atomic counter in its native
+ * data, so that concurrent requests pick clients without a lock.
+ *
+ * @since 2.0.0
+ */
+public class ExternRoundRobinRule {
+
+    private static final String REQUEST_COUNTER = "REQUEST_COUNTER";
+
+    public static void init(ObjectValue roundRobinRule) {
+        roundRobinRule.addNativeData(REQUEST_COUNTER, new AtomicLong());
+    }
+
+    /**
+     * Returns the index of the client for the next request.
+     *
+     * @param roundRobinRule the round robin load balancing rule
+     * @param noOfClients    number of clients which are load balanced
+     * @return the index of the client
+     */
+    public static long nextIndex(ObjectValue roundRobinRule, long noOfClients) {
+        AtomicLong requestCounter = (AtomicLong) roundRobinRule.getNativeData(REQUEST_COUNTER);
+        return Math.floorMod(requestCounter.getAndIncrement(), noOfClients);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http.observability;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.jvm.observability.metrics.DefaultMetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.MetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.PolledGauge;
+import org.ballerinalang.jvm.observability.metrics.Tag;
+import org.ballerinalang.jvm.observability.metrics.Tags;
+import org.ballerinalang.net.http.HttpResource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Request metrics of a single HTTP resource on a listener.
+ * <p>
+ * Unlike the metrics of the observability observers, these do not create tags or look up metrics per request. The
+ * tags of a resource are created once when its service is registered, and a request only updates striped counters
+ * and a {@link LatencyHistogram}. The values are exposed as {@link PolledGauge}s of the default
+ * {@link MetricRegistry}, which read the counters when the metrics are reported.
+ * <p>
+ * These metrics are collected when {@value #CONFIG_HTTP_METRICS_ENABLED} is set, and reported when a metric provider
+ * is enabled for observability.
+ *
+ * @since 2.0.0
+ */
+public final class HttpResourceMetrics {
+
+    public static final String CONFIG_HTTP_METRICS_ENABLED = "b7a.http.metrics.enabled";
+
+    private static final String METRIC_PREFIX = "http_resource_";
+    private static final String TAG_LISTENER = "listener";
+    private static final String TAG_SERVICE = "service";
+    private static final String TAG_RESOURCE = "resource";
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inProgress = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final List<PolledGauge> gauges = new ArrayList<>();
+
+    /**
+     * Checks whether HTTP resource metrics are enabled in the configuration.
+     *
+     * @return true if the metrics of resources should be collected
+     */
+    public static boolean isEnabled() {
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        return configRegistry.isInitialized() && configRegistry.getAsBoolean(CONFIG_HTTP_METRICS_ENABLED);
+    }
+
+    /**
+     * Creates the metrics of a resource and registers them in the default metric registry.
+     *
+     * @param listenerId ID of the listener the service of the resource is attached to
+     * @param resource   HTTP resource
+     * @return the metrics of the resource
+     */
+    public static HttpResourceMetrics register(String listenerId, HttpResource resource) {
+        Set<Tag> tags = new HashSet<>();
+        Tags.tags(tags, TAG_LISTENER, listenerId, TAG_SERVICE, resource.getParentService().getBasePath(),
+                  TAG_RESOURCE, resource.getName());
+
+        HttpResourceMetrics metrics = new HttpResourceMetrics();
+        metrics.registerGauge("requests_total", "Number of requests dispatched to the resource", tags,
+                              m -> m.requests.sum());
+        metrics.registerGauge("errors_total", "Number of requests for which the resource returned an error", tags,
+                              m -> m.errors.sum());
+        metrics.registerGauge("requests_in_progress", "Number of requests being processed by the resource", tags,
+                              m -> m.inProgress.sum());
+        metrics.registerGauge("response_time_mean_ms", "Mean response time of the resource", tags,
+                              m -> m.latency.getMeanMillis());
+        metrics.registerGauge("response_time_p50_ms", "Median response time of the resource", tags,
+                              m -> m.latency.getPercentileMillis(50));
+        metrics.registerGauge("response_time_p95_ms", "95th percentile response time of the resource", tags,
+                              m -> m.latency.getPercentileMillis(95));
+        metrics.registerGauge("response_time_p99_ms", "99th percentile response time of the resource", tags,
+                              m -> m.latency.getPercentileMillis(99));
+        return metrics;
+    }
+
+    private void registerGauge(String name, String description, Set<Tag> tags,
+                               ToDoubleFunction<HttpResourceMetrics> valueFunction) {
+        MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+        if (metricRegistry == null) {
+            return;
+        }
+        gauges.add(PolledGauge.builder(METRIC_PREFIX + name, this, valueFunction).description(description)
+                           .tags(tags).register(metricRegistry));
+    }
+
+    /**
+     * Removes the gauges of the resource from the default metric registry.
+     */
+    public void unregister() {
+        MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+        if (metricRegistry == null) {
+            return;
+        }
+        for (PolledGauge gauge : gauges) {
+            metricRegistry.unregister(gauge);
+        }
+        gauges.clear();
+    }
+
+    /**
+     * Records the start of a request dispatched to the resource.
+     *
+     * @return start time of the request, to be passed to {@link #requestCompleted(long, boolean)}
+     */
+    public long requestStarted() {
+        requests.increment();
+        inProgress.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the completion of a request.
+     *
+     * @param startTime start time returned by {@link #requestStarted()}
+     * @param failed    whether the resource returned an error
+     */
+    public void requestCompleted(long startTime, boolean failed) {
+        latency.record(System.nanoTime() - startTime);
+        inProgress.decrement();
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getInProgressCount() {
+        return inProgress.sum();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.http.resiliency;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The health of an {@code http:CircuitBreakerClient} within its rolling window.
+ * <p>
+ * The rolling window is a ring of buckets, each of which counts the requests of one bucket sized period of time since
+ * the circuit breaker started. A bucket is tagged with the period it counts. When a request finds the bucket of its
+ * slot tagged with an older period, it replaces the bucket with an empty one, so buckets are reset without a lock,
+ * and without a scan of the window. The totals of the window only count the buckets of the periods in the window.
+ * <p>
+ * The counts of a bucket are {@link LongAdder}s, so concurrent requests through the same circuit breaker do not
+ * contend on a single counter. A count recorded on a bucket while it is being replaced may be lost, which only
+ * affects the statistics of the period that just ended.
+ *
+ * @since 2.0.0
+ */
+public final class CircuitHealthMonitor {
+
+    private final long startTime;
+    private final long bucketSizeInMillis;
+    private final int noOfBuckets;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    private volatile boolean lastRequestSuccess;
+    private volatile long lastErrorTime;
+    private volatile long lastForcedOpenTime;
+
+    /**
+     * Creates the health of a circuit breaker.
+     *
+     * @param startTime          time in milliseconds the circuit breaker started at
+     * @param bucketSizeInMillis time period in milliseconds counted by a bucket
+     * @param noOfBuckets        number of buckets in the rolling window
+     */
+    public CircuitHealthMonitor(long startTime, long bucketSizeInMillis, int noOfBuckets) {
+        this.startTime = startTime;
+        this.bucketSizeInMillis = bucketSizeInMillis;
+        this.noOfBuckets = noOfBuckets;
+        this.buckets = new AtomicReferenceArray<>(noOfBuckets);
+        this.lastErrorTime = startTime;
+        this.lastForcedOpenTime = startTime;
+    }
+
+    /**
+     * Records a request, which is sent, or rejected by the open circuit.
+     *
+     * @param now current time in milliseconds
+     */
+    public void recordRequest(long now) {
+        currentBucket(now).totalCount.increment();
+    }
+
+    public void recordSuccess(long now) {
+        currentBucket(now);
+        lastRequestSuccess = true;
+    }
+
+    public void recordFailure(long now) {
+        currentBucket(now).failureCount.increment();
+        lastRequestSuccess = false;
+        lastErrorTime = now;
+    }
+
+    public void recordRejection(long now) {
+        currentBucket(now).rejectedCount.increment();
+    }
+
+    public void forceOpen(long now) {
+        lastForcedOpenTime = now;
+    }
+
+    public boolean isLastRequestSuccess() {
+        return lastRequestSuccess;
+    }
+
+    /**
+     * @return the time in milliseconds of the last error, or of the last time the circuit was forced open if it is
+     * later
+     */
+    public long getEffectiveErrorTime() {
+        return Math.max(lastErrorTime, lastForcedOpenTime);
+    }
+
+    /**
+     * @param now current time in milliseconds
+     * @return the number of requests within the rolling window
+     */
+    public long getTotalRequestCount(long now) {
+        long periodIndex = periodIndex(now);
+        long totalCount = 0;
+        for (int i = 0; i < noOfBuckets; i++) {
+            Bucket bucket = buckets.get(i);
+            if (isInWindow(bucket, periodIndex)) {
+                totalCount += bucket.totalCount.sum();
+            }
+        }
+        return totalCount;
+    }
+
+    /**
+     * @param now current time in milliseconds
+     * @return the ratio of the failed requests to the requests that were not rejected, within the rolling window
+     */
+    public double getFailureRatio(long now) {
+        long periodIndex = periodIndex(now);
+        long totalCount = 0;
+        long failureCount = 0;
+        for (int i = 0; i < noOfBuckets; i++) {
+            Bucket bucket = buckets.get(i);
+            if (isInWindow(bucket, periodIndex)) {
+                totalCount += bucket.totalCount.sum() - bucket.rejectedCount.sum();
+                failureCount += bucket.failureCount.sum();
+            }
+        }
+        return totalCount > 0 ? (double) failureCount / totalCount : 0.0;
+    }
+
+    private Bucket currentBucket(long now) {
+        long periodIndex = periodIndex(now);
+        int slot = (int) (periodIndex % noOfBuckets);
+        Bucket bucket = buckets.get(slot);
+        // A bucket of a later period is left as it is, the clocks of the threads may be apart by a few milliseconds
+        while (bucket == null || bucket.periodIndex < periodIndex) {
+            Bucket newBucket = new Bucket(periodIndex);
+            if (buckets.compareAndSet(slot, bucket, newBucket)) {
+                return newBucket;
+            }
+            bucket = buckets.get(slot);
+        }
+        return bucket;
+    }
+
+    private boolean isInWindow(Bucket bucket, long periodIndex) {
+        return bucket != null && bucket.periodIndex > periodIndex - noOfBuckets;
+    }
+
+    private long periodIndex(long now) {
+        return Math.max(0, now - startTime) / bucketSizeInMillis;
+    }
+
+    /**
+     * The counts of a bucket sized period of time.
+     */
+    private static final class Bucket {
+
+        private final long periodIndex;
+        private final LongAdder totalCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder rejectedCount = new LongAdder();
+
+        private Bucket(long periodIndex) {
+            this.periodIndex = periodIndex;
+        }
+    }
+}
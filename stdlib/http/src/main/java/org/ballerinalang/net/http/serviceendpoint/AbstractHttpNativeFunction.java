@@ -31,8 +31,17 @@ public abstract class AbstractHttpNativeFunction {
     }
 
     static void resetRegistry(ObjectValue serviceEndpoint) {
+        HTTPServicesRegistry oldHttpServicesRegistry = getHttpServicesRegistry(serviceEndpoint);
+        if (oldHttpServicesRegistry != null) {
+            // the gauges of the old services would otherwise be reused for the services registered again
+            oldHttpServicesRegistry.unregisterResourceMetrics();
+        }
         WebSocketServicesRegistry webSocketServicesRegistry = new WebSocketServicesRegistry();
         HTTPServicesRegistry httpServicesRegistry = new HTTPServicesRegistry(webSocketServicesRegistry);
+        ServerConnector serverConnector = getServerConnector(serviceEndpoint);
+        if (serverConnector != null) {
+            httpServicesRegistry.setListenerId(serverConnector.getConnectorID());
+        }
         serviceEndpoint.addNativeData(HttpConstants.HTTP_SERVICE_REGISTRY, httpServicesRegistry);
         serviceEndpoint.addNativeData(HttpConstants.WS_SERVICE_REGISTRY, webSocketServicesRegistry);
     }
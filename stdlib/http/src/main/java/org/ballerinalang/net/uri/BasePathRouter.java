@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.net.uri;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds the most specific service base path for a request path, using a trie of the base path segments.
+ * <p>
+ * A base path matches a request path that is equal to it, ignoring case, or that starts with the base path followed
+ * by a {@code /}. Of the matching base paths, the longest one is picked, and the default base path {@code /} is used
+ * when nothing else matches. The request path is walked once, and matching does not allocate unless the request
+ * path only matches a base path when ignoring case.
+ * <p>
+ * A router is immutable. It is rebuilt whenever a service is registered or unregistered on its listener.
+ *
+ * @since 2.0.0
+ */
+public final class BasePathRouter {
+
+    private static final String DEFAULT_BASE_PATH = "/";
+
+    private final SegmentNode root = new SegmentNode(null);
+    private final Map<String, String> basePathsByLowerCase = new HashMap<>();
+    private final BitSet basePathLengths = new BitSet();
+
+    public BasePathRouter(Collection<String> basePaths) {
+        for (String basePath : basePaths) {
+            addBasePath(basePath);
+        }
+    }
+
+    /**
+     * Returns the most specific base path for the given request path.
+     *
+     * @param requestPath raw path of the request URI
+     * @return the matching base path, or {@code null} if there is no matching base path
+     */
+    public String findTheMostSpecificBasePath(String requestPath) {
+        int length = requestPath.length();
+        String basePath = null;
+
+        if (length > 0 && requestPath.charAt(0) == '/') {
+            SegmentNode node = root;
+            int start = 1;
+            while (true) {
+                int end = requestPath.indexOf('/', start);
+                if (end < 0) {
+                    end = length;
+                }
+                node = node.getChild(requestPath, start, end);
+                if (node == null) {
+                    break;
+                }
+                if (end == length) {
+                    if (node.basePath != null) {
+                        return node.basePath;
+                    }
+                    break;
+                }
+                if (node.basePath != null) {
+                    basePath = node.basePath;
+                }
+                start = end + 1;
+            }
+        }
+
+        // A base path equal to the request path when ignoring case is longer than any of the prefix matches
+        if (basePathLengths.get(length)) {
+            String caseInsensitiveMatch = basePathsByLowerCase.get(requestPath.toLowerCase(Locale.ROOT));
+            if (caseInsensitiveMatch != null) {
+                return caseInsensitiveMatch;
+            }
+        }
+
+        if (basePath != null) {
+            return basePath;
+        }
+        return root.basePath;
+    }
+
+    private void addBasePath(String basePath) {
+        basePathsByLowerCase.putIfAbsent(basePath.toLowerCase(Locale.ROOT), basePath);
+        basePathLengths.set(basePath.length());
+        if (DEFAULT_BASE_PATH.equals(basePath)) {
+            root.basePath = basePath;
+            return;
+        }
+        if (!basePath.startsWith(DEFAULT_BASE_PATH)) {
+            // Only a request path that equals the base path, ignoring case, can match it
+            return;
+        }
+
+        SegmentNode node = root;
+        int start = 1;
+        while (true) {
+            int end = basePath.indexOf('/', start);
+            if (end < 0) {
+                end = basePath.length();
+            }
+            node = node.getOrAddChild(basePath.substring(start, end));
+            if (end == basePath.length()) {
+                break;
+            }
+            start = end + 1;
+        }
+        if (node.basePath == null) {
+            node.basePath = basePath;
+        }
+    }
+
+    /**
+     * A node for a single base path segment. Child nodes are kept in an open addressing table keyed by the segment,
+     * so that they can be looked up with a region of the request path.
+     */
+    private static final class SegmentNode {
+
+        private final String segment;
+        private String basePath;
+        private SegmentNode[] children;
+        private int childCount;
+
+        private SegmentNode(String segment) {
+            this.segment = segment;
+        }
+
+        private SegmentNode getChild(String path, int start, int end) {
+            SegmentNode[] table = this.children;
+            if (table == null) {
+                return null;
+            }
+            int mask = table.length - 1;
+            int length = end - start;
+            for (int i = spread(hash(path, start, end)) & mask; ; i = (i + 1) & mask) {
+                SegmentNode child = table[i];
+                if (child == null) {
+                    return null;
+                }
+                if (child.segment.length() == length && path.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+        }
+
+        private SegmentNode getOrAddChild(String childSegment) {
+            SegmentNode child = getChild(childSegment, 0, childSegment.length());
+            if (child != null) {
+                return child;
+            }
+            if (children == null) {
+                children = new SegmentNode[4];
+            } else if ((childCount + 1) * 2 > children.length) {
+                SegmentNode[] oldChildren = children;
+                children = new SegmentNode[oldChildren.length * 2];
+                for (SegmentNode oldChild : oldChildren) {
+                    if (oldChild != null) {
+                        insert(oldChild);
+                    }
+                }
+            }
+            child = new SegmentNode(childSegment);
+            insert(child);
+            childCount++;
+            return child;
+        }
+
+        private void insert(SegmentNode child) {
+            int mask = children.length - 1;
+            int i = spread(child.segment.hashCode()) & mask;
+            while (children[i] != null) {
+                i = (i + 1) & mask;
+            }
+            children[i] = child;
+        }
+
+        private static int hash(String path, int start, int end) {
+            // Same as String#hashCode of the segment
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            return hash;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
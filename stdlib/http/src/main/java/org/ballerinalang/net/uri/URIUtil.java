@@ -52,6 +52,63 @@ public class URIUtil {
         return path.split(URI_PATH_DELIMITER);
     }
 
+    /**
+     * Checks whether the given request URI is a plain absolute path with an optional query, that has no percent
+     * encoded characters or fragment, and only characters that are valid as they are. Parsing such a URI with
+     * {@link java.net.URI} would give the same raw and decoded path and query.
+     *
+     * @param uri request URI
+     * @return the index of the query delimiter, or the length of the URI if it has no query, or -1 if the URI is
+     * not plain
+     */
+    public static int getQueryStartIfPlain(String uri) {
+        int length = uri.length();
+        if (length == 0 || uri.charAt(0) != '/' || (length > 1 && uri.charAt(1) == '/')) {
+            return -1;
+        }
+        int queryStart = length;
+        for (int i = 1; i < length; i++) {
+            char c = uri.charAt(i);
+            if (c == '?') {
+                if (queryStart == length) {
+                    queryStart = i;
+                }
+            } else if (!isPlainURIChar(c)) {
+                return -1;
+            }
+        }
+        return queryStart;
+    }
+
+    private static boolean isPlainURIChar(char c) {
+        if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+            return true;
+        }
+        switch (c) {
+            case '-':
+            case '.':
+            case '_':
+            case '~':
+            case '!':
+            case '$':
+            case '&':
+            case '\'':
+            case '(':
+            case ')':
+            case '*':
+            case '+':
+            case ',':
+            case ';':
+            case '=':
+            case ':':
+            case '@':
+            case '/':
+                return true;
+            default:
+                return false;
+        }
+    }
+
     public static String getSubPath(String path, String basePath) {
         if (path.length() == basePath.length()) {
             return URI_PATH_DELIMITER;
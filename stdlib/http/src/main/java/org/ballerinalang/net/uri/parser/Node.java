@@ -82,10 +82,7 @@ public abstract class Node<DataType, InboundMsgType> {
             if (childNode instanceof Literal) {
                 String regex = childNode.getToken();
                 if (regex.equals("*")) {
-                    regex = "." + regex;
-                    if (!subPath.matches(regex)) {
-                        continue;
-                    }
+                    // The wildcard matches any sub path, as a raw request path cannot have line terminators
                     isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
                                                  dataReturnAgent);
                     if (isFound) {
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cachingclient;
+
+import org.ballerinalang.net.http.caching.ResponseCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test class for {@link ResponseCache}.
+ */
+public class ResponseCacheTest {
+
+    @Test
+    public void testByteBoundedEviction() {
+        ResponseCache<TestResponse> cache = newCache(1000, 0.2);
+        for (int i = 0; i < 10; i++) {
+            Assert.assertTrue(cache.put("key" + i, new TestResponse("response" + i, null), 100));
+        }
+        Assert.assertEquals(cache.size(), 1000);
+        Assert.assertEquals(countKeys(cache, 10), 10);
+
+        // Going over the capacity frees the eviction factor of the capacity
+        Assert.assertTrue(cache.put("key10", new TestResponse("response10", null), 100));
+        Assert.assertEquals(cache.size(), 800);
+        Assert.assertEquals(countKeys(cache, 11), 8);
+    }
+
+    @Test
+    public void testResponseLargerThanCapacity() {
+        ResponseCache<TestResponse> cache = newCache(1000, 0.2);
+        Assert.assertTrue(cache.put("small", new TestResponse("small", null), 100));
+        Assert.assertFalse(cache.put("large", new TestResponse("large", null), 1001));
+        Assert.assertFalse(cache.hasKey("large"));
+        Assert.assertTrue(cache.hasKey("small"));
+        Assert.assertEquals(cache.size(), 100);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> newCache(0, 0.2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> newCache(1000, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> newCache(1000, 1.5));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedOrder() {
+        // The keys share a segment, so the least recently used ones are evicted first
+        List<String> keys = keysInSameSegment(4);
+        String first = keys.get(0);
+        String second = keys.get(1);
+        String third = keys.get(2);
+        String fourth = keys.get(3);
+
+        ResponseCache<TestResponse> cache = newCache(300, 0.1);
+        cache.put(first, new TestResponse(first, null), 100);
+        cache.put(second, new TestResponse(second, null), 100);
+        cache.put(third, new TestResponse(third, null), 100);
+        Assert.assertNotNull(cache.get(first));
+        // Checking for a key does not count as an access of it
+        Assert.assertTrue(cache.hasKey(second));
+
+        cache.put(fourth, new TestResponse(fourth, null), 100);
+        Assert.assertEquals(cache.size(), 200);
+        Assert.assertTrue(cache.hasKey(first));
+        Assert.assertFalse(cache.hasKey(second));
+        Assert.assertFalse(cache.hasKey(third));
+        Assert.assertTrue(cache.hasKey(fourth));
+    }
+
+    @Test
+    public void testResponsesOfKey() {
+        ResponseCache<TestResponse> cache = newCache(1000, 0.2);
+        TestResponse gzip = new TestResponse("gzip", "\"a\"");
+        TestResponse plain = new TestResponse("plain", "\"b\"");
+        cache.put("key", gzip, 100);
+        cache.put("key", plain, 100);
+
+        Assert.assertSame(cache.get("key"), plain);
+        Assert.assertEquals(cache.getAll("key"), Arrays.asList(gzip, plain));
+        Assert.assertEquals(cache.size(), 200);
+        Assert.assertNull(cache.get("missing"));
+        Assert.assertNull(cache.getAll("missing"));
+    }
+
+    @Test
+    public void testEntityTagLookup() {
+        ResponseCache<TestResponse> cache = newCache(1000, 0.2);
+        TestResponse strong = new TestResponse("strong", "\"a\"");
+        TestResponse weak = new TestResponse("weak", "W/\"b\"");
+        TestResponse untagged = new TestResponse("untagged", null);
+        cache.put("key", strong, 100);
+        cache.put("key", weak, 100);
+        cache.put("key", untagged, 100);
+
+        Assert.assertEquals(cache.getAllByEntityTag("key", "\"a\""), Arrays.asList(strong));
+        Assert.assertEquals(cache.getAllByWeakEntityTag("key", "W/\"a\""), Arrays.asList(strong));
+        // A weak entity tag never matches with the strong comparison
+        Assert.assertTrue(cache.getAllByEntityTag("key", "\"b\"").isEmpty());
+        Assert.assertTrue(cache.getAllByEntityTag("key", "W/\"b\"").isEmpty());
+        Assert.assertEquals(cache.getAllByWeakEntityTag("key", "\"b\""), Arrays.asList(weak));
+        Assert.assertTrue(cache.getAllByWeakEntityTag("key", "\"c\"").isEmpty());
+        Assert.assertTrue(cache.getAllByWeakEntityTag("missing", "\"a\"").isEmpty());
+    }
+
+    @Test
+    public void testEntityTagChangedToWeak() {
+        ResponseCache<TestResponse> cache = newCache(1000, 0.2);
+        TestResponse response = new TestResponse("response", "\"a\"");
+        cache.put("key", response, 100);
+
+        // A validation response may replace the entity tag of a cached response with its weak form
+        response.entityTag = "W/\"a\"";
+        Assert.assertTrue(cache.getAllByEntityTag("key", "\"a\"").isEmpty());
+        Assert.assertEquals(cache.getAllByWeakEntityTag("key", "\"a\""), Arrays.asList(response));
+
+        // A response that no longer has an entity tag is not matched
+        response.entityTag = null;
+        Assert.assertTrue(cache.getAllByWeakEntityTag("key", "\"a\"").isEmpty());
+    }
+
+    @Test
+    public void testInvalidation() {
+        ResponseCache<TestResponse> cache = newCache(1000, 0.2);
+        cache.put("key", new TestResponse("first", "\"a\""), 100);
+        cache.put("key", new TestResponse("second", "\"b\""), 150);
+        cache.put("other", new TestResponse("other", "\"a\""), 100);
+        Assert.assertEquals(cache.size(), 350);
+
+        cache.remove("key");
+        Assert.assertEquals(cache.size(), 100);
+        Assert.assertFalse(cache.hasKey("key"));
+        Assert.assertNull(cache.get("key"));
+        Assert.assertNull(cache.getAll("key"));
+        Assert.assertTrue(cache.getAllByEntityTag("key", "\"a\"").isEmpty());
+        Assert.assertTrue(cache.getAllByWeakEntityTag("key", "\"b\"").isEmpty());
+        Assert.assertEquals(cache.getAllByEntityTag("other", "\"a\"").size(), 1);
+
+        // Removing a key that is not cached does not change the size
+        cache.remove("key");
+        Assert.assertEquals(cache.size(), 100);
+    }
+
+    private static ResponseCache<TestResponse> newCache(long capacity, double evictionFactor) {
+        return new ResponseCache<>(capacity, evictionFactor, response -> response.entityTag);
+    }
+
+    private static int countKeys(ResponseCache<TestResponse> cache, int keyCount) {
+        int count = 0;
+        for (int i = 0; i < keyCount; i++) {
+            if (cache.hasKey("key" + i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds keys that are stored in the same segment, using the segment selection of the cache.
+     */
+    private static List<String> keysInSameSegment(int count) {
+        List<String> keys = new ArrayList<>(count);
+        int segment = segmentOf("key0");
+        for (int i = 0; keys.size() < count; i++) {
+            String key = "key" + i;
+            if (segmentOf(key) == segment) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static int segmentOf(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & 15;
+    }
+
+    private static class TestResponse {
+
+        private final String name;
+        private String entityTag;
+
+        private TestResponse(String name, String entityTag) {
+            this.name = name;
+            this.entityTag = entityTag;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.resiliency;
+
+import org.ballerinalang.net.http.resiliency.CircuitHealthMonitor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Test class for {@link CircuitHealthMonitor}.
+ */
+public class CircuitHealthMonitorTest {
+
+    private static final long START_TIME = 10000;
+    private static final long BUCKET_SIZE = 100;
+    private static final int NO_OF_BUCKETS = 3;
+    private static final double DELTA = 0.0001;
+
+    @Test
+    public void testBucketRollover() {
+        CircuitHealthMonitor health = newHealth();
+        recordRequests(health, START_TIME + 50, 2);
+        recordRequests(health, START_TIME + 150, 1);
+        recordRequests(health, START_TIME + 250, 1);
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME + 250), 4);
+
+        // The first bucket is out of the window once its slot is due to be reused
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME + 350), 2);
+        recordRequests(health, START_TIME + 350, 3);
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME + 350), 5);
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME + 450), 4);
+
+        // None of the buckets are in the window after a window of idle time
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME + 800), 0);
+        recordRequests(health, START_TIME + 800, 1);
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME + 800), 1);
+    }
+
+    @Test
+    public void testBucketOfLaterPeriodIsKept() {
+        CircuitHealthMonitor health = newHealth();
+        recordRequests(health, START_TIME + 550, 2);
+        // A request with a clock that is behind counts in the bucket of the later period that owns the slot
+        recordRequests(health, START_TIME + 250, 1);
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME + 550), 3);
+    }
+
+    @Test
+    public void testRequestsBeforeStartTime() {
+        CircuitHealthMonitor health = newHealth();
+        recordRequests(health, START_TIME - 500, 2);
+        Assert.assertEquals(health.getTotalRequestCount(START_TIME), 2);
+    }
+
+    @Test
+    public void testFailureRatio() {
+        CircuitHealthMonitor health = newHealth();
+        long now = START_TIME + 50;
+        for (int i = 0; i < 3; i++) {
+            health.recordRequest(now);
+            health.recordSuccess(now);
+        }
+        health.recordRequest(now);
+        health.recordFailure(now);
+        Assert.assertEquals(health.getTotalRequestCount(now), 4);
+        Assert.assertEquals(health.getFailureRatio(now), 0.25, DELTA);
+    }
+
+    @Test
+    public void testRejectedRequestsInFailureRatio() {
+        CircuitHealthMonitor health = newHealth();
+        long now = START_TIME + 50;
+        health.recordRequest(now);
+        health.recordFailure(now);
+        health.recordRequest(now);
+        health.recordSuccess(now);
+
+        // A request rejected by the open circuit counts as a request, but not in the failure ratio
+        for (int i = 0; i < 2; i++) {
+            health.recordRequest(now);
+            health.recordRejection(now);
+        }
+        Assert.assertEquals(health.getTotalRequestCount(now), 4);
+        Assert.assertEquals(health.getFailureRatio(now), 0.5, DELTA);
+    }
+
+    @Test
+    public void testFailureRatioWithoutSentRequests() {
+        CircuitHealthMonitor health = newHealth();
+        Assert.assertEquals(health.getFailureRatio(START_TIME), 0.0, DELTA);
+        health.recordRequest(START_TIME);
+        health.recordRejection(START_TIME);
+        Assert.assertEquals(health.getFailureRatio(START_TIME), 0.0, DELTA);
+    }
+
+    @Test
+    public void testFailuresLeaveWindow() {
+        CircuitHealthMonitor health = newHealth();
+        health.recordRequest(START_TIME + 50);
+        health.recordFailure(START_TIME + 50);
+        health.recordRequest(START_TIME + 150);
+        health.recordSuccess(START_TIME + 150);
+        Assert.assertEquals(health.getFailureRatio(START_TIME + 250), 0.5, DELTA);
+
+        // The failure of the first bucket is no longer counted when the bucket leaves the window
+        Assert.assertEquals(health.getFailureRatio(START_TIME + 350), 0.0, DELTA);
+        health.recordRequest(START_TIME + 350);
+        health.recordFailure(START_TIME + 350);
+        Assert.assertEquals(health.getFailureRatio(START_TIME + 350), 0.5, DELTA);
+    }
+
+    @Test
+    public void testCircuitStateInputs() {
+        // Follows the health of a circuit that trips, rejects requests, and recovers with a trial request
+        CircuitHealthMonitor health = newHealth();
+        Assert.assertFalse(health.isLastRequestSuccess());
+        Assert.assertEquals(health.getEffectiveErrorTime(), START_TIME);
+
+        health.recordRequest(START_TIME + 10);
+        health.recordSuccess(START_TIME + 10);
+        Assert.assertTrue(health.isLastRequestSuccess());
+
+        // A failure trips the circuit, which is reset after the reset time from the last error
+        health.recordRequest(START_TIME + 20);
+        health.recordFailure(START_TIME + 20);
+        Assert.assertFalse(health.isLastRequestSuccess());
+        Assert.assertEquals(health.getEffectiveErrorTime(), START_TIME + 20);
+        Assert.assertEquals(health.getFailureRatio(START_TIME + 20), 0.5, DELTA);
+
+        // Rejections of the open circuit do not change the outcome of the last request
+        health.recordRequest(START_TIME + 30);
+        health.recordRejection(START_TIME + 30);
+        Assert.assertFalse(health.isLastRequestSuccess());
+        Assert.assertEquals(health.getEffectiveErrorTime(), START_TIME + 20);
+
+        // Forcing the circuit open restarts the reset time, and an earlier error does not move it back
+        health.forceOpen(START_TIME + 40);
+        Assert.assertEquals(health.getEffectiveErrorTime(), START_TIME + 40);
+        health.recordFailure(START_TIME + 35);
+        Assert.assertEquals(health.getEffectiveErrorTime(), START_TIME + 40);
+
+        // A successful trial request of the half open circuit closes it
+        health.recordRequest(START_TIME + 150);
+        health.recordSuccess(START_TIME + 150);
+        Assert.assertTrue(health.isLastRequestSuccess());
+    }
+
+    @Test
+    public void testConcurrentRequests() throws InterruptedException {
+        CircuitHealthMonitor health = newHealth();
+        int threadCount = 8;
+        int requestsPerThread = 1000;
+        long now = START_TIME + 50;
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < requestsPerThread; j++) {
+                    health.recordRequest(now);
+                    if (j % 4 == 0) {
+                        health.recordFailure(now);
+                    } else {
+                        health.recordSuccess(now);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(health.getTotalRequestCount(now), threadCount * requestsPerThread);
+        Assert.assertEquals(health.getFailureRatio(now), 0.25, DELTA);
+    }
+
+    private static CircuitHealthMonitor newHealth() {
+        return new CircuitHealthMonitor(START_TIME, BUCKET_SIZE, NO_OF_BUCKETS);
+    }
+
+    private static void recordRequests(CircuitHealthMonitor health, long now, int count) {
+        for (int i = 0; i < count; i++) {
+            health.recordRequest(now);
+        }
+    }
+}
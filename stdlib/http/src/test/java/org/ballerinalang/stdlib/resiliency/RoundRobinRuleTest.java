@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.resiliency;
+
+import org.ballerinalang.jvm.scheduling.Strand;
+import org.ballerinalang.jvm.types.BObjectType;
+import org.ballerinalang.jvm.types.BPackage;
+import org.ballerinalang.jvm.values.AbstractObjectValue;
+import org.ballerinalang.jvm.values.FutureValue;
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.net.http.nativeimpl.ExternRoundRobinRule;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Test class for {@link ExternRoundRobinRule}.
+ */
+public class RoundRobinRuleTest {
+
+    @Test
+    public void testClientsArePickedInTurns() {
+        ObjectValue rule = newRule();
+        long[] expected = {0, 1, 2, 0, 1, 2, 0};
+        for (long index : expected) {
+            Assert.assertEquals(ExternRoundRobinRule.nextIndex(rule, 3), index);
+        }
+    }
+
+    @Test
+    public void testRulesAreIndependent() {
+        ObjectValue first = newRule();
+        ObjectValue second = newRule();
+        Assert.assertEquals(ExternRoundRobinRule.nextIndex(first, 2), 0);
+        Assert.assertEquals(ExternRoundRobinRule.nextIndex(first, 2), 1);
+        Assert.assertEquals(ExternRoundRobinRule.nextIndex(second, 2), 0);
+    }
+
+    @Test
+    public void testCounterOverflow() {
+        ObjectValue rule = newRule();
+        ((AtomicLong) rule.getNativeData("REQUEST_COUNTER")).set(Long.MAX_VALUE);
+        // The index stays within the clients when the counter wraps around
+        for (int i = 0; i < 4; i++) {
+            long index = ExternRoundRobinRule.nextIndex(rule, 3);
+            Assert.assertTrue(index >= 0 && index < 3, "index " + index);
+        }
+    }
+
+    @Test
+    public void testConcurrentPicks() throws InterruptedException {
+        ObjectValue rule = newRule();
+        int noOfClients = 3;
+        int threadCount = 8;
+        int picksPerThread = 300;
+        AtomicLongArray picks = new AtomicLongArray(noOfClients);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int i = 0; i < threadCount; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    startLatch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < picksPerThread; j++) {
+                    picks.incrementAndGet((int) ExternRoundRobinRule.nextIndex(rule, noOfClients));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Every client is picked the same number of times
+        for (int i = 0; i < noOfClients; i++) {
+            Assert.assertEquals(picks.get(i), threadCount * picksPerThread / noOfClients);
+        }
+    }
+
+    private static ObjectValue newRule() {
+        ObjectValue rule = new TestObjectValue();
+        ExternRoundRobinRule.init(rule);
+        return rule;
+    }
+
+    /**
+     * An object value which only keeps native data.
+     */
+    private static class TestObjectValue extends AbstractObjectValue {
+
+        private TestObjectValue() {
+            super(new BObjectType("LoadBalancerRoundRobinRule", new BPackage("ballerina", "http"), 0));
+        }
+
+        @Override
+        public Object call(Strand strand, String funcName, Object... args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FutureValue start(Strand strand, String funcName, Object... args) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Object get(BString fieldName) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(BString fieldName, Object value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.services.dispatching;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.ballerinalang.jvm.util.exceptions.BallerinaConnectorException;
+import org.ballerinalang.net.http.HTTPServicesRegistry;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.HttpDispatcher;
+import org.ballerinalang.net.http.HttpService;
+import org.ballerinalang.net.uri.BasePathRouter;
+import org.ballerinalang.net.uri.URIUtil;
+import org.ballerinalang.stdlib.utils.HTTPTestRequest;
+import org.ballerinalang.stdlib.utils.MessageUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test class for finding the service base path of a request with {@link BasePathRouter} and
+ * {@link HttpDispatcher#findService}.
+ */
+public class BasePathRouterTest {
+
+    @Test
+    public void testLongestPrefixMatch() {
+        BasePathRouter router = new BasePathRouter(Arrays.asList("/", "/foo", "/foo/bar", "/foo/bar/baz", "/qux"));
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo"), "/foo");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo/bar"), "/foo/bar");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo/bar/qux"), "/foo/bar");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo/bar/baz/a/b"), "/foo/bar/baz");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo/qux"), "/foo");
+        // A base path only matches whole segments
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo/barx"), "/foo");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foobar"), "/");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/qux/foo/bar"), "/qux");
+    }
+
+    @Test
+    public void testManyBasePaths() {
+        List<String> basePaths = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            basePaths.add("/service" + i);
+            basePaths.add("/api/v" + i);
+        }
+        BasePathRouter router = new BasePathRouter(basePaths);
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals(router.findTheMostSpecificBasePath("/service" + i + "/resource"), "/service" + i);
+            Assert.assertEquals(router.findTheMostSpecificBasePath("/api/v" + i), "/api/v" + i);
+        }
+        Assert.assertNull(router.findTheMostSpecificBasePath("/service100"));
+        Assert.assertNull(router.findTheMostSpecificBasePath("/api"));
+    }
+
+    @Test
+    public void testRootBasePath() {
+        BasePathRouter router = new BasePathRouter(Collections.singletonList("/"));
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/"), "/");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo"), "/");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo/bar/"), "/");
+
+        router = new BasePathRouter(Arrays.asList("/", "/foo"));
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/"), "/");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/bar"), "/");
+    }
+
+    @Test
+    public void testTrailingSlashes() {
+        BasePathRouter router = new BasePathRouter(Arrays.asList("/foo", "/bar/"));
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo/"), "/foo");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/foo//baz"), "/foo");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/bar/"), "/bar/");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/bar//baz"), "/bar/");
+        // The base path with a trailing slash does not match the path without it
+        Assert.assertNull(router.findTheMostSpecificBasePath("/bar"));
+        Assert.assertNull(router.findTheMostSpecificBasePath("/bar/baz"));
+    }
+
+    @Test
+    public void testCaseInsensitiveExactMatch() {
+        BasePathRouter router = new BasePathRouter(Arrays.asList("/", "/Hello/World", "/hello", "greeting"));
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/hello/world"), "/Hello/World");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/HELLO/WORLD"), "/Hello/World");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/Hello/World/x"), "/Hello/World");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/HELLO"), "/hello");
+        // A prefix is only matched with the same case
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/hello/world/x"), "/hello");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("/HELLO/x"), "/");
+        // A base path that does not start with a slash only matches a path equal to it, ignoring case
+        Assert.assertEquals(router.findTheMostSpecificBasePath("Greeting"), "greeting");
+        Assert.assertEquals(router.findTheMostSpecificBasePath("greeting/x"), "/");
+    }
+
+    @Test
+    public void testNoMatch() {
+        BasePathRouter router = new BasePathRouter(Arrays.asList("/foo", "/foo/bar"));
+        Assert.assertNull(router.findTheMostSpecificBasePath("/"));
+        Assert.assertNull(router.findTheMostSpecificBasePath("/bar/foo"));
+        Assert.assertNull(router.findTheMostSpecificBasePath("/fo"));
+        Assert.assertNull(router.findTheMostSpecificBasePath(""));
+        Assert.assertNull(new BasePathRouter(Collections.emptyList()).findTheMostSpecificBasePath("/foo"));
+    }
+
+    @Test
+    public void testQueryStartIfPlain() {
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/"), 1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo/bar"), 8);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo/bar?a=1&b=2"), 8);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo?a=1?b=2"), 4);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo?"), 4);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/a-b.c_d~e!$&'()*+,;=:@"), 23);
+    }
+
+    @Test
+    public void testQueryStartIfNotPlain() {
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain(""), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("foo"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("//host/foo"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("http://host/foo"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo%20bar"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo?name=a%20b"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo bar"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo#fragment"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/café"), -1);
+        Assert.assertEquals(URIUtil.getQueryStartIfPlain("/foo?a=[1]"), -1);
+    }
+
+    @Test
+    public void testFindServiceWithPlainURI() {
+        TestServicesRegistry registry = new TestServicesRegistry("/", "/hello", "/hello/world");
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/hello/there?name=john&age=20", "GET");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/hello"));
+        assertRequestProperties(request, "/hello", "/there", "name=john&age=20", "name=john&age=20");
+
+        request = MessageUtils.generateHTTPMessage("/hello/world", "GET");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/hello/world"));
+        assertRequestProperties(request, "/hello/world", "/", null, null);
+    }
+
+    @Test
+    public void testFindServiceWithEncodedURI() {
+        TestServicesRegistry registry = new TestServicesRegistry("/", "/hello");
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/hello/a%20b?name=john%20doe", "GET");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/hello"));
+        // The path is matched without decoding, while the query is also given decoded
+        assertRequestProperties(request, "/hello", "/a%20b", "name=john doe", "name=john%20doe");
+
+        request = MessageUtils.generateHTTPMessage("/hello%2Fworld", "GET");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/"));
+        assertRequestProperties(request, "/", "hello%2Fworld", null, null);
+    }
+
+    @Test
+    public void testFindServiceWithMatrixParams() {
+        TestServicesRegistry registry = new TestServicesRegistry("/hello");
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/hello/john;age=10/info?a=b", "GET");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/hello"));
+        assertRequestProperties(request, "/hello", "/john/info", "a=b", "a=b");
+        Assert.assertEquals(request.getProperty(HttpConstants.RAW_URI), "/hello/john;age=10/info?a=b");
+    }
+
+    @Test
+    public void testFindServiceIgnoringCase() {
+        TestServicesRegistry registry = new TestServicesRegistry("/", "/Hello");
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/hello?x=1", "GET");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/Hello"));
+        assertRequestProperties(request, "/Hello", "/", "x=1", "x=1");
+    }
+
+    @Test
+    public void testFindServiceOfUnknownHost() {
+        TestServicesRegistry registry = new TestServicesRegistry("/hello");
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/hello", "GET");
+        request.setHeader(HttpHeaderNames.HOST.toString(), "example.com");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/hello"));
+    }
+
+    @Test
+    public void testFindServiceFallback() {
+        TestServicesRegistry registry = new TestServicesRegistry("/", "/hello");
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/other/path", "GET");
+        Assert.assertSame(HttpDispatcher.findService(registry, request), registry.getService("/"));
+        assertRequestProperties(request, "/", "other/path", null, null);
+    }
+
+    @Test
+    public void testFindServiceNoMatch() {
+        TestServicesRegistry registry = new TestServicesRegistry("/hello");
+        HTTPTestRequest request = MessageUtils.generateHTTPMessage("/other?a=b", "GET");
+        try {
+            HttpDispatcher.findService(registry, request);
+            Assert.fail("Expected no matching service for /other");
+        } catch (BallerinaConnectorException e) {
+            Assert.assertEquals(e.getMessage(), "no matching service found for path : /other");
+        }
+        Assert.assertEquals((int) request.getHttpStatusCode(), 404);
+    }
+
+    private static void assertRequestProperties(HTTPTestRequest request, String basePath, String subPath,
+                                                String query, String rawQuery) {
+        Assert.assertEquals(request.getProperty(HttpConstants.BASE_PATH), basePath);
+        Assert.assertEquals(request.getProperty(HttpConstants.SUB_PATH), subPath);
+        Assert.assertEquals(request.getProperty(HttpConstants.QUERY_STR), query);
+        Assert.assertEquals(request.getProperty(HttpConstants.RAW_QUERY_STR), rawQuery);
+    }
+
+    /**
+     * Services registry of the default host, with a service for each of the given base paths.
+     */
+    private static class TestServicesRegistry extends HTTPServicesRegistry {
+
+        private final Map<String, HttpService> services = new HashMap<>();
+
+        TestServicesRegistry(String... basePaths) {
+            super(null);
+            for (String basePath : basePaths) {
+                services.put(basePath, new HttpService(null) { });
+            }
+            servicesMapByHost.put(HttpConstants.DEFAULT_HOST,
+                                  new ServicesMapHolder(services, new ArrayList<>(services.keySet())));
+        }
+
+        HttpService getService(String basePath) {
+            return services.get(basePath);
+        }
+    }
+}
@@ -275,6 +275,42 @@ public class RequestNativeFunctionSuccessTest {
         Assert.assertEquals(JsonParser.parse(ResponseReader.getReturnValue(response)).stringValue(), value);
     }
 
+    @Test
+    public void testGetJsonStream() {
+        ObjectValue inRequest = createRequestObject();
+        ObjectValue entity = createEntityObject();
+
+        String payload = "{\"id\": 1}\n{\"id\": 2, \"tags\": [\"a\"]}\n";
+        enrichTestEntity(entity, APPLICATION_JSON, payload);
+        inRequest.set(REQUEST_ENTITY_FIELD, entity);
+        inRequest.addNativeData(IS_BODY_BYTE_CHANNEL_ALREADY_SET, true);
+        Object[] inputArg = {inRequest, org.ballerinalang.jvm.StringUtils.fromString("")};
+        BValue[] returnVals = BRunUtil.invoke(compileResult, "testGetJsonStream", inputArg);
+        Assert.assertFalse(returnVals.length == 0 || returnVals[0] == null, "Invalid Return Values.");
+        BValueArray values = (BValueArray) returnVals[0];
+        Assert.assertEquals(values.size(), 2);
+        Assert.assertEquals(values.getString(0), "{\"id\":1}");
+        Assert.assertEquals(values.getString(1), "{\"id\":2, \"tags\":[\"a\"]}");
+    }
+
+    @Test
+    public void testGetJsonStreamWithPointer() {
+        ObjectValue inRequest = createRequestObject();
+        ObjectValue entity = createEntityObject();
+
+        String payload = "{\"count\": 2, \"items\": [{\"id\": 1}, {\"id\": 2}]}";
+        enrichTestEntity(entity, APPLICATION_JSON, payload);
+        inRequest.set(REQUEST_ENTITY_FIELD, entity);
+        inRequest.addNativeData(IS_BODY_BYTE_CHANNEL_ALREADY_SET, true);
+        Object[] inputArg = {inRequest, org.ballerinalang.jvm.StringUtils.fromString("/items")};
+        BValue[] returnVals = BRunUtil.invoke(compileResult, "testGetJsonStream", inputArg);
+        Assert.assertFalse(returnVals.length == 0 || returnVals[0] == null, "Invalid Return Values.");
+        BValueArray values = (BValueArray) returnVals[0];
+        Assert.assertEquals(values.size(), 2);
+        Assert.assertEquals(values.getString(0), "{\"id\":1}");
+        Assert.assertEquals(values.getString(1), "{\"id\":2}");
+    }
+
     @Test
     public void testGetTextPayload() {
         ObjectValue inRequest = createRequestObject();
@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.services.observability;
+
+import org.ballerinalang.config.ConfigRegistry;
+import org.ballerinalang.jvm.observability.metrics.DefaultMetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.Metric;
+import org.ballerinalang.jvm.observability.metrics.MetricRegistry;
+import org.ballerinalang.jvm.observability.metrics.noop.NoOpMetricProvider;
+import org.ballerinalang.net.http.HTTPServicesRegistry;
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.HttpResource;
+import org.ballerinalang.net.http.HttpService;
+import org.ballerinalang.net.http.observability.HttpResourceMetrics;
+import org.ballerinalang.net.http.observability.LatencyHistogram;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for {@link HttpResourceMetrics} and {@link LatencyHistogram}.
+ */
+public class HttpResourceMetricsTest {
+
+    private MetricRegistry defaultMetricRegistry;
+
+    @BeforeMethod
+    public void setup() {
+        defaultMetricRegistry = DefaultMetricRegistry.getInstance();
+        DefaultMetricRegistry.setInstance(new MetricRegistry(new NoOpMetricProvider()));
+    }
+
+    @AfterMethod
+    public void cleanup() {
+        DefaultMetricRegistry.setInstance(defaultMetricRegistry);
+    }
+
+    @Test
+    public void testExactBuckets() {
+        // Latencies below 8 microseconds have a bucket each
+        for (long micros = 0; micros < 8; micros++) {
+            Assert.assertEquals(recordedAs(micros), micros);
+        }
+        Assert.assertEquals(recordedAs(8), 8);
+        Assert.assertEquals(recordedAs(15), 15);
+    }
+
+    @Test
+    public void testLogLinearBuckets() {
+        // From 16 microseconds, each power of two range has 8 buckets of equal width
+        Assert.assertEquals(recordedAs(16), 17);
+        Assert.assertEquals(recordedAs(17), 17);
+        Assert.assertEquals(recordedAs(18), 19);
+        Assert.assertEquals(recordedAs(31), 31);
+        Assert.assertEquals(recordedAs(32), 35);
+        Assert.assertEquals(recordedAs(960), 1023);
+        Assert.assertEquals(recordedAs(1000), 1023);
+        Assert.assertEquals(recordedAs(1024), 1151);
+
+        long previous = 0;
+        for (long micros = 1; micros < (1L << 36); micros += micros / 7 + 1) {
+            long recorded = recordedAs(micros);
+            Assert.assertTrue(recorded >= micros, micros + " recorded as " + recorded);
+            Assert.assertTrue(recorded - micros <= micros / 8, micros + " recorded as " + recorded);
+            Assert.assertTrue(recorded >= previous, micros + " recorded as " + recorded);
+            previous = recorded;
+        }
+    }
+
+    @Test
+    public void testOverflowBucket() {
+        long maxMicros = (1L << 36) - 1;
+        Assert.assertEquals(recordedAs(maxMicros), maxMicros);
+        // Larger latencies are recorded in the last bucket
+        Assert.assertEquals(recordedAs(maxMicros + 1), maxMicros);
+        Assert.assertEquals(recordedAs(1L << 50), maxMicros);
+        Assert.assertEquals(recordedAs(TimeUnit.NANOSECONDS.toMicros(Long.MAX_VALUE)), maxMicros);
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-1);
+        Assert.assertEquals(histogram.getCount(), 2);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 0.0);
+        Assert.assertEquals(histogram.getPercentileMillis(100), maxMicros / 1000.0);
+        Assert.assertEquals(histogram.getMeanMillis(), maxMicros / 2000.0, 0.001);
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.getPercentileMillis(99), 0.0);
+        Assert.assertEquals(histogram.getMeanMillis(), 0.0);
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(1));
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(1000));
+        }
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getPercentileMillis(0), 0.001);
+        Assert.assertEquals(histogram.getPercentileMillis(50), 0.001);
+        Assert.assertEquals(histogram.getPercentileMillis(90), 0.001);
+        Assert.assertEquals(histogram.getPercentileMillis(91), 1.023);
+        Assert.assertEquals(histogram.getPercentileMillis(99), 1.023);
+        Assert.assertEquals(histogram.getPercentileMillis(150), 1.023);
+        Assert.assertEquals(histogram.getMeanMillis(), 0.1009, 0.0000001);
+    }
+
+    @Test
+    public void testEnabledByConfig() {
+        ConfigRegistry configRegistry = ConfigRegistry.getInstance();
+        boolean initialized = configRegistry.isInitialized();
+        Object enabled = configRegistry.removeConfiguration(HttpResourceMetrics.CONFIG_HTTP_METRICS_ENABLED);
+        try {
+            configRegistry.setInitialized(true);
+            Assert.assertFalse(HttpResourceMetrics.isEnabled());
+
+            configRegistry.addConfiguration(HttpResourceMetrics.CONFIG_HTTP_METRICS_ENABLED, true);
+            Assert.assertTrue(HttpResourceMetrics.isEnabled());
+            configRegistry.addConfiguration(HttpResourceMetrics.CONFIG_HTTP_METRICS_ENABLED, "true");
+            Assert.assertTrue(HttpResourceMetrics.isEnabled());
+            configRegistry.addConfiguration(HttpResourceMetrics.CONFIG_HTTP_METRICS_ENABLED, false);
+            Assert.assertFalse(HttpResourceMetrics.isEnabled());
+
+            // The configuration is not read before the registry is initialized
+            configRegistry.addConfiguration(HttpResourceMetrics.CONFIG_HTTP_METRICS_ENABLED, true);
+            configRegistry.setInitialized(false);
+            Assert.assertFalse(HttpResourceMetrics.isEnabled());
+        } finally {
+            configRegistry.setInitialized(initialized);
+            configRegistry.removeConfiguration(HttpResourceMetrics.CONFIG_HTTP_METRICS_ENABLED);
+            if (enabled != null) {
+                configRegistry.addConfiguration(HttpResourceMetrics.CONFIG_HTTP_METRICS_ENABLED, enabled);
+            }
+        }
+    }
+
+    @Test
+    public void testRequestCounts() {
+        HttpResourceMetrics metrics = HttpResourceMetrics.register("listener", newResource("/hello", "sayHello"));
+        long first = metrics.requestStarted();
+        long second = metrics.requestStarted();
+        Assert.assertEquals(metrics.getRequestCount(), 2);
+        Assert.assertEquals(metrics.getInProgressCount(), 2);
+
+        metrics.requestCompleted(first, false);
+        metrics.requestCompleted(second, true);
+        Assert.assertEquals(metrics.getRequestCount(), 2);
+        Assert.assertEquals(metrics.getInProgressCount(), 0);
+        Assert.assertEquals(metrics.getErrorCount(), 1);
+        Assert.assertEquals(metrics.getLatency().getCount(), 2);
+    }
+
+    @Test
+    public void testRegisterAndUnregister() {
+        HttpResourceMetrics metrics = HttpResourceMetrics.register("listener", newResource("/hello", "sayHello"));
+        Assert.assertEquals(getMetricNames(), new TreeSet<>(Arrays.asList(
+                "http_resource_errors_total", "http_resource_requests_in_progress", "http_resource_requests_total",
+                "http_resource_response_time_mean_ms", "http_resource_response_time_p50_ms",
+                "http_resource_response_time_p95_ms", "http_resource_response_time_p99_ms")));
+        for (Metric metric : DefaultMetricRegistry.getInstance().getAllMetrics()) {
+            Assert.assertEquals(metric.getId().getTags().size(), 3);
+        }
+
+        metrics.unregister();
+        Assert.assertEquals(DefaultMetricRegistry.getInstance().getAllMetrics().length, 0);
+        // Unregistering again does nothing
+        metrics.unregister();
+        Assert.assertEquals(DefaultMetricRegistry.getInstance().getAllMetrics().length, 0);
+    }
+
+    @Test
+    public void testUnregisterOnRegistryReset() {
+        HttpResource hello = newResource("/hello", "sayHello");
+        HttpResource bye = newResource("/bye", "sayBye");
+        hello.setMetrics(HttpResourceMetrics.register("listener", hello));
+        bye.setMetrics(HttpResourceMetrics.register("listener", bye));
+        Assert.assertEquals(DefaultMetricRegistry.getInstance().getAllMetrics().length, 14);
+
+        TestServicesRegistry registry = new TestServicesRegistry(hello, bye);
+        registry.unregisterResourceMetrics();
+        Assert.assertEquals(DefaultMetricRegistry.getInstance().getAllMetrics().length, 0);
+    }
+
+    private static long recordedAs(long micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(micros));
+        return Math.round(histogram.getPercentileMillis(100) * 1000);
+    }
+
+    private static TreeSet<String> getMetricNames() {
+        TreeSet<String> names = new TreeSet<>();
+        for (Metric metric : DefaultMetricRegistry.getInstance().getAllMetrics()) {
+            names.add(metric.getId().getName());
+        }
+        return names;
+    }
+
+    private static HttpResource newResource(String basePath, String name) {
+        HttpService service = new HttpService(null) {
+            @Override
+            public String getBasePath() {
+                return basePath;
+            }
+        };
+        return new HttpResource(null, service) {
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+
+    /**
+     * Services registry of the default host, with a service for the parent service of each of the given resources.
+     */
+    private static class TestServicesRegistry extends HTTPServicesRegistry {
+
+        TestServicesRegistry(HttpResource... resources) {
+            super(null);
+            Map<String, HttpService> services = new HashMap<>();
+            for (HttpResource resource : resources) {
+                String basePath = resource.getParentService().getBasePath();
+                services.put(basePath, new HttpService(null) {
+                    @Override
+                    public List<HttpResource> getResources() {
+                        return Collections.singletonList(resource);
+                    }
+                });
+            }
+            servicesMapByHost.put(HttpConstants.DEFAULT_HOST,
+                                  new ServicesMapHolder(services, new ArrayList<>(services.keySet())));
+        }
+    }
+}
@@ -74,6 +74,20 @@ function testGetJsonPayload(http:Request req) returns @tainted json|error {
     return req.getJsonPayload();
 }
 
+function testGetJsonStream(http:Request req, string pointer) returns @tainted string[]|error {
+    stream<json, io:Error> jsonStream = check req.getJsonStream(pointer);
+    string[] values = [];
+    record {| json value; |}|io:Error? next = jsonStream.next();
+    while (next is record {| json value; |}) {
+        values.push(next.value.toJsonString());
+        next = jsonStream.next();
+    }
+    if (next is io:Error) {
+        return next;
+    }
+    return values;
+}
+
 function testGetMethod(http:Request req) returns string {
     string method = req.method;
     return method;
@@ -0,0 +1,56 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/java;
+
+# The iterator of the stream returned by `ReadableByteChannel.readJsonStream()`, which reads the JSON values from
+# the channel as they are requested.
+type JsonStreamIterator object {
+    private boolean isClosed = false;
+
+    public function next() returns @tainted record {| json value; |}|Error? {
+        if (self.isClosed) {
+            return ();
+        }
+        json|Error result = nextJsonExtern(self);
+        if (result is EofError) {
+            return self.close();
+        } else if (result is Error) {
+            Error? closeErrorIgnored = self.close();
+            return result;
+        } else {
+            record {| json value; |} streamRecord = {value: result};
+            return streamRecord;
+        }
+    }
+
+    public function close() returns Error? {
+        if (!self.isClosed) {
+            self.isClosed = true;
+            return closeJsonStreamExtern(self);
+        }
+    }
+};
+
+function nextJsonExtern(JsonStreamIterator iterator) returns @tainted json|Error = @java:Method {
+    name: "next",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.JsonStreamUtils"
+} external;
+
+function closeJsonStreamExtern(JsonStreamIterator iterator) returns Error? = @java:Method {
+    name: "close",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.JsonStreamUtils"
+} external;
@@ -55,6 +55,48 @@ public type ReadableByteChannel object {
         return base64DecodeExtern(self);
     }
 
+# Reads the JSON content of the channel as a stream of `json` values. With the default pointer, the elements of a
+# top level array are returned one by one, and any other content is read as a sequence of whitespace separated
+# documents, such as newline delimited JSON. A JSON pointer selects an array inside the document, whose elements are
+# returned instead. Only the value being returned is kept in memory, so large documents can be read without loading
+# them at once. The channel is closed when the stream is closed.
+# ```ballerina
+# stream<json, io:Error>|io:Error result = readableByteChannel.readJsonStream("/data/items");
+# ```
+#
+# + pointer - JSON pointer of the array to read the elements of
+# + return - A stream of the JSON values or else an `io:Error`
+    public function readJsonStream(string pointer = "") returns @tainted stream<json, Error>|Error {
+        JsonStreamIterator iterator = new;
+        Error? err = initJsonStreamExtern(iterator, self, pointer);
+        if (err is Error) {
+            return err;
+        }
+        stream<json, Error> jsonStream = new (iterator);
+        return jsonStream;
+    }
+
+# Reads the XML content of the channel as a stream of the elements selected by the given path. A qualified name,
+# such as `entry` or `{http://www.w3.org/2005/Atom}entry`, selects the elements with that name at any depth, and a
+# path starting with a `/`, such as `/catalog/item`, selects only the elements at that path from the root. A `*`
+# matches any name. Only the element being returned is kept in memory, so documents larger than the memory
+# available can be read. The channel is closed when the stream is closed.
+# ```ballerina
+# stream<xml, io:Error>|io:Error result = readableByteChannel.readXmlStream("/catalog/item");
+# ```
+#
+# + path - Qualified name of the elements to read or their path from the root
+# + return - A stream of the XML elements or else an `io:Error`
+    public function readXmlStream(string path) returns @tainted stream<xml, Error>|Error {
+        XmlStreamIterator iterator = new;
+        Error? err = initXmlStreamExtern(iterator, self, path);
+        if (err is Error) {
+            return err;
+        }
+        stream<xml, Error> xmlStream = new (iterator);
+        return xmlStream;
+    }
+
 # Closes a given `ReadableByteChannel`.
 # ```ballerina
 # io:Error? err = readableByteChannel.close();
@@ -85,3 +127,15 @@ function closeReadableByteChannelExtern(ReadableByteChannel byteChannel) returns
     name: "closeByteChannel",
     class: "org.ballerinalang.stdlib.io.nativeimpl.ByteChannelUtils"
 } external;
+
+function initJsonStreamExtern(JsonStreamIterator iterator, ReadableByteChannel byteChannel, string pointer)
+                              returns Error? = @java:Method {
+    name: "initJsonStream",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.JsonStreamUtils"
+} external;
+
+function initXmlStreamExtern(XmlStreamIterator iterator, ReadableByteChannel byteChannel, string path)
+                             returns Error? = @java:Method {
+    name: "initXmlStream",
+    class: "org.ballerinalang.stdlib.io.nativeimpl.XmlStreamUtils"
+} external;
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.io.nativeimpl;
+
+import org.ballerinalang.jvm.XMLPullParser;
+import org.ballerinalang.jvm.util.exceptions.BallerinaException;
+import org.ballerinalang.jvm.values.ObjectValue;
+import org.ballerinalang.jvm.values.api.BString;
+import org.ballerinalang.stdlib.io.channels.base.Channel;
+import org.ballerinalang.stdlib.io.utils.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+import static org.ballerinalang.stdlib.io.utils.IOConstants.BYTE_CHANNEL_NAME;
+import static org.ballerinalang.stdlib.io.utils.IOConstants.XML_STREAM_PARSER_NAME;
+
+/**
+ * This class hold Java inter-ops bridging functions for io# *XmlStreamIterator.
+ *
+ * @since 2.0.0
+ */
+public class XmlStreamUtils {
+
+    private static final Logger log = LoggerFactory.getLogger(XmlStreamUtils.class);
+
+    private XmlStreamUtils() {
+    }
+
+    public static Object initXmlStream(ObjectValue iterator, ObjectValue byteChannelInfo, BString path) {
+        Channel byteChannel = (Channel) byteChannelInfo.getNativeData(BYTE_CHANNEL_NAME);
+        try {
+            XMLPullParser parser = new XMLPullParser(byteChannel.getInputStream(), path.getValue());
+            iterator.addNativeData(XML_STREAM_PARSER_NAME, parser);
+            return null;
+        } catch (IOException | BallerinaException e) {
+            String message = "error occurred while creating the xml stream: " + e.getMessage();
+            log.error(message, e);
+            return IOUtils.createError(message);
+        }
+    }
+
+    public static Object next(ObjectValue iterator) {
+        XMLPullParser parser = (XMLPullParser) iterator.getNativeData(XML_STREAM_PARSER_NAME);
+        try {
+            if (!parser.hasNext()) {
+                return IOUtils.createEoFError();
+            }
+            return parser.next();
+        } catch (BallerinaException e) {
+            log.error("unable to read xml from the stream", e);
+            return IOUtils.createError(e);
+        }
+    }
+
+    public static Object close(ObjectValue iterator) {
+        XMLPullParser parser = (XMLPullParser) iterator.getNativeData(XML_STREAM_PARSER_NAME);
+        try {
+            parser.close();
+        } catch (IOException e) {
+            return IOUtils.createError(e);
+        }
+        return null;
+    }
+}
@@ -48,6 +48,16 @@ public class IOConstants {
      */
     public static final String TXT_RECORD_CHANNEL_NAME = "txt_record";
 
+    /**
+     * The name of the JSON pull parser which will be represented through the native struct.
+     */
+    public static final String JSON_STREAM_PARSER_NAME = "json_stream_parser";
+
+    /**
+     * The name of the XML pull parser which will be represented through the native struct.
+     */
+    public static final String XML_STREAM_PARSER_NAME = "xml_stream_parser";
+
     /**
      * The size of the buffer allocated for reading bytes from the channel (15~ KB).
      */
@@ -101,6 +101,96 @@ public class IOTest {
         BRunUtil.invoke(bytesInputOutputProgramFile, "closeReadableChannel");
     }
 
+    @Test(description = "Test 'readJsonStream' function in ballerina/io package")
+    public void testReadJsonStream() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/web-app.json";
+
+        //Will initialize the channel
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)) };
+        BRunUtil.invoke(bytesInputOutputProgramFile, "initReadableChannel", args);
+
+        //Reads the elements of the servlet array one at a time, the stream closes the channel at the end
+        args = new BValue[] { new BString("/web-app/servlet") };
+        BValue[] returns = BRunUtil.invoke(bytesInputOutputProgramFile, "readJsonStream", args);
+        Assert.assertEquals(returns[0].stringValue(),
+                "[\"cofaxCDS\", \"cofaxEmail\", \"cofaxAdmin\", \"fileServlet\", \"cofaxTools\"]");
+    }
+
+    @Test(description = "Test 'readJsonStream' function with newline delimited json")
+    public void testReadJsonStreamSequence() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/records.ndjson";
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)) };
+        BRunUtil.invoke(bytesInputOutputProgramFile, "initReadableChannel", args);
+
+        //Without a pointer, each line is read as a separate document
+        args = new BValue[] { new BString("") };
+        BValue[] returns = BRunUtil.invoke(bytesInputOutputProgramFile, "readJsonStreamValues", args);
+        BValueArray values = (BValueArray) returns[0];
+        Assert.assertEquals(values.size(), 3);
+        Assert.assertEquals(values.getString(0), "{\"id\":1, \"name\":\"apple\"}");
+        Assert.assertEquals(values.getString(1), "{\"id\":2, \"name\":\"orange\"}");
+        Assert.assertEquals(values.getString(2), "{\"id\":3, \"name\":\"grape\", \"tags\":[\"red\", \"green\"]}");
+    }
+
+    @Test(description = "Test 'readJsonStream' function with a top level json array")
+    public void testReadJsonStreamArray() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/records.json";
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)) };
+        BRunUtil.invoke(bytesInputOutputProgramFile, "initReadableChannel", args);
+
+        //Without a pointer, the elements of the top level array are read
+        args = new BValue[] { new BString("") };
+        BValue[] returns = BRunUtil.invoke(bytesInputOutputProgramFile, "readJsonStreamValues", args);
+        BValueArray values = (BValueArray) returns[0];
+        Assert.assertEquals(values.size(), 3);
+        Assert.assertEquals(values.getString(0), "{\"id\":1, \"name\":\"apple\"}");
+        Assert.assertEquals(values.getString(2), "{\"id\":3, \"name\":\"grape\", \"tags\":[\"red\", \"green\"]}");
+
+        BRunUtil.invoke(bytesInputOutputProgramFile, "initReadableChannel",
+                        new BValue[] { new BString(getAbsoluteFilePath(resourceToRead)) });
+        args = new BValue[] { new BString("/2/tags") };
+        returns = BRunUtil.invoke(bytesInputOutputProgramFile, "readJsonStreamValues", args);
+        Assert.assertEquals(returns[0].stringValue(), "[\"red\", \"green\"]");
+    }
+
+    @Test(description = "Test 'readJsonStream' function with malformed json")
+    public void testReadJsonStreamError() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/malformed.ndjson";
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)) };
+        BRunUtil.invoke(bytesInputOutputProgramFile, "initReadableChannel", args);
+
+        args = new BValue[] { new BString("") };
+        BValue[] returns = BRunUtil.invoke(bytesInputOutputProgramFile, "readJsonStreamValues", args);
+        BError error = (BError) returns[0];
+        Assert.assertTrue(error.getMessage().startsWith("unrecognized token 'orange'"), error.getMessage());
+
+        BRunUtil.invoke(bytesInputOutputProgramFile, "initReadableChannel",
+                        new BValue[] { new BString(getAbsoluteFilePath(resourceToRead)) });
+        args = new BValue[] { new BString("id") };
+        returns = BRunUtil.invoke(bytesInputOutputProgramFile, "readJsonStreamValues", args);
+        error = (BError) returns[0];
+        Assert.assertEquals(error.getMessage(), "error occurred while creating the json stream: " +
+                "invalid JSON pointer 'id': expected '/' at the start");
+        BRunUtil.invoke(bytesInputOutputProgramFile, "closeReadableChannel");
+    }
+
+    @Test(description = "Test 'readXmlStream' function in ballerina/io package")
+    public void testReadXmlStream() throws URISyntaxException {
+        String resourceToRead = "datafiles/io/text/cd_catalog.xml";
+
+        //Will initialize the channel
+        BValue[] args = { new BString(getAbsoluteFilePath(resourceToRead)) };
+        BRunUtil.invoke(bytesInputOutputProgramFile, "initReadableChannel", args);
+
+        //Reads the CD elements one at a time, the stream closes the channel at the end
+        args = new BValue[] { new BString("/CATALOG/CD") };
+        BValue[] returns = BRunUtil.invoke(bytesInputOutputProgramFile, "readXmlStream", args);
+        BValueArray titles = (BValueArray) returns[0];
+        Assert.assertEquals(titles.size(), 26);
+        Assert.assertEquals(titles.getString(0), "Empire Burlesque");
+        Assert.assertEquals(titles.getString(25), "Unchain my heart");
+    }
+
     @Test(description = "Test 'readCharacters' function in ballerina/io package")
     public void testReadCharacters() throws URISyntaxException {
         String resourceToRead = "datafiles/io/text/utf8file.txt";
@@ -42,6 +42,68 @@ function readBytes(int numberOfBytes) returns @tainted byte[]|io:Error {
     }
 }
 
+function readJsonStream(string pointer) returns @tainted string[]|io:Error {
+    io:ReadableByteChannel? rChannel = rch;
+    if (rChannel is io:ReadableByteChannel) {
+        stream<json, io:Error> jsonStream = check rChannel.readJsonStream(pointer);
+        string[] names = [];
+        record {| json value; |}|io:Error? next = jsonStream.next();
+        while (next is record {| json value; |}) {
+            map<json> servlet = <map<json>> next.value;
+            names.push(servlet["servlet-name"].toString());
+            next = jsonStream.next();
+        }
+        if (next is io:Error) {
+            return next;
+        }
+        return names;
+    } else {
+        io:GenericError e = io:GenericError("ReadableByteChannel not initialized");
+        return e;
+    }
+}
+
+function readXmlStream(string path) returns @tainted string[]|io:Error {
+    io:ReadableByteChannel? rChannel = rch;
+    if (rChannel is io:ReadableByteChannel) {
+        stream<xml, io:Error> xmlStream = check rChannel.readXmlStream(path);
+        string[] titles = [];
+        record {| xml value; |}|io:Error? next = xmlStream.next();
+        while (next is record {| xml value; |}) {
+            xml cd = next.value;
+            titles.push((cd/<TITLE>/*).toString());
+            next = xmlStream.next();
+        }
+        if (next is io:Error) {
+            return next;
+        }
+        return titles;
+    } else {
+        io:GenericError e = io:GenericError("ReadableByteChannel not initialized");
+        return e;
+    }
+}
+
+function readJsonStreamValues(string pointer) returns @tainted string[]|io:Error {
+    io:ReadableByteChannel? rChannel = rch;
+    if (rChannel is io:ReadableByteChannel) {
+        stream<json, io:Error> jsonStream = check rChannel.readJsonStream(pointer);
+        string[] values = [];
+        record {| json value; |}|io:Error? next = jsonStream.next();
+        while (next is record {| json value; |}) {
+            values.push(next.value.toJsonString());
+            next = jsonStream.next();
+        }
+        if (next is io:Error) {
+            return next;
+        }
+        return values;
+    } else {
+        io:GenericError e = io:GenericError("ReadableByteChannel not initialized");
+        return e;
+    }
+}
+
 function writeBytes(byte[] content, int startOffset) returns int|io:Error {
     int empty = -1;
     io:WritableByteChannel? wChannel = wch;
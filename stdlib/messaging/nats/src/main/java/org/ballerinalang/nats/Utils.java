@@ -22,7 +22,6 @@ import io.nats.client.Message;
 import org.ballerinalang.jvm.BallerinaErrors;
 import org.ballerinalang.jvm.BallerinaValues;
 import org.ballerinalang.jvm.JSONParser;
-import org.ballerinalang.jvm.JSONUtils;
 import org.ballerinalang.jvm.StringUtils;
 import org.ballerinalang.jvm.TypeChecker;
 import org.ballerinalang.jvm.XMLFactory;
@@ -60,7 +59,7 @@ public class Utils {
                 break;
             case TypeTags.JSON_TAG:
                 try {
-                    Object json = JSONParser.parse(new String(data, StandardCharsets.UTF_8));
+                    Object json = JSONParser.parse(data);
                     dispatchedData = json instanceof String ? StringUtils.fromString((String) json) : json;
                 } catch (BallerinaException e) {
                     throw createNatsError("Error occurred in converting message content to json: " +
@@ -86,8 +85,7 @@ public class Utils {
                 dispatchedData = XMLFactory.parse(new String(data, StandardCharsets.UTF_8));
                 break;
             case TypeTags.RECORD_TYPE_TAG:
-                dispatchedData = JSONUtils.convertJSONToRecord(JSONParser.parse(new String(data,
-                        StandardCharsets.UTF_8)), (BRecordType) intendedType);
+                dispatchedData = JSONParser.parseToRecord(data, (BRecordType) intendedType);
                 break;
             default:
                 throw Utils.createNatsError("Unable to find a supported data type to bind the message data");
@@ -42,7 +42,6 @@ import org.ballerinalang.messaging.rabbitmq.observability.RabbitMQTracingUtil;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
@@ -81,7 +80,7 @@ public class ChannelUtils {
             boolean autoDelete = config.getBooleanValue(RabbitMQConstants.QUEUE_AUTO_DELETE);
             Map<String, Object> argumentsMap = null;
             if (config.getMapValue(RabbitMQConstants.QUEUE_ARGUMENTS) != null) {
-                argumentsMap = (HashMap<String, Object>) config.getMapValue(RabbitMQConstants.QUEUE_ARGUMENTS);
+                argumentsMap = (Map<String, Object>) config.getMapValue(RabbitMQConstants.QUEUE_ARGUMENTS);
             }
             channel.queueDeclare(queueName, durable, exclusive, autoDelete, argumentsMap);
             RabbitMQMetricsUtil.reportNewQueue(channel, queueName);
@@ -104,7 +103,7 @@ public class ChannelUtils {
             Map<String, Object> argumentsMap = null;
             if (exchangeConfig.getMapValue(RabbitMQConstants.EXCHANGE_ARGUMENTS) != null) {
                 argumentsMap =
-                        (HashMap<String, Object>) exchangeConfig.getMapValue(RabbitMQConstants.EXCHANGE_ARGUMENTS);
+                        (Map<String, Object>) exchangeConfig.getMapValue(RabbitMQConstants.EXCHANGE_ARGUMENTS);
             }
             channel.exchangeDeclare(exchangeName, exchangeType, durable, autoDelete, argumentsMap);
             RabbitMQMetricsUtil.reportNewExchange(channel, exchangeName);
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.test.jvm;
+
+import org.ballerinalang.test.util.BCompileUtil;
+import org.ballerinalang.test.util.BRunUtil;
+import org.ballerinalang.test.util.CompileResult;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Tests for accessing the fields of records declared in the current module, which are loaded directly from the
+ * generated record value classes.
+ *
+ * @since 2.0.0
+ */
+public class RecordFieldAccessTest {
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/jvm/record-field-access.bal");
+        Assert.assertEquals(result.getErrorCount(), 0);
+    }
+
+    @Test(dataProvider = "recordFieldAccessFunctions")
+    public void testRecordFieldAccess(String function) {
+        BRunUtil.invoke(result, function);
+    }
+
+    @DataProvider(name = "recordFieldAccessFunctions")
+    public Object[][] recordFieldAccessFunctions() {
+        return new Object[][]{
+                {"testClosedRecordFieldReadAndWrite"},
+                {"testClosedRecordFieldAccessInLoop"},
+                {"testOptionalFieldReadAndWrite"},
+                {"testReadonlyFieldRead"},
+                {"testReadonlyFieldWrite"},
+                {"testRecordInMapOfAnydata"},
+                {"testRecordInAnydata"},
+                {"testStructurallyCompatibleRecordValue"},
+                {"testOpenRecordFieldAccess"}
+        };
+    }
+}
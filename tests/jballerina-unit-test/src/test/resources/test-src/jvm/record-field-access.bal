@@ -0,0 +1,287 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+const ASSERTION_ERROR_REASON = "AssertionError";
+const INHERENT_TYPE_VIOLATION_REASON = "{ballerina/lang.map}InherentTypeViolation";
+
+type Person record {|
+    string name;
+    int age;
+    float height;
+    decimal salary;
+    boolean married;
+    byte code;
+    Address address;
+|};
+
+type Address record {|
+    string city;
+    string street?;
+    int number?;
+|};
+
+type Employee record {|
+    readonly int id;
+    string name;
+    string dept?;
+|};
+
+type NamedPerson record {|
+    string name;
+    int age;
+|};
+
+type Student record {|
+    string name;
+    int age;
+|};
+
+type Counter record {
+    int count;
+};
+
+function testClosedRecordFieldReadAndWrite() {
+    Person p = {
+        name: "Anne",
+        age: 25,
+        height: 1.62,
+        salary: 1000.5,
+        married: false,
+        code: 12,
+        address: {city: "Colombo"}
+    };
+    assertEquality("Anne", p.name);
+    assertEquality(25, p.age);
+    assertEquality(1.62, p.height);
+    assertEquality(<decimal> 1000.5, p.salary);
+    assertEquality(false, p.married);
+    assertEquality(<byte> 12, p.code);
+    assertEquality("Colombo", p.address.city);
+
+    p.name = "Anne Marie";
+    p.age += 1;
+    p.height = 1.75;
+    p.salary = p.salary + 1000;
+    p.married = !p.married;
+    p.code = 255;
+    p.address.city = "Kandy";
+    assertEquality("Anne Marie", p.name);
+    assertEquality(26, p.age);
+    assertEquality(1.75, p.height);
+    assertEquality(<decimal> 2000.5, p.salary);
+    assertEquality(true, p.married);
+    assertEquality(<byte> 255, p.code);
+    assertEquality("Kandy", p.address.city);
+
+    // The generic lookup sees the values written through the field access
+    string key = "age";
+    assertEquality(26, p[key]);
+    assertEquality(26, p.get("age"));
+
+    // Field access sees the values written through the generic store
+    record {} rec = p;
+    rec[key] = 40;
+    assertEquality(40, p.age);
+}
+
+function testClosedRecordFieldAccessInLoop() {
+    Person p = {
+        name: "Anne",
+        age: 0,
+        height: 1.0,
+        salary: 0,
+        married: false,
+        code: 0,
+        address: {city: "Colombo"}
+    };
+    int sum = 0;
+    foreach int i in 0 ..< 100 {
+        p.age = i;
+        sum += p.age;
+    }
+    assertEquality(4950, sum);
+}
+
+function testOptionalFieldReadAndWrite() {
+    Address a = {city: "Colombo"};
+    assertEquality((), a?.street);
+    assertEquality((), a?.number);
+
+    a.street = "Main Street";
+    a.number = 10;
+    assertEquality("Main Street", a?.street);
+    assertEquality(10, a?.number);
+
+    string? street = a?.street;
+    assertEquality("Main Street", street);
+    int? number = a?.number;
+    assertEquality(10, number);
+
+    _ = a.removeIfHasKey("street");
+    assertEquality((), a?.street);
+    assertEquality(10, a?.number);
+    assertEquality(false, a.hasKey("street"));
+
+    Person p = {
+        name: "Anne",
+        age: 25,
+        height: 1.62,
+        salary: 1000.5,
+        married: false,
+        code: 12,
+        address: a
+    };
+    assertEquality((), p.address?.street);
+    assertEquality(10, p.address?.number);
+}
+
+function testReadonlyFieldRead() {
+    Employee e = {id: 1001, name: "Bob"};
+    assertEquality(1001, e.id);
+    assertEquality((), e?.dept);
+
+    e.dept = "Finance";
+    e.name = "Robert";
+    assertEquality(1001, e.id);
+    assertEquality("Finance", e?.dept);
+    assertEquality("Robert", e.name);
+
+    Employee & readonly ro = {id: 1002, name: "Amy", dept: "HR"};
+    assertEquality(1002, ro.id);
+    assertEquality("Amy", ro.name);
+    assertEquality("HR", ro?.dept);
+}
+
+function testReadonlyFieldWrite() {
+    Employee e = {id: 1001, name: "Bob"};
+
+    // Stores keep the read-only checks
+    var fn1 = function () {
+        record {} rec = e;
+        string key = "id";
+        rec[key] = 2002;
+    };
+    error? res = trap fn1();
+    assertTrue(res is error);
+    error err = <error> res;
+    assertEquality(INHERENT_TYPE_VIOLATION_REASON, err.message());
+    assertEquality(1001, e.id);
+
+    Employee & readonly ro = {id: 1002, name: "Amy"};
+    Employee emp = ro;
+    var fn2 = function () {
+        emp.name = "Jo";
+    };
+    res = trap fn2();
+    assertTrue(res is error);
+    assertEquality("Amy", emp.name);
+    assertEquality("Amy", ro.name);
+}
+
+function testRecordInMapOfAnydata() {
+    Address a = {city: "Colombo", number: 5};
+    map<anydata> m = {address: a, count: 1};
+
+    anydata value = m["address"];
+    assertTrue(value is Address);
+    if value is Address {
+        assertEquality("Colombo", value.city);
+        assertEquality(5, value?.number);
+        assertEquality((), value?.street);
+        value.city = "Galle";
+    }
+    assertEquality("Galle", a.city);
+
+    Address b = <Address> m["address"];
+    b.street = "Hill Street";
+    assertEquality("Hill Street", a?.street);
+
+    map<anydata> addressMap = <map<anydata>> m["address"];
+    assertEquality("Galle", addressMap["city"]);
+    assertEquality("Hill Street", addressMap["street"]);
+}
+
+function testRecordInAnydata() {
+    anydata value = <Employee> {id: 1, name: "Sam"};
+    Employee e = <Employee> value;
+    assertEquality(1, e.id);
+    assertEquality("Sam", e.name);
+    e.name = "Samuel";
+    if value is Employee {
+        assertEquality("Samuel", value.name);
+    } else {
+        panic error(ASSERTION_ERROR_REASON, message = "expected an Employee");
+    }
+
+    anydata[] values = [<Address> {city: "Colombo"}, <NamedPerson> {name: "Tom", age: 30}];
+    int found = 0;
+    foreach anydata v in values {
+        if v is Address {
+            assertEquality("Colombo", v.city);
+            found += 1;
+        } else if v is NamedPerson {
+            assertEquality("Tom", v.name);
+            assertEquality(30, v.age);
+            found += 1;
+        }
+    }
+    assertEquality(2, found);
+}
+
+function testStructurallyCompatibleRecordValue() {
+    // A value of a record type can be a value of another record type with the same shape
+    Student s = {name: "Kim", age: 20};
+    NamedPerson p = s;
+    assertEquality("Kim", p.name);
+    assertEquality(20, p.age);
+
+    p.age = 21;
+    assertEquality(21, s.age);
+    assertEquality(21, p.age);
+
+    json j = {name: "Lee", age: 22};
+    NamedPerson fromJson = checkpanic j.cloneWithType(NamedPerson);
+    assertEquality("Lee", fromJson.name);
+    assertEquality(22, fromJson.age);
+}
+
+function testOpenRecordFieldAccess() {
+    Counter c = {count: 1, "extra": "value"};
+    c.count += 1;
+    assertEquality(2, c.count);
+    assertEquality("value", c["extra"]);
+
+    record {| int count; |} closed = {count: 5};
+    Counter counter = closed;
+    assertEquality(5, counter.count);
+}
+
+function assertTrue(any|error actual) {
+    assertEquality(true, actual);
+}
+
+function assertEquality(any|error expected, any|error actual) {
+    if expected is anydata && actual is anydata && expected == actual {
+        return;
+    }
+
+    if expected === actual {
+        return;
+    }
+
+    panic error(ASSERTION_ERROR_REASON,
+                message = "expected '" + expected.toString() + "', found '" + actual.toString () + "'");
+}